@@ -0,0 +1,147 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expands templates once per element type, and once per storage too for the templates that use {@code $Storage$}, run
+ * at generate-sources by Maven: {@code java src/build/java/GenerateProfiling.java <output directory> <template>...}.
+ * The {@code X-} of the template name is replaced by the type and storage, {@code X-Profiling.java.template} giving
+ * {@code LongDirectProfiling.java}, in the directory of the package the expansion declares. Expansions without any
+ * line, such as a template inside {@code #if[int]...#else[int]} whose int version is hand-written, are not written.
+ * <p>
+ * Placeholders {@code $type$}, {@code $Type$}, {@code $Boxed$}, {@code $fullRange$} (the element of a random int
+ * {@code v}, in [0, 1) for floating types), {@code $sum$} (the type of filterSum results), {@code $Column$},
+ * {@code $storage$} and {@code $Storage$} are replaced on every line. Lines
+ * {@code #if[key]}, {@code #else[key]} and {@code #end[key]} keep or drop the lines between them, where key is the
+ * element type, {@code integral}, {@code floating}, the storage, or {@code buffer} for direct and mapped storage.
+ */
+public class GenerateProfiling {
+
+    private static final String SUFFIX = ".java.template";
+
+    // type, Type, Boxed, fullRange, sum
+    private static final String[][] TYPES = {
+            {"int", "Int", "Integer", "v", "long"},
+            {"long", "Long", "Long", "v", "long"},
+            {"float", "Float", "Float", "(v >>> 8) * 0x1.0p-24f", "float"},
+            {"double", "Double", "Double", "(v >>> 1) * 0x1.0p-31", "double"},
+    };
+
+    private static final String[] STORAGES = {"heap", "direct", "mapped"};
+
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) {
+            System.err.println("Usage: java GenerateProfiling.java <output directory> <template>...");
+            System.exit(1);
+        }
+        for (int t = 1; t < args.length; t++) {
+            generate(Paths.get(args[t]), Paths.get(args[0]));
+        }
+    }
+
+    private static void generate(Path path, Path outputDir) throws IOException {
+        String name = path.getFileName().toString();
+        if(!name.endsWith(SUFFIX) || !name.contains("X-")) {
+            throw new IllegalArgumentException(path + ": template names are <prefix>X-<suffix>" + SUFFIX);
+        }
+        List<String> template = Files.readAllLines(path, StandardCharsets.UTF_8);
+        boolean perStorage = false;
+        for (String line : template) {
+            perStorage |= line.contains("$Storage$") || line.contains("$storage$") || line.contains("$Column$");
+        }
+
+        for (String[] type : TYPES) {
+            for (String storage : perStorage ? STORAGES : new String[] { "" }) {
+                String Storage = storage.isEmpty() ? "" : Character.toUpperCase(storage.charAt(0)) + storage.substring(1);
+                Set<String> keys = new HashSet<>();
+                keys.add(type[0]);
+                keys.add(type[0].equals("float") || type[0].equals("double") ? "floating" : "integral");
+                keys.add(storage);
+                if(perStorage && !storage.equals("heap")) {
+                    keys.add("buffer");
+                }
+
+                List<String> out = new ArrayList<>();
+                String pkg = null;
+                for (String line : expand(template, keys, path.toString())) {
+                    out.add(line.replace("$type$", type[0])
+                            .replace("$Type$", type[1])
+                            .replace("$Boxed$", type[2])
+                            .replace("$fullRange$", type[3])
+                            .replace("$sum$", type[4])
+                            .replace("$Column$", storage.equals("heap") ? type[0] + "[]" : "ByteBuffer")
+                            .replace("$storage$", storage)
+                            .replace("$Storage$", Storage));
+                    if(pkg == null && line.startsWith("package ")) {
+                        pkg = line.substring("package ".length(), line.indexOf(';')).trim();
+                    }
+                }
+                if(out.isEmpty()) {
+                    continue;
+                }
+                if(pkg == null) {
+                    throw new IllegalStateException(path + ": no package declaration for " + type[0] + " " + storage);
+                }
+                Path dir = outputDir.resolve(pkg.replace('.', '/'));
+                Files.createDirectories(dir);
+                Path file = dir.resolve(name.substring(0, name.length() - SUFFIX.length()).replace("X-", type[1] + Storage) + ".java");
+                // keep the timestamp of unchanged sources so incremental builds skip them
+                if(Files.exists(file) && Files.readAllLines(file, StandardCharsets.UTF_8).equals(out)) {
+                    continue;
+                }
+                Files.write(file, out, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static List<String> expand(List<String> template, Set<String> keys, String name) {
+        List<String> out = new ArrayList<>();
+        // one entry per open #if, whether its current branch is kept
+        Deque<Boolean> kept = new ArrayDeque<>();
+        Deque<String> open = new ArrayDeque<>();
+        int n = 0;
+        for (String line : template) {
+            n++;
+            String directive = line.trim();
+            if(directive.startsWith("#if[")) {
+                String key = key(directive, name, n);
+                open.push(key);
+                kept.push(keys.contains(key) && !kept.contains(false));
+            } else if(directive.startsWith("#else[") || directive.startsWith("#end[")) {
+                String key = key(directive, name, n);
+                if(open.isEmpty() || !open.peek().equals(key)) {
+                    throw new IllegalStateException(name + ":" + n + ": " + directive + " does not close #if[" + open.peek() + "]");
+                }
+                kept.pop();
+                if(directive.startsWith("#else[")) {
+                    kept.push(!keys.contains(key) && !kept.contains(false));
+                } else {
+                    open.pop();
+                }
+            } else if(!kept.contains(false)) {
+                out.add(line);
+            }
+        }
+        if(!open.isEmpty()) {
+            throw new IllegalStateException(name + ": unterminated #if[" + open.peek() + "]");
+        }
+        return out;
+    }
+
+    private static String key(String directive, String name, int n) {
+        int start = directive.indexOf('[') + 1;
+        int end = directive.indexOf(']', start);
+        if(end == -1) {
+            throw new IllegalStateException(name + ":" + n + ": malformed directive " + directive);
+        }
+        return directive.substring(start, end);
+    }
+}
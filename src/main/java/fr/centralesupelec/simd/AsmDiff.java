@@ -0,0 +1,284 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.InstructionMix.Call;
+import fr.centralesupelec.simd.InstructionMix.Counts;
+import fr.centralesupelec.simd.InstructionMix.Instruction;
+import fr.centralesupelec.simd.InstructionMix.Verdict;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Structural diff of the hot loops of two directories of {@link AsmLogger} logs, for example from two JDK builds or
+ * two {@code -XX:UseAVX} levels.
+ * <p>
+ * Instructions are compared once normalized: addresses become {@code <addr>}, general purpose registers {@code r},
+ * vector registers keep only their width and the comments only the kind of call. A method regresses when its verdict
+ * gets worse, when its hot loop gets new Java or allocation calls, or when its widest vector register gets narrower.
+ */
+final class AsmDiff {
+
+    private static final Pattern ADDRESS = Pattern.compile("\\b0x[0-9a-fA-F]{5,}\\b");
+    private static final Pattern GENERAL_REGISTER = Pattern.compile(
+            "\\b(r[a-d]x|r[sd]i|r[sb]p|r(8|9|1[0-5])[dwb]?|e[a-d]x|e[sd]i|e[sb]p|[a-d][xlh]|[sd]il?|[sb]pl?)\\b");
+    private static final Pattern VECTOR_REGISTER = Pattern.compile("\\b([xyz]mm)\\d+\\b");
+    private static final Pattern MASK_REGISTER = Pattern.compile("\\bk[0-7]\\b");
+
+    static final class MethodDiff {
+        final String method;
+        /** null if the method is only in the candidate */
+        final InstructionMix base;
+        /** null if the method is only in the base */
+        final InstructionMix candidate;
+        final List<String> regressions = new ArrayList<>();
+        final List<String> changes = new ArrayList<>();
+        /** normalized hot loop lines, prefixed with "  ", "- " or "+ " */
+        final List<String> lines = new ArrayList<>();
+
+        MethodDiff(String method, InstructionMix base, InstructionMix candidate) {
+            this.method = method;
+            this.base = base;
+            this.candidate = candidate;
+        }
+
+        boolean regressed() {
+            return !regressions.isEmpty();
+        }
+    }
+
+    private AsmDiff() {
+    }
+
+    /**
+     * Compares every log of the base directory with the log of the same method in the candidate directory.
+     */
+    static List<MethodDiff> diff(Path base, Path candidate) throws IOException {
+        Map<String, InstructionMix> bases = read(base);
+        Map<String, InstructionMix> candidates = read(candidate);
+        Map<String, MethodDiff> diffs = new TreeMap<>();
+        for (Map.Entry<String, InstructionMix> entry : bases.entrySet()) {
+            diffs.put(entry.getKey(), diff(entry.getValue(), candidates.get(entry.getKey())));
+        }
+        for (Map.Entry<String, InstructionMix> entry : candidates.entrySet()) {
+            if(!bases.containsKey(entry.getKey())) {
+                MethodDiff diff = new MethodDiff(entry.getKey(), null, entry.getValue());
+                diff.changes.add("only in the candidate");
+                diffs.put(entry.getKey(), diff);
+            }
+        }
+        return new ArrayList<>(diffs.values());
+    }
+
+    private static Map<String, InstructionMix> read(Path dir) throws IOException {
+        Map<String, InstructionMix> mixes = new TreeMap<>();
+        try(DirectoryStream<Path> logs = Files.newDirectoryStream(dir, "*.log")) {
+            for (Path log : logs) {
+                InstructionMix mix = InstructionMix.parse(log);
+                mixes.put(mix.method, mix);
+            }
+        }
+        return mixes;
+    }
+
+    /**
+     * Compares the hot loops of one method, the candidate being null if it has no log.
+     */
+    static MethodDiff diff(InstructionMix base, InstructionMix candidate) {
+        MethodDiff diff = new MethodDiff(base.method, base, candidate);
+        if(candidate == null) {
+            diff.changes.add("only in the base");
+            return diff;
+        }
+        if(!base.disassembled || !candidate.disassembled) {
+            diff.changes.add("not compared, no disassembly in the " + (base.disassembled ? "candidate" : "base"));
+            return diff;
+        }
+
+        Verdict before = base.verdict();
+        Verdict after = candidate.verdict();
+        if(before != after) {
+            String change = "verdict " + name(before) + " -> " + name(after);
+            if(rank(after) < rank(before)) {
+                diff.regressions.add(change);
+            } else {
+                diff.changes.add(change);
+            }
+        }
+
+        Counts b = base.hotLoop != null ? base.hotLoop : new Counts();
+        Counts c = candidate.hotLoop != null ? candidate.hotLoop : new Counts();
+        if(c.javaCalls > b.javaCalls) {
+            diff.regressions.add("new Java calls in the hot loop: " + b.javaCalls + " -> " + c.javaCalls);
+        }
+        if(c.allocationCalls > b.allocationCalls) {
+            diff.regressions.add("new allocations in the hot loop: " + b.allocationCalls + " -> " + c.allocationCalls);
+        }
+        if(c.deoptCalls > b.deoptCalls) {
+            diff.changes.add("new uncommon traps in the hot loop: " + b.deoptCalls + " -> " + c.deoptCalls);
+        }
+        if(c.runtimeCalls > b.runtimeCalls) {
+            diff.changes.add("new runtime calls in the hot loop: " + b.runtimeCalls + " -> " + c.runtimeCalls);
+        }
+        String fromWidth = width(b);
+        String toWidth = width(c);
+        if(fromWidth.compareTo(toWidth) > 0) {
+            diff.regressions.add("narrower vectors in the hot loop: " + fromWidth + " -> " + toWidth);
+        } else if(fromWidth.compareTo(toWidth) < 0) {
+            diff.changes.add("wider vectors in the hot loop: " + fromWidth + " -> " + toWidth);
+        }
+        delta(diff, "instructions", b.instructions, c.instructions);
+        delta(diff, "packed", b.packed, c.packed);
+        delta(diff, "scalar", b.scalar, c.scalar);
+
+        // vector operations of the base hot loop that the candidate no longer uses
+        Map<String, Integer> lost = packedMnemonics(base);
+        lost.keySet().removeAll(packedMnemonics(candidate).keySet());
+        if(!lost.isEmpty()) {
+            diff.changes.add("lost vector ops: " + String.join(", ", lost.keySet()));
+        }
+
+        List<String> from = normalize(base.hotLoopInstructions());
+        List<String> to = normalize(candidate.hotLoopInstructions());
+        if(!from.equals(to)) {
+            lines(diff.lines, from, to);
+        }
+        return diff;
+    }
+
+    private static void delta(MethodDiff diff, String name, int from, int to) {
+        if(from != to) {
+            diff.changes.add("hot loop " + name + ": " + from + " -> " + to + " (" + (to > from ? "+" : "") + (to - from) + ")");
+        }
+    }
+
+    // the worse the verdict, the lower the rank
+    private static int rank(Verdict verdict) {
+        switch (verdict) {
+            case VECTORIZED:
+                return 2;
+            case SCALAR:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    private static String name(Verdict verdict) {
+        return verdict.name().toLowerCase(Locale.ROOT);
+    }
+
+    // "-" < "xmm" < "ymm" < "zmm"
+    private static String width(Counts counts) {
+        return counts.zmm > 0 ? "zmm" : counts.ymm > 0 ? "ymm" : counts.xmm > 0 ? "xmm" : "-";
+    }
+
+    private static Map<String, Integer> packedMnemonics(InstructionMix mix) {
+        Map<String, Integer> mnemonics = new TreeMap<>();
+        for (Instruction instruction : mix.hotLoopInstructions()) {
+            Counts counts = new Counts();
+            counts.add(instruction);
+            if(counts.packed > 0) {
+                mnemonics.merge(instruction.mnemonic, 1, Integer::sum);
+            }
+        }
+        return mnemonics;
+    }
+
+    static List<String> normalize(List<Instruction> instructions) {
+        List<String> lines = new ArrayList<>();
+        for (Instruction instruction : instructions) {
+            lines.add(normalize(instruction));
+        }
+        return lines;
+    }
+
+    static String normalize(Instruction instruction) {
+        String operands = ADDRESS.matcher(instruction.operands).replaceAll("<addr>");
+        operands = VECTOR_REGISTER.matcher(operands).replaceAll("$1");
+        operands = MASK_REGISTER.matcher(operands).replaceAll("k");
+        operands = GENERAL_REGISTER.matcher(operands).replaceAll("r");
+        String line = operands.isEmpty() ? instruction.mnemonic : instruction.mnemonic + " " + operands.replaceAll("\\s+", " ");
+        Call call = instruction.call();
+        return call == null ? line : line + " ; " + call.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Appends the edit script from one list of lines to the other, from their longest common subsequence.
+     */
+    private static void lines(List<String> out, List<String> from, List<String> to) {
+        int n = from.size();
+        int m = to.size();
+        // common[i][j] = length of the longest common subsequence of from[i..] and to[j..]
+        int[][] common = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                common[i][j] = from.get(i).equals(to.get(j)) ? common[i + 1][j + 1] + 1 : Math.max(common[i + 1][j], common[i][j + 1]);
+            }
+        }
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            if(i < n && j < m && from.get(i).equals(to.get(j))) {
+                out.add("  " + from.get(i++));
+                j++;
+            } else if(j == m || i < n && common[i + 1][j] >= common[i][j + 1]) {
+                out.add("- " + from.get(i++));
+            } else {
+                out.add("+ " + to.get(j++));
+            }
+        }
+    }
+
+    /**
+     * Writes the diffs as Markdown, regressions first, and the hot loop edit script of every changed method.
+     */
+    static String toMarkdown(List<MethodDiff> diffs) {
+        StringBuilder sb = new StringBuilder();
+        int regressed = 0;
+        for (MethodDiff diff : diffs) {
+            regressed += diff.regressed() ? 1 : 0;
+        }
+        sb.append(regressed).append(" of ").append(diffs.size()).append(" methods regressed\n\n");
+        sb.append("| Method | Verdict | Hot loop | Packed | Regressions | Changes |\n");
+        sb.append("| -------- | -------- | -------- | -------- | -------- | -------- |\n");
+        for (MethodDiff diff : diffs) {
+            sb.append("| ").append(diff.regressed() ? "**" + diff.method + "**" : diff.method)
+                    .append(" | ").append(pair(diff, m -> name(m.verdict())))
+                    .append(" | ").append(pair(diff, m -> m.hotLoop == null ? "-" : String.valueOf(m.hotLoop.instructions)))
+                    .append(" | ").append(pair(diff, m -> m.hotLoop == null ? "-" : String.valueOf(m.hotLoop.packed)))
+                    .append(" | ").append(String.join("<br>", diff.regressions))
+                    .append(" | ").append(String.join("<br>", diff.changes))
+                    .append(" |\n");
+        }
+        for (MethodDiff diff : diffs) {
+            if(diff.lines.isEmpty()) {
+                continue;
+            }
+            sb.append("\n### ").append(diff.method).append("\n\n```diff\n");
+            for (String line : diff.lines) {
+                sb.append(line).append('\n');
+            }
+            sb.append("```\n");
+        }
+        return sb.toString();
+    }
+
+    private static String pair(MethodDiff diff, Function<InstructionMix, String> value) {
+        // a method on one side only has a single value
+        String from = diff.base == null ? null : value.apply(diff.base);
+        String to = diff.candidate == null ? null : value.apply(diff.candidate);
+        if(from == null || to == null || from.equals(to)) {
+            return from != null ? from : to;
+        }
+        return from + " -> " + to;
+    }
+}
@@ -1,5 +1,6 @@
 package fr.centralesupelec.simd;
 
+import jdk.incubator.vector.IntVector;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 
@@ -10,199 +11,575 @@ import java.io.InputStreamReader;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
+/**
+ * Writes the C2 assembly of benchmark methods to {@code results/<class>.<method>.log}.
+ * <p>
+ * Every method runs in its own JVM, with the JVM arguments of its {@link Fork} annotations, and is invoked outside of
+ * JMH on states built by {@link StateFactory}, so that the printed code is the code of the benchmarked configuration.
+ * The JVMs run on a bounded pool, each log is written as soon as its JVM exits. The instruction mix of every log of
+ * the output directory is then summarized by {@link InstructionMix}. With {@code --diff}, the logs of two output
+ * directories are compared by {@link AsmDiff} instead.
+ */
 public class AsmLogger {
 
-    private static class Box<T> {
-        private T data;
+    private static final String PACKAGE = "fr.centralesupelec.simd";
+    private static final String CHILD = "--child";
+    private static final String PARAMS_LINE = "AsmLogger params: ";
+    private static final String BLACKHOLE_LINE = "AsmLogger blackhole: ";
+    // exit code of a child that ran the benchmark to the end, the JVM and the child's errors use others
+    private static final int CHILD_SUCCESS = 10;
 
-        T get() {
-            return data;
-        }
+    private static final String USAGE = String.join("\n",
+            "Usage: AsmLogger [options] [class...]",
+            "  class                 benchmark class, simple names are looked up in " + PACKAGE + " and " + PACKAGE + ".generated",
+            "                        (default: VectorProfiling)",
+            "  -m, --methods REGEX   only the benchmark methods whose name matches REGEX (default: all)",
+            "  -p, --param NAME=V    sets the @Param field NAME to V, repeatable (default: ARRAY_LENGTH=8192, then the first",
+            "                        value of each @Param annotation)",
+            "  -j, --jvmArg FLAG     appends FLAG to the JVM arguments of every fork, repeatable (e.g. -j -XX:UseAVX=2)",
+            "  -o, --output DIR      writes the logs to DIR (default: results)",
+            "  -i, --invocations N   invocations before exiting, enough for C2 to compile the method (default: 100000)",
+            "  -t, --threads N       forks running at the same time (default: the number of available processors)",
+            "  -a, --analyze         only summarizes the instruction mix of the logs already in the output directory",
+            "  -d, --diff BASE       only compares the hot loops of the logs of BASE with those of the output directory,",
+            "                        and exits with 1 if any method regressed",
+            "  -h, --help            prints this message");
 
-        void set(T data) {
-            this.data = data;
-        }
+    private static class Options {
+        final List<Class<?>> classes = new ArrayList<>();
+        Pattern methods = Pattern.compile(".*");
+        final Map<String, String> params = new LinkedHashMap<>();
+        final List<String> jvmArgs = new ArrayList<>();
+        Path output = Paths.get("results");
+        int invocations = 100000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean analyze;
+        Path diff;
     }
 
     private static long blackhole = 42;
 
     public static void main(String[] args) {
-        if(args.length == 0) {
-            try {
-                Files.createDirectories(Paths.get("results"));
-            } catch (IOException e) {
-                System.err.println("Error: Could not create results/ directory");
-            }
+        if(args.length > 0 && args[0].equals(CHILD)) {
+            child(args);
+            return;
+        }
+        Options options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        if(options == null) {
+            System.out.println(USAGE);
+            return;
+        }
 
-            StringBuilder prefixSb = new StringBuilder();
-            prefixSb.append("\ton JVM: ").append(System.getProperty("java.vm.name")).append('\n');
-            prefixSb.append("\ton OS: ").append(System.getProperty("os.name")).append(" ").append(System.getProperty("os.version")).append(" ").append(System.getProperty("os.arch")).append('\n');
-            prefixSb.append("\twith vector size: ").append(VectorProfiling.VectorState.bitSize).append(" bits\n");
-            prefixSb.append("-----\n");
-            String prefix = prefixSb.toString();
+        if(options.analyze) {
+            summarize(options.output);
+            return;
+        }
+        if(options.diff != null) {
+            diff(options.diff, options.output);
+            return;
+        }
+
+        try {
+            Files.createDirectories(options.output);
+        } catch (IOException e) {
+            System.err.println("Error: Could not create " + options.output + " directory");
+        }
+
+        StringBuilder prefixSb = new StringBuilder();
+        prefixSb.append("\ton JVM: ").append(System.getProperty("java.vm.name")).append('\n');
+        prefixSb.append("\ton OS: ").append(System.getProperty("os.name")).append(" ").append(System.getProperty("os.version")).append(" ").append(System.getProperty("os.arch")).append('\n');
+        prefixSb.append("\twith vector size: ").append(IntVector.preferredSpecies().bitSize()).append(" bits\n");
+        String prefix = prefixSb.toString();
 
-            String java;
-            if (System.getProperty("os.name").startsWith("Win")) {
-                java = System.getProperties().getProperty("java.home") + "\\bin\\java.exe";
-            } else {
-                java = System.getProperties().getProperty("java.home") + "/bin/java";
+        String java;
+        if (System.getProperty("os.name").startsWith("Win")) {
+            java = System.getProperties().getProperty("java.home") + "\\bin\\java.exe";
+        } else {
+            java = System.getProperties().getProperty("java.home") + "/bin/java";
+        }
+
+        List<String> inheritedArgs = new ArrayList<>();
+        RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
+        for(String arg : runtimeMXBean.getInputArguments()) {
+            if(!arg.startsWith("-agentlib")) {
+                inheritedArgs.add(arg);
             }
+        }
 
-            List<String> jvmArgs = new ArrayList<>();
-            RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
-            for(String arg : runtimeMXBean.getInputArguments()) {
-                if(!arg.startsWith("-agentlib")) {
-                    jvmArgs.add(arg);
+        List<Dump> dumps = new ArrayList<>();
+        for(Class<?> type : options.classes) {
+            List<Method> methods = new ArrayList<>();
+            for(Method method : type.getMethods()) {
+                if(method.getAnnotation(Benchmark.class) != null && options.methods.matcher(method.getName()).matches()) {
+                    methods.add(method);
                 }
             }
-            jvmArgs.add("-classpath");
-            jvmArgs.add(runtimeMXBean.getClassPath());
-
-            Fork fork = VectorProfiling.class.getAnnotation(Fork.class);
-            if(fork != null) {
-                jvmArgs.addAll(Arrays.asList(fork.jvmArgsPrepend()));
+            methods.sort(Comparator.comparing(Method::getName));
+            if(methods.isEmpty()) {
+                System.err.println("Warning: No benchmark of " + type.getName() + " matches " + options.methods.pattern());
             }
 
-            Method[] methods = VectorProfiling.class.getMethods();
             for(Method method : methods) {
-                if(method.getAnnotation(Benchmark.class) == null) {
-                    continue;
-                }
-                List<String> methodArgs = new ArrayList<>();
-                Fork methodFork = method.getAnnotation(Fork.class);
-                if(methodFork != null) {
-                    methodArgs.addAll(Arrays.asList(methodFork.jvmArgsAppend()));
-                }
+                // the flags of the dump header are those the child runs with
+                List<String> flags = forkJvmArgs(type, method, inheritedArgs);
+                flags.addAll(options.jvmArgs);
 
                 List<String> forkArgs = new ArrayList<>();
                 forkArgs.add(java);
-                forkArgs.addAll(jvmArgs);
-                forkArgs.addAll(methodArgs);
+                forkArgs.add("-classpath");
+                forkArgs.add(runtimeMXBean.getClassPath());
+                forkArgs.addAll(flags);
                 forkArgs.add("-XX:+UnlockDiagnosticVMOptions");
                 forkArgs.add("-XX:PrintAssemblyOptions=intel");
-                forkArgs.add("-XX:CompileCommand=print,*VectorProfiling." + method.getName());
-                forkArgs.add("-XX:CompileCommand=dontinline,*VectorProfiling." + method.getName());
+                forkArgs.add("-XX:CompileCommand=print," + type.getName() + "::" + method.getName());
+                forkArgs.add("-XX:CompileCommand=dontinline," + type.getName() + "::" + method.getName());
                 forkArgs.add(AsmLogger.class.getCanonicalName());
+                forkArgs.add(CHILD);
+                forkArgs.add(type.getName());
                 forkArgs.add(method.getName());
-                ProcessBuilder builder = new ProcessBuilder().command(forkArgs);
-                Process process;
-                try {
-                    process = builder.start();
-                } catch (IOException e) {
-                    System.err.println("Error: Could not start JVM:");
-                    e.printStackTrace();
-                    return;
-                }
-                StringBuilder sb = new StringBuilder();
-                Box<Exception> ex = new Box<>();
-                CountDownLatch readLock = new CountDownLatch(1);
-                Thread readThread = new Thread(() -> {
-                    try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                        String line;
-                        while((line = reader.readLine()) != null) {
-                            sb.append(line).append('\n');
-                        }
-                    } catch(IOException e) {
-                        if(Thread.interrupted()) {
-                            return;
-                        }
-                        ex.set(e);
-                    } finally {
-                        readLock.countDown();
-                    }
-                });
-                readThread.start();
-                int exitCode;
-                try {
-                    exitCode = process.waitFor();
-                } catch (InterruptedException e) {
-                    readThread.interrupt();
-                    return;
-                }
-                try {
-                    readLock.await();
-                } catch (InterruptedException e) {
-                    return;
-                }
-                if(exitCode < 10) {
-                    System.err.println("Error: Benchmark " + method.getName() + " exited with unsuccessful exit code: " + exitCode);
-                    stderr(process, method);
-                    continue;
+                forkArgs.add(Integer.toString(options.invocations));
+                for(Map.Entry<String, String> param : options.params.entrySet()) {
+                    forkArgs.add(param.getKey() + "=" + param.getValue());
                 }
-                if(ex.get() != null) {
-                    System.err.println("Error: Unable to read benchmark " + method.getName() + " stdout:");
-                    ex.get().printStackTrace();
-                    continue;
-                }
-                int start = sb.lastIndexOf("Compiled method (c2)");
-                if(start == -1) {
-                    System.err.println("Error: No c2 compiled method for benchmark " + method.getName() + ":");
-                    stderr(process, method);
-                    System.err.println(sb.toString());
-                    continue;
-                }
-                start = sb.indexOf("[Entry Point]", start);
-                if(start == -1) {
-                    System.err.println("Error: No entry point for method for benchmark " + method.getName() + ":");
-                    stderr(process, method);
-                    System.err.println(sb.toString());
-                    continue;
+                dumps.add(new Dump(type.getSimpleName() + "." + method.getName(), forkArgs, flags, prefix, options.output));
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads);
+        CompletionService<Boolean> completion = new ExecutorCompletionService<>(pool);
+        for(Dump dump : dumps) {
+            completion.submit(dump);
+        }
+        int failed = 0;
+        try {
+            for (int i = 0; i < dumps.size(); i++) {
+                if(!completion.take().get()) {
+                    failed++;
                 }
-                int end = sb.indexOf("\nImmutableOopMap", start);
-                if(end == -1) {
-                    end = sb.length();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            return;
+        } catch (ExecutionException e) {
+            pool.shutdownNow();
+            System.err.println("Error: Unexpected failure:");
+            e.getCause().printStackTrace();
+            System.exit(1);
+        }
+        pool.shutdown();
+        summarize(options.output);
+        if(failed > 0) {
+            System.err.println("Error: " + failed + " of " + dumps.size() + " benchmarks failed");
+            System.exit(1);
+        }
+    }
+
+    private static void summarize(Path output) {
+        List<InstructionMix> mixes;
+        try {
+            mixes = InstructionMix.summarize(output);
+        } catch (IOException e) {
+            System.err.println("Error: Unable to write the instruction mix summary:");
+            e.printStackTrace();
+            return;
+        }
+        for (InstructionMix mix : mixes) {
+            if(mix.flagged()) {
+                System.err.println("Warning: " + mix.method + " has no packed instructions in its hot loop (" + mix.verdict().name().toLowerCase(Locale.ROOT) + ")");
+            }
+        }
+        System.err.println("Instruction mix of " + mixes.size() + " methods written to " + output.resolve(InstructionMix.SUMMARY_MD));
+    }
+
+    private static void diff(Path base, Path candidate) {
+        List<AsmDiff.MethodDiff> diffs;
+        try {
+            diffs = AsmDiff.diff(base, candidate);
+        } catch (IOException e) {
+            System.err.println("Error: Unable to read the logs of " + base + " and " + candidate + ":");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        System.out.print(AsmDiff.toMarkdown(diffs));
+        int regressed = 0;
+        for (AsmDiff.MethodDiff diff : diffs) {
+            regressed += diff.regressed() ? 1 : 0;
+        }
+        if(regressed > 0) {
+            System.err.println("Error: " + regressed + " of " + diffs.size() + " methods regressed from " + base + " to " + candidate);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the JVM arguments of the fork of a benchmark method as JMH builds them: jvmArgsPrepend, then jvmArgs, or
+     * the inherited arguments when it is not set, then jvmArgsAppend. Each attribute is taken from the {@link Fork} of
+     * the method if set there, else from the {@link Fork} of its class.
+     */
+    static List<String> forkJvmArgs(Class<?> type, Method method, List<String> inherited) {
+        Fork classFork = type.getAnnotation(Fork.class);
+        Fork methodFork = method.getAnnotation(Fork.class);
+        List<String> args = new ArrayList<>();
+        String[] prepend = forkAttribute(classFork, methodFork, Fork::jvmArgsPrepend);
+        String[] jvmArgs = forkAttribute(classFork, methodFork, Fork::jvmArgs);
+        String[] append = forkAttribute(classFork, methodFork, Fork::jvmArgsAppend);
+        if(prepend != null) {
+            args.addAll(Arrays.asList(prepend));
+        }
+        args.addAll(jvmArgs != null ? Arrays.asList(jvmArgs) : inherited);
+        if(append != null) {
+            args.addAll(Arrays.asList(append));
+        }
+        return args;
+    }
+
+    /** the attribute of the method-level fork if set, else of the class-level fork, or null if neither sets it */
+    private static String[] forkAttribute(Fork classFork, Fork methodFork, Function<Fork, String[]> attribute) {
+        for(Fork fork : new Fork[] { methodFork, classFork }) {
+            if(fork != null) {
+                String[] args = attribute.apply(fork);
+                if(!(args.length == 1 && Fork.BLANK_ARGS.equals(args[0]))) {
+                    return args;
                 }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs the fork of one benchmark, keeping only the last C2 compilation of its stdout and the end of the rest for
+     * error reports, and writes its log as soon as it exits.
+     */
+    private static class Dump implements Callable<Boolean> {
+
+        private static final int TAIL_LINES = 50;
+
+        private final String name;
+        private final List<String> forkArgs;
+        private final List<String> flags;
+        private final String prefix;
+        private final Path output;
+
+        Dump(String name, List<String> forkArgs, List<String> flags, String prefix, Path output) {
+            this.name = name;
+            this.forkArgs = forkArgs;
+            this.flags = flags;
+            this.prefix = prefix;
+            this.output = output;
+        }
+
+        @Override
+        public Boolean call() {
+            Process process;
+            try {
+                process = new ProcessBuilder().command(forkArgs).start();
+            } catch (IOException e) {
+                report("Error: Could not start JVM for benchmark " + name + ": " + e, "");
+                return false;
+            }
 
-                try(BufferedWriter writer = Files.newBufferedWriter(Paths.get("results", method.getName() + ".log"), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                    writer.write("Running benchmark " + method.getName() + ":\n");
-                    writer.write(prefix);
-                    writer.write(sb.substring(start, end));
+            // drained concurrently so that a chatty child never blocks on a full pipe
+            StringBuilder err = new StringBuilder();
+            Thread errThread = new Thread(() -> {
+                try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
+                    String line;
+                    while((line = reader.readLine()) != null) {
+                        err.append(line).append('\n');
+                    }
                 } catch(IOException e) {
-                    System.err.println("Error: Unable to write assembly for benchmark " + method.getName() + ":");
-                    e.printStackTrace();
+                    err.append("Error: Unable to read stderr: ").append(e).append('\n');
                 }
+            });
+            errThread.start();
 
-                System.err.println(method.getName() + ":");
-                stderr(process, method);
+            String params = "";
+            boolean compiled = false;
+            boolean entry = false;
+            boolean capturing = false;
+            StringBuilder asm = null;
+            Deque<String> tail = new ArrayDeque<>();
+            try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while((line = reader.readLine()) != null) {
+                    if(line.startsWith(PARAMS_LINE)) {
+                        params = line.substring(PARAMS_LINE.length());
+                    }
+                    if(line.startsWith(BLACKHOLE_LINE)) {
+                        continue;
+                    }
+                    if(line.contains("Compiled method (c2)")) {
+                        // a later compilation replaces the previous one
+                        compiled = true;
+                        entry = false;
+                        capturing = false;
+                        asm = null;
+                    } else if(compiled && !entry && line.contains("[Entry Point]")) {
+                        entry = true;
+                        capturing = true;
+                        asm = new StringBuilder();
+                    } else if(capturing && line.startsWith("ImmutableOopMap")) {
+                        capturing = false;
+                    }
+                    if(capturing) {
+                        asm.append(line).append('\n');
+                    }
+                    tail.addLast(line);
+                    if(tail.size() > TAIL_LINES) {
+                        tail.removeFirst();
+                    }
+                }
+            } catch(IOException e) {
+                process.destroyForcibly();
+                join(errThread);
+                report("Error: Unable to read benchmark " + name + " stdout: " + e, err.toString());
+                return false;
             }
-        } else {
-            VectorProfiling profiling = new VectorProfiling();
-            VectorProfiling.VectorState state = new VectorProfiling.VectorState();
-            state.ARRAY_LENGTH = 8192;
-            state.doSetup();
 
-            Method method;
+            int exitCode;
             try {
-                method = VectorProfiling.class.getMethod(args[0], VectorProfiling.VectorState.class);
-            } catch (NoSuchMethodException e) {
-                System.err.println("Error: Could not find benchmark: " + args[0] + ":");
-                e.printStackTrace();
-                System.exit(1);
-                return;
+                exitCode = process.waitFor();
+                errThread.join();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if(exitCode != CHILD_SUCCESS) {
+                report("Error: Benchmark " + name + " exited with unsuccessful exit code: " + exitCode, err.toString());
+                return false;
+            }
+            if(!compiled) {
+                report("Error: No c2 compiled method for benchmark " + name + ":", err + String.join("\n", tail) + "\n");
+                return false;
+            }
+            if(!entry) {
+                report("Error: No entry point for method for benchmark " + name + ":", err + String.join("\n", tail) + "\n");
+                return false;
+            }
+
+            try(BufferedWriter writer = Files.newBufferedWriter(output.resolve(name + ".log"), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writer.write("Running benchmark " + name + ":\n");
+                writer.write(prefix);
+                writer.write("\twith params: " + params + "\n");
+                writer.write("\twith JVM flags: " + String.join(" ", flags) + "\n");
+                writer.write("-----\n");
+                writer.write(asm.toString());
+            } catch(IOException e) {
+                report("Error: Unable to write assembly for benchmark " + name + ": " + e, err.toString());
+                return false;
+            }
+
+            report(name + ":", err.toString());
+            return true;
+        }
+
+        private static void join(Thread thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // one print per benchmark, so that the reports of concurrent forks do not interleave
+        private static void report(String header, String details) {
+            System.err.print(header + "\n" + details);
+            System.err.flush();
+        }
+    }
+
+    /**
+     * Returns the parsed options, or null if help was requested.
+     */
+    private static Options parse(String[] args) {
+        Options options = new Options();
+        options.params.put("ARRAY_LENGTH", "8192");
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if(arg.equals("-h") || arg.equals("--help")) {
+                return null;
+            }
+            if(arg.equals("-a") || arg.equals("--analyze")) {
+                options.analyze = true;
+                continue;
+            }
+            if(!arg.startsWith("-")) {
+                options.classes.add(benchmarkClass(arg));
+                continue;
+            }
+            if(i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "-m":
+                case "--methods":
+                    try {
+                        options.methods = Pattern.compile(value);
+                    } catch (PatternSyntaxException e) {
+                        throw new IllegalArgumentException("Invalid method regex: " + value);
+                    }
+                    break;
+                case "-p":
+                case "--param":
+                    int eq = value.indexOf('=');
+                    if(eq <= 0) {
+                        throw new IllegalArgumentException("Expected NAME=VALUE: " + value);
+                    }
+                    options.params.put(value.substring(0, eq), value.substring(eq + 1));
+                    break;
+                case "-j":
+                case "--jvmArg":
+                    options.jvmArgs.add(value);
+                    break;
+                case "-d":
+                case "--diff":
+                    options.diff = Paths.get(value);
+                    break;
+                case "-o":
+                case "--output":
+                    options.output = Paths.get(value);
+                    break;
+                case "-i":
+                case "--invocations":
+                    try {
+                        options.invocations = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid number of invocations: " + value);
+                    }
+                    if(options.invocations <= 0) {
+                        throw new IllegalArgumentException("Invalid number of invocations: " + value);
+                    }
+                    break;
+                case "-t":
+                case "--threads":
+                    try {
+                        options.threads = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid number of threads: " + value);
+                    }
+                    if(options.threads <= 0) {
+                        throw new IllegalArgumentException("Invalid number of threads: " + value);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
             }
+        }
+        if(options.classes.isEmpty()) {
+            options.classes.add(VectorProfiling.class);
+        }
+        return options;
+    }
 
+    private static Class<?> benchmarkClass(String name) {
+        List<String> candidates = name.contains(".") ? Arrays.asList(name) : Arrays.asList(PACKAGE + "." + name, PACKAGE + ".generated." + name);
+        for (String candidate : candidates) {
             try {
-                for (int i = 0; i < 100000; i++) {
-                    // reflective method invocation, but perfomance does not matter wrt asm generation
-                    consume(method.invoke(profiling, state));
+                return Class.forName(candidate);
+            } catch (ClassNotFoundException e) {
+                // try the next package
+            }
+        }
+        throw new IllegalArgumentException("Unknown benchmark class: " + name);
+    }
+
+    // --child class method invocations [NAME=VALUE...]
+    private static void child(String[] args) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (int i = 4; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            params.put(args[i].substring(0, eq), args[i].substring(eq + 1));
+        }
+        int invocations = Integer.parseInt(args[3]);
+
+        StateFactory states = new StateFactory(params);
+        Object benchmark;
+        Method method;
+        Object[] arguments;
+        try {
+            Class<?> type = Class.forName(args[1]);
+            method = null;
+            for (Method m : type.getMethods()) {
+                if(m.getName().equals(args[2]) && m.getAnnotation(Benchmark.class) != null) {
+                    method = m;
                 }
-            } catch (Exception e) {
-                System.err.println("Error: Benchmark error:");
-                e.printStackTrace();
-                System.exit(2);
             }
+            if(method == null) {
+                System.err.println("Error: Could not find benchmark: " + args[1] + "." + args[2]);
+                System.exit(1);
+                return;
+            }
+            benchmark = states.benchmark(type);
+            arguments = states.arguments(method);
+        } catch (Exception e) {
+            System.err.println("Error: Could not set up benchmark " + args[2] + ":");
+            StateFactory.cause(e).printStackTrace();
+            System.exit(3);
+            return;
+        }
+        for (String unused : states.unusedParams()) {
+            // the ARRAY_LENGTH default only applies to states that have one
+            if(!unused.equals("ARRAY_LENGTH")) {
+                System.err.println("Warning: No @Param " + unused + " in the states of " + args[2]);
+            }
+        }
+        StringBuilder resolved = new StringBuilder();
+        for (Map.Entry<String, String> param : states.resolvedParams().entrySet()) {
+            resolved.append(resolved.length() == 0 ? "" : ", ").append(param.getKey()).append('=').append(param.getValue());
+        }
+        System.out.println(PARAMS_LINE + resolved);
+        System.out.flush();
 
-            // use blackhole in jvm exit code
-            System.exit(10 + (int)(blackhole % 13));
+        try {
+            for (int i = 0; i < invocations; i++) {
+                states.beforeInvocation();
+                // reflective method invocation, but perfomance does not matter wrt asm generation
+                consume(method.invoke(benchmark, arguments));
+            }
+            states.tearDown();
+        } catch (Exception e) {
+            System.err.println("Error: Benchmark error:");
+            StateFactory.cause(e).printStackTrace();
+            System.exit(2);
         }
+
+        // use blackhole in the output, so that the results are not dead code
+        System.out.println(BLACKHOLE_LINE + blackhole);
+        System.exit(CHILD_SUCCESS);
     }
 
     private static void consume(Object o) {
@@ -210,6 +587,10 @@ public class AsmLogger {
             blackhole ^= (Integer) o;
         } else if(o instanceof Long) {
             blackhole ^= (Long) o;
+        } else if(o instanceof Float) {
+            blackhole ^= Float.floatToRawIntBits((Float) o);
+        } else if(o instanceof Double) {
+            blackhole ^= Double.doubleToRawLongBits((Double) o);
         } else if(o instanceof Boolean) {
             blackhole ^= ((Boolean) o) ? 1 : 0;
         } else if(o instanceof int[]) {
@@ -217,20 +598,28 @@ public class AsmLogger {
             for (int e : a) {
                 blackhole ^= e;
             }
+        } else if(o instanceof long[]) {
+            long[] a = (long[]) o;
+            for (long e : a) {
+                blackhole ^= e;
+            }
+        } else if(o instanceof float[]) {
+            float[] a = (float[]) o;
+            for (float e : a) {
+                blackhole ^= Float.floatToRawIntBits(e);
+            }
+        } else if(o instanceof double[]) {
+            double[] a = (double[]) o;
+            for (double e : a) {
+                blackhole ^= Double.doubleToRawLongBits(e);
+            }
+        } else if(o instanceof ByteBuffer) {
+            ByteBuffer b = (ByteBuffer) o;
+            for (int i = 0; i + Integer.BYTES <= b.limit(); i += Integer.BYTES) {
+                blackhole ^= b.getInt(i);
+            }
         } else {
             throw new IllegalArgumentException("Unexpected becnhmark return type: " + o.getClass().getCanonicalName());
         }
     }
-
-    private static void stderr(Process process, Method method) {
-        try(BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-            String line;
-            while((line = reader.readLine()) != null) {
-                System.err.println(line);
-            }
-        } catch(IOException e) {
-            System.err.println("Error: Unable to read benchmark " + method.getName() + " stderr:");
-            e.printStackTrace();
-        }
-    }
 }
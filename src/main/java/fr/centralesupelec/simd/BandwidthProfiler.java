@@ -0,0 +1,191 @@
+package fr.centralesupelec.simd;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.profile.ProfilerException;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Turns the time per operation of the column benchmarks into rows/ns, GB/s and a fraction of the machine peak.
+ * <p>
+ * Rows are the ARRAY_LENGTH parameter, bytes are the rows times the columns read and written, as in STREAM: the
+ * write-allocate reads of the written columns are not counted. Columns come from {@link Columns}, or from the
+ * benchmark name, where the kernel is the name up to the variant ({@code filterSumAnd4SIMD} reads 5 columns).
+ * Benchmarks without ARRAY_LENGTH report nothing, benchmarks with an unknown kernel or on bitmap and bit-packed
+ * columns only report rows/ns.
+ * <p>
+ * Run with {@code -prof fr.centralesupelec.simd.BandwidthProfiler:peak=<GB/s>} to also report {@code peak}, the
+ * achieved fraction of a bandwidth measured beforehand, for example the triad bandwidth of
+ * {@link VectorStreamProfiling}.
+ */
+public class BandwidthProfiler implements InternalProfiler {
+
+    // kernel, columns read, columns written
+    private static final Object[][] KERNELS = {
+            {"sum", 1, 0},
+            {"add", 2, 1},
+            {"mul", 2, 1},
+            {"copy", 1, 1},
+            {"scale", 1, 1},
+            {"triad", 2, 1},
+            {"filter", 1, 0},
+            {"filterOr2", 1, 0},
+            {"filterOr4", 1, 0},
+            {"filterAnd2", 2, 0},
+            {"filterAnd4", 4, 0},
+            {"filterSum", 2, 0},
+            {"filterSumOr2", 2, 0},
+            {"filterSumOr4", 2, 0},
+            {"filterSumAnd2", 3, 0},
+            {"filterSumAnd4", 5, 0},
+    };
+
+    // variants on encoded columns, whose traffic is not a number of columns
+    private static final String[] ENCODED = { "Bitmap", "Packed" };
+
+    private final double peak;
+
+    public BandwidthProfiler() {
+        this.peak = Double.NaN;
+    }
+
+    public BandwidthProfiler(String options) throws ProfilerException {
+        double peak = Double.NaN;
+        for (String option : options.split(";")) {
+            if(option.isEmpty()) {
+                continue;
+            }
+            String[] kv = option.split("=", 2);
+            if(kv.length != 2 || !kv[0].trim().equals("peak")) {
+                throw new ProfilerException("Unknown option: " + option + ", expected peak=<GB/s>");
+            }
+            try {
+                peak = Double.parseDouble(kv[1].trim());
+            } catch (NumberFormatException e) {
+                throw new ProfilerException("Invalid peak bandwidth: " + kv[1]);
+            }
+            if(!(peak > 0)) {
+                throw new ProfilerException("Invalid peak bandwidth: " + kv[1]);
+            }
+        }
+        this.peak = peak;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Rows/ns and memory bandwidth of the column benchmarks";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result) {
+        String length = benchmarkParams.getParam("ARRAY_LENGTH");
+        double score = result.getPrimaryResult().getScore();
+        if(length == null || !(score > 0)) {
+            return Collections.emptyList();
+        }
+        double unit = benchmarkParams.getTimeUnit().toNanos(1);
+        double opsPerNs;
+        if(benchmarkParams.getMode() == Mode.Throughput) {
+            // already summed over threads
+            opsPerNs = score / unit;
+        } else {
+            opsPerNs = benchmarkParams.getThreads() / (score * unit);
+        }
+        double rowsPerNs = Long.parseLong(length) * opsPerNs;
+
+        List<Result> results = new ArrayList<>();
+        results.add(new ScalarResult("rows", rowsPerNs, "rows/ns", AggregationPolicy.AVG));
+        int[] traffic = traffic(benchmarkParams.getBenchmark());
+        if(traffic != null) {
+            // bytes/ns is GB/s
+            double bandwidth = rowsPerNs * (traffic[0] + traffic[1]) * traffic[2];
+            results.add(new ScalarResult("bandwidth", bandwidth, "GB/s", AggregationPolicy.AVG));
+            if(!Double.isNaN(peak)) {
+                results.add(new ScalarResult("peak", 100 * bandwidth / peak, "%", AggregationPolicy.AVG));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the columns read, the columns written and the element size of a benchmark, or null if unknown.
+     */
+    static int[] traffic(String benchmark) {
+        int dot = benchmark.lastIndexOf('.');
+        String methodName = benchmark.substring(dot + 1);
+        Columns classColumns = null;
+        Columns methodColumns = null;
+        try {
+            Class<?> type = Class.forName(benchmark.substring(0, dot));
+            classColumns = type.getAnnotation(Columns.class);
+            for (Method method : type.getMethods()) {
+                if(method.getName().equals(methodName)) {
+                    methodColumns = method.getAnnotation(Columns.class);
+                    break;
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            // count from the name
+        }
+
+        int read = -1;
+        int written = -1;
+        int bytes = -1;
+        for (Columns columns : new Columns[] { classColumns, methodColumns }) {
+            if(columns == null) {
+                continue;
+            }
+            read = columns.read() >= 0 ? columns.read() : read;
+            written = columns.written() >= 0 ? columns.written() : written;
+            bytes = columns.bytes() > 0 ? columns.bytes() : bytes;
+        }
+        bytes = bytes > 0 ? bytes : Integer.BYTES;
+        if(read < 0 || written < 0) {
+            for (String encoded : ENCODED) {
+                if(methodName.contains(encoded)) {
+                    return null;
+                }
+            }
+            Object[] kernel = kernel(methodName);
+            if(kernel == null) {
+                return null;
+            }
+            read = read < 0 ? (int) kernel[1] : read;
+            written = written < 0 ? (int) kernel[2] : written;
+        }
+        return new int[] { read, written, bytes };
+    }
+
+    // longest kernel name followed by the end of the name or by an upper case variant
+    private static Object[] kernel(String methodName) {
+        Object[] best = null;
+        for (Object[] kernel : KERNELS) {
+            String name = (String) kernel[0];
+            if(!methodName.startsWith(name)) {
+                continue;
+            }
+            if(methodName.length() > name.length() && !Character.isUpperCase(methodName.charAt(name.length()))) {
+                continue;
+            }
+            if(best == null || name.length() > ((String) best[0]).length()) {
+                best = kernel;
+            }
+        }
+        return best;
+    }
+}
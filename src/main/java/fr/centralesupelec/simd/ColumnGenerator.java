@@ -0,0 +1,301 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.storage.IntColumnFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Seeded generator of filter columns: a row is equal to the filter constant with probability {@code selectivity}, the
+ * other rows take the {@code cardinality - 1} other values.
+ * <p>
+ * Distributions:
+ * <ul>
+ * <li>{@code uniform}: rows in random order, the other values equally likely.</li>
+ * <li>{@code zipf}: rows in random order, the k-th other value after the constant drawn with a weight of 1/k.</li>
+ * <li>{@code sorted}: the uniform column sorted, so each value is a single run.</li>
+ * <li>{@code clustered}: runs of one value of 1 to {@code 2 * RUN_ROWS} rows, the value of a run drawn as a row of
+ * the uniform column.</li>
+ * </ul>
+ * Columns are generated in chunks of {@link #CHUNK_ROWS} rows on the common {@link ForkJoinPool}. Each column has its
+ * own {@link SplittableRandom}, seeded by the seed and the column name, which is split once per chunk in row order:
+ * a column only depends on the seed, its name and its parameters, whatever the columns generated before it, the
+ * number of threads or the machine.
+ * <p>
+ * When the {@code simd.cacheDir} system property names a directory, generated columns are also written there as
+ * {@link IntColumnFile}s, and later trials map and copy them instead of generating them again.
+ */
+public final class ColumnGenerator {
+
+    static final String[] DISTRIBUTIONS = { "uniform", "zipf", "sorted", "clustered" };
+    // mean length of the runs of the clustered distribution
+    static final int RUN_ROWS = 1024;
+    // rows generated by a single task, clustered runs are cut at chunk boundaries
+    static final int CHUNK_ROWS = 1 << 16;
+    // the selectivity of the filter columns of the benchmarks without a SELECTIVITY parameter, and in its sweeps
+    static final double SELECTIVITY = 0.1;
+
+    private final long seed;
+    private final String distribution;
+    private final int cardinality;
+    private final double selectivity;
+    private final Path cacheDir;
+    // for the constants, which are drawn in order
+    private final Random rnd;
+    // cumulative weights of the other values for zipf
+    private final double[] zipf;
+
+    public ColumnGenerator(long seed, String distribution, int cardinality, double selectivity) {
+        this(seed, distribution, cardinality, selectivity, System.getProperty("simd.cacheDir") == null ? null : Paths.get(System.getProperty("simd.cacheDir")));
+    }
+
+    /**
+     * @param cacheDir directory of the cached columns, or null to always generate them
+     */
+    ColumnGenerator(long seed, String distribution, int cardinality, double selectivity, Path cacheDir) {
+        if(!Arrays.asList(DISTRIBUTIONS).contains(distribution)) {
+            throw new IllegalArgumentException("Unknown distribution " + distribution + ", expected one of " + Arrays.toString(DISTRIBUTIONS));
+        }
+        if(cardinality < 2) {
+            throw new IllegalArgumentException("cardinality must be at least 2: " + cardinality);
+        }
+        if(!(selectivity >= 0 && selectivity <= 1)) {
+            throw new IllegalArgumentException("selectivity must be between 0 and 1: " + selectivity);
+        }
+        this.seed = seed;
+        this.distribution = distribution;
+        this.cardinality = cardinality;
+        this.selectivity = selectivity;
+        this.cacheDir = cacheDir;
+        this.rnd = new Random(seed);
+        if(distribution.equals("zipf")) {
+            zipf = new double[cardinality - 1];
+            double total = 0;
+            for (int k = 0; k < zipf.length; k++) {
+                total += 1.0 / (k + 1);
+                zipf[k] = total;
+            }
+        } else {
+            zipf = null;
+        }
+    }
+
+    /** a uniform generator whose values, the filter constants included, are all equally likely */
+    public static ColumnGenerator uniform(long seed, int cardinality) {
+        return new ColumnGenerator(seed, "uniform", cardinality, 1.0 / cardinality);
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    /** a value of the columns, to use as a filter constant */
+    public int constant() {
+        return rnd.nextInt(cardinality);
+    }
+
+    /** the column name, whose rows are equal to f with probability selectivity */
+    public int[] column(String name, int length, int f) {
+        int[] r = new int[length];
+        Path cached = cached(name + "-" + distribution + "-" + cardinality + "-" + selectivity + "-" + f, length);
+        if(cached != null && Files.exists(cached)) {
+            read(cached).asIntBuffer().get(r);
+            return r;
+        }
+        generate(name, false, f, r, null);
+        if(distribution.equals("sorted")) {
+            Arrays.parallelSort(r);
+        }
+        if(cached != null) {
+            write(cached, r);
+        }
+        return r;
+    }
+
+    /** fills the rows between 0 and limit() of the native-order buffer a with the column name */
+    void fill(String name, ByteBuffer a, int f) {
+        int length = a.limit() / Integer.BYTES;
+        Path cached = cached(name + "-" + distribution + "-" + cardinality + "-" + selectivity + "-" + f, length);
+        if(cached != null && Files.exists(cached)) {
+            a.duplicate().clear().put(read(cached));
+            return;
+        }
+        if(distribution.equals("sorted")) {
+            // no parallel sort of buffers
+            a.asIntBuffer().put(column(name, length, f));
+            return;
+        }
+        generate(name, false, f, null, a.asIntBuffer());
+        if(cached != null) {
+            write(cached, a);
+        }
+    }
+
+    /** the column name of random ints over the whole int range, which only depends on the seed */
+    public int[] fullRange(String name, int length) {
+        int[] r = new int[length];
+        Path cached = cached(name, length);
+        if(cached != null && Files.exists(cached)) {
+            read(cached).asIntBuffer().get(r);
+            return r;
+        }
+        generate(name, true, 0, r, null);
+        if(cached != null) {
+            write(cached, r);
+        }
+        return r;
+    }
+
+    void fillFullRange(String name, ByteBuffer a) {
+        int length = a.limit() / Integer.BYTES;
+        Path cached = cached(name, length);
+        if(cached != null && Files.exists(cached)) {
+            a.duplicate().clear().put(read(cached));
+            return;
+        }
+        generate(name, true, 0, null, a.asIntBuffer());
+        if(cached != null) {
+            write(cached, a);
+        }
+    }
+
+    /** generates the column name into array, or into buffer if array is null */
+    private void generate(String name, boolean fullRange, int f, int[] array, IntBuffer buffer) {
+        int length = array != null ? array.length : buffer.limit();
+        SplittableRandom column = new SplittableRandom(seed ^ name.hashCode() * 0x9E3779B97F4A7C15L);
+        SplittableRandom[] chunks = new SplittableRandom[(int) (((long) length + CHUNK_ROWS - 1) / CHUNK_ROWS)];
+        for (int k = 0; k < chunks.length; k++) {
+            chunks[k] = column.split();
+        }
+        ForkJoinPool.commonPool().invoke(new Generate(chunks, 0, chunks.length, fullRange, f, array, buffer, length));
+    }
+
+    private class Generate extends RecursiveAction {
+        private final SplittableRandom[] chunks;
+        private final int from;
+        private final int to;
+        private final boolean fullRange;
+        private final int f;
+        private final int[] array;
+        private final IntBuffer buffer;
+        private final int length;
+
+        Generate(SplittableRandom[] chunks, int from, int to, boolean fullRange, int f, int[] array, IntBuffer buffer, int length) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.fullRange = fullRange;
+            this.f = f;
+            this.array = array;
+            this.buffer = buffer;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Generate(chunks, from, mid, fullRange, f, array, buffer, length),
+                        new Generate(chunks, mid, to, fullRange, f, array, buffer, length));
+                return;
+            }
+            int start = from * CHUNK_ROWS;
+            int end = (int) Math.min((long) start + CHUNK_ROWS, length);
+            int[] rows = array != null ? array : new int[end - start];
+            int offset = array != null ? start : 0;
+            chunk(chunks[from], fullRange, f, rows, offset, offset + end - start);
+            if(array == null) {
+                IntBuffer b = buffer.duplicate();
+                b.position(start);
+                b.put(rows);
+            }
+        }
+    }
+
+    private void chunk(SplittableRandom rnd, boolean fullRange, int f, int[] rows, int from, int to) {
+        if(fullRange) {
+            for (int i = from; i < to; i++) {
+                rows[i] = rnd.nextInt();
+            }
+        } else if(distribution.equals("clustered")) {
+            for (int i = from; i < to; ) {
+                int end = (int) Math.min((long) i + 1 + rnd.nextInt(2 * RUN_ROWS), to);
+                Arrays.fill(rows, i, end, value(rnd, f));
+                i = end;
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                rows[i] = value(rnd, f);
+            }
+        }
+    }
+
+    private int value(SplittableRandom rnd, int f) {
+        return rnd.nextDouble() < selectivity ? f : other(rnd, f);
+    }
+
+    private int other(SplittableRandom rnd, int f) {
+        if(zipf == null) {
+            return (f + 1 + rnd.nextInt(cardinality - 1)) % cardinality;
+        }
+        // first rank whose cumulative weight exceeds x
+        double x = rnd.nextDouble() * zipf[zipf.length - 1];
+        int lo = 0;
+        int hi = zipf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(zipf[mid] <= x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return (int) ((f + 1L + lo) % cardinality);
+    }
+
+    /** the cache file of a column, or null without a cache */
+    private Path cached(String column, int length) {
+        if(cacheDir == null) {
+            return null;
+        }
+        return cacheDir.resolve(column + "-" + length + "-" + seed + ".col");
+    }
+
+    private static ByteBuffer read(Path cached) {
+        try {
+            return IntColumnFile.map(cached);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path cached, int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        write(cached, r);
+    }
+
+    // written to a temporary file then moved, so that concurrent forks never map a partial column
+    private static void write(Path cached, ByteBuffer a) {
+        try {
+            Files.createDirectories(cached.getParent());
+            Path tmp = Files.createTempFile(cached.getParent(), cached.getFileName().toString(), ".tmp");
+            IntColumnFile.write(tmp, a);
+            Files.move(tmp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package fr.centralesupelec.simd;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Memory traffic of a benchmark for {@link BandwidthProfiler}, in columns of ARRAY_LENGTH elements.
+ * <p>
+ * On a class, applies to all its benchmarks, and method values override class values. Negative counts are taken from
+ * the benchmark name, elements are 4 bytes unless given.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Columns {
+
+    int read() default -1;
+
+    int written() default -1;
+
+    int bytes() default -1;
+}
@@ -0,0 +1,77 @@
+package fr.centralesupelec.simd;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The columns of the filterSum* kernels, on heap or in aligned direct buffers: a, b and c over the whole int range,
+ * and aSmall to eSmall drawn by a {@link ColumnGenerator}, by default uniform over {@link #ARRAY_BOUND} values and
+ * equal to their constant with the default {@link ColumnGenerator#SELECTIVITY}, aSmall to dSmall being filtered on fa
+ * to fd and eSmall summed. A column is only generated when asked for, so a
+ * state only fills the columns its benchmarks read, and the heap and direct copies of a column have the same rows.
+ */
+final class FilterColumns {
+
+    static final int ARRAY_BOUND = 12;
+
+    private final ColumnGenerator generator;
+    private final int length;
+
+    final int fa;
+    final int fb;
+    final int fc;
+    final int fd;
+    private final int fe;
+
+    FilterColumns(long seed, int length) {
+        this(new ColumnGenerator(seed, "uniform", ARRAY_BOUND, ColumnGenerator.SELECTIVITY), length);
+    }
+
+    FilterColumns(ColumnGenerator generator, int length) {
+        this.generator = generator;
+        this.length = length;
+        fa = generator.constant();
+        fb = generator.constant();
+        fc = generator.constant();
+        fd = generator.constant();
+        fe = generator.constant();
+    }
+
+    private int constant(String name) {
+        switch (name) {
+            case "aSmall":
+                return fa;
+            case "bSmall":
+                return fb;
+            case "cSmall":
+                return fc;
+            case "dSmall":
+                return fd;
+            case "eSmall":
+                return fe;
+            default:
+                throw new IllegalArgumentException("Unknown small column " + name);
+        }
+    }
+
+    /** the column name over the whole int range */
+    int[] fullRange(String name) {
+        return generator.fullRange(name, length);
+    }
+
+    ByteBuffer fullRangeBuffer(String name) {
+        ByteBuffer r = VectorOffHeapProfiling.allocate(length * Integer.BYTES);
+        generator.fillFullRange(name, r);
+        return r;
+    }
+
+    /** the column name, aSmall to eSmall */
+    int[] small(String name) {
+        return generator.column(name, length, constant(name));
+    }
+
+    ByteBuffer smallBuffer(String name) {
+        ByteBuffer r = VectorOffHeapProfiling.allocate(length * Integer.BYTES);
+        generator.fill(name, r, constant(name));
+        return r;
+    }
+}
@@ -0,0 +1,357 @@
+package fr.centralesupelec.simd;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Instruction mix of a C2 listing in Intel syntax, as written by {@link AsmLogger}, over the whole method and over its
+ * hot loop: the largest loop that contains no other loop, found from the backward jumps.
+ * <p>
+ * Packed instructions are the SIMD instructions on an xmm, ymm or zmm register that are not scalar SIMD ({@code ss},
+ * {@code sd} suffixes, moves and inserts of a single lane). Scalar instructions are scalar SIMD and general purpose
+ * arithmetic. Calls are told apart from the comments HotSpot adds: uncommon traps and deoptimization, allocation
+ * stubs, Java calls, which in a SIMD kernel mean that the Vector API fell back to boxed vectors, and other runtime
+ * calls.
+ */
+final class InstructionMix {
+
+    static final String SUMMARY_JSON = "summary.json";
+    static final String SUMMARY_MD = "summary.md";
+
+    private static final Pattern LINE = Pattern.compile("^\\s*0x([0-9a-fA-F]+):\\s?(.*)$");
+    private static final Pattern RAW_BYTES = Pattern.compile("^[0-9a-f]{2,4}( [0-9a-f]{2,4})*( \\|.*)?$");
+    private static final Pattern VECTOR_REGISTER = Pattern.compile("\\b([xyz])mm\\d+\\b");
+    private static final Pattern TARGET = Pattern.compile("0x([0-9a-fA-F]+)");
+    private static final Set<String> PREFIXES = new HashSet<>(Arrays.asList(
+            "lock", "rep", "repe", "repz", "repne", "repnz", "data16", "addr32", "bnd", "notrack"));
+    private static final Set<String> SCALAR_SIMD = new HashSet<>(Arrays.asList(
+            "movd", "movq", "vmovd", "vmovq", "pinsrb", "pinsrw", "pinsrd", "pinsrq", "vpinsrb", "vpinsrw", "vpinsrd",
+            "vpinsrq", "pextrb", "pextrw", "pextrd", "pextrq", "vpextrb", "vpextrw", "vpextrd", "vpextrq"));
+    private static final Set<String> SCALAR_ALU = new HashSet<>(Arrays.asList(
+            "add", "sub", "imul", "mul", "idiv", "div", "and", "or", "xor", "not", "neg", "inc", "dec", "shl", "shr",
+            "sar", "sal", "shlx", "shrx", "sarx", "adc", "sbb", "andn", "popcnt", "tzcnt", "lzcnt", "blsr", "blsi"));
+
+    enum Verdict {
+        /** the hot loop has packed instructions */
+        VECTORIZED,
+        /** the hot loop calls Java methods or allocates */
+        BOXED,
+        /** the hot loop has no packed instruction */
+        SCALAR,
+        /** no disassembler, HotSpot printed raw bytes */
+        UNKNOWN
+    }
+
+    enum Call {
+        DEOPT, ALLOCATION, JAVA, RUNTIME
+    }
+
+    static final class Instruction {
+        final long address;
+        final String mnemonic;
+        final String operands;
+        final String comment;
+
+        Instruction(long address, String mnemonic, String operands, String comment) {
+            this.address = address;
+            this.mnemonic = mnemonic;
+            this.operands = operands;
+            this.comment = comment;
+        }
+
+        /**
+         * Returns what a call instruction calls, from its comment, or null if this is not a call.
+         */
+        Call call() {
+            if(!mnemonic.startsWith("call")) {
+                return null;
+            }
+            if(comment.contains("UncommonTrap") || comment.contains("Deoptimization") || comment.contains("deopt")) {
+                return Call.DEOPT;
+            } else if(comment.contains("new_instance") || comment.contains("new_array") || comment.contains("newarray")) {
+                return Call.ALLOCATION;
+            } else if(comment.contains("static_call") || comment.contains("virtual_call")) {
+                return Call.JAVA;
+            }
+            return Call.RUNTIME;
+        }
+    }
+
+    static final class Counts {
+        int instructions;
+        int xmm;
+        int ymm;
+        int zmm;
+        int packed;
+        int scalar;
+        int deoptCalls;
+        int allocationCalls;
+        int javaCalls;
+        int runtimeCalls;
+
+        void add(Instruction instruction) {
+            instructions++;
+            String mnemonic = instruction.mnemonic;
+            char width = 0;
+            Matcher m = VECTOR_REGISTER.matcher(instruction.operands);
+            while (m.find()) {
+                char w = m.group(1).charAt(0);
+                // x < y < z
+                width = w > width ? w : width;
+            }
+            if(width != 0) {
+                if(width == 'x') {
+                    xmm++;
+                } else if(width == 'y') {
+                    ymm++;
+                } else {
+                    zmm++;
+                }
+                // vpminsd or vpabsd are packed integer instructions
+                boolean integer = mnemonic.startsWith("p") || mnemonic.startsWith("vp");
+                if(SCALAR_SIMD.contains(mnemonic) || !integer && (mnemonic.endsWith("ss") || mnemonic.endsWith("sd"))) {
+                    scalar++;
+                } else {
+                    packed++;
+                }
+            } else if(SCALAR_ALU.contains(mnemonic)) {
+                scalar++;
+            }
+            Call call = instruction.call();
+            if(call == Call.DEOPT) {
+                deoptCalls++;
+            } else if(call == Call.ALLOCATION) {
+                allocationCalls++;
+            } else if(call == Call.JAVA) {
+                javaCalls++;
+            } else if(call == Call.RUNTIME) {
+                runtimeCalls++;
+            }
+        }
+    }
+
+    final String method;
+    final boolean disassembled;
+    final List<Instruction> instructions;
+    final Counts total = new Counts();
+    final int loops;
+    /** null if the method has no loop */
+    final Counts hotLoop;
+    final long hotLoopStart;
+    final long hotLoopEnd;
+
+    private InstructionMix(String method, boolean disassembled, List<Instruction> instructions) {
+        this.method = method;
+        this.disassembled = disassembled;
+        this.instructions = instructions;
+        for (Instruction instruction : instructions) {
+            total.add(instruction);
+        }
+
+        // backward jumps into the method, as [target, jump] ranges
+        List<long[]> ranges = new ArrayList<>();
+        long first = instructions.isEmpty() ? 0 : instructions.get(0).address;
+        for (Instruction instruction : instructions) {
+            if(!instruction.mnemonic.startsWith("j")) {
+                continue;
+            }
+            Matcher m = TARGET.matcher(instruction.operands);
+            if(m.find()) {
+                long target = Long.parseUnsignedLong(m.group(1), 16);
+                if(target <= instruction.address && target >= first) {
+                    ranges.add(new long[] { target, instruction.address });
+                }
+            }
+        }
+        loops = ranges.size();
+        Counts hot = null;
+        long hotStart = 0;
+        long hotEnd = 0;
+        for (long[] range : ranges) {
+            boolean innermost = true;
+            for (long[] other : ranges) {
+                if(other != range && other[0] >= range[0] && other[1] <= range[1] && (other[0] != range[0] || other[1] != range[1])) {
+                    innermost = false;
+                    break;
+                }
+            }
+            if(!innermost) {
+                continue;
+            }
+            Counts counts = new Counts();
+            for (Instruction instruction : instructions) {
+                if(instruction.address >= range[0] && instruction.address <= range[1]) {
+                    counts.add(instruction);
+                }
+            }
+            if(hot == null || counts.instructions > hot.instructions) {
+                hot = counts;
+                hotStart = range[0];
+                hotEnd = range[1];
+            }
+        }
+        hotLoop = hot;
+        hotLoopStart = hotStart;
+        hotLoopEnd = hotEnd;
+    }
+
+    static InstructionMix parse(String method, List<String> lines) {
+        List<Instruction> instructions = new ArrayList<>();
+        boolean disassembled = true;
+        // HotSpot prints the runtime call of an instruction on a comment line at the same address
+        long pendingAddress = -1;
+        String pendingComment = "";
+        for (String line : lines) {
+            Matcher m = LINE.matcher(line);
+            if(!m.matches()) {
+                // comments of a call continue on lines without address
+                if(line.trim().startsWith(";") && !instructions.isEmpty()) {
+                    Instruction last = instructions.get(instructions.size() - 1);
+                    instructions.set(instructions.size() - 1, new Instruction(last.address, last.mnemonic, last.operands, last.comment + " " + line.trim().substring(1).trim()));
+                }
+                continue;
+            }
+            long address = Long.parseUnsignedLong(m.group(1), 16);
+            String text = m.group(2).trim();
+            int semicolon = text.indexOf(';');
+            String code = (semicolon == -1 ? text : text.substring(0, semicolon)).trim();
+            String comment = semicolon == -1 ? "" : text.substring(semicolon + 1).trim();
+            if(code.isEmpty()) {
+                if(pendingAddress != address) {
+                    pendingComment = "";
+                }
+                pendingAddress = address;
+                pendingComment = pendingComment + " " + comment;
+                continue;
+            }
+            if(RAW_BYTES.matcher(code).matches()) {
+                disassembled = false;
+                continue;
+            }
+            if(pendingAddress == address) {
+                comment = pendingComment + " " + comment;
+            }
+            pendingAddress = -1;
+            pendingComment = "";
+
+            String[] tokens = code.split("\\s+", 2);
+            while (tokens.length > 1 && (PREFIXES.contains(tokens[0]) || tokens[0].startsWith("rex"))) {
+                tokens = tokens[1].split("\\s+", 2);
+            }
+            String mnemonic = tokens[0].toLowerCase(Locale.ROOT);
+            String operands = tokens.length > 1 ? tokens[1] : "";
+            instructions.add(new Instruction(address, mnemonic, operands, comment));
+        }
+        return new InstructionMix(method, disassembled && !instructions.isEmpty(), instructions);
+    }
+
+    static InstructionMix parse(Path log) throws IOException {
+        String name = log.getFileName().toString();
+        return parse(name.substring(0, name.length() - ".log".length()), Files.readAllLines(log, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the instructions of the hot loop, empty if the method has no loop.
+     */
+    List<Instruction> hotLoopInstructions() {
+        List<Instruction> loop = new ArrayList<>();
+        if(hotLoop != null) {
+            for (Instruction instruction : instructions) {
+                if(instruction.address >= hotLoopStart && instruction.address <= hotLoopEnd) {
+                    loop.add(instruction);
+                }
+            }
+        }
+        return loop;
+    }
+
+    Verdict verdict() {
+        if(!disassembled) {
+            return Verdict.UNKNOWN;
+        }
+        Counts counts = hotLoop != null ? hotLoop : total;
+        if(counts.javaCalls + counts.allocationCalls > 0) {
+            return Verdict.BOXED;
+        }
+        return counts.packed > 0 ? Verdict.VECTORIZED : Verdict.SCALAR;
+    }
+
+    /**
+     * True for the explicit SIMD variants of a kernel that do not run packed instructions in their hot loop.
+     */
+    boolean flagged() {
+        Verdict verdict = verdict();
+        return method.contains("SIMD") && (verdict == Verdict.SCALAR || verdict == Verdict.BOXED);
+    }
+
+    /**
+     * Reads every log of the directory, writes {@value SUMMARY_JSON} and {@value SUMMARY_MD} next to them and returns
+     * the mixes, sorted by method.
+     */
+    static List<InstructionMix> summarize(Path dir) throws IOException {
+        List<InstructionMix> mixes = new ArrayList<>();
+        try(DirectoryStream<Path> logs = Files.newDirectoryStream(dir, "*.log")) {
+            for (Path log : logs) {
+                mixes.add(parse(log));
+            }
+        }
+        mixes.sort((a, b) -> a.method.compareTo(b.method));
+
+        try(BufferedWriter writer = Files.newBufferedWriter(dir.resolve(SUMMARY_JSON), StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int i = 0; i < mixes.size(); i++) {
+                writer.write(mixes.get(i).toJson());
+                writer.write(i + 1 < mixes.size() ? ",\n" : "\n");
+            }
+            writer.write("]\n");
+        }
+
+        try(BufferedWriter writer = Files.newBufferedWriter(dir.resolve(SUMMARY_MD), StandardCharsets.UTF_8)) {
+            List<String> flagged = new ArrayList<>();
+            for (InstructionMix mix : mixes) {
+                if(mix.flagged()) {
+                    flagged.add(mix.method);
+                }
+            }
+            if(!flagged.isEmpty()) {
+                writer.write("SIMD variants without packed instructions in their hot loop: `" + String.join("`, `", flagged) + "`\n\n");
+            }
+            writer.write("| Method | Verdict | Instructions | xmm | ymm | zmm | Packed | Scalar | Deopt | Allocation | Java calls | Runtime calls | Loops | Hot loop | Hot packed | Hot scalar |\n");
+            writer.write("| -------- | -------- | --------: | --------: | --------: | --------: | --------: | --------: | --------: | --------: | --------: | --------: | --------: | --------: | --------: | --------: |\n");
+            for (InstructionMix mix : mixes) {
+                Counts t = mix.total;
+                Counts h = mix.hotLoop;
+                writer.write("| " + mix.method + " | " + (mix.flagged() ? "**" + mix.verdict().name().toLowerCase(Locale.ROOT) + "**" : mix.verdict().name().toLowerCase(Locale.ROOT))
+                        + " | " + t.instructions + " | " + t.xmm + " | " + t.ymm + " | " + t.zmm + " | " + t.packed + " | " + t.scalar
+                        + " | " + t.deoptCalls + " | " + t.allocationCalls + " | " + t.javaCalls + " | " + t.runtimeCalls + " | " + mix.loops
+                        + " | " + (h == null ? "" : h.instructions) + " | " + (h == null ? "" : h.packed) + " | " + (h == null ? "" : h.scalar) + " |\n");
+            }
+        }
+        return mixes;
+    }
+
+    private static String countsJson(Counts c) {
+        return "{\"instructions\": " + c.instructions + ", \"xmm\": " + c.xmm + ", \"ymm\": " + c.ymm + ", \"zmm\": " + c.zmm
+                + ", \"packed\": " + c.packed + ", \"scalar\": " + c.scalar
+                + ", \"calls\": {\"deopt\": " + c.deoptCalls + ", \"allocation\": " + c.allocationCalls + ", \"java\": " + c.javaCalls
+                + ", \"runtime\": " + c.runtimeCalls + "}}";
+    }
+
+    String toJson() {
+        return "  {\"method\": \"" + method.replace("\\", "\\\\").replace("\"", "\\\"") + "\", \"verdict\": \"" + verdict().name().toLowerCase(Locale.ROOT)
+                + "\", \"flagged\": " + flagged() + ", \"disassembled\": " + disassembled + ", \"loops\": " + loops
+                + ",\n   \"total\": " + countsJson(total) + ",\n   \"hotLoop\": " + (hotLoop == null ? "null" : countsJson(hotLoop)) + "}";
+    }
+}
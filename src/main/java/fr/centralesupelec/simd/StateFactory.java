@@ -0,0 +1,224 @@
+package fr.centralesupelec.simd;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the arguments of a benchmark method the way JMH would, outside of JMH, for a single thread.
+ * <p>
+ * Every {@link State} class is instantiated once. Its {@link Param} fields are set to the given value, or to the
+ * first value of their annotation, then its {@link Setup} methods are called at every level, after the states they
+ * take as arguments. As in JMH, setups run by level, {@link Level#Trial} first, and those of a superclass before those
+ * of its subclasses; setups of the same level and class run by name. {@link Level#Invocation} setups are called again
+ * by {@link #beforeInvocation()}. Tear downs run in the reverse order.
+ */
+final class StateFactory {
+
+    private final Map<String, String> params;
+    private final Set<String> usedParams = new HashSet<>();
+    private final Map<Class<?>, Object> states = new LinkedHashMap<>();
+    private final Set<Class<?>> creating = new HashSet<>();
+    // in creation order, so that dependencies come first
+    private final List<Object> created = new ArrayList<>();
+    private final Map<String, String> resolved = new LinkedHashMap<>();
+
+    StateFactory(Map<String, String> params) {
+        this.params = params;
+    }
+
+    /**
+     * Returns the benchmark instance, which is a state if annotated as one.
+     */
+    Object benchmark(Class<?> type) throws ReflectiveOperationException {
+        if(type.getAnnotation(State.class) != null) {
+            return state(type);
+        }
+        return type.getDeclaredConstructor().newInstance();
+    }
+
+    Object[] arguments(Method method) throws ReflectiveOperationException {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = state(types[i]);
+        }
+        return args;
+    }
+
+    Object state(Class<?> type) throws ReflectiveOperationException {
+        Object state = states.get(type);
+        if(state != null) {
+            return state;
+        }
+        if(type.getAnnotation(State.class) == null) {
+            throw new IllegalArgumentException("Not a @State class: " + type.getName());
+        }
+        if(!creating.add(type)) {
+            throw new IllegalArgumentException("Cyclic @Setup dependency on " + type.getName());
+        }
+        state = type.getDeclaredConstructor().newInstance();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                Param param = field.getAnnotation(Param.class);
+                if(param != null) {
+                    setParam(state, field, param);
+                }
+            }
+        }
+        for (Method setup : methods(type, Setup.class)) {
+            setup.invoke(state, arguments(setup));
+        }
+        creating.remove(type);
+        states.put(type, state);
+        created.add(state);
+        return state;
+    }
+
+    void beforeInvocation() throws ReflectiveOperationException {
+        for (Object state : created) {
+            for (Method setup : methods(state.getClass(), Setup.class)) {
+                if(setup.getAnnotation(Setup.class).value() == Level.Invocation) {
+                    setup.invoke(state, arguments(setup));
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the {@link TearDown} methods of every state, dependents first.
+     */
+    void tearDown() throws ReflectiveOperationException {
+        List<Object> reversed = new ArrayList<>(created);
+        Collections.reverse(reversed);
+        for (Object state : reversed) {
+            List<Method> tearDowns = methods(state.getClass(), TearDown.class);
+            Collections.reverse(tearDowns);
+            for (Method tearDown : tearDowns) {
+                tearDown.invoke(state, arguments(tearDown));
+            }
+        }
+    }
+
+    /**
+     * Returns the parameters that were set, with their values.
+     */
+    Map<String, String> resolvedParams() {
+        return resolved;
+    }
+
+    /**
+     * Returns the given parameters that no state declares.
+     */
+    Set<String> unusedParams() {
+        Set<String> unused = new HashSet<>(params.keySet());
+        unused.removeAll(usedParams);
+        return unused;
+    }
+
+    /**
+     * The methods of type annotated with {@link Setup} or {@link TearDown}, in setup order: by level, then superclass
+     * methods first, then by name, since {@link Class#getMethods()} has no order.
+     */
+    private static List<Method> methods(Class<?> type, Class<? extends Annotation> annotation) {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if(method.getAnnotation(annotation) != null) {
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.<Method, Level>comparing(m -> level(m, annotation))
+                .thenComparingInt(m -> depth(m.getDeclaringClass()))
+                .thenComparing(Method::getName));
+        return methods;
+    }
+
+    private static Level level(Method method, Class<? extends Annotation> annotation) {
+        return annotation == Setup.class ? method.getAnnotation(Setup.class).value() : method.getAnnotation(TearDown.class).value();
+    }
+
+    // number of superclasses
+    private static int depth(Class<?> type) {
+        int depth = 0;
+        for (Class<?> c = type.getSuperclass(); c != null; c = c.getSuperclass()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private void setParam(Object state, Field field, Param param) throws IllegalAccessException {
+        String name = field.getName();
+        String value = params.get(name);
+        if(value != null) {
+            usedParams.add(name);
+        } else if(param.value().length > 0) {
+            value = param.value()[0];
+        } else if(field.getType().isEnum()) {
+            value = ((Enum<?>) field.getType().getEnumConstants()[0]).name();
+        } else {
+            throw new IllegalArgumentException("No value for @Param " + name);
+        }
+        if(Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalArgumentException("@Param field is final: " + name);
+        }
+        field.setAccessible(true);
+        field.set(state, convert(field.getType(), value, name));
+        resolved.put(name, value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Class<?> type, String value, String name) {
+        try {
+            if(type == String.class) {
+                return value;
+            } else if(type == int.class || type == Integer.class) {
+                return Integer.valueOf(value);
+            } else if(type == long.class || type == Long.class) {
+                return Long.valueOf(value);
+            } else if(type == short.class || type == Short.class) {
+                return Short.valueOf(value);
+            } else if(type == byte.class || type == Byte.class) {
+                return Byte.valueOf(value);
+            } else if(type == boolean.class || type == Boolean.class) {
+                return Boolean.valueOf(value);
+            } else if(type == float.class || type == Float.class) {
+                return Float.valueOf(value);
+            } else if(type == double.class || type == Double.class) {
+                return Double.valueOf(value);
+            } else if(type == char.class || type == Character.class) {
+                if(value.length() != 1) {
+                    throw new IllegalArgumentException("Invalid value for @Param " + name + ": " + value);
+                }
+                return value.charAt(0);
+            } else if(type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for @Param " + name + ": " + value, e);
+        }
+        throw new IllegalArgumentException("Unsupported @Param type for " + name + ": " + type.getName());
+    }
+
+    /**
+     * Unwraps the exception thrown by a reflective call for error reports.
+     */
+    static Throwable cause(Throwable e) {
+        return e instanceof InvocationTargetException && e.getCause() != null ? e.getCause() : e;
+    }
+}
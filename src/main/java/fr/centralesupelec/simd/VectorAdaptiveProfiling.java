@@ -0,0 +1,105 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.AdaptiveIntColumnKernels;
+import fr.centralesupelec.simd.kernels.Calibration;
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters routed by AdaptiveIntColumnKernels (Adaptive), against each of the variants it chooses from, over column
+ * lengths and selectivities. The calibration is read from the file named by the {@code simd.calibration} system
+ * property, as written by {@code ResultsAnalyzer --calibration} from a previous run of this class; without it the
+ * adaptive kernels always run SIMD. SIMD is VECTOR_WIDENING, the kernel the adaptive kernels run, so that every
+ * variant returns the same sum. A calibration is checked on a run with it, not on the run it was written from.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorAdaptiveProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"1024", "65536", "1048576", "16777216"})
+        public int ARRAY_LENGTH;
+        @Param({"0.001", "0.01", "0.1", "0.5", "0.9", "0.99"})
+        public double SELECTIVITY;
+        @Param({"42"})
+        public long SEED;
+        private static final int CARDINALITY = 12;
+
+        int[] aSmall;
+        int[] bSmall;
+        int[] cSmall;
+
+        int fa;
+        int fb;
+
+        IntColumnKernels adaptive;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            ColumnGenerator generator = new ColumnGenerator(SEED, "uniform", CARDINALITY, SELECTIVITY);
+            fa = generator.constant();
+            fb = generator.constant();
+            aSmall = generator.column("a", ARRAY_LENGTH, fa);
+            bSmall = generator.column("b", ARRAY_LENGTH, fb);
+            // the summed measure, small so that the sums stay small too
+            cSmall = generator.column("c", ARRAY_LENGTH, generator.constant());
+
+            String calibration = System.getProperty("simd.calibration");
+            try {
+                adaptive = new AdaptiveIntColumnKernels(calibration == null ? new Calibration() : Calibration.read(Paths.get(calibration)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public final long filterSumSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR_WIDENING.filterSum(state.aSmall, state.fa, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumRegular(VectorState state) {
+        return IntColumnKernels.SCALAR.filterSum(state.aSmall, state.fa, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumBranchlessRegular(VectorState state) {
+        return IntColumnKernels.BRANCHLESS.filterSum(state.aSmall, state.fa, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAdaptive(VectorState state) {
+        return state.adaptive.filterSum(state.aSmall, state.fa, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR_WIDENING.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2Regular(VectorState state) {
+        return IntColumnKernels.SCALAR.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2BranchlessRegular(VectorState state) {
+        return IntColumnKernels.BRANCHLESS.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2Adaptive(VectorState state) {
+        return state.adaptive.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall);
+    }
+}
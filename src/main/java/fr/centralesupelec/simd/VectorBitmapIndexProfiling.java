@@ -0,0 +1,191 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.BitmapIndex;
+import fr.centralesupelec.simd.kernels.BitmapIndexKernels;
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+import fr.centralesupelec.simd.kernels.IntSelectionKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters answered from precomputed bitmap indexes of the small columns, against SIMD scans of the same columns.
+ * The index of a column pays off after buildIndex / (scan - bitmap) queries.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorBitmapIndexProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"4096", "65536", "1048576", "16777216"})
+        public int ARRAY_LENGTH;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+
+        int[] aSmall;
+        int[] bSmall;
+        int[] cSmall;
+        int[] dSmall;
+        int[] eSmall;
+
+        BitmapIndex aIndex;
+        BitmapIndex bIndex;
+        BitmapIndex cIndex;
+        BitmapIndex dIndex;
+
+        // combined bitmap of the predicates
+        long[] bitmap;
+
+        int fa;
+        int fb;
+        int fc;
+        int fd;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            ColumnGenerator generator = new ColumnGenerator(SEED, "uniform", ARRAY_BOUND, ColumnGenerator.SELECTIVITY);
+            fa = generator.constant();
+            fb = generator.constant();
+            fc = generator.constant();
+            fd = generator.constant();
+            aSmall = generator.column("aSmall", ARRAY_LENGTH, fa);
+            bSmall = generator.column("bSmall", ARRAY_LENGTH, fb);
+            cSmall = generator.column("cSmall", ARRAY_LENGTH, fc);
+            dSmall = generator.column("dSmall", ARRAY_LENGTH, fd);
+            eSmall = generator.column("eSmall", ARRAY_LENGTH, generator.constant());
+
+            aIndex = BitmapIndex.build(aSmall, ARRAY_BOUND);
+            bIndex = BitmapIndex.build(bSmall, ARRAY_BOUND);
+            cIndex = BitmapIndex.build(cSmall, ARRAY_BOUND);
+            dIndex = BitmapIndex.build(dSmall, ARRAY_BOUND);
+            bitmap = new long[IntSelectionKernels.bitmapLength(ARRAY_LENGTH)];
+        }
+    }
+
+    @Benchmark
+    public final BitmapIndex buildIndex(VectorState state) {
+        return BitmapIndex.build(state.aSmall, VectorState.ARRAY_BOUND);
+    }
+
+    @Benchmark
+    public final long filterOr2BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.or2(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.VECTOR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterOr2BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.or2(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.SCALAR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterSumOr2BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.or2(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.VECTOR.sum(state.bitmap, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOr2BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.or2(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.SCALAR.sum(state.bitmap, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOr2SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumOr2(state.aSmall, state.fa, state.fb, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterOr4BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.or4(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.aIndex.bitmap(state.fc), state.aIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.VECTOR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterOr4BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.or4(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.aIndex.bitmap(state.fc), state.aIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.SCALAR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterSumOr4BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.or4(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.aIndex.bitmap(state.fc), state.aIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.VECTOR.sum(state.bitmap, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOr4BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.or4(state.aIndex.bitmap(state.fa), state.aIndex.bitmap(state.fb), state.aIndex.bitmap(state.fc), state.aIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.SCALAR.sum(state.bitmap, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOr4SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumOr4(state.aSmall, state.fa, state.fb, state.fc, state.fd, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterAnd2BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.and2(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.VECTOR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterAnd2BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.and2(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.SCALAR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.and2(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.VECTOR.sum(state.bitmap, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.and2(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.bitmap);
+        return BitmapIndexKernels.SCALAR.sum(state.bitmap, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterAnd4BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.and4(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.cIndex.bitmap(state.fc), state.dIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.VECTOR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterAnd4BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.and4(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.cIndex.bitmap(state.fc), state.dIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.SCALAR.count(state.bitmap);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4BitmapSIMD(VectorState state) {
+        BitmapIndexKernels.VECTOR.and4(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.cIndex.bitmap(state.fc), state.dIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.VECTOR.sum(state.bitmap, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4BitmapRegular(VectorState state) {
+        BitmapIndexKernels.SCALAR.and4(state.aIndex.bitmap(state.fa), state.bIndex.bitmap(state.fb), state.cIndex.bitmap(state.fc), state.dIndex.bitmap(state.fd), state.bitmap);
+        return BitmapIndexKernels.SCALAR.sum(state.bitmap, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+}
@@ -0,0 +1,59 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntGroupByKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorGroupByProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        // the masked kernel reads the columns once per key, longer columns make it too slow at 4096 keys
+        @Param({"65536", "4194304"})
+        public int ARRAY_LENGTH;
+        // number of distinct keys in aSmall
+        @Param({"4", "16", "64", "256", "1024", "4096"})
+        public int KEYS;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+
+        int[] aSmall;
+        int[] bSmall;
+
+        long[] sums;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            aSmall = ColumnGenerator.uniform(SEED, KEYS).column("aSmall", ARRAY_LENGTH, 0);
+            ColumnGenerator generator = ColumnGenerator.uniform(SEED, ARRAY_BOUND);
+            bSmall = generator.column("bSmall", ARRAY_LENGTH, generator.constant());
+            sums = new long[KEYS];
+        }
+    }
+
+    @Benchmark
+    public final long[] groupSumRegular(VectorState state) {
+        IntGroupByKernels.SCALAR.groupSum(state.aSmall, state.bSmall, state.sums);
+        return state.sums;
+    }
+
+    @Benchmark
+    public final long[] groupSumSIMDHistogram(VectorState state) {
+        IntGroupByKernels.VECTOR_HISTOGRAM.groupSum(state.aSmall, state.bSmall, state.sums);
+        return state.sums;
+    }
+
+    @Benchmark
+    public final long[] groupSumSIMDMasked(VectorState state) {
+        IntGroupByKernels.VECTOR_MASKED.groupSum(state.aSmall, state.bSmall, state.sums);
+        return state.sums;
+    }
+}
@@ -0,0 +1,142 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+import fr.centralesupelec.simd.storage.IntColumnFile;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scans of memory-mapped column files against the same scans of direct buffers.
+ * <p>
+ * Files are created in the directory given by the {@code simd.columnDir} system property (default: java.io.tmpdir),
+ * which should be on the disk under test rather than on a tmpfs.
+ * The cold benchmarks map freshly written files at every iteration and scan them once, so they pay the page faults of
+ * a new mapping; the pages only come from the disk if the OS evicted them from the page cache after the write.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorMappedProfiling {
+
+    private static Path createColumnFile(ByteBuffer column) throws IOException {
+        Path dir = Paths.get(System.getProperty("simd.columnDir", System.getProperty("java.io.tmpdir")));
+        Path path = Files.createTempFile(dir, "simd", ".col");
+        IntColumnFile.write(path, column);
+        return path;
+    }
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"1048576", "16777216", "67108864"})
+        public int ARRAY_LENGTH;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+
+        ByteBuffer aSmall; IntBuffer iaSmall;
+        ByteBuffer bSmall; IntBuffer ibSmall;
+
+        Path aSmallFile;
+        Path bSmallFile;
+        ByteBuffer aSmallMapped;
+        ByteBuffer bSmallMapped;
+
+        int fa;
+
+        @Setup(Level.Trial)
+        public final void doSetup() throws IOException {
+            aSmall = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            bSmall = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+
+            iaSmall = aSmall.asIntBuffer();
+            ibSmall = bSmall.asIntBuffer();
+
+            ColumnGenerator generator = new ColumnGenerator(SEED, "uniform", ARRAY_BOUND, ColumnGenerator.SELECTIVITY);
+            fa = generator.constant();
+            generator.fill("aSmall", aSmall, fa);
+            generator.fill("bSmall", bSmall, generator.constant());
+
+            aSmallFile = createColumnFile(aSmall);
+            bSmallFile = createColumnFile(bSmall);
+            aSmallMapped = IntColumnFile.map(aSmallFile);
+            bSmallMapped = IntColumnFile.map(bSmallFile);
+        }
+
+        @TearDown(Level.Trial)
+        public final void doTearDown() throws IOException {
+            Files.deleteIfExists(aSmallFile);
+            Files.deleteIfExists(bSmallFile);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdState {
+
+        Path aSmallFile;
+        Path bSmallFile;
+        ByteBuffer aSmallMapped;
+        ByteBuffer bSmallMapped;
+
+        @Setup(Level.Iteration)
+        public final void doSetup(VectorState state) throws IOException {
+            aSmallFile = createColumnFile(state.aSmall);
+            bSmallFile = createColumnFile(state.bSmall);
+            aSmallMapped = IntColumnFile.map(aSmallFile);
+            bSmallMapped = IntColumnFile.map(bSmallFile);
+        }
+
+        @TearDown(Level.Iteration)
+        public final void doTearDown() throws IOException {
+            aSmallMapped = null;
+            bSmallMapped = null;
+            Files.deleteIfExists(aSmallFile);
+            Files.deleteIfExists(bSmallFile);
+        }
+    }
+
+    @Benchmark
+    public final int sumDirectSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.sum(state.aSmall);
+    }
+
+    @Benchmark
+    public final int sumMappedSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.sum(state.aSmallMapped);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = 1)
+    @Measurement(iterations = 20, batchSize = 1)
+    public final int sumMappedColdSIMD(ColdState cold) {
+        return IntColumnKernels.VECTOR.sum(cold.aSmallMapped);
+    }
+
+    @Benchmark
+    public final long filterSumDirectSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumMappedSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSum(state.aSmallMapped, state.fa, state.bSmallMapped);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = 1)
+    @Measurement(iterations = 20, batchSize = 1)
+    public final long filterSumMappedColdSIMD(VectorState state, ColdState cold) {
+        return IntColumnKernels.VECTOR.filterSum(cold.aSmallMapped, state.fa, cold.bSmallMapped);
+    }
+}
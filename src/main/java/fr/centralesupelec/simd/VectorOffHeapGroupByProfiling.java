@@ -0,0 +1,66 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntGroupByKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorOffHeapGroupByProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        // the masked kernel reads the columns once per key, longer columns make it too slow at 4096 keys
+        @Param({"65536", "4194304"})
+        public int ARRAY_LENGTH;
+        // number of distinct keys in aSmall
+        @Param({"4", "16", "64", "256", "1024", "4096"})
+        public int KEYS;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+
+        ByteBuffer aSmall; IntBuffer iaSmall;
+        ByteBuffer bSmall; IntBuffer ibSmall;
+
+        long[] sums;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            aSmall = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            bSmall = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            iaSmall = aSmall.asIntBuffer();
+            ibSmall = bSmall.asIntBuffer();
+            sums = new long[KEYS];
+
+            ColumnGenerator.uniform(SEED, KEYS).fill("aSmall", aSmall, 0);
+            ColumnGenerator generator = ColumnGenerator.uniform(SEED, ARRAY_BOUND);
+            generator.fill("bSmall", bSmall, generator.constant());
+        }
+    }
+
+    @Benchmark
+    public final long[] groupSumRegular(VectorState state) {
+        IntGroupByKernels.SCALAR.groupSum(state.aSmall, state.bSmall, state.sums);
+        return state.sums;
+    }
+
+    @Benchmark
+    public final long[] groupSumSIMDHistogram(VectorState state) {
+        IntGroupByKernels.VECTOR_HISTOGRAM.groupSum(state.aSmall, state.bSmall, state.sums);
+        return state.sums;
+    }
+
+    @Benchmark
+    public final long[] groupSumSIMDMasked(VectorState state) {
+        IntGroupByKernels.VECTOR_MASKED.groupSum(state.aSmall, state.bSmall, state.sums);
+        return state.sums;
+    }
+}
@@ -1,5 +1,7 @@
 package fr.centralesupelec.simd;
 
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+
 import jdk.incubator.vector.IntVector;
 import jdk.incubator.vector.Vector.Mask;
 import org.openjdk.jmh.annotations.*;
@@ -7,7 +9,6 @@ import org.openjdk.jmh.annotations.*;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.IntBuffer;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 @SuppressWarnings("unchecked")
@@ -17,7 +18,7 @@ import java.util.concurrent.TimeUnit;
 @Measurement(iterations = 3, time = 2)
 public class VectorOffHeapProfiling {
 
-    private static ByteBuffer allocate(int length) {
+    static ByteBuffer allocate(int length) {
         ByteBuffer r = ByteBuffer.allocateDirect(length + VectorState.vecBytes);
         if(r.alignmentOffset(0, VectorState.vecBytes) != 0) {
             r = r.alignedSlice(VectorState.vecBytes);
@@ -32,158 +33,134 @@ public class VectorOffHeapProfiling {
 
         @Param({"512", "1024", "2048", "4096", "8192", "16384", "32768", "65536", "131072", "262144", "524288", "1048576", "2097152", "4194304", "8388608", "16777216", "33554432", "67108864"})
         public int ARRAY_LENGTH;
-        private static final int ARRAY_BOUND = 12;
+        // probability for a row of aSmall (and independently of bSmall, cSmall and dSmall) to be equal to fa (fb, fc, fd)
+        @Param({"0.001", "0.01", "0.1", "0.5", "0.9", "0.99"})
+        public double SELECTIVITY;
+        // uniform, zipf, sorted or clustered, see ColumnGenerator
+        @Param({"uniform"})
+        public String DISTRIBUTION;
+        // distinct values of the small columns
+        @Param({"12"})
+        public int CARDINALITY;
+        @Param({"42"})
+        public long SEED;
 
         private static final IntVector.IntSpecies sInt = IntVector.preferredSpecies();
         static final int vecBytes = sInt.bitSize() / Byte.SIZE;
-        ByteBuffer a; IntBuffer ia;
-        ByteBuffer b; IntBuffer ib;
-        ByteBuffer c; IntBuffer ic;
-
-        // small values for or/and filtering to prevent branch prediction in benchmarks
-        ByteBuffer aSmall; IntBuffer iaSmall;
-        ByteBuffer bSmall; IntBuffer ibSmall;
-        ByteBuffer cSmall; IntBuffer icSmall;
-        ByteBuffer dSmall; IntBuffer idSmall;
-        ByteBuffer eSmall; IntBuffer ieSmall;
 
         int fa;
         int fb;
         int fc;
         int fd;
 
+        // the columns are generated by the state of each kernel, so that a benchmark only pays for those it reads
+        FilterColumns columns;
+
         @Setup(Level.Trial)
         public final void doSetup() {
-            a = allocate(ARRAY_LENGTH * Integer.BYTES);
-            b = allocate(ARRAY_LENGTH * Integer.BYTES);
-            c = allocate(ARRAY_LENGTH * Integer.BYTES);
+            columns = new FilterColumns(new ColumnGenerator(SEED, DISTRIBUTION, CARDINALITY, SELECTIVITY), ARRAY_LENGTH);
+            fa = columns.fa;
+            fb = columns.fb;
+            fc = columns.fc;
+            fd = columns.fd;
+        }
+    }
 
-            ia = a.asIntBuffer();
-            ib = b.asIntBuffer();
-            ic = c.asIntBuffer();
+    /** the column of filter, filterOr2 and filterOr4 */
+    @State(Scope.Thread)
+    public static class FilterState {
 
-            aSmall = allocate(ARRAY_LENGTH * Integer.BYTES);
-            bSmall = allocate(ARRAY_LENGTH * Integer.BYTES);
-            cSmall = allocate(ARRAY_LENGTH * Integer.BYTES);
-            dSmall = allocate(ARRAY_LENGTH * Integer.BYTES);
-            eSmall = allocate(ARRAY_LENGTH * Integer.BYTES);
+        ByteBuffer aSmall; IntBuffer iaSmall;
 
+        @Setup(Level.Trial)
+        public final void doSetup(VectorState state) {
+            aSmall = state.columns.smallBuffer("aSmall");
             iaSmall = aSmall.asIntBuffer();
-            ibSmall = bSmall.asIntBuffer();
-            icSmall = cSmall.asIntBuffer();
-            idSmall = dSmall.asIntBuffer();
-            ieSmall = eSmall.asIntBuffer();
-
-            Random rnd = new Random();
-            for (int i = 0; i < ia.limit(); i++) {
-                ia.put(i, rnd.nextInt());
-                ib.put(i, rnd.nextInt());
-                ic.put(i, rnd.nextInt());
-                iaSmall.put(i, rnd.nextInt(ARRAY_BOUND));
-                ibSmall.put(i, rnd.nextInt(ARRAY_BOUND));
-                icSmall.put(i, rnd.nextInt(ARRAY_BOUND));
-                idSmall.put(i, rnd.nextInt(ARRAY_BOUND));
-                iaSmall.put(i, rnd.nextInt(ARRAY_BOUND));
-            }
-            fa = rnd.nextInt(ARRAY_BOUND);
-            fb = rnd.nextInt(ARRAY_BOUND);
-            fc = rnd.nextInt(ARRAY_BOUND);
-            fd = rnd.nextInt(ARRAY_BOUND);
         }
     }
 
-    @Benchmark
-    @Fork(jvmArgsAppend = {  "-XX:-UseSuperWord" })
-    public final int sumSIMD(VectorState state) {
-        IntVector vs = VectorState.sInt.zero();
-        for (int i = 0; i < state.a.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt, state.a, i);
-            vs = vs.add(va);
-        }
-        return vs.addAll();
-    }
+    @State(Scope.Thread)
+    public static class And2State {
 
-    @Benchmark
-    public final int sumRegular(VectorState state) {
-        int sum = 0;
-        for(int i = 0; i < state.ia.limit(); ++i) {
-            sum += state.ia.get(i);
-        }
-        return sum;
-    }
+        ByteBuffer aSmall; IntBuffer iaSmall;
+        ByteBuffer bSmall; IntBuffer ibSmall;
 
-    @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final int sumRegularNoSuperWord(VectorState state) {
-        int sum = 0;
-        for(int i = 0; i < state.ia.limit(); ++i) {
-            sum += state.ia.get(i);
+        @Setup(Level.Trial)
+        public final void doSetup(VectorState state) {
+            aSmall = state.columns.smallBuffer("aSmall");
+            iaSmall = aSmall.asIntBuffer();
+            bSmall = state.columns.smallBuffer("bSmall");
+            ibSmall = bSmall.asIntBuffer();
         }
-        return sum;
     }
 
-    @Benchmark
-    public final ByteBuffer mulSIMD(VectorState state) {
-        for(int i = 0; i < state.a.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.a, i);
-            IntVector vb = IntVector.fromByteBuffer(VectorState.sInt,state.b, i);
-            IntVector vc = va.mul(vb);
-            vc.intoByteBuffer(state.c, i);
-        }
-        return state.c;
-    }
+    @State(Scope.Thread)
+    public static class And4State {
 
-    @Benchmark
-    public final IntBuffer mulRegular(VectorState state) {
-        for(int i = 0; i < state.ia.limit(); ++i) {
-            state.ic.put(i, state.ia.get(i) * state.ib.get(i));
-        }
-        return state.ic;
-    }
+        ByteBuffer aSmall; IntBuffer iaSmall;
+        ByteBuffer bSmall; IntBuffer ibSmall;
+        ByteBuffer cSmall; IntBuffer icSmall;
+        ByteBuffer dSmall; IntBuffer idSmall;
 
-    @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final IntBuffer mulRegularNoSuperWord(VectorState state) {
-        for(int i = 0; i < state.ia.limit(); ++i) {
-            state.ic.put(i, state.ia.get(i) * state.ib.get(i));
+        @Setup(Level.Trial)
+        public final void doSetup(VectorState state) {
+            aSmall = state.columns.smallBuffer("aSmall");
+            iaSmall = aSmall.asIntBuffer();
+            bSmall = state.columns.smallBuffer("bSmall");
+            ibSmall = bSmall.asIntBuffer();
+            cSmall = state.columns.smallBuffer("cSmall");
+            icSmall = cSmall.asIntBuffer();
+            dSmall = state.columns.smallBuffer("dSmall");
+            idSmall = dSmall.asIntBuffer();
         }
-        return state.ic;
     }
 
-    @Benchmark
-    public final ByteBuffer addSIMD(VectorState state) {
-        for (int i = 0; i < state.a.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt, state.a, i);
-            IntVector vb = IntVector.fromByteBuffer(VectorState.sInt, state.b, i);
-            IntVector vc = va.add(vb);
-            vc.intoByteBuffer(state.c, i);
-        }
-        return state.c;
-    }
+    /** the columns of filterSumFullRange, b being summed */
+    @State(Scope.Thread)
+    public static class FullRangeState {
 
-    @Benchmark
-    public final IntBuffer addRegular(VectorState state) {
-        for (int i = 0; i < state.ia.limit(); ++i) {
-            state.ic.put(i, state.ia.get(i) + state.ib.get(i));
+        ByteBuffer aSmall; IntBuffer iaSmall;
+        ByteBuffer b;
+
+        @Setup(Level.Trial)
+        public final void doSetup(VectorState state) {
+            aSmall = state.columns.smallBuffer("aSmall");
+            iaSmall = aSmall.asIntBuffer();
+            b = state.columns.fullRangeBuffer("b");
         }
-        return state.ic;
     }
 
-    @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final IntBuffer addRegularNoSuperWord(VectorState state) {
-        for (int i = 0; i < state.ia.limit(); ++i) {
-            state.ic.put(i, state.ia.get(i) + state.ib.get(i));
+    /** the columns of filterSumAnd4FullRange, a being summed */
+    @State(Scope.Thread)
+    public static class And4FullRangeState {
+
+        ByteBuffer aSmall; IntBuffer iaSmall;
+        ByteBuffer bSmall; IntBuffer ibSmall;
+        ByteBuffer cSmall; IntBuffer icSmall;
+        ByteBuffer dSmall; IntBuffer idSmall;
+        ByteBuffer a;
+
+        @Setup(Level.Trial)
+        public final void doSetup(VectorState state) {
+            aSmall = state.columns.smallBuffer("aSmall");
+            iaSmall = aSmall.asIntBuffer();
+            bSmall = state.columns.smallBuffer("bSmall");
+            ibSmall = bSmall.asIntBuffer();
+            cSmall = state.columns.smallBuffer("cSmall");
+            icSmall = cSmall.asIntBuffer();
+            dSmall = state.columns.smallBuffer("dSmall");
+            idSmall = dSmall.asIntBuffer();
+            a = state.columns.fullRangeBuffer("a");
         }
-        return state.ic;
     }
 
     @Benchmark
-    public final boolean filterSIMD(VectorState state) {
+    public final boolean filterSIMD(VectorState state, FilterState columns) {
+        ByteBuffer aSmall = columns.aSmall;
         boolean blackhole = false;
         IntVector vfa = VectorState.sInt.broadcast(state.fa);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
+        for (int i = 0; i < aSmall.limit(); i += VectorState.vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,aSmall, i);
             Mask m = va.equal(vfa);
             blackhole ^= m.getElement(0);
         }
@@ -191,31 +168,34 @@ public class VectorOffHeapProfiling {
     }
 
     @Benchmark
-    public final boolean filterRegular(VectorState state) {
+    public final boolean filterRegular(VectorState state, FilterState columns) {
+        IntBuffer iaSmall = columns.iaSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            blackhole ^= state.iaSmall.get(i) == state.fa;
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            blackhole ^= iaSmall.get(i) == state.fa;
         }
         return blackhole;
     }
 
     @Benchmark
     @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final boolean filterRegularNoSuperWord(VectorState state) {
+    public final boolean filterRegularNoSuperWord(VectorState state, FilterState columns) {
+        IntBuffer iaSmall = columns.iaSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            blackhole ^= state.iaSmall.get(i) == state.fa;
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            blackhole ^= iaSmall.get(i) == state.fa;
         }
         return blackhole;
     }
 
     @Benchmark
-    public final boolean filterOr2SIMD(VectorState state) {
+    public final boolean filterOr2SIMD(VectorState state, FilterState columns) {
+        ByteBuffer aSmall = columns.aSmall;
         boolean blackhole = false;
         IntVector vfa = VectorState.sInt.broadcast(state.fa);
         IntVector vfb = VectorState.sInt.broadcast(state.fb);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
+        for (int i = 0; i < aSmall.limit(); i += VectorState.vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,aSmall, i);
             Mask ma = va.equal(vfa);
             Mask mb = va.equal(vfb);
             blackhole ^= ma.or(mb).getElement(0);
@@ -224,10 +204,11 @@ public class VectorOffHeapProfiling {
     }
 
     @Benchmark
-    public final boolean filterOr2Regular(VectorState state) {
+    public final boolean filterOr2Regular(VectorState state, FilterState columns) {
+        IntBuffer iaSmall = columns.iaSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int a = state.iaSmall.get(i);
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            int a = iaSmall.get(i);
             blackhole ^= a == state.fa || a == state.fb;
         }
         return blackhole;
@@ -235,24 +216,26 @@ public class VectorOffHeapProfiling {
 
     @Benchmark
     @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final boolean filterOr2RegularNoSuperWord(VectorState state) {
+    public final boolean filterOr2RegularNoSuperWord(VectorState state, FilterState columns) {
+        IntBuffer iaSmall = columns.iaSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int a = state.iaSmall.get(i);
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            int a = iaSmall.get(i);
             blackhole ^= a == state.fa || a == state.fb;
         }
         return blackhole;
     }
 
     @Benchmark
-    public final boolean filterOr4SIMD(VectorState state) {
+    public final boolean filterOr4SIMD(VectorState state, FilterState columns) {
+        ByteBuffer aSmall = columns.aSmall;
         boolean blackhole = false;
         IntVector vfa = VectorState.sInt.broadcast(state.fa);
         IntVector vfb = VectorState.sInt.broadcast(state.fb);
         IntVector vfc = VectorState.sInt.broadcast(state.fc);
         IntVector vfd = VectorState.sInt.broadcast(state.fd);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
+        for (int i = 0; i < aSmall.limit(); i += VectorState.vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,aSmall, i);
             Mask m = va.equal(vfa);
             m = m.or(va.equal(vfb));
             m = m.or(va.equal(vfc));
@@ -263,10 +246,11 @@ public class VectorOffHeapProfiling {
     }
 
     @Benchmark
-    public final boolean filterOr4Regular(VectorState state) {
+    public final boolean filterOr4Regular(VectorState state, FilterState columns) {
+        IntBuffer iaSmall = columns.iaSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int a = state.iaSmall.get(i);
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            int a = iaSmall.get(i);
             blackhole ^= a == state.fa || a == state.fb || a == state.fc || a == state.fd;
         }
         return blackhole;
@@ -274,24 +258,27 @@ public class VectorOffHeapProfiling {
 
     @Benchmark
     @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final boolean filterOr4RegularNoSuperWord(VectorState state) {
+    public final boolean filterOr4RegularNoSuperWord(VectorState state, FilterState columns) {
+        IntBuffer iaSmall = columns.iaSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int a = state.iaSmall.get(i);
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            int a = iaSmall.get(i);
             blackhole ^= a == state.fa || a == state.fb || a == state.fc || a == state.fd;
         }
         return blackhole;
     }
 
     @Benchmark
-    public final boolean filterAnd2SIMD(VectorState state) {
+    public final boolean filterAnd2SIMD(VectorState state, And2State columns) {
+        ByteBuffer aSmall = columns.aSmall;
+        ByteBuffer bSmall = columns.bSmall;
         boolean blackhole = false;
         IntVector vfa = VectorState.sInt.broadcast(state.fa);
         IntVector vfb = VectorState.sInt.broadcast(state.fb);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
+        for (int i = 0; i < aSmall.limit(); i += VectorState.vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,aSmall, i);
             Mask ma = va.equal(vfa);
-            IntVector vb = IntVector.fromByteBuffer(VectorState.sInt,state.bSmall, i);
+            IntVector vb = IntVector.fromByteBuffer(VectorState.sInt,bSmall, i);
             Mask mb = vb.equal(vfb);
             blackhole ^= ma.and(mb).getElement(0);
         }
@@ -299,39 +286,47 @@ public class VectorOffHeapProfiling {
     }
 
     @Benchmark
-    public final boolean filterAnd2Regular(VectorState state) {
+    public final boolean filterAnd2Regular(VectorState state, And2State columns) {
+        IntBuffer iaSmall = columns.iaSmall;
+        IntBuffer ibSmall = columns.ibSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            blackhole ^= state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb;
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            blackhole ^= iaSmall.get(i) == state.fa && ibSmall.get(i) == state.fb;
         }
         return blackhole;
     }
 
     @Benchmark
     @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final boolean filterAnd2RegularNoSuperWord(VectorState state) {
+    public final boolean filterAnd2RegularNoSuperWord(VectorState state, And2State columns) {
+        IntBuffer iaSmall = columns.iaSmall;
+        IntBuffer ibSmall = columns.ibSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            blackhole ^= state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb;
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            blackhole ^= iaSmall.get(i) == state.fa && ibSmall.get(i) == state.fb;
         }
         return blackhole;
     }
 
     @Benchmark
-    public final boolean filterAnd4SIMD(VectorState state) {
+    public final boolean filterAnd4SIMD(VectorState state, And4State columns) {
+        ByteBuffer aSmall = columns.aSmall;
+        ByteBuffer bSmall = columns.bSmall;
+        ByteBuffer cSmall = columns.cSmall;
+        ByteBuffer dSmall = columns.dSmall;
         boolean blackhole = false;
         IntVector vfa = VectorState.sInt.broadcast(state.fa);
         IntVector vfb = VectorState.sInt.broadcast(state.fb);
         IntVector vfc = VectorState.sInt.broadcast(state.fc);
         IntVector vfd = VectorState.sInt.broadcast(state.fd);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector v = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
+        for (int i = 0; i < aSmall.limit(); i += VectorState.vecBytes) {
+            IntVector v = IntVector.fromByteBuffer(VectorState.sInt,aSmall, i);
             Mask m = v.equal(vfa);
-            v = IntVector.fromByteBuffer(VectorState.sInt,state.bSmall, i);
+            v = IntVector.fromByteBuffer(VectorState.sInt,bSmall, i);
             m = m.and(v.equal(vfb));
-            v = IntVector.fromByteBuffer(VectorState.sInt,state.cSmall, i);
+            v = IntVector.fromByteBuffer(VectorState.sInt,cSmall, i);
             m = m.and(v.equal(vfc));
-            v = IntVector.fromByteBuffer(VectorState.sInt,state.dSmall, i);
+            v = IntVector.fromByteBuffer(VectorState.sInt,dSmall, i);
             m = m.and(v.equal(vfd));
             blackhole ^= m.getElement(0);
         }
@@ -339,242 +334,59 @@ public class VectorOffHeapProfiling {
     }
 
     @Benchmark
-    public final boolean filterAnd4Regular(VectorState state) {
+    public final boolean filterAnd4Regular(VectorState state, And4State columns) {
+        IntBuffer iaSmall = columns.iaSmall;
+        IntBuffer ibSmall = columns.ibSmall;
+        IntBuffer icSmall = columns.icSmall;
+        IntBuffer idSmall = columns.idSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            blackhole ^= state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb && state.icSmall.get(i) == state.fc && state.idSmall.get(i) == state.fd;
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            blackhole ^= iaSmall.get(i) == state.fa && ibSmall.get(i) == state.fb && icSmall.get(i) == state.fc && idSmall.get(i) == state.fd;
         }
         return blackhole;
     }
 
     @Benchmark
     @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final boolean filterAnd4RegularNoSuperWord(VectorState state) {
+    public final boolean filterAnd4RegularNoSuperWord(VectorState state, And4State columns) {
+        IntBuffer iaSmall = columns.iaSmall;
+        IntBuffer ibSmall = columns.ibSmall;
+        IntBuffer icSmall = columns.icSmall;
+        IntBuffer idSmall = columns.idSmall;
         boolean blackhole = false;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            blackhole ^= state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb && state.icSmall.get(i) == state.fc && state.idSmall.get(i) == state.fd;
+        for (int i = 0; i < iaSmall.limit(); ++i) {
+            blackhole ^= iaSmall.get(i) == state.fa && ibSmall.get(i) == state.fb && icSmall.get(i) == state.fc && idSmall.get(i) == state.fd;
         }
         return blackhole;
     }
 
     @Benchmark
-    public final long filterSumSIMD(VectorState state) {
-        IntVector vs = VectorState.sInt.zero();
-        IntVector vfa = VectorState.sInt.broadcast(state.fa);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
-            Mask m = va.equal(vfa);
-            vs = IntVector.fromByteBuffer(VectorState.sInt,state.bSmall, i, m).add(vs);
-        }
-        return vs.addAll();
+    public final long filterSumFullRangeSIMD(VectorState state, FullRangeState columns) {
+        return IntColumnKernels.VECTOR.filterSum(columns.aSmall, state.fa, columns.b);
     }
 
     @Benchmark
-    public final long filterSumRegular(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            if(state.iaSmall.get(i) == state.fa) {
-                sum += state.ibSmall.get(i);
-            }
-        }
-        return sum;
+    public final long filterSumFullRangeSIMDWidening(VectorState state, FullRangeState columns) {
+        return IntColumnKernels.VECTOR_WIDENING.filterSum(columns.aSmall, state.fa, columns.b);
     }
 
     @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final long filterSumRegularNoSuperWord(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            if(state.iaSmall.get(i) == state.fa) {
-                sum += state.ibSmall.get(i);
-            }
-        }
-        return sum;
+    public final long filterSumFullRangeRegular(VectorState state, FullRangeState columns) {
+        return IntColumnKernels.SCALAR.filterSum(columns.aSmall, state.fa, columns.b);
     }
 
     @Benchmark
-    public final long filterSumBranchlessRegular(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int n = state.iaSmall.get(i) - state.fa;
-            sum += (~(n >> 31) & ~((-n) >> 31)) & state.ibSmall.get(i);
-        }
-        return sum;
+    public final long filterSumAnd4FullRangeSIMD(VectorState state, And4FullRangeState columns) {
+        return IntColumnKernels.VECTOR.filterSumAnd4(columns.aSmall, state.fa, columns.bSmall, state.fb, columns.cSmall, state.fc, columns.dSmall, state.fd, columns.a);
     }
 
     @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final long filterSumBranchlessRegularNoSuperWord(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int n = state.iaSmall.get(i) - state.fa;
-            sum += (~(n >> 31) & ~((-n) >> 31)) & state.ibSmall.get(i);
-        }
-        return sum;
-    }
-
-
-    @Benchmark
-    public final long filterSumOr2SIMD(VectorState state) {
-        IntVector vs = VectorState.sInt.zero();
-        IntVector vfa = VectorState.sInt.broadcast(state.fa);
-        IntVector vfb = VectorState.sInt.broadcast(state.fb);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
-            Mask m = va.equal(vfa);
-            m = m.or(va.equal(vfb));
-            vs = IntVector.fromByteBuffer(VectorState.sInt,state.bSmall, i, m).add(vs);
-        }
-        return vs.addAll();
-    }
-
-    @Benchmark
-    public final long filterSumOr2Regular(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int v = state.iaSmall.get(i);
-            if(v == state.fa || v == state.fb) {
-                sum += state.ibSmall.get(i);
-            }
-        }
-        return sum;
-    }
-
-    @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final long filterSumOr2RegularNoSuperWord(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int v = state.iaSmall.get(i);
-            if(v == state.fa || v == state.fb) {
-                sum += state.ibSmall.get(i);
-            }
-        }
-        return sum;
-    }
-
-    @Benchmark
-    public final long filterSumOr4SIMD(VectorState state) {
-        IntVector vs = VectorState.sInt.zero();
-        IntVector vfa = VectorState.sInt.broadcast(state.fa);
-        IntVector vfb = VectorState.sInt.broadcast(state.fb);
-        IntVector vfc = VectorState.sInt.broadcast(state.fc);
-        IntVector vfd = VectorState.sInt.broadcast(state.fd);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector va = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
-            Mask m = va.equal(vfa);
-            m = m.or(va.equal(vfb));
-            m = m.or(va.equal(vfc));
-            m = m.or(va.equal(vfd));
-            vs = IntVector.fromByteBuffer(VectorState.sInt,state.bSmall, i, m).add(vs);
-        }
-        return vs.addAll();
-    }
-
-    @Benchmark
-    public final long filterSumOr4Regular(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int v = state.iaSmall.get(i);
-            if(v == state.fa || v == state.fb || v == state.fc || v == state.fd) {
-                sum += state.ibSmall.get(i);
-            }
-        }
-        return sum;
-    }
-
-    @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final long filterSumOr4RegularNoSuperWord(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            int v = state.iaSmall.get(i);
-            if(v == state.fa || v == state.fb || v == state.fc || v == state.fd) {
-                sum += state.ibSmall.get(i);
-            }
-        }
-        return sum;
-    }
-
-    @Benchmark
-    public final long filterSumAnd2SIMD(VectorState state) {
-        IntVector vs = VectorState.sInt.zero();
-        IntVector vfa = VectorState.sInt.broadcast(state.fa);
-        IntVector vfb = VectorState.sInt.broadcast(state.fb);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector v = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
-            Mask m = v.equal(vfa);
-            v = IntVector.fromByteBuffer(VectorState.sInt,state.bSmall, i);
-            m = m.and(v.equal(vfb));
-            vs = IntVector.fromByteBuffer(VectorState.sInt,state.cSmall, i, m).add(vs);
-        }
-        return vs.addAll();
-    }
-
-    @Benchmark
-    public final long filterSumAnd2Regular(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            if(state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb) {
-                sum += state.icSmall.get(i);
-            }
-        }
-        return sum;
-    }
-
-    @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final long filterSumAnd2RegularNoSuperWord(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            if(state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb) {
-                sum += state.icSmall.get(i);
-            }
-        }
-        return sum;
+    public final long filterSumAnd4FullRangeSIMDWidening(VectorState state, And4FullRangeState columns) {
+        return IntColumnKernels.VECTOR_WIDENING.filterSumAnd4(columns.aSmall, state.fa, columns.bSmall, state.fb, columns.cSmall, state.fc, columns.dSmall, state.fd, columns.a);
     }
 
     @Benchmark
-    public final long filterSumAnd4SIMD(VectorState state) {
-        IntVector vs = VectorState.sInt.zero();
-        IntVector vfa = VectorState.sInt.broadcast(state.fa);
-        IntVector vfb = VectorState.sInt.broadcast(state.fb);
-        IntVector vfc = VectorState.sInt.broadcast(state.fc);
-        IntVector vfd = VectorState.sInt.broadcast(state.fd);
-        for (int i = 0; i < state.aSmall.limit(); i += VectorState.vecBytes) {
-            IntVector v = IntVector.fromByteBuffer(VectorState.sInt,state.aSmall, i);
-            Mask m = v.equal(vfa);
-            v = IntVector.fromByteBuffer(VectorState.sInt,state.bSmall, i);
-            m = m.and(v.equal(vfb));
-            v = IntVector.fromByteBuffer(VectorState.sInt,state.cSmall, i);
-            m = m.and(v.equal(vfc));
-            v = IntVector.fromByteBuffer(VectorState.sInt,state.dSmall, i);
-            m = m.and(v.equal(vfd));
-            vs = IntVector.fromByteBuffer(VectorState.sInt,state.eSmall, i, m).add(vs);
-        }
-        return vs.addAll();
-    }
-
-    @Benchmark
-    public final long filterSumAnd4Regular(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            if(state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb && state.icSmall.get(i) == state.fc && state.idSmall.get(i) == state.fd) {
-                sum += state.ieSmall.get(i);
-            }
-        }
-        return sum;
-    }
-
-    @Benchmark
-    @Fork(jvmArgsAppend = { "-XX:-UseSuperWord" })
-    public final long filterSumAnd4RegularNoSuperWord(VectorState state) {
-        long sum = 0;
-        for (int i = 0; i < state.iaSmall.limit(); ++i) {
-            if(state.iaSmall.get(i) == state.fa && state.ibSmall.get(i) == state.fb && state.icSmall.get(i) == state.fc && state.idSmall.get(i) == state.fd) {
-                sum += state.ieSmall.get(i);
-            }
-        }
-        return sum;
+    public final long filterSumAnd4FullRangeRegular(VectorState state, And4FullRangeState columns) {
+        return IntColumnKernels.SCALAR.filterSumAnd4(columns.aSmall, state.fa, columns.bSmall, state.fb, columns.cSmall, state.fc, columns.dSmall, state.fd, columns.a);
     }
 }
@@ -0,0 +1,158 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntSelectionKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.TimeUnit;
+
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorOffHeapSelectionProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"4096", "65536", "1048576", "16777216"})
+        public int ARRAY_LENGTH;
+        // probability for a row of aSmall (and independently of bSmall) to be equal to fa (fb)
+        @Param({"0.001", "0.01", "0.1", "0.5", "0.9", "0.99"})
+        public double SELECTIVITY;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+
+        ByteBuffer aSmall; IntBuffer iaSmall;
+        ByteBuffer bSmall; IntBuffer ibSmall;
+
+        int[] sel;
+        long[] bitmap;
+
+        int fa;
+        int fb;
+        int fc;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            aSmall = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            bSmall = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+
+            iaSmall = aSmall.asIntBuffer();
+            ibSmall = bSmall.asIntBuffer();
+
+            sel = new int[ARRAY_LENGTH];
+            bitmap = new long[IntSelectionKernels.bitmapLength(ARRAY_LENGTH)];
+
+            ColumnGenerator generator = new ColumnGenerator(SEED, "uniform", ARRAY_BOUND, SELECTIVITY);
+            fa = generator.constant();
+            fb = generator.constant();
+            // fc never appears, so that filterOr2 has the same selectivity as filter
+            fc = ARRAY_BOUND;
+            generator.fill("aSmall", aSmall, fa);
+            generator.fill("bSmall", bSmall, fb);
+        }
+    }
+
+    @Benchmark
+    public final int selectSIMD(VectorState state) {
+        return IntSelectionKernels.VECTOR.select(state.aSmall, state.fa, state.sel);
+    }
+
+    @Benchmark
+    public final int selectRegular(VectorState state) {
+        return IntSelectionKernels.SCALAR.select(state.aSmall, state.fa, state.sel);
+    }
+
+    @Benchmark
+    public final int selectBranchlessRegular(VectorState state) {
+        return IntSelectionKernels.BRANCHLESS.select(state.aSmall, state.fa, state.sel);
+    }
+
+    @Benchmark
+    public final int selectOr2SIMD(VectorState state) {
+        return IntSelectionKernels.VECTOR.selectOr2(state.aSmall, state.fa, state.fc, state.sel);
+    }
+
+    @Benchmark
+    public final int selectOr2Regular(VectorState state) {
+        return IntSelectionKernels.SCALAR.selectOr2(state.aSmall, state.fa, state.fc, state.sel);
+    }
+
+    @Benchmark
+    public final int selectOr2BranchlessRegular(VectorState state) {
+        return IntSelectionKernels.BRANCHLESS.selectOr2(state.aSmall, state.fa, state.fc, state.sel);
+    }
+
+    @Benchmark
+    public final int selectAnd2SIMD(VectorState state) {
+        return IntSelectionKernels.VECTOR.selectAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.sel);
+    }
+
+    @Benchmark
+    public final int selectAnd2Regular(VectorState state) {
+        return IntSelectionKernels.SCALAR.selectAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.sel);
+    }
+
+    @Benchmark
+    public final int selectAnd2BranchlessRegular(VectorState state) {
+        return IntSelectionKernels.BRANCHLESS.selectAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.sel);
+    }
+
+    @Benchmark
+    public final long[] bitmapSIMD(VectorState state) {
+        IntSelectionKernels.VECTOR.bitmap(state.aSmall, state.fa, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapRegular(VectorState state) {
+        IntSelectionKernels.SCALAR.bitmap(state.aSmall, state.fa, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapBranchlessRegular(VectorState state) {
+        IntSelectionKernels.BRANCHLESS.bitmap(state.aSmall, state.fa, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapOr2SIMD(VectorState state) {
+        IntSelectionKernels.VECTOR.bitmapOr2(state.aSmall, state.fa, state.fc, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapOr2Regular(VectorState state) {
+        IntSelectionKernels.SCALAR.bitmapOr2(state.aSmall, state.fa, state.fc, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapOr2BranchlessRegular(VectorState state) {
+        IntSelectionKernels.BRANCHLESS.bitmapOr2(state.aSmall, state.fa, state.fc, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapAnd2SIMD(VectorState state) {
+        IntSelectionKernels.VECTOR.bitmapAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapAnd2Regular(VectorState state) {
+        IntSelectionKernels.SCALAR.bitmapAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapAnd2BranchlessRegular(VectorState state) {
+        IntSelectionKernels.BRANCHLESS.bitmapAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.bitmap);
+        return state.bitmap;
+    }
+}
@@ -0,0 +1,116 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntStreamKernels;
+import fr.centralesupelec.simd.kernels.ParallelIntStreamKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VectorStreamProfiling} on direct buffers, the ceiling of the ByteBuffer kernels.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorOffHeapStreamProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"512", "1024", "2048", "4096", "8192", "16384", "32768", "65536", "131072", "262144", "524288", "1048576", "2097152", "4194304", "8388608", "16777216", "33554432", "67108864"})
+        public int ARRAY_LENGTH;
+        @Param({"1", "2", "4", "8", "16"})
+        public int THREADS;
+        @Param({"42"})
+        public long SEED;
+        static final int S = 3;
+
+        ForkJoinPool pool;
+        IntStreamKernels scalar;
+        IntStreamKernels vector;
+
+        ByteBuffer a;
+        ByteBuffer b;
+        ByteBuffer c;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            if(THREADS == 1) {
+                scalar = IntStreamKernels.SCALAR;
+                vector = IntStreamKernels.VECTOR;
+            } else {
+                pool = new ForkJoinPool(THREADS);
+                scalar = new ParallelIntStreamKernels(IntStreamKernels.SCALAR, pool);
+                vector = new ParallelIntStreamKernels(IntStreamKernels.VECTOR, pool);
+            }
+
+            a = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            b = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            c = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+
+            // only full-range columns, whatever the cardinality
+            ColumnGenerator generator = ColumnGenerator.uniform(SEED, 2);
+            generator.fillFullRange("a", a);
+            generator.fillFullRange("b", b);
+        }
+
+        @TearDown(Level.Trial)
+        public final void doTearDown() {
+            if(pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Benchmark
+    public final ByteBuffer copySIMD(VectorState state) {
+        state.vector.copy(state.a, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final ByteBuffer copyRegular(VectorState state) {
+        state.scalar.copy(state.a, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final ByteBuffer scaleSIMD(VectorState state) {
+        state.vector.scale(state.a, VectorState.S, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final ByteBuffer scaleRegular(VectorState state) {
+        state.scalar.scale(state.a, VectorState.S, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final ByteBuffer addSIMD(VectorState state) {
+        state.vector.add(state.a, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final ByteBuffer addRegular(VectorState state) {
+        state.scalar.add(state.a, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final ByteBuffer triadSIMD(VectorState state) {
+        state.vector.triad(state.a, VectorState.S, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final ByteBuffer triadRegular(VectorState state) {
+        state.scalar.triad(state.a, VectorState.S, state.b, state.c);
+        return state.c;
+    }
+}
@@ -0,0 +1,145 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+import fr.centralesupelec.simd.kernels.PackedIntColumn;
+import fr.centralesupelec.simd.kernels.PackedIntColumnKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters on bit-packed columns against the same filters on int[] and ByteBuffer columns.
+ * The int[] and ByteBuffer benchmarks only depend on VectorState, so they are not repeated for every BITS.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorPackedProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"512", "1024", "2048", "4096", "8192", "16384", "32768", "65536", "131072", "262144", "524288", "1048576", "2097152", "4194304", "8388608", "16777216", "33554432", "67108864"})
+        public int ARRAY_LENGTH;
+        @Param({"42"})
+        public long SEED;
+
+        int[] aSmall;
+        int[] bSmall;
+        int[] cSmall;
+        int[] dSmall;
+        int[] eSmall;
+
+        ByteBuffer aSmallOffHeap;
+        ByteBuffer bSmallOffHeap;
+        ByteBuffer cSmallOffHeap;
+        ByteBuffer dSmallOffHeap;
+        ByteBuffer eSmallOffHeap;
+
+        int fa;
+        int fb;
+        int fc;
+        int fd;
+
+        private static ByteBuffer toOffHeap(int[] a) {
+            ByteBuffer r = VectorOffHeapProfiling.allocate(a.length * Integer.BYTES);
+            r.asIntBuffer().put(a);
+            return r;
+        }
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            FilterColumns columns = new FilterColumns(SEED, ARRAY_LENGTH);
+            aSmall = columns.small("aSmall");
+            bSmall = columns.small("bSmall");
+            cSmall = columns.small("cSmall");
+            dSmall = columns.small("dSmall");
+            eSmall = columns.small("eSmall");
+            aSmallOffHeap = toOffHeap(aSmall);
+            bSmallOffHeap = toOffHeap(bSmall);
+            cSmallOffHeap = toOffHeap(cSmall);
+            dSmallOffHeap = toOffHeap(dSmall);
+            eSmallOffHeap = toOffHeap(eSmall);
+            fa = columns.fa;
+            fb = columns.fb;
+            fc = columns.fc;
+            fd = columns.fd;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PackedState {
+
+        // 4 bits are enough for FilterColumns.ARRAY_BOUND, wider codes show the cost of straddling words
+        @Param({"4", "7", "8", "12", "16"})
+        public int BITS;
+
+        PackedIntColumn aSmall;
+        PackedIntColumn bSmall;
+        PackedIntColumn cSmall;
+        PackedIntColumn dSmall;
+        PackedIntColumn eSmall;
+
+        @Setup(Level.Trial)
+        public final void doSetup(VectorState state) {
+            aSmall = PackedIntColumn.pack(state.aSmall, BITS);
+            bSmall = PackedIntColumn.pack(state.bSmall, BITS);
+            cSmall = PackedIntColumn.pack(state.cSmall, BITS);
+            dSmall = PackedIntColumn.pack(state.dSmall, BITS);
+            eSmall = PackedIntColumn.pack(state.eSmall, BITS);
+        }
+    }
+
+    @Benchmark
+    public final int filterPackedSIMD(VectorState state, PackedState packed) {
+        return PackedIntColumnKernels.VECTOR.filter(packed.aSmall, state.fa);
+    }
+
+    @Benchmark
+    public final int filterPackedRegular(VectorState state, PackedState packed) {
+        return PackedIntColumnKernels.SCALAR.filter(packed.aSmall, state.fa);
+    }
+
+    @Benchmark
+    public final long filterSumPackedSIMD(VectorState state, PackedState packed) {
+        return PackedIntColumnKernels.VECTOR.filterSum(packed.aSmall, state.fa, packed.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumPackedRegular(VectorState state, PackedState packed) {
+        return PackedIntColumnKernels.SCALAR.filterSum(packed.aSmall, state.fa, packed.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOffHeapSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSum(state.aSmallOffHeap, state.fa, state.bSmallOffHeap);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4PackedSIMD(VectorState state, PackedState packed) {
+        return PackedIntColumnKernels.VECTOR.filterSumAnd4(packed.aSmall, state.fa, packed.bSmall, state.fb, packed.cSmall, state.fc, packed.dSmall, state.fd, packed.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4PackedRegular(VectorState state, PackedState packed) {
+        return PackedIntColumnKernels.SCALAR.filterSumAnd4(packed.aSmall, state.fa, packed.bSmall, state.fb, packed.cSmall, state.fc, packed.dSmall, state.fd, packed.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4OffHeapSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumAnd4(state.aSmallOffHeap, state.fa, state.bSmallOffHeap, state.fb, state.cSmallOffHeap, state.fc, state.dSmallOffHeap, state.fd, state.eSmallOffHeap);
+    }
+}
@@ -0,0 +1,108 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+import fr.centralesupelec.simd.kernels.ParallelIntColumnKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorParallelProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"1048576", "4194304", "16777216", "67108864"})
+        public int ARRAY_LENGTH;
+        @Param({"1", "2", "4", "8", "16"})
+        public int THREADS;
+        @Param({"42"})
+        public long SEED;
+
+        ForkJoinPool pool;
+        IntColumnKernels scalar;
+        IntColumnKernels vector;
+
+        int[] a;
+
+        int[] aSmall;
+        int[] bSmall;
+        int[] cSmall;
+        int[] dSmall;
+        int[] eSmall;
+
+        int fa;
+        int fb;
+        int fc;
+        int fd;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            pool = new ForkJoinPool(THREADS);
+            scalar = new ParallelIntColumnKernels(IntColumnKernels.SCALAR, pool);
+            vector = new ParallelIntColumnKernels(IntColumnKernels.VECTOR, pool);
+
+            FilterColumns columns = new FilterColumns(SEED, ARRAY_LENGTH);
+            a = columns.fullRange("a");
+            aSmall = columns.small("aSmall");
+            bSmall = columns.small("bSmall");
+            cSmall = columns.small("cSmall");
+            dSmall = columns.small("dSmall");
+            eSmall = columns.small("eSmall");
+            fa = columns.fa;
+            fb = columns.fb;
+            fc = columns.fc;
+            fd = columns.fd;
+        }
+
+        @TearDown(Level.Trial)
+        public final void doTearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public final int sumSIMD(VectorState state) {
+        return state.vector.sum(state.a);
+    }
+
+    @Benchmark
+    public final int sumRegular(VectorState state) {
+        return state.scalar.sum(state.a);
+    }
+
+    @Benchmark
+    public final long filterSumSIMD(VectorState state) {
+        return state.vector.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumRegular(VectorState state) {
+        return state.scalar.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOr4SIMD(VectorState state) {
+        return state.vector.filterSumOr4(state.aSmall, state.fa, state.fb, state.fc, state.fd, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOr4Regular(VectorState state) {
+        return state.scalar.filterSumOr4(state.aSmall, state.fa, state.fb, state.fc, state.fd, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4SIMD(VectorState state) {
+        return state.vector.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4Regular(VectorState state) {
+        return state.scalar.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+}
@@ -0,0 +1,136 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntInList;
+import fr.centralesupelec.simd.kernels.IntPredicateKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range and IN-list filters, SIMD against scalar, on a column of DOMAIN distinct values. Ranges match a fraction
+ * SELECTIVITY of the rows. IN-lists have LIST_SIZE values spread over the domain: the automatic kind (filterSumIn)
+ * chains compares up to IntInList.CHAINED_VALUES values and then uses the lookup table, which filterSumInTable forces
+ * for every size, next to the binary search of lists too wide for a table.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorPredicateProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"65536", "1048576", "16777216"})
+        public int ARRAY_LENGTH;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+        static final int DOMAIN = IntInList.TABLE_SPAN;
+
+        int[] aSmall;
+        int[] bSmall;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            aSmall = new int[ARRAY_LENGTH];
+            bSmall = new int[ARRAY_LENGTH];
+            Random rnd = new Random(SEED);
+            for (int i = 0; i < aSmall.length; i++) {
+                aSmall[i] = rnd.nextInt(DOMAIN);
+            }
+            for (int i = 0; i < bSmall.length; i++) {
+                bSmall[i] = rnd.nextInt(ARRAY_BOUND);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RangeState {
+
+        @Param({"0.01", "0.5", "0.99"})
+        public double SELECTIVITY;
+
+        int lessThan;
+        int lo;
+        int hi;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            int width = (int) (SELECTIVITY * VectorState.DOMAIN);
+            lessThan = width;
+            // centered, so that both bounds cut the domain
+            lo = (VectorState.DOMAIN - width) / 2;
+            hi = lo + width - 1;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class InListState {
+
+        @Param({"1", "2", "4", "8", "16", "64", "256", "1024", "4096"})
+        public int LIST_SIZE;
+
+        IntInList list;
+        IntInList table;
+        IntInList search;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            int[] values = new int[LIST_SIZE];
+            for (int k = 0; k < values.length; k++) {
+                values[k] = k * (VectorState.DOMAIN / LIST_SIZE);
+            }
+            list = IntInList.of(values);
+            table = IntInList.of(IntInList.Kind.TABLE, values);
+            search = IntInList.of(IntInList.Kind.SEARCH, values);
+        }
+    }
+
+    @Benchmark
+    public final long filterSumLessThanSIMD(VectorState state, RangeState range) {
+        return IntPredicateKernels.VECTOR.filterSumLessThan(state.aSmall, range.lessThan, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumLessThanRegular(VectorState state, RangeState range) {
+        return IntPredicateKernels.SCALAR.filterSumLessThan(state.aSmall, range.lessThan, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumBetweenSIMD(VectorState state, RangeState range) {
+        return IntPredicateKernels.VECTOR.filterSumBetween(state.aSmall, range.lo, range.hi, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumBetweenRegular(VectorState state, RangeState range) {
+        return IntPredicateKernels.SCALAR.filterSumBetween(state.aSmall, range.lo, range.hi, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumInSIMD(VectorState state, InListState in) {
+        return IntPredicateKernels.VECTOR.filterSumIn(state.aSmall, in.list, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumInRegular(VectorState state, InListState in) {
+        return IntPredicateKernels.SCALAR.filterSumIn(state.aSmall, in.list, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumInTableSIMD(VectorState state, InListState in) {
+        return IntPredicateKernels.VECTOR.filterSumIn(state.aSmall, in.table, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumInTableRegular(VectorState state, InListState in) {
+        return IntPredicateKernels.SCALAR.filterSumIn(state.aSmall, in.table, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumInSearchRegular(VectorState state, InListState in) {
+        return IntPredicateKernels.SCALAR.filterSumIn(state.aSmall, in.search, state.bSmall);
+    }
+}
@@ -0,0 +1,114 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+import fr.centralesupelec.simd.kernels.ShortCircuitVectorIntColumnKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conjunctive filters that stop loading columns once the running mask of a vector (ShortCircuit) or of a tile of
+ * TILE vectors (ShortCircuitTiled) is all false, against the kernels that always load every column. SELECTIVITY
+ * sweeps the fraction of rows passing each predicate, from where most vectors are skipped after the first column to
+ * where the extra branches are pure overhead.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorShortCircuitProfiling {
+
+    private static final int TILE = 8;
+    private static final IntColumnKernels TILED = new ShortCircuitVectorIntColumnKernels(TILE);
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"4096", "65536", "1048576", "16777216"})
+        public int ARRAY_LENGTH;
+        // probability for a row of aSmall (and independently of bSmall, cSmall and dSmall) to be equal to fa (fb, fc, fd)
+        @Param({"0.001", "0.01", "0.1", "0.5", "0.9"})
+        public double SELECTIVITY;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+
+        int[] aSmall;
+        int[] bSmall;
+        int[] cSmall;
+        int[] dSmall;
+        int[] eSmall;
+
+        int fa;
+        int fb;
+        int fc;
+        int fd;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            ColumnGenerator generator = new ColumnGenerator(SEED, "uniform", ARRAY_BOUND, SELECTIVITY);
+            fa = generator.constant();
+            fb = generator.constant();
+            fc = generator.constant();
+            fd = generator.constant();
+            aSmall = generator.column("aSmall", ARRAY_LENGTH, fa);
+            bSmall = generator.column("bSmall", ARRAY_LENGTH, fb);
+            cSmall = generator.column("cSmall", ARRAY_LENGTH, fc);
+            dSmall = generator.column("dSmall", ARRAY_LENGTH, fd);
+            // the summed measure, not filtered
+            ColumnGenerator measure = ColumnGenerator.uniform(SEED, ARRAY_BOUND);
+            eSmall = measure.column("eSmall", ARRAY_LENGTH, measure.constant());
+        }
+    }
+
+    @Benchmark
+    public final long filterSumAnd2SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2ShortCircuitSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR_SHORT_CIRCUIT.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2ShortCircuitTiledSIMD(VectorState state) {
+        return TILED.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2Regular(VectorState state) {
+        return IntColumnKernels.SCALAR.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2BranchlessRegular(VectorState state) {
+        return IntColumnKernels.BRANCHLESS.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4ShortCircuitSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR_SHORT_CIRCUIT.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4ShortCircuitTiledSIMD(VectorState state) {
+        return TILED.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4Regular(VectorState state) {
+        return IntColumnKernels.SCALAR.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4BranchlessRegular(VectorState state) {
+        return IntColumnKernels.BRANCHLESS.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+}
@@ -0,0 +1,114 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntStreamKernels;
+import fr.centralesupelec.simd.kernels.ParallelIntStreamKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * STREAM copy, scale, add and triad over the {@link VectorProfiling} lengths: the memory bandwidth ceiling of the
+ * column kernels, measured by the same JVM. THREADS = 1 runs the kernels on the benchmark thread, larger values split
+ * the columns on a pool of THREADS workers.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorStreamProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"512", "1024", "2048", "4096", "8192", "16384", "32768", "65536", "131072", "262144", "524288", "1048576", "2097152", "4194304", "8388608", "16777216", "33554432", "67108864"})
+        public int ARRAY_LENGTH;
+        @Param({"1", "2", "4", "8", "16"})
+        public int THREADS;
+        @Param({"42"})
+        public long SEED;
+        static final int S = 3;
+
+        ForkJoinPool pool;
+        IntStreamKernels scalar;
+        IntStreamKernels vector;
+
+        int[] a;
+        int[] b;
+        int[] c;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            if(THREADS == 1) {
+                scalar = IntStreamKernels.SCALAR;
+                vector = IntStreamKernels.VECTOR;
+            } else {
+                pool = new ForkJoinPool(THREADS);
+                scalar = new ParallelIntStreamKernels(IntStreamKernels.SCALAR, pool);
+                vector = new ParallelIntStreamKernels(IntStreamKernels.VECTOR, pool);
+            }
+
+            // only full-range columns, whatever the cardinality
+            ColumnGenerator generator = ColumnGenerator.uniform(SEED, 2);
+            a = generator.fullRange("a", ARRAY_LENGTH);
+            b = generator.fullRange("b", ARRAY_LENGTH);
+            c = new int[ARRAY_LENGTH];
+        }
+
+        @TearDown(Level.Trial)
+        public final void doTearDown() {
+            if(pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Benchmark
+    public final int[] copySIMD(VectorState state) {
+        state.vector.copy(state.a, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] copyRegular(VectorState state) {
+        state.scalar.copy(state.a, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] scaleSIMD(VectorState state) {
+        state.vector.scale(state.a, VectorState.S, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] scaleRegular(VectorState state) {
+        state.scalar.scale(state.a, VectorState.S, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] addSIMD(VectorState state) {
+        state.vector.add(state.a, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] addRegular(VectorState state) {
+        state.scalar.add(state.a, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] triadSIMD(VectorState state) {
+        state.vector.triad(state.a, VectorState.S, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] triadRegular(VectorState state) {
+        state.scalar.triad(state.a, VectorState.S, state.b, state.c);
+        return state.c;
+    }
+}
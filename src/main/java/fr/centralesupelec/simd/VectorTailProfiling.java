@@ -0,0 +1,119 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorTailProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        // lengths that are not a multiple of any species length
+        @Param({"13", "100", "1000", "4099", "65537", "1000003"})
+        public int ARRAY_LENGTH;
+        @Param({"42"})
+        public long SEED;
+
+        int[] a;
+        int[] b;
+        int[] c;
+
+        int[] aSmall;
+        int[] bSmall;
+        int[] cSmall;
+        int[] dSmall;
+        int[] eSmall;
+
+        int fa;
+        int fb;
+        int fc;
+        int fd;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            FilterColumns columns = new FilterColumns(SEED, ARRAY_LENGTH);
+            a = columns.fullRange("a");
+            b = columns.fullRange("b");
+            c = columns.fullRange("c");
+            aSmall = columns.small("aSmall");
+            bSmall = columns.small("bSmall");
+            cSmall = columns.small("cSmall");
+            dSmall = columns.small("dSmall");
+            eSmall = columns.small("eSmall");
+            fa = columns.fa;
+            fb = columns.fb;
+            fc = columns.fc;
+            fd = columns.fd;
+        }
+    }
+
+    @Benchmark
+    public final int sumSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.sum(state.a);
+    }
+
+    @Benchmark
+    public final int sumSIMDMasked(VectorState state) {
+        return IntColumnKernels.VECTOR_MASKED.sum(state.a);
+    }
+
+    @Benchmark
+    public final int sumRegular(VectorState state) {
+        return IntColumnKernels.SCALAR.sum(state.a);
+    }
+
+    @Benchmark
+    public final int[] addSIMD(VectorState state) {
+        IntColumnKernels.VECTOR.add(state.a, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] addSIMDMasked(VectorState state) {
+        IntColumnKernels.VECTOR_MASKED.add(state.a, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final int[] addRegular(VectorState state) {
+        IntColumnKernels.SCALAR.add(state.a, state.b, state.c);
+        return state.c;
+    }
+
+    @Benchmark
+    public final long filterSumSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumSIMDMasked(VectorState state) {
+        return IntColumnKernels.VECTOR_MASKED.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumRegular(VectorState state) {
+        return IntColumnKernels.SCALAR.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4SIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4SIMDMasked(VectorState state) {
+        return IntColumnKernels.VECTOR_MASKED.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4Regular(VectorState state) {
+        return IntColumnKernels.SCALAR.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+}
@@ -0,0 +1,87 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+import fr.centralesupelec.simd.kernels.UnrolledVectorIntColumnKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SIMD reductions with UNROLL independent accumulators, UNROLL = 1 being the single accumulator kernels.
+ * Mostly cache-resident lengths, where the reductions are bound by the latency of the accumulator chain.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorUnrolledProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"512", "1024", "2048", "4096", "8192", "16384", "262144", "4194304"})
+        public int ARRAY_LENGTH;
+        @Param({"1", "2", "4", "8"})
+        public int UNROLL;
+        @Param({"42"})
+        public long SEED;
+
+        IntColumnKernels vector;
+
+        int[] a;
+
+        int[] aSmall;
+        int[] bSmall;
+        int[] cSmall;
+        int[] dSmall;
+        int[] eSmall;
+
+        int fa;
+        int fb;
+        int fc;
+        int fd;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            vector = UNROLL == 1 ? IntColumnKernels.VECTOR : new UnrolledVectorIntColumnKernels(UNROLL);
+
+            FilterColumns columns = new FilterColumns(SEED, ARRAY_LENGTH);
+            a = columns.fullRange("a");
+            aSmall = columns.small("aSmall");
+            bSmall = columns.small("bSmall");
+            cSmall = columns.small("cSmall");
+            dSmall = columns.small("dSmall");
+            eSmall = columns.small("eSmall");
+            fa = columns.fa;
+            fb = columns.fb;
+            fc = columns.fc;
+            fd = columns.fd;
+        }
+    }
+
+    @Benchmark
+    public final int sumSIMD(VectorState state) {
+        return state.vector.sum(state.a);
+    }
+
+    @Benchmark
+    public final long filterSumSIMD(VectorState state) {
+        return state.vector.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOr4SIMD(VectorState state) {
+        return state.vector.filterSumOr4(state.aSmall, state.fa, state.fb, state.fc, state.fd, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd2SIMD(VectorState state) {
+        return state.vector.filterSumAnd2(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall);
+    }
+
+    @Benchmark
+    public final long filterSumAnd4SIMD(VectorState state) {
+        return state.vector.filterSumAnd4(state.aSmall, state.fa, state.bSmall, state.fb, state.cSmall, state.fc, state.dSmall, state.fd, state.eSmall);
+    }
+}
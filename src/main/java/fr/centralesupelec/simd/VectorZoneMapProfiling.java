@@ -0,0 +1,115 @@
+package fr.centralesupelec.simd;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+import fr.centralesupelec.simd.kernels.IntSelectionKernels;
+import fr.centralesupelec.simd.kernels.ZoneMap;
+import fr.centralesupelec.simd.kernels.ZoneMapKernels;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters that skip the blocks whose zone map excludes the filtered value (ZoneMap), against the full scans, on heap
+ * and direct columns. DISTRIBUTION decides how much can be pruned: nothing when uniform, all blocks but a few when
+ * sorted or clustered in runs of about ColumnGenerator.RUN_ROWS rows.
+ */
+@Fork(jvmArgsPrepend = {"--add-modules", "jdk.incubator.vector", "-Djdk.incubator.vector.VECTOR_ACCESS_OOB_CHECK=0"}, value = 2)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class VectorZoneMapProfiling {
+
+    @State(Scope.Thread)
+    public static class VectorState {
+
+        @Param({"65536", "1048576", "16777216"})
+        public int ARRAY_LENGTH;
+        @Param({"uniform", "sorted", "clustered"})
+        public String DISTRIBUTION;
+        // rows per block of the zone maps, a multiple of 64
+        @Param({"1024", "8192"})
+        public int BLOCK_ROWS;
+        @Param({"42"})
+        public long SEED;
+        private static final int ARRAY_BOUND = 12;
+
+        int[] aSmall;
+        int[] bSmall;
+        ByteBuffer aBuffer;
+        ByteBuffer bBuffer;
+
+        ZoneMap aZones;
+        long[] bitmap;
+
+        int fa;
+
+        @Setup(Level.Trial)
+        public final void doSetup() {
+            bitmap = new long[IntSelectionKernels.bitmapLength(ARRAY_LENGTH)];
+
+            // fa with the default selectivity, the other values equally likely
+            ColumnGenerator generator = new ColumnGenerator(SEED, DISTRIBUTION, ARRAY_BOUND, ColumnGenerator.SELECTIVITY);
+            fa = generator.constant();
+            aSmall = generator.column("aSmall", ARRAY_LENGTH, fa);
+            ColumnGenerator measure = ColumnGenerator.uniform(SEED, ARRAY_BOUND);
+            bSmall = measure.column("bSmall", ARRAY_LENGTH, measure.constant());
+
+            aBuffer = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            bBuffer = VectorOffHeapProfiling.allocate(ARRAY_LENGTH * Integer.BYTES);
+            aBuffer.asIntBuffer().put(aSmall);
+            bBuffer.asIntBuffer().put(bSmall);
+
+            aZones = ZoneMap.build(aSmall, BLOCK_ROWS);
+        }
+    }
+
+    @Benchmark
+    @Columns(read = 1, written = 0)
+    public final ZoneMap buildZoneMap(VectorState state) {
+        return ZoneMap.build(state.aSmall, state.BLOCK_ROWS);
+    }
+
+    @Benchmark
+    public final long filterSumSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumZoneMapSIMD(VectorState state) {
+        return ZoneMapKernels.VECTOR.filterSum(state.aZones, state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumRegular(VectorState state) {
+        return IntColumnKernels.SCALAR.filterSum(state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumZoneMapRegular(VectorState state) {
+        return ZoneMapKernels.SCALAR.filterSum(state.aZones, state.aSmall, state.fa, state.bSmall);
+    }
+
+    @Benchmark
+    public final long filterSumOffHeapSIMD(VectorState state) {
+        return IntColumnKernels.VECTOR.filterSum(state.aBuffer, state.fa, state.bBuffer);
+    }
+
+    @Benchmark
+    public final long filterSumOffHeapZoneMapSIMD(VectorState state) {
+        return ZoneMapKernels.VECTOR.filterSum(state.aZones, state.aBuffer, state.fa, state.bBuffer);
+    }
+
+    @Benchmark
+    public final long[] bitmapSIMD(VectorState state) {
+        IntSelectionKernels.VECTOR.bitmap(state.aSmall, state.fa, state.bitmap);
+        return state.bitmap;
+    }
+
+    @Benchmark
+    public final long[] bitmapZoneMapSIMD(VectorState state) {
+        ZoneMapKernels.VECTOR.bitmap(state.aZones, state.aSmall, state.fa, state.bitmap);
+        return state.bitmap;
+    }
+}
@@ -0,0 +1,221 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes every filterSum* call to the {@code SCALAR}, {@code BRANCHLESS} or {@code VECTOR_WIDENING} kernels, whichever the
+ * {@link Calibration} found fastest at the nearest column length, on a log scale, and at the nearest selectivity of
+ * that length. The selectivity is the fraction of the first {@link #SAMPLE_ROWS} rows of the range where a = fa, the
+ * first predicate, like the SELECTIVITY parameter of the benchmarks. It is not sampled when every selectivity of that
+ * length has the same fastest variant, which keeps short columns from paying for it.
+ * <p>
+ * SIMD runs on {@code VECTOR_WIDENING}, whose sums do not overflow, so every route returns the exact sum of
+ * {@code SCALAR}. Kernels without calibration points run on it too, the other kernels on {@code VECTOR}.
+ */
+public class AdaptiveIntColumnKernels implements IntColumnKernels {
+
+    public static final int SAMPLE_ROWS = 1024;
+
+    private final Map<String, Route> routes = new HashMap<>();
+
+    public AdaptiveIntColumnKernels(Calibration calibration) {
+        for (String kernel : new String[] { "filterSum", "filterSumOr2", "filterSumOr4", "filterSumAnd2", "filterSumAnd4" }) {
+            routes.put(kernel, new Route(calibration.points(kernel)));
+        }
+    }
+
+    private static IntColumnKernels kernels(String variant) {
+        switch (variant) {
+            case Calibration.REGULAR:
+                return SCALAR;
+            case Calibration.BRANCHLESS_REGULAR:
+                return BRANCHLESS;
+            default:
+                return VECTOR_WIDENING;
+        }
+    }
+
+    /** the calibration points of one kernel, by length then selectivity */
+    private static final class Route {
+        private final int[] rows;
+        private final double[][] selectivities;
+        private final IntColumnKernels[][] kernels;
+        // the kernels of each length if they do not depend on the selectivity, else null
+        private final IntColumnKernels[] any;
+
+        Route(List<Calibration.Point> points) {
+            int lengths = 0;
+            for (int i = 0; i < points.size(); i++) {
+                lengths += i == 0 || points.get(i).rows != points.get(i - 1).rows ? 1 : 0;
+            }
+            rows = new int[lengths];
+            selectivities = new double[lengths][];
+            kernels = new IntColumnKernels[lengths][];
+            any = new IntColumnKernels[lengths];
+            int from = 0;
+            for (int l = 0; l < lengths; l++) {
+                int to = from + 1;
+                while (to < points.size() && points.get(to).rows == points.get(from).rows) {
+                    to++;
+                }
+                rows[l] = points.get(from).rows;
+                selectivities[l] = new double[to - from];
+                kernels[l] = new IntColumnKernels[to - from];
+                any[l] = kernels(points.get(from).variant);
+                for (int i = from; i < to; i++) {
+                    selectivities[l][i - from] = points.get(i).selectivity;
+                    kernels[l][i - from] = kernels(points.get(i).variant);
+                    any[l] = kernels[l][i - from] == any[l] ? any[l] : null;
+                }
+                from = to;
+            }
+        }
+
+        /** index of the length nearest to n on a log scale */
+        private int length(int n) {
+            int hi = 0;
+            while (hi < rows.length && rows[hi] < n) {
+                hi++;
+            }
+            if(hi == 0) {
+                return 0;
+            }
+            if(hi == rows.length) {
+                return rows.length - 1;
+            }
+            return (double) n / rows[hi - 1] <= (double) rows[hi] / n ? hi - 1 : hi;
+        }
+
+        /** the kernels for n rows whatever the selectivity, or null if it must be sampled */
+        IntColumnKernels any(int n) {
+            return rows.length == 0 ? VECTOR_WIDENING : any[length(n)];
+        }
+
+        IntColumnKernels choose(int n, double selectivity) {
+            int l = length(n);
+            double[] s = selectivities[l];
+            int best = 0;
+            for (int i = 1; i < s.length; i++) {
+                if(Math.abs(s[i] - selectivity) < Math.abs(s[best] - selectivity)) {
+                    best = i;
+                }
+            }
+            return kernels[l][best];
+        }
+    }
+
+    /** fraction of the rows where a = fa among the first SAMPLE_ROWS rows of [from, to) */
+    static double sample(int[] a, int fa, int from, int to) {
+        int end = Math.min(to, from + SAMPLE_ROWS);
+        int matches = 0;
+        for (int i = from; i < end; i++) {
+            matches += a[i] == fa ? 1 : 0;
+        }
+        return end > from ? (double) matches / (end - from) : 0;
+    }
+
+    static double sample(ByteBuffer a, int fa, int from, int to) {
+        int end = Math.min(to, from + SAMPLE_ROWS);
+        int matches = 0;
+        for (int i = from; i < end; i++) {
+            matches += a.getInt(i * Integer.BYTES) == fa ? 1 : 0;
+        }
+        return end > from ? (double) matches / (end - from) : 0;
+    }
+
+    /** the kernels a call to kernel on the rows [from, to) of a filtered on fa runs on */
+    IntColumnKernels route(String kernel, int[] a, int fa, int from, int to) {
+        Route route = routes.get(kernel);
+        IntColumnKernels r = route.any(to - from);
+        return r != null ? r : route.choose(to - from, sample(a, fa, from, to));
+    }
+
+    IntColumnKernels route(String kernel, ByteBuffer a, int fa, int from, int to) {
+        Route route = routes.get(kernel);
+        IntColumnKernels r = route.any(to - from);
+        return r != null ? r : route.choose(to - from, sample(a, fa, from, to));
+    }
+
+    @Override
+    public int sum(int[] a, int from, int to) {
+        return VECTOR.sum(a, from, to);
+    }
+
+    @Override
+    public int sum(ByteBuffer a, int from, int to) {
+        return VECTOR.sum(a, from, to);
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] c, int from, int to) {
+        VECTOR.add(a, b, c, from, to);
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        VECTOR.add(a, b, c, from, to);
+    }
+
+    @Override
+    public void mul(int[] a, int[] b, int[] c, int from, int to) {
+        VECTOR.mul(a, b, c, from, to);
+    }
+
+    @Override
+    public void mul(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        VECTOR.mul(a, b, c, from, to);
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        return route("filterSum", a, fa, from, to).filterSum(a, fa, b, from, to);
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        return route("filterSum", a, fa, from, to).filterSum(a, fa, b, from, to);
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        return route("filterSumOr2", a, fa, from, to).filterSumOr2(a, fa, fb, b, from, to);
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        return route("filterSumOr2", a, fa, from, to).filterSumOr2(a, fa, fb, b, from, to);
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        return route("filterSumOr4", a, fa, from, to).filterSumOr4(a, fa, fb, fc, fd, b, from, to);
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        return route("filterSumOr4", a, fa, from, to).filterSumOr4(a, fa, fb, fc, fd, b, from, to);
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        return route("filterSumAnd2", a, fa, from, to).filterSumAnd2(a, fa, b, fb, c, from, to);
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        return route("filterSumAnd2", a, fa, from, to).filterSumAnd2(a, fa, b, fb, c, from, to);
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        return route("filterSumAnd4", a, fa, from, to).filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, from, to);
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        return route("filterSumAnd4", a, fa, from, to).filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, from, to);
+    }
+}
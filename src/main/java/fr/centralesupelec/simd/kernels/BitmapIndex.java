@@ -0,0 +1,53 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bitmap index of a low-cardinality column: one bitmap per distinct value, in the layout of
+ * {@link IntSelectionKernels}, so bit {@code i % 64} of word {@code i / 64} of {@code bitmap(v)} is set if row {@code i}
+ * equals {@code v}. The bits past the last row are always clear.
+ */
+public final class BitmapIndex {
+
+    private final int rows;
+    private final long[][] bitmaps;
+
+    private BitmapIndex(int rows, int cardinality) {
+        this.rows = rows;
+        this.bitmaps = new long[cardinality][IntSelectionKernels.bitmapLength(rows)];
+    }
+
+    /** indexes a column whose values are in [0, cardinality) */
+    public static BitmapIndex build(int[] a, int cardinality) {
+        BitmapIndex r = new BitmapIndex(a.length, cardinality);
+        for (int i = 0; i < a.length; ++i) {
+            r.bitmaps[a[i]][i >>> 6] |= 1L << i;
+        }
+        return r;
+    }
+
+    /** indexes a column whose values are in [0, cardinality) */
+    public static BitmapIndex build(ByteBuffer a, int cardinality) {
+        BitmapIndex r = new BitmapIndex(a.limit() / Integer.BYTES, cardinality);
+        for (int i = 0; i < r.rows; ++i) {
+            r.bitmaps[a.getInt(i * Integer.BYTES)][i >>> 6] |= 1L << i;
+        }
+        return r;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cardinality() {
+        return bitmaps.length;
+    }
+
+    /** rows equal to value, or an empty bitmap if the value is out of [0, cardinality) */
+    public long[] bitmap(int value) {
+        if(value < 0 || value >= bitmaps.length) {
+            return new long[IntSelectionKernels.bitmapLength(rows)];
+        }
+        return bitmaps[value];
+    }
+}
@@ -0,0 +1,34 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Kernels answering filters from {@link BitmapIndex} bitmaps instead of scanning the columns:
+ * the bitmaps of the predicates are combined word by word into {@code r}, which is then counted or used to sum a measure.
+ * All the bitmaps must have the same length, {@code r} included.
+ */
+public interface BitmapIndexKernels {
+
+    BitmapIndexKernels SCALAR = new ScalarBitmapIndexKernels();
+    BitmapIndexKernels VECTOR = new VectorBitmapIndexKernels();
+
+    /** r = x AND y */
+    void and2(long[] x, long[] y, long[] r);
+
+    /** r = x AND y AND z AND t */
+    void and4(long[] x, long[] y, long[] z, long[] t, long[] r);
+
+    /** r = x OR y */
+    void or2(long[] x, long[] y, long[] r);
+
+    /** r = x OR y OR z OR t */
+    void or4(long[] x, long[] y, long[] z, long[] t, long[] r);
+
+    /** number of rows set in the bitmap */
+    long count(long[] bitmap);
+
+    /** SELECT SUM(c) over the rows set in the bitmap, which must not have bits past c.length */
+    long sum(long[] bitmap, int[] c);
+
+    long sum(long[] bitmap, ByteBuffer c);
+}
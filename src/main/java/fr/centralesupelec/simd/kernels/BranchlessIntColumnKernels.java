@@ -0,0 +1,109 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Scalar kernels where predicates are turned into all-ones / all-zeros masks instead of branches.
+ */
+public class BranchlessIntColumnKernels extends ScalarIntColumnKernels {
+
+    /** -1 if x == y, 0 otherwise */
+    static int eq(int x, int y) {
+        int n = x - y;
+        return ~(n >> 31) & ~((-n) >> 31);
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            sum += eq(a[i], fa) & b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            sum += eq(a.getInt(i), fa) & b.getInt(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a[i];
+            sum += (eq(v, fa) | eq(v, fb)) & b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            sum += (eq(v, fa) | eq(v, fb)) & b.getInt(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a[i];
+            sum += (eq(v, fa) | eq(v, fb) | eq(v, fc) | eq(v, fd)) & b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            sum += (eq(v, fa) | eq(v, fb) | eq(v, fc) | eq(v, fd)) & b.getInt(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            sum += eq(a[i], fa) & eq(b[i], fb) & c[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            sum += eq(a.getInt(i), fa) & eq(b.getInt(i), fb) & c.getInt(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            sum += eq(a[i], fa) & eq(b[i], fb) & eq(c[i], fc) & eq(d[i], fd) & e[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            sum += eq(a.getInt(i), fa) & eq(b.getInt(i), fb) & eq(c.getInt(i), fc) & eq(d.getInt(i), fd) & e.getInt(i);
+        }
+        return sum;
+    }
+}
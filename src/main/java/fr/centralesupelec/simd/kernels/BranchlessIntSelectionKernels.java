@@ -0,0 +1,148 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+import static fr.centralesupelec.simd.kernels.BranchlessIntColumnKernels.eq;
+
+/**
+ * Scalar loops without data-dependent branches: every row id is written to the selection vector,
+ * and only kept by incrementing its length when the row matches.
+ */
+public class BranchlessIntSelectionKernels implements IntSelectionKernels {
+
+    @Override
+    public int select(int[] a, int fa, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            sel[n] = i;
+            n -= eq(a[i], fa);
+        }
+        return n;
+    }
+
+    @Override
+    public int select(ByteBuffer a, int fa, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            sel[n] = i;
+            n -= eq(a.getInt(i * Integer.BYTES), fa);
+        }
+        return n;
+    }
+
+    @Override
+    public int selectOr2(int[] a, int fa, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a[i];
+            sel[n] = i;
+            n -= eq(v, fa) | eq(v, fb);
+        }
+        return n;
+    }
+
+    @Override
+    public int selectOr2(ByteBuffer a, int fa, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a.getInt(i * Integer.BYTES);
+            sel[n] = i;
+            n -= eq(v, fa) | eq(v, fb);
+        }
+        return n;
+    }
+
+    @Override
+    public int selectAnd2(int[] a, int fa, int[] b, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            sel[n] = i;
+            n -= eq(a[i], fa) & eq(b[i], fb);
+        }
+        return n;
+    }
+
+    @Override
+    public int selectAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            sel[n] = i;
+            n -= eq(a.getInt(i * Integer.BYTES), fa) & eq(b.getInt(i * Integer.BYTES), fb);
+        }
+        return n;
+    }
+
+    @Override
+    public void bitmap(int[] a, int fa, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                word |= (long) (eq(a[i], fa) & 1) << (i - w);
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmap(ByteBuffer a, int fa, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                word |= (long) (eq(a.getInt(i * Integer.BYTES), fa) & 1) << (i - w);
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapOr2(int[] a, int fa, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                int v = a[i];
+                word |= (long) ((eq(v, fa) | eq(v, fb)) & 1) << (i - w);
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapOr2(ByteBuffer a, int fa, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                int v = a.getInt(i * Integer.BYTES);
+                word |= (long) ((eq(v, fa) | eq(v, fb)) & 1) << (i - w);
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapAnd2(int[] a, int fa, int[] b, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                word |= (long) (eq(a[i], fa) & eq(b[i], fb) & 1) << (i - w);
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                word |= (long) (eq(a.getInt(i * Integer.BYTES), fa) & eq(b.getInt(i * Integer.BYTES), fb) & 1) << (i - w);
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+}
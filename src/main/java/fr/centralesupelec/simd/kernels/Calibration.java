@@ -0,0 +1,111 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fastest variant of kernels such as {@code filterSum} or {@code filterSumAnd2}, measured by a JMH run over a grid of
+ * column lengths and selectivities. Variants are named after the suffixes of the benchmark methods. The CSV form,
+ * written by {@code ResultsAnalyzer --calibration}, has a {@value #HEADER} header and one line per point.
+ */
+public final class Calibration {
+
+    public static final String SIMD = "SIMD";
+    public static final String REGULAR = "Regular";
+    public static final String BRANCHLESS_REGULAR = "BranchlessRegular";
+    static final String[] VARIANTS = { SIMD, REGULAR, BRANCHLESS_REGULAR };
+
+    static final String HEADER = "kernel,rows,selectivity,variant";
+
+    public static final class Point {
+        public final String kernel;
+        public final int rows;
+        public final double selectivity;
+        public final String variant;
+
+        Point(String kernel, int rows, double selectivity, String variant) {
+            this.kernel = kernel;
+            this.rows = rows;
+            this.selectivity = selectivity;
+            this.variant = variant;
+        }
+    }
+
+    private final List<Point> points = new ArrayList<>();
+
+    /** adds the fastest variant of kernel on rows rows, of which a fraction selectivity matches */
+    public Calibration add(String kernel, int rows, double selectivity, String variant) {
+        if(!Arrays.asList(VARIANTS).contains(variant)) {
+            throw new IllegalArgumentException("Unknown variant " + variant + ", expected one of " + Arrays.toString(VARIANTS));
+        }
+        if(rows <= 0 || !(selectivity >= 0 && selectivity <= 1)) {
+            throw new IllegalArgumentException("Invalid point of " + kernel + ": " + rows + " rows, selectivity " + selectivity);
+        }
+        points.add(new Point(kernel, rows, selectivity, variant));
+        return this;
+    }
+
+    public List<Point> points() {
+        return Collections.unmodifiableList(points);
+    }
+
+    /** the points of kernel, by rows then selectivity */
+    public List<Point> points(String kernel) {
+        List<Point> r = new ArrayList<>();
+        for (Point point : points) {
+            if(point.kernel.equals(kernel)) {
+                r.add(point);
+            }
+        }
+        r.sort(Comparator.<Point>comparingInt(p -> p.rows).thenComparingDouble(p -> p.selectivity));
+        return r;
+    }
+
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (Point point : points) {
+            sb.append(point.kernel).append(',').append(point.rows).append(',')
+                    .append(String.format(Locale.ROOT, "%s", point.selectivity)).append(',').append(point.variant).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static Calibration parse(String csv) {
+        Calibration r = new Calibration();
+        String[] lines = csv.split("\r?\n");
+        if(lines.length == 0 || !lines[0].trim().equals(HEADER)) {
+            throw new IllegalArgumentException("Not a calibration, expected a " + HEADER + " header");
+        }
+        for (int i = 1; i < lines.length; i++) {
+            if(lines[i].trim().isEmpty()) {
+                continue;
+            }
+            String[] fields = lines[i].trim().split(",");
+            if(fields.length != 4) {
+                throw new IllegalArgumentException("Invalid calibration line " + (i + 1) + ": " + lines[i]);
+            }
+            try {
+                r.add(fields[0], Integer.parseInt(fields[1]), Double.parseDouble(fields[2]), fields[3]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid calibration line " + (i + 1) + ": " + lines[i], e);
+            }
+        }
+        return r;
+    }
+
+    public static Calibration read(Path path) throws IOException {
+        try {
+            return parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(path + ": " + e.getMessage(), e);
+        }
+    }
+}
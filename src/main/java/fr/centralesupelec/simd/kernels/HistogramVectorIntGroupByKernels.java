@@ -0,0 +1,74 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+
+import java.nio.ByteBuffer;
+
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.loopBound;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.sInt;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecLength;
+
+/**
+ * Every lane owns a private int histogram, interleaved so that bucket k of lane l is at {@code k * vecLength + l}:
+ * the lanes of a vector never hit the same bucket, so buckets are updated with a gather, an add and a scatter.
+ * The histograms are merged into the long sums at the end, so, like {@link VectorIntColumnKernels}, the buckets of a
+ * lane overflow if they exceed the int range.
+ */
+public class HistogramVectorIntGroupByKernels implements IntGroupByKernels {
+
+    /** l in lane l */
+    private static final IntVector IOTA;
+    static {
+        int[] iota = new int[vecLength];
+        for (int j = 0; j < iota.length; j++) {
+            iota[j] = j;
+        }
+        IOTA = IntVector.fromArray(sInt, iota, 0);
+    }
+
+    private static void merge(int[] histograms, long[] sums) {
+        for (int k = 0; k < sums.length; ++k) {
+            long sum = 0;
+            for (int l = 0; l < vecLength; ++l) {
+                sum += histograms[k * vecLength + l];
+            }
+            sums[k] = sum;
+        }
+    }
+
+    @Override
+    public void groupSum(int[] a, int[] b, long[] sums, int from, int to) {
+        int[] histograms = new int[sums.length * vecLength];
+        int[] buckets = new int[vecLength];
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            IntVector vb = IntVector.fromArray(sInt, b, i);
+            va.mul(vecLength).add(IOTA).intoArray(buckets, 0);
+            IntVector vh = IntVector.fromArray(sInt, histograms, 0, buckets, 0);
+            vh.add(vb).intoArray(histograms, 0, buckets, 0);
+        }
+        merge(histograms, sums);
+        for (; i < to; ++i) {
+            sums[a[i]] += b[i];
+        }
+    }
+
+    @Override
+    public void groupSum(ByteBuffer a, ByteBuffer b, long[] sums, int from, int to) {
+        int[] histograms = new int[sums.length * vecLength];
+        int[] buckets = new int[vecLength];
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES);
+            va.mul(vecLength).add(IOTA).intoArray(buckets, 0);
+            IntVector vh = IntVector.fromArray(sInt, histograms, 0, buckets, 0);
+            vh.add(vb).intoArray(histograms, 0, buckets, 0);
+        }
+        merge(histograms, sums);
+        for (; i < to; ++i) {
+            sums[a.getInt(i * Integer.BYTES)] += b.getInt(i * Integer.BYTES);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Scan kernels over int columns, stored either on-heap as {@code int[]} or off-heap as a
+ * {@link ByteBuffer} of native-order ints between 0 and {@code limit()}.
+ * Every column passed to a single call must have the same length, which can be any number of rows.
+ * Kernels work on the rows [from, to), the overloads without a range cover the whole column.
+ */
+public interface IntColumnKernels {
+
+    IntColumnKernels SCALAR = new ScalarIntColumnKernels();
+    IntColumnKernels BRANCHLESS = new BranchlessIntColumnKernels();
+    IntColumnKernels VECTOR = new VectorIntColumnKernels();
+    IntColumnKernels VECTOR_MASKED = new MaskedVectorIntColumnKernels();
+    IntColumnKernels VECTOR_WIDENING = new WideningVectorIntColumnKernels();
+    IntColumnKernels VECTOR_SHORT_CIRCUIT = new ShortCircuitVectorIntColumnKernels(1);
+
+    int sum(int[] a, int from, int to);
+
+    default int sum(int[] a) {
+        return sum(a, 0, a.length);
+    }
+
+    int sum(ByteBuffer a, int from, int to);
+
+    default int sum(ByteBuffer a) {
+        return sum(a, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** c = a + b */
+    void add(int[] a, int[] b, int[] c, int from, int to);
+
+    default void add(int[] a, int[] b, int[] c) {
+        add(a, b, c, 0, a.length);
+    }
+
+    void add(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to);
+
+    default void add(ByteBuffer a, ByteBuffer b, ByteBuffer c) {
+        add(a, b, c, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** c = a * b */
+    void mul(int[] a, int[] b, int[] c, int from, int to);
+
+    default void mul(int[] a, int[] b, int[] c) {
+        mul(a, b, c, 0, a.length);
+    }
+
+    void mul(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to);
+
+    default void mul(ByteBuffer a, ByteBuffer b, ByteBuffer c) {
+        mul(a, b, c, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(b) WHERE a = fa */
+    long filterSum(int[] a, int fa, int[] b, int from, int to);
+
+    default long filterSum(int[] a, int fa, int[] b) {
+        return filterSum(a, fa, b, 0, a.length);
+    }
+
+    long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to);
+
+    default long filterSum(ByteBuffer a, int fa, ByteBuffer b) {
+        return filterSum(a, fa, b, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(b) WHERE a = fa OR a = fb */
+    long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to);
+
+    default long filterSumOr2(int[] a, int fa, int fb, int[] b) {
+        return filterSumOr2(a, fa, fb, b, 0, a.length);
+    }
+
+    long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to);
+
+    default long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b) {
+        return filterSumOr2(a, fa, fb, b, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(b) WHERE a = fa OR a = fb OR a = fc OR a = fd */
+    long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to);
+
+    default long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b) {
+        return filterSumOr4(a, fa, fb, fc, fd, b, 0, a.length);
+    }
+
+    long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to);
+
+    default long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b) {
+        return filterSumOr4(a, fa, fb, fc, fd, b, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(c) WHERE a = fa AND b = fb */
+    long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to);
+
+    default long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c) {
+        return filterSumAnd2(a, fa, b, fb, c, 0, a.length);
+    }
+
+    long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to);
+
+    default long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c) {
+        return filterSumAnd2(a, fa, b, fb, c, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(e) WHERE a = fa AND b = fb AND c = fc AND d = fd */
+    long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to);
+
+    default long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e) {
+        return filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, 0, a.length);
+    }
+
+    long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to);
+
+    default long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e) {
+        return filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, 0, a.limit() / Integer.BYTES);
+    }
+}
@@ -0,0 +1,26 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@code SELECT a, SUM(b) GROUP BY a} over rows [from, to), for keys in [0, sums.length):
+ * the kernels overwrite {@code sums[k]} with the sum of b over the rows where a = k.
+ */
+public interface IntGroupByKernels {
+
+    IntGroupByKernels SCALAR = new ScalarIntGroupByKernels();
+    IntGroupByKernels VECTOR_HISTOGRAM = new HistogramVectorIntGroupByKernels();
+    IntGroupByKernels VECTOR_MASKED = new MaskedVectorIntGroupByKernels();
+
+    void groupSum(int[] a, int[] b, long[] sums, int from, int to);
+
+    default void groupSum(int[] a, int[] b, long[] sums) {
+        groupSum(a, b, sums, 0, a.length);
+    }
+
+    void groupSum(ByteBuffer a, ByteBuffer b, long[] sums, int from, int to);
+
+    default void groupSum(ByteBuffer a, ByteBuffer b, long[] sums) {
+        groupSum(a, b, sums, 0, a.limit() / Integer.BYTES);
+    }
+}
@@ -0,0 +1,128 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.util.Arrays;
+
+/**
+ * The distinct values of an IN-list, with the membership test that suits its size:
+ * <ul>
+ * <li>{@link Kind#CHAINED}: up to {@link #CHAINED_VALUES} values, one compare per value.</li>
+ * <li>{@link Kind#TABLE}: values spanning at most {@link #TABLE_SPAN} ints, a bitset for the scalar kernels and a
+ * lookup table of all-ones / all-zeros ints, one per value of the span, for the gathers of the SIMD kernels.</li>
+ * <li>{@link Kind#SEARCH}: the others, a binary search of the sorted values.</li>
+ * </ul>
+ */
+public final class IntInList {
+
+    public enum Kind {
+        CHAINED, TABLE, SEARCH
+    }
+
+    public static final int CHAINED_VALUES = 8;
+    public static final int TABLE_SPAN = 1 << 16;
+
+    private final Kind kind;
+    // sorted, distinct
+    private final int[] values;
+    private final int min;
+    private final int max;
+    // bit v - min is set if v is in the list
+    private final long[] bits;
+    // -1 at v - min if v is in the list, else 0, and a last 0 for the values out of [min, max]
+    private final int[] table;
+
+    private IntInList(Kind kind, int[] values) {
+        this.kind = kind;
+        this.values = values;
+        this.min = values.length == 0 ? 0 : values[0];
+        this.max = values.length == 0 ? -1 : values[values.length - 1];
+        if(kind == Kind.TABLE) {
+            int span = max - min + 1;
+            bits = new long[IntSelectionKernels.bitmapLength(span)];
+            table = new int[span + 1];
+            for (int v : values) {
+                bits[(v - min) >>> 6] |= 1L << (v - min);
+                table[v - min] = -1;
+            }
+        } else {
+            bits = null;
+            table = null;
+        }
+    }
+
+    /** the list of values, tested with the cheapest kind for their number and span */
+    public static IntInList of(int... values) {
+        int[] sorted = distinct(values);
+        if(sorted.length <= CHAINED_VALUES) {
+            return new IntInList(Kind.CHAINED, sorted);
+        }
+        return new IntInList(span(sorted) <= TABLE_SPAN ? Kind.TABLE : Kind.SEARCH, sorted);
+    }
+
+    /** the list of values, tested with the given kind as far as their number and span allow */
+    public static IntInList of(Kind kind, int... values) {
+        int[] sorted = distinct(values);
+        if(kind == Kind.CHAINED && sorted.length > CHAINED_VALUES) {
+            throw new IllegalArgumentException(sorted.length + " values, chained compares cover at most " + CHAINED_VALUES);
+        }
+        if(kind == Kind.TABLE && span(sorted) > TABLE_SPAN) {
+            throw new IllegalArgumentException("Values span " + span(sorted) + " ints, a table covers at most " + TABLE_SPAN);
+        }
+        return new IntInList(kind, sorted);
+    }
+
+    private static int[] distinct(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if(i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, n);
+    }
+
+    private static long span(int[] sorted) {
+        return sorted.length == 0 ? 0 : (long) sorted[sorted.length - 1] - sorted[0] + 1;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public int min() {
+        return min;
+    }
+
+    public int max() {
+        return max;
+    }
+
+    int[] values() {
+        return values;
+    }
+
+    int[] table() {
+        return table;
+    }
+
+    public boolean contains(int v) {
+        switch (kind) {
+            case CHAINED:
+                for (int value : values) {
+                    if(v == value) {
+                        return true;
+                    }
+                }
+                return false;
+            case TABLE:
+                return v >= min && v <= max && (bits[(v - min) >>> 6] & 1L << (v - min)) != 0;
+            default:
+                return Arrays.binarySearch(values, v) >= 0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Filter-sum kernels with range and IN-list predicates, on the columns of {@link IntColumnKernels}. BETWEEN bounds
+ * are included, as in SQL.
+ */
+public interface IntPredicateKernels {
+
+    IntPredicateKernels SCALAR = new ScalarIntPredicateKernels();
+    IntPredicateKernels VECTOR = new VectorIntPredicateKernels();
+
+    /** SUM(b) WHERE a < fa */
+    long filterSumLessThan(int[] a, int fa, int[] b, int from, int to);
+
+    default long filterSumLessThan(int[] a, int fa, int[] b) {
+        return filterSumLessThan(a, fa, b, 0, a.length);
+    }
+
+    long filterSumLessThan(ByteBuffer a, int fa, ByteBuffer b, int from, int to);
+
+    default long filterSumLessThan(ByteBuffer a, int fa, ByteBuffer b) {
+        return filterSumLessThan(a, fa, b, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(b) WHERE a > fa */
+    long filterSumGreaterThan(int[] a, int fa, int[] b, int from, int to);
+
+    default long filterSumGreaterThan(int[] a, int fa, int[] b) {
+        return filterSumGreaterThan(a, fa, b, 0, a.length);
+    }
+
+    long filterSumGreaterThan(ByteBuffer a, int fa, ByteBuffer b, int from, int to);
+
+    default long filterSumGreaterThan(ByteBuffer a, int fa, ByteBuffer b) {
+        return filterSumGreaterThan(a, fa, b, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(b) WHERE a BETWEEN lo AND hi */
+    long filterSumBetween(int[] a, int lo, int hi, int[] b, int from, int to);
+
+    default long filterSumBetween(int[] a, int lo, int hi, int[] b) {
+        return filterSumBetween(a, lo, hi, b, 0, a.length);
+    }
+
+    long filterSumBetween(ByteBuffer a, int lo, int hi, ByteBuffer b, int from, int to);
+
+    default long filterSumBetween(ByteBuffer a, int lo, int hi, ByteBuffer b) {
+        return filterSumBetween(a, lo, hi, b, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** SUM(b) WHERE a IN (list) */
+    long filterSumIn(int[] a, IntInList list, int[] b, int from, int to);
+
+    default long filterSumIn(int[] a, IntInList list, int[] b) {
+        return filterSumIn(a, list, b, 0, a.length);
+    }
+
+    long filterSumIn(ByteBuffer a, IntInList list, ByteBuffer b, int from, int to);
+
+    default long filterSumIn(ByteBuffer a, IntInList list, ByteBuffer b) {
+        return filterSumIn(a, list, b, 0, a.limit() / Integer.BYTES);
+    }
+}
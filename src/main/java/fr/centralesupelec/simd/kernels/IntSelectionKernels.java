@@ -0,0 +1,101 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Filter kernels producing the matching rows of [from, to), either as a selection vector or as a bitmap.
+ * <p>
+ * A selection vector receives the ids of the matching rows in increasing order, starting at index 0;
+ * it must have room for {@code to - from} ids, and the number of matches is returned.
+ * <p>
+ * In a bitmap, bit {@code i % 64} of word {@code i / 64} is set if row {@code i} matches. Bitmap kernels overwrite
+ * the words covering [from, to), so {@code from} must be a multiple of 64.
+ */
+public interface IntSelectionKernels {
+
+    IntSelectionKernels SCALAR = new ScalarIntSelectionKernels();
+    IntSelectionKernels BRANCHLESS = new BranchlessIntSelectionKernels();
+    IntSelectionKernels VECTOR = new VectorIntSelectionKernels();
+
+    static int bitmapLength(int rows) {
+        return (rows + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /** rows WHERE a = fa */
+    int select(int[] a, int fa, int[] sel, int from, int to);
+
+    default int select(int[] a, int fa, int[] sel) {
+        return select(a, fa, sel, 0, a.length);
+    }
+
+    int select(ByteBuffer a, int fa, int[] sel, int from, int to);
+
+    default int select(ByteBuffer a, int fa, int[] sel) {
+        return select(a, fa, sel, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** rows WHERE a = fa OR a = fb */
+    int selectOr2(int[] a, int fa, int fb, int[] sel, int from, int to);
+
+    default int selectOr2(int[] a, int fa, int fb, int[] sel) {
+        return selectOr2(a, fa, fb, sel, 0, a.length);
+    }
+
+    int selectOr2(ByteBuffer a, int fa, int fb, int[] sel, int from, int to);
+
+    default int selectOr2(ByteBuffer a, int fa, int fb, int[] sel) {
+        return selectOr2(a, fa, fb, sel, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** rows WHERE a = fa AND b = fb */
+    int selectAnd2(int[] a, int fa, int[] b, int fb, int[] sel, int from, int to);
+
+    default int selectAnd2(int[] a, int fa, int[] b, int fb, int[] sel) {
+        return selectAnd2(a, fa, b, fb, sel, 0, a.length);
+    }
+
+    int selectAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, int[] sel, int from, int to);
+
+    default int selectAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, int[] sel) {
+        return selectAnd2(a, fa, b, fb, sel, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** rows WHERE a = fa */
+    void bitmap(int[] a, int fa, long[] bitmap, int from, int to);
+
+    default void bitmap(int[] a, int fa, long[] bitmap) {
+        bitmap(a, fa, bitmap, 0, a.length);
+    }
+
+    void bitmap(ByteBuffer a, int fa, long[] bitmap, int from, int to);
+
+    default void bitmap(ByteBuffer a, int fa, long[] bitmap) {
+        bitmap(a, fa, bitmap, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** rows WHERE a = fa OR a = fb */
+    void bitmapOr2(int[] a, int fa, int fb, long[] bitmap, int from, int to);
+
+    default void bitmapOr2(int[] a, int fa, int fb, long[] bitmap) {
+        bitmapOr2(a, fa, fb, bitmap, 0, a.length);
+    }
+
+    void bitmapOr2(ByteBuffer a, int fa, int fb, long[] bitmap, int from, int to);
+
+    default void bitmapOr2(ByteBuffer a, int fa, int fb, long[] bitmap) {
+        bitmapOr2(a, fa, fb, bitmap, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** rows WHERE a = fa AND b = fb */
+    void bitmapAnd2(int[] a, int fa, int[] b, int fb, long[] bitmap, int from, int to);
+
+    default void bitmapAnd2(int[] a, int fa, int[] b, int fb, long[] bitmap) {
+        bitmapAnd2(a, fa, b, fb, bitmap, 0, a.length);
+    }
+
+    void bitmapAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, long[] bitmap, int from, int to);
+
+    default void bitmapAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, long[] bitmap) {
+        bitmapAnd2(a, fa, b, fb, bitmap, 0, a.limit() / Integer.BYTES);
+    }
+}
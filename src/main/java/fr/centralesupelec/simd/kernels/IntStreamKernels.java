@@ -0,0 +1,65 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The four kernels of the STREAM memory bandwidth benchmark on int columns, with the column conventions of
+ * {@link IntColumnKernels}: the achievable bandwidth that the scan kernels can be compared with.
+ */
+public interface IntStreamKernels {
+
+    IntStreamKernels SCALAR = new ScalarIntStreamKernels();
+    IntStreamKernels VECTOR = new VectorIntStreamKernels();
+
+    /** r = a */
+    void copy(int[] a, int[] r, int from, int to);
+
+    default void copy(int[] a, int[] r) {
+        copy(a, r, 0, a.length);
+    }
+
+    void copy(ByteBuffer a, ByteBuffer r, int from, int to);
+
+    default void copy(ByteBuffer a, ByteBuffer r) {
+        copy(a, r, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** r = s * a */
+    void scale(int[] a, int s, int[] r, int from, int to);
+
+    default void scale(int[] a, int s, int[] r) {
+        scale(a, s, r, 0, a.length);
+    }
+
+    void scale(ByteBuffer a, int s, ByteBuffer r, int from, int to);
+
+    default void scale(ByteBuffer a, int s, ByteBuffer r) {
+        scale(a, s, r, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** r = a + b */
+    void add(int[] a, int[] b, int[] r, int from, int to);
+
+    default void add(int[] a, int[] b, int[] r) {
+        add(a, b, r, 0, a.length);
+    }
+
+    void add(ByteBuffer a, ByteBuffer b, ByteBuffer r, int from, int to);
+
+    default void add(ByteBuffer a, ByteBuffer b, ByteBuffer r) {
+        add(a, b, r, 0, a.limit() / Integer.BYTES);
+    }
+
+    /** r = a + s * b */
+    void triad(int[] a, int s, int[] b, int[] r, int from, int to);
+
+    default void triad(int[] a, int s, int[] b, int[] r) {
+        triad(a, s, b, r, 0, a.length);
+    }
+
+    void triad(ByteBuffer a, int s, ByteBuffer b, ByteBuffer r, int from, int to);
+
+    default void triad(ByteBuffer a, int s, ByteBuffer b, ByteBuffer r) {
+        triad(a, s, b, r, 0, a.limit() / Integer.BYTES);
+    }
+}
@@ -0,0 +1,435 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Same main loops as {@link VectorIntColumnKernels}, but the remaining rows are handled by one more vector iteration:
+ * the last full vector of the range is loaded again and the lanes already covered by the main loop are masked off.
+ * This keeps every access in bounds. Ranges shorter than one vector fall back to the scalar epilogue.
+ */
+@SuppressWarnings("unchecked")
+public class MaskedVectorIntColumnKernels extends VectorIntColumnKernels {
+
+    // vecLength false lanes followed by vecLength true lanes
+    private final boolean[] tailLanes = new boolean[2 * vecLength];
+
+    public MaskedVectorIntColumnKernels() {
+        Arrays.fill(tailLanes, vecLength, tailLanes.length, true);
+    }
+
+    public MaskedVectorIntColumnKernels(IntVector.IntSpecies species) {
+        super(species);
+        Arrays.fill(tailLanes, vecLength, tailLanes.length, true);
+    }
+
+    /** mask of the last {@code lanes} lanes of a vector */
+    Mask tail(int lanes) {
+        return sInt.maskFromArray(tailLanes, lanes);
+    }
+
+    @Override
+    public int sum(int[] a, int from, int to) {
+        if(to - from < vecLength) {
+            return super.sum(a, from, to);
+        }
+        IntVector vs = sInt.zero();
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            vs = vs.add(va);
+        }
+        if(i < to) {
+            vs = vs.add(IntVector.fromArray(sInt, a, to - vecLength, tail(to - i)));
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public int sum(ByteBuffer a, int from, int to) {
+        if(to - from < vecLength) {
+            return super.sum(a, from, to);
+        }
+        IntVector vs = sInt.zero();
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            vs = vs.add(va);
+        }
+        if(i < to * Integer.BYTES) {
+            vs = vs.add(IntVector.fromByteBuffer(sInt, a, to * Integer.BYTES - vecBytes, tail(to - i / Integer.BYTES)));
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] c, int from, int to) {
+        if(to - from < vecLength) {
+            super.add(a, b, c, from, to);
+            return;
+        }
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            IntVector vb = IntVector.fromArray(sInt, b, i);
+            va.add(vb).intoArray(c, i);
+        }
+        if(i < to) {
+            int j = to - vecLength;
+            IntVector va = IntVector.fromArray(sInt, a, j);
+            IntVector vb = IntVector.fromArray(sInt, b, j);
+            va.add(vb).intoArray(c, j, tail(to - i));
+        }
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        if(to - from < vecLength) {
+            super.add(a, b, c, from, to);
+            return;
+        }
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, i);
+            va.add(vb).intoByteBuffer(c, i);
+        }
+        if(i < to * Integer.BYTES) {
+            int j = to * Integer.BYTES - vecBytes;
+            IntVector va = IntVector.fromByteBuffer(sInt, a, j);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, j);
+            va.add(vb).intoByteBuffer(c, j, tail(to - i / Integer.BYTES));
+        }
+    }
+
+    @Override
+    public void mul(int[] a, int[] b, int[] c, int from, int to) {
+        if(to - from < vecLength) {
+            super.mul(a, b, c, from, to);
+            return;
+        }
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            IntVector vb = IntVector.fromArray(sInt, b, i);
+            va.mul(vb).intoArray(c, i);
+        }
+        if(i < to) {
+            int j = to - vecLength;
+            IntVector va = IntVector.fromArray(sInt, a, j);
+            IntVector vb = IntVector.fromArray(sInt, b, j);
+            va.mul(vb).intoArray(c, j, tail(to - i));
+        }
+    }
+
+    @Override
+    public void mul(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        if(to - from < vecLength) {
+            super.mul(a, b, c, from, to);
+            return;
+        }
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, i);
+            va.mul(vb).intoByteBuffer(c, i);
+        }
+        if(i < to * Integer.BYTES) {
+            int j = to * Integer.BYTES - vecBytes;
+            IntVector va = IntVector.fromByteBuffer(sInt, a, j);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, j);
+            va.mul(vb).intoByteBuffer(c, j, tail(to - i / Integer.BYTES));
+        }
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSum(a, fa, b, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        if(i < to) {
+            int j = to - vecLength;
+            Mask m = IntVector.fromArray(sInt, a, j).equal(vfa).and(tail(to - i));
+            vs = IntVector.fromArray(sInt, b, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSum(a, fa, b, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            Mask m = IntVector.fromByteBuffer(sInt, a, i).equal(vfa);
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        if(i < to * Integer.BYTES) {
+            int j = to * Integer.BYTES - vecBytes;
+            Mask m = IntVector.fromByteBuffer(sInt, a, j).equal(vfa).and(tail(to - i / Integer.BYTES));
+            vs = IntVector.fromByteBuffer(sInt, b, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumOr2(a, fa, fb, b, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        if(i < to) {
+            int j = to - vecLength;
+            IntVector va = IntVector.fromArray(sInt, a, j);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.and(tail(to - i));
+            vs = IntVector.fromArray(sInt, b, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumOr2(a, fa, fb, b, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        if(i < to * Integer.BYTES) {
+            int j = to * Integer.BYTES - vecBytes;
+            IntVector va = IntVector.fromByteBuffer(sInt, a, j);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.and(tail(to - i / Integer.BYTES));
+            vs = IntVector.fromByteBuffer(sInt, b, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumOr4(a, fa, fb, fc, fd, b, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.or(va.equal(vfc));
+            m = m.or(va.equal(vfd));
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        if(i < to) {
+            int j = to - vecLength;
+            IntVector va = IntVector.fromArray(sInt, a, j);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.or(va.equal(vfc));
+            m = m.or(va.equal(vfd));
+            m = m.and(tail(to - i));
+            vs = IntVector.fromArray(sInt, b, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumOr4(a, fa, fb, fc, fd, b, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.or(va.equal(vfc));
+            m = m.or(va.equal(vfd));
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        if(i < to * Integer.BYTES) {
+            int j = to * Integer.BYTES - vecBytes;
+            IntVector va = IntVector.fromByteBuffer(sInt, a, j);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.or(va.equal(vfc));
+            m = m.or(va.equal(vfd));
+            m = m.and(tail(to - i / Integer.BYTES));
+            vs = IntVector.fromByteBuffer(sInt, b, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumAnd2(a, fa, b, fb, c, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector v = IntVector.fromArray(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromArray(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            vs = IntVector.fromArray(sInt, c, i, m).add(vs);
+        }
+        if(i < to) {
+            int j = to - vecLength;
+            Mask m = tail(to - i);
+            IntVector v = IntVector.fromArray(sInt, a, j);
+            m = m.and(v.equal(vfa));
+            v = IntVector.fromArray(sInt, b, j);
+            m = m.and(v.equal(vfb));
+            vs = IntVector.fromArray(sInt, c, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumAnd2(a, fa, b, fb, c, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector v = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromByteBuffer(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            vs = IntVector.fromByteBuffer(sInt, c, i, m).add(vs);
+        }
+        if(i < to * Integer.BYTES) {
+            int j = to * Integer.BYTES - vecBytes;
+            Mask m = tail(to - i / Integer.BYTES);
+            IntVector v = IntVector.fromByteBuffer(sInt, a, j);
+            m = m.and(v.equal(vfa));
+            v = IntVector.fromByteBuffer(sInt, b, j);
+            m = m.and(v.equal(vfb));
+            vs = IntVector.fromByteBuffer(sInt, c, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector v = IntVector.fromArray(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromArray(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            v = IntVector.fromArray(sInt, c, i);
+            m = m.and(v.equal(vfc));
+            v = IntVector.fromArray(sInt, d, i);
+            m = m.and(v.equal(vfd));
+            vs = IntVector.fromArray(sInt, e, i, m).add(vs);
+        }
+        if(i < to) {
+            int j = to - vecLength;
+            Mask m = tail(to - i);
+            IntVector v = IntVector.fromArray(sInt, a, j);
+            m = m.and(v.equal(vfa));
+            v = IntVector.fromArray(sInt, b, j);
+            m = m.and(v.equal(vfb));
+            v = IntVector.fromArray(sInt, c, j);
+            m = m.and(v.equal(vfc));
+            v = IntVector.fromArray(sInt, d, j);
+            m = m.and(v.equal(vfd));
+            vs = IntVector.fromArray(sInt, e, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        if(to - from < vecLength) {
+            return super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, from, to);
+        }
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector v = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromByteBuffer(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            v = IntVector.fromByteBuffer(sInt, c, i);
+            m = m.and(v.equal(vfc));
+            v = IntVector.fromByteBuffer(sInt, d, i);
+            m = m.and(v.equal(vfd));
+            vs = IntVector.fromByteBuffer(sInt, e, i, m).add(vs);
+        }
+        if(i < to * Integer.BYTES) {
+            int j = to * Integer.BYTES - vecBytes;
+            Mask m = tail(to - i / Integer.BYTES);
+            IntVector v = IntVector.fromByteBuffer(sInt, a, j);
+            m = m.and(v.equal(vfa));
+            v = IntVector.fromByteBuffer(sInt, b, j);
+            m = m.and(v.equal(vfb));
+            v = IntVector.fromByteBuffer(sInt, c, j);
+            m = m.and(v.equal(vfc));
+            v = IntVector.fromByteBuffer(sInt, d, j);
+            m = m.and(v.equal(vfd));
+            vs = IntVector.fromByteBuffer(sInt, e, j, m).add(vs);
+        }
+        return vs.addAll();
+    }
+}
@@ -0,0 +1,58 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.loopBound;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.sInt;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecLength;
+
+/**
+ * One filterSum pass per key: no scatter, but the columns are read sums.length times,
+ * so it only pays off for a handful of keys.
+ */
+@SuppressWarnings("unchecked")
+public class MaskedVectorIntGroupByKernels implements IntGroupByKernels {
+
+    @Override
+    public void groupSum(int[] a, int[] b, long[] sums, int from, int to) {
+        for (int k = 0; k < sums.length; ++k) {
+            IntVector vk = sInt.broadcast(k);
+            IntVector vs = sInt.zero();
+            int i = from;
+            for (; i < loopBound(from, to); i += vecLength) {
+                Mask m = IntVector.fromArray(sInt, a, i).equal(vk);
+                vs = vs.add(IntVector.fromArray(sInt, b, i), m);
+            }
+            long sum = vs.addAll();
+            for (; i < to; ++i) {
+                if(a[i] == k) {
+                    sum += b[i];
+                }
+            }
+            sums[k] = sum;
+        }
+    }
+
+    @Override
+    public void groupSum(ByteBuffer a, ByteBuffer b, long[] sums, int from, int to) {
+        for (int k = 0; k < sums.length; ++k) {
+            IntVector vk = sInt.broadcast(k);
+            IntVector vs = sInt.zero();
+            int i = from;
+            for (; i < loopBound(from, to); i += vecLength) {
+                Mask m = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vk);
+                vs = vs.add(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES), m);
+            }
+            long sum = vs.addAll();
+            for (; i < to; ++i) {
+                if(a.getInt(i * Integer.BYTES) == k) {
+                    sum += b.getInt(i * Integer.BYTES);
+                }
+            }
+            sums[k] = sum;
+        }
+    }
+}
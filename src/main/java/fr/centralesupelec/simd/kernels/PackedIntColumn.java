@@ -0,0 +1,127 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Column of 1 to 16 bit codes packed in int words, optionally dictionary-encoded.
+ * <p>
+ * Rows are stored by blocks of {@link #BLOCK} rows, interleaved across {@link #LANES} streams: row
+ * {@code block * BLOCK + k * LANES + l} is the k-th code of stream l, at bit {@code k * bits} of the stream. Word w of
+ * stream l is at {@code block * bits * LANES + w * LANES + l}. A vector load therefore yields the same word of
+ * consecutive streams, and a uniform shift unpacks consecutive rows, for any species of at most {@link #LANES} ints.
+ * The last block is padded with zero codes.
+ */
+public final class PackedIntColumn {
+
+    public static final int MAX_BITS = 16;
+    static final int LANES = 16;
+    static final int BLOCK = Integer.SIZE * LANES;
+
+    private final int rows;
+    private final int bits;
+    private final int[] words;
+    private final int[] dictionary;
+
+    private PackedIntColumn(int rows, int bits, int[] dictionary) {
+        if(bits < 1 || bits > MAX_BITS) {
+            throw new IllegalArgumentException("bits must be in [1, " + MAX_BITS + "]: " + bits);
+        }
+        this.rows = rows;
+        this.bits = bits;
+        this.words = new int[(rows + BLOCK - 1) / BLOCK * bits * LANES];
+        this.dictionary = dictionary;
+    }
+
+    /** packs a column whose values are in [0, 2^bits) */
+    public static PackedIntColumn pack(int[] a, int bits) {
+        PackedIntColumn r = new PackedIntColumn(a.length, bits, null);
+        for (int i = 0; i < a.length; ++i) {
+            r.set(i, a[i]);
+        }
+        return r;
+    }
+
+    /** packs a column whose values are in [0, 2^bits) */
+    public static PackedIntColumn pack(ByteBuffer a, int bits) {
+        PackedIntColumn r = new PackedIntColumn(a.limit() / Integer.BYTES, bits, null);
+        for (int i = 0; i < r.rows; ++i) {
+            r.set(i, a.getInt(i * Integer.BYTES));
+        }
+        return r;
+    }
+
+    /** replaces the values by their rank among the distinct values of the column, on as few bits as possible */
+    public static PackedIntColumn encode(int[] a) {
+        int[] dictionary = Arrays.stream(a).distinct().sorted().toArray();
+        if(dictionary.length > 1 << MAX_BITS) {
+            throw new IllegalArgumentException("too many distinct values: " + dictionary.length);
+        }
+        int bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(dictionary.length - 1));
+        PackedIntColumn r = new PackedIntColumn(a.length, bits, dictionary);
+        for (int i = 0; i < a.length; ++i) {
+            r.set(i, Arrays.binarySearch(dictionary, a[i]));
+        }
+        return r;
+    }
+
+    private void set(int row, int code) {
+        if(code >>> bits != 0) {
+            throw new IllegalArgumentException("value " + code + " does not fit in " + bits + " bits");
+        }
+        int bit = (row % BLOCK) / LANES * bits;
+        int word = wordIndex(row, bit);
+        words[word] |= code << bit;
+        if((bit & (Integer.SIZE - 1)) + bits > Integer.SIZE) {
+            words[word + LANES] |= code >>> (Integer.SIZE - bit);
+        }
+    }
+
+    private int wordIndex(int row, int bit) {
+        return row / BLOCK * bits * LANES + (bit >>> 5) * LANES + row % LANES;
+    }
+
+    /** code of a row: its value, unless the column is dictionary-encoded */
+    public int code(int row) {
+        int bit = (row % BLOCK) / LANES * bits;
+        int word = wordIndex(row, bit);
+        int code = words[word] >>> bit;
+        if((bit & (Integer.SIZE - 1)) + bits > Integer.SIZE) {
+            code |= words[word + LANES] << (Integer.SIZE - bit);
+        }
+        return code & mask();
+    }
+
+    public int get(int row) {
+        return dictionary == null ? code(row) : dictionary[code(row)];
+    }
+
+    /** code of a value, or -1 if no row has this value */
+    public int codeOf(int value) {
+        if(dictionary != null) {
+            int code = Arrays.binarySearch(dictionary, value);
+            return code < 0 ? -1 : code;
+        }
+        return value >>> bits == 0 ? value : -1;
+    }
+
+    public boolean isDictionaryEncoded() {
+        return dictionary != null;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    int mask() {
+        return (1 << bits) - 1;
+    }
+
+    int[] words() {
+        return words;
+    }
+}
@@ -0,0 +1,21 @@
+package fr.centralesupelec.simd.kernels;
+
+/**
+ * Filter kernels evaluated directly on {@link PackedIntColumn} codes. Filter values are translated to codes once per
+ * call, a value absent from a dictionary matches no row. Measures are summed from their codes, so they must not be
+ * dictionary-encoded. All the columns of a call must have the same number of rows.
+ */
+public interface PackedIntColumnKernels {
+
+    PackedIntColumnKernels SCALAR = new ScalarPackedIntColumnKernels();
+    PackedIntColumnKernels VECTOR = new VectorPackedIntColumnKernels();
+
+    /** SELECT COUNT(*) WHERE a = fa */
+    int filter(PackedIntColumn a, int fa);
+
+    /** SELECT SUM(b) WHERE a = fa */
+    long filterSum(PackedIntColumn a, int fa, PackedIntColumn b);
+
+    /** SELECT SUM(e) WHERE a = fa AND b = fb AND c = fc AND d = fd */
+    long filterSumAnd4(PackedIntColumn a, int fa, PackedIntColumn b, int fb, PackedIntColumn c, int fc, PackedIntColumn d, int fd, PackedIntColumn e);
+}
@@ -0,0 +1,112 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs another set of kernels on a {@link ForkJoinPool}: the rows are split in halves until a range fits in
+ * {@code grain} rows, each range is scanned by the wrapped kernels and the partial results are summed back, see
+ * {@link ParallelRanges}.
+ */
+public class ParallelIntColumnKernels implements IntColumnKernels {
+
+    // 64Ki rows, 256KiB per int column: a range of each column stays in L2
+    public static final int DEFAULT_GRAIN = 1 << 16;
+
+    private final IntColumnKernels kernels;
+    private final ParallelRanges ranges;
+
+    public ParallelIntColumnKernels(IntColumnKernels kernels, ForkJoinPool pool) {
+        this(kernels, pool, DEFAULT_GRAIN);
+    }
+
+    /**
+     * @param grain maximum number of rows scanned by a single task, a multiple of the vector length keeps
+     *              every range but the last free of tails
+     */
+    public ParallelIntColumnKernels(IntColumnKernels kernels, ForkJoinPool pool, int grain) {
+        this.kernels = kernels;
+        this.ranges = new ParallelRanges(pool, grain);
+    }
+
+    @Override
+    public int sum(int[] a, int from, int to) {
+        // int overflow wraps the same way whatever the order of the partial sums
+        return (int) ranges.reduce((f, t) -> kernels.sum(a, f, t), from, to);
+    }
+
+    @Override
+    public int sum(ByteBuffer a, int from, int to) {
+        return (int) ranges.reduce((f, t) -> kernels.sum(a, f, t), from, to);
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] c, int from, int to) {
+        ranges.map((f, t) -> kernels.add(a, b, c, f, t), from, to);
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        ranges.map((f, t) -> kernels.add(a, b, c, f, t), from, to);
+    }
+
+    @Override
+    public void mul(int[] a, int[] b, int[] c, int from, int to) {
+        ranges.map((f, t) -> kernels.mul(a, b, c, f, t), from, to);
+    }
+
+    @Override
+    public void mul(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        ranges.map((f, t) -> kernels.mul(a, b, c, f, t), from, to);
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSum(a, fa, b, f, t), from, to);
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSum(a, fa, b, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumOr2(a, fa, fb, b, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumOr2(a, fa, fb, b, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumOr4(a, fa, fb, fc, fd, b, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumOr4(a, fa, fb, fc, fd, b, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumAnd2(a, fa, b, fb, c, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumAnd2(a, fa, b, fb, c, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, f, t), from, to);
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        return ranges.reduce((f, t) -> kernels.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, f, t), from, to);
+    }
+}
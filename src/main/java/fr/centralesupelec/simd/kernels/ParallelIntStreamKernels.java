@@ -0,0 +1,63 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs another set of STREAM kernels on a {@link ForkJoinPool}, split in ranges of at most {@code grain} rows as in
+ * {@link ParallelIntColumnKernels}.
+ */
+public class ParallelIntStreamKernels implements IntStreamKernels {
+
+    private final IntStreamKernels kernels;
+    private final ParallelRanges ranges;
+
+    public ParallelIntStreamKernels(IntStreamKernels kernels, ForkJoinPool pool) {
+        this(kernels, pool, ParallelIntColumnKernels.DEFAULT_GRAIN);
+    }
+
+    public ParallelIntStreamKernels(IntStreamKernels kernels, ForkJoinPool pool, int grain) {
+        this.kernels = kernels;
+        this.ranges = new ParallelRanges(pool, grain);
+    }
+
+    @Override
+    public void copy(int[] a, int[] r, int from, int to) {
+        ranges.map((f, t) -> kernels.copy(a, r, f, t), from, to);
+    }
+
+    @Override
+    public void copy(ByteBuffer a, ByteBuffer r, int from, int to) {
+        ranges.map((f, t) -> kernels.copy(a, r, f, t), from, to);
+    }
+
+    @Override
+    public void scale(int[] a, int s, int[] r, int from, int to) {
+        ranges.map((f, t) -> kernels.scale(a, s, r, f, t), from, to);
+    }
+
+    @Override
+    public void scale(ByteBuffer a, int s, ByteBuffer r, int from, int to) {
+        ranges.map((f, t) -> kernels.scale(a, s, r, f, t), from, to);
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] r, int from, int to) {
+        ranges.map((f, t) -> kernels.add(a, b, r, f, t), from, to);
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer r, int from, int to) {
+        ranges.map((f, t) -> kernels.add(a, b, r, f, t), from, to);
+    }
+
+    @Override
+    public void triad(int[] a, int s, int[] b, int[] r, int from, int to) {
+        ranges.map((f, t) -> kernels.triad(a, s, b, r, f, t), from, to);
+    }
+
+    @Override
+    public void triad(ByteBuffer a, int s, ByteBuffer b, ByteBuffer r, int from, int to) {
+        ranges.map((f, t) -> kernels.triad(a, s, b, r, f, t), from, to);
+    }
+}
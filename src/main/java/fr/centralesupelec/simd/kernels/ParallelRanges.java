@@ -0,0 +1,96 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs a kernel on the rows of a range on a {@link ForkJoinPool}: the rows are split in halves, on a grain boundary
+ * when possible, until a range fits in {@code grain} rows, and the partial results of a reduction are summed back.
+ */
+final class ParallelRanges {
+
+    @FunctionalInterface
+    interface RangeReduction {
+        long apply(int from, int to);
+    }
+
+    @FunctionalInterface
+    interface RangeMap {
+        void apply(int from, int to);
+    }
+
+    private final ForkJoinPool pool;
+    private final int grain;
+
+    ParallelRanges(ForkJoinPool pool, int grain) {
+        if(grain <= 0) {
+            throw new IllegalArgumentException("grain must be positive: " + grain);
+        }
+        this.pool = pool;
+        this.grain = grain;
+    }
+
+    private int split(int from, int to) {
+        int mid = from + (to - from) / 2;
+        // keep ranges starting on a grain boundary when possible
+        int aligned = mid - (mid - from) % grain;
+        return aligned > from ? aligned : mid;
+    }
+
+    private class Reduce extends RecursiveTask<Long> {
+        private final RangeReduction kernel;
+        private final int from;
+        private final int to;
+
+        Reduce(RangeReduction kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if(to - from <= grain) {
+                return kernel.apply(from, to);
+            }
+            int mid = split(from, to);
+            Reduce right = new Reduce(kernel, mid, to);
+            right.fork();
+            long left = new Reduce(kernel, from, mid).compute();
+            return left + right.join();
+        }
+    }
+
+    private class Map extends RecursiveAction {
+        private final RangeMap kernel;
+        private final int from;
+        private final int to;
+
+        Map(RangeMap kernel, int from, int to) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= grain) {
+                kernel.apply(from, to);
+                return;
+            }
+            int mid = split(from, to);
+            invokeAll(new Map(kernel, from, mid), new Map(kernel, mid, to));
+        }
+    }
+
+    /** the sum of kernel over the ranges of [from, to) */
+    long reduce(RangeReduction kernel, int from, int to) {
+        return pool.invoke(new Reduce(kernel, from, to));
+    }
+
+    /** runs kernel on every range of [from, to) */
+    void map(RangeMap kernel, int from, int to) {
+        pool.invoke(new Map(kernel, from, to));
+    }
+}
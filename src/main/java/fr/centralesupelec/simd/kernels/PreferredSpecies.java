@@ -0,0 +1,21 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+
+/**
+ * The preferred int species, shared by the SIMD kernels that are not parameterized by species.
+ */
+final class PreferredSpecies {
+
+    static final IntVector.IntSpecies sInt = IntVector.preferredSpecies();
+    static final int vecLength = sInt.length();
+    static final int vecBytes = sInt.bitSize() / Byte.SIZE;
+
+    private PreferredSpecies() {
+    }
+
+    /** end of the rows of [from, to) covered by whole vectors */
+    static int loopBound(int from, int to) {
+        return from + ((to - from) & ~(vecLength - 1));
+    }
+}
@@ -0,0 +1,83 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plain loops over the bitmap words, sums only visit the set bits.
+ */
+public class ScalarBitmapIndexKernels implements BitmapIndexKernels {
+
+    @Override
+    public void and2(long[] x, long[] y, long[] r) {
+        for (int i = 0; i < r.length; ++i) {
+            r[i] = x[i] & y[i];
+        }
+    }
+
+    @Override
+    public void and4(long[] x, long[] y, long[] z, long[] t, long[] r) {
+        for (int i = 0; i < r.length; ++i) {
+            r[i] = x[i] & y[i] & z[i] & t[i];
+        }
+    }
+
+    @Override
+    public void or2(long[] x, long[] y, long[] r) {
+        for (int i = 0; i < r.length; ++i) {
+            r[i] = x[i] | y[i];
+        }
+    }
+
+    @Override
+    public void or4(long[] x, long[] y, long[] z, long[] t, long[] r) {
+        for (int i = 0; i < r.length; ++i) {
+            r[i] = x[i] | y[i] | z[i] | t[i];
+        }
+    }
+
+    @Override
+    public long count(long[] bitmap) {
+        long count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public long sum(long[] bitmap, int[] c) {
+        long sum = 0;
+        for (int w = 0; w < bitmap.length; ++w) {
+            sum += sum(bitmap[w], c, w * Long.SIZE);
+        }
+        return sum;
+    }
+
+    @Override
+    public long sum(long[] bitmap, ByteBuffer c) {
+        long sum = 0;
+        for (int w = 0; w < bitmap.length; ++w) {
+            sum += sum(bitmap[w], c, w * Long.SIZE);
+        }
+        return sum;
+    }
+
+    /** sum of c[row + j] for every bit j set in word */
+    static long sum(long word, int[] c, int row) {
+        long sum = 0;
+        while (word != 0) {
+            sum += c[row + Long.numberOfTrailingZeros(word)];
+            word &= word - 1;
+        }
+        return sum;
+    }
+
+    static long sum(long word, ByteBuffer c, int row) {
+        long sum = 0;
+        while (word != 0) {
+            sum += c.getInt((row + Long.numberOfTrailingZeros(word)) * Integer.BYTES);
+            word &= word - 1;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,169 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plain loops, left to the JIT (and SuperWord when enabled).
+ */
+public class ScalarIntColumnKernels implements IntColumnKernels {
+
+    @Override
+    public int sum(int[] a, int from, int to) {
+        int sum = 0;
+        for (int i = from; i < to; ++i) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int sum(ByteBuffer a, int from, int to) {
+        int sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            sum += a.getInt(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] c, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            c.putInt(i, a.getInt(i) + b.getInt(i));
+        }
+    }
+
+    @Override
+    public void mul(int[] a, int[] b, int[] c, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            c[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    public void mul(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            c.putInt(i, a.getInt(i) * b.getInt(i));
+        }
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(a[i] == fa) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a[i];
+            if(v == fa || v == fb) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            if(v == fa || v == fb) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a[i];
+            if(v == fa || v == fb || v == fc || v == fd) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            if(v == fa || v == fb || v == fc || v == fd) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb) {
+                sum += c[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa && b.getInt(i) == fb) {
+                sum += c.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb && c[i] == fc && d[i] == fd) {
+                sum += e[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa && b.getInt(i) == fb && c.getInt(i) == fc && d.getInt(i) == fd) {
+                sum += e.getInt(i);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,26 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * One long bucket per key, indexed by the key.
+ */
+public class ScalarIntGroupByKernels implements IntGroupByKernels {
+
+    @Override
+    public void groupSum(int[] a, int[] b, long[] sums, int from, int to) {
+        Arrays.fill(sums, 0);
+        for (int i = from; i < to; ++i) {
+            sums[a[i]] += b[i];
+        }
+    }
+
+    @Override
+    public void groupSum(ByteBuffer a, ByteBuffer b, long[] sums, int from, int to) {
+        Arrays.fill(sums, 0);
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            sums[a.getInt(i)] += b.getInt(i);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plain loops, the IN-lists tested with {@link IntInList#contains(int)}.
+ */
+public class ScalarIntPredicateKernels implements IntPredicateKernels {
+
+    @Override
+    public long filterSumLessThan(int[] a, int fa, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(a[i] < fa) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumLessThan(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) < fa) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumGreaterThan(int[] a, int fa, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(a[i] > fa) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumGreaterThan(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) > fa) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumBetween(int[] a, int lo, int hi, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a[i];
+            if(v >= lo && v <= hi) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumBetween(ByteBuffer a, int lo, int hi, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            if(v >= lo && v <= hi) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumIn(int[] a, IntInList list, int[] b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(list.contains(a[i])) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumIn(ByteBuffer a, IntInList list, ByteBuffer b, int from, int to) {
+        long sum = 0;
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(list.contains(a.getInt(i))) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,163 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plain loops, branching on every row.
+ */
+public class ScalarIntSelectionKernels implements IntSelectionKernels {
+
+    @Override
+    public int select(int[] a, int fa, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            if(a[i] == fa) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int select(ByteBuffer a, int fa, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            if(a.getInt(i * Integer.BYTES) == fa) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectOr2(int[] a, int fa, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a[i];
+            if(v == fa || v == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectOr2(ByteBuffer a, int fa, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            int v = a.getInt(i * Integer.BYTES);
+            if(v == fa || v == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectAnd2(int[] a, int fa, int[] b, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, int[] sel, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            if(a.getInt(i * Integer.BYTES) == fa && b.getInt(i * Integer.BYTES) == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void bitmap(int[] a, int fa, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                if(a[i] == fa) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmap(ByteBuffer a, int fa, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                if(a.getInt(i * Integer.BYTES) == fa) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapOr2(int[] a, int fa, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                int v = a[i];
+                if(v == fa || v == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapOr2(ByteBuffer a, int fa, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                int v = a.getInt(i * Integer.BYTES);
+                if(v == fa || v == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapAnd2(int[] a, int fa, int[] b, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                if(a[i] == fa && b[i] == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, long[] bitmap, int from, int to) {
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            for (int i = w; i < end; ++i) {
+                if(a.getInt(i * Integer.BYTES) == fa && b.getInt(i * Integer.BYTES) == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+}
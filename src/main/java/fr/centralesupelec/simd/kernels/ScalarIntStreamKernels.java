@@ -0,0 +1,65 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plain loops, left to the JIT (and SuperWord when enabled).
+ */
+public class ScalarIntStreamKernels implements IntStreamKernels {
+
+    @Override
+    public void copy(int[] a, int[] r, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            r[i] = a[i];
+        }
+    }
+
+    @Override
+    public void copy(ByteBuffer a, ByteBuffer r, int from, int to) {
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, a.getInt(i));
+        }
+    }
+
+    @Override
+    public void scale(int[] a, int s, int[] r, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            r[i] = s * a[i];
+        }
+    }
+
+    @Override
+    public void scale(ByteBuffer a, int s, ByteBuffer r, int from, int to) {
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, s * a.getInt(i));
+        }
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] r, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            r[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer r, int from, int to) {
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, a.getInt(i) + b.getInt(i));
+        }
+    }
+
+    @Override
+    public void triad(int[] a, int s, int[] b, int[] r, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            r[i] = a[i] + s * b[i];
+        }
+    }
+
+    @Override
+    public void triad(ByteBuffer a, int s, ByteBuffer b, ByteBuffer r, int from, int to) {
+        for (int i = from * Integer.BYTES; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, a.getInt(i) + s * b.getInt(i));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package fr.centralesupelec.simd.kernels;
+
+/**
+ * Plain loops decoding one row at a time.
+ */
+public class ScalarPackedIntColumnKernels implements PackedIntColumnKernels {
+
+    static void checkMeasure(PackedIntColumn m) {
+        if(m.isDictionaryEncoded()) {
+            throw new IllegalArgumentException("dictionary-encoded measures are not supported");
+        }
+    }
+
+    @Override
+    public int filter(PackedIntColumn a, int fa) {
+        return filter(a, a.codeOf(fa), 0, a.rows());
+    }
+
+    @Override
+    public long filterSum(PackedIntColumn a, int fa, PackedIntColumn b) {
+        checkMeasure(b);
+        return filterSum(a, a.codeOf(fa), b, 0, a.rows());
+    }
+
+    @Override
+    public long filterSumAnd4(PackedIntColumn a, int fa, PackedIntColumn b, int fb, PackedIntColumn c, int fc, PackedIntColumn d, int fd, PackedIntColumn e) {
+        checkMeasure(e);
+        return filterSumAnd4(a, a.codeOf(fa), b, b.codeOf(fb), c, c.codeOf(fc), d, d.codeOf(fd), e, 0, a.rows());
+    }
+
+    // range forms taking codes, shared with the epilogue of the SIMD kernels
+
+    static int filter(PackedIntColumn a, int ca, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; ++i) {
+            if(a.code(i) == ca) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static long filterSum(PackedIntColumn a, int ca, PackedIntColumn b, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(a.code(i) == ca) {
+                sum += b.code(i);
+            }
+        }
+        return sum;
+    }
+
+    static long filterSumAnd4(PackedIntColumn a, int ca, PackedIntColumn b, int cb, PackedIntColumn c, int cc, PackedIntColumn d, int cd, PackedIntColumn e, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; ++i) {
+            if(a.code(i) == ca && b.code(i) == cb && c.code(i) == cc && d.code(i) == cd) {
+                sum += e.code(i);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,216 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conjunctions of {@link VectorIntColumnKernels} evaluated a block at a time: once the running mask of a vector has
+ * no true lane, the later columns of that vector are not loaded, nor is the measure. With a tile of more than one
+ * vector, the first predicate is first checked over the whole tile, so that a tile without any match costs one branch
+ * and the loads of the first column only.
+ * <p>
+ * This saves bandwidth when the first predicates are selective, at the cost of one branch per column and vector,
+ * which mispredicts at mid selectivity. The other kernels are inherited.
+ */
+@SuppressWarnings("unchecked")
+public class ShortCircuitVectorIntColumnKernels extends VectorIntColumnKernels {
+
+    private final int tile;
+    private final int tileLength;
+
+    public ShortCircuitVectorIntColumnKernels(int tile) {
+        this(tile, PreferredSpecies.sInt);
+    }
+
+    public ShortCircuitVectorIntColumnKernels(int tile, IntVector.IntSpecies species) {
+        super(species);
+        if(tile <= 0 || Integer.bitCount(tile) != 1) {
+            throw new IllegalArgumentException("tile must be a power of two: " + tile);
+        }
+        this.tile = tile;
+        this.tileLength = tile * vecLength;
+    }
+
+    /** vectors per tile */
+    public int tile() {
+        return tile;
+    }
+
+    /** whether a row of the whole vectors of a[from, to) is equal to vf */
+    private boolean anyEqual(int[] a, IntVector vf, int from, int to) {
+        Mask m = IntVector.fromArray(sInt, a, from).equal(vf);
+        for (int i = from + vecLength; i < to; i += vecLength) {
+            m = m.or(IntVector.fromArray(sInt, a, i).equal(vf));
+        }
+        return m.anyTrue();
+    }
+
+    /** whether a row of the whole vectors of a[from, to) is equal to vf, offsets in bytes */
+    private boolean anyEqual(ByteBuffer a, IntVector vf, int from, int to) {
+        Mask m = IntVector.fromByteBuffer(sInt, a, from).equal(vf);
+        for (int i = from + vecBytes; i < to; i += vecBytes) {
+            m = m.or(IntVector.fromByteBuffer(sInt, a, i).equal(vf));
+        }
+        return m.anyTrue();
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int bound = loopBound(from, to);
+        int i = from;
+        while (i < bound) {
+            int end = Math.min(i + tileLength, bound);
+            if(tile > 1 && !anyEqual(a, vfa, i, end)) {
+                i = end;
+                continue;
+            }
+            for (; i < end; i += vecLength) {
+                Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                vs = IntVector.fromArray(sInt, c, i, m).add(vs);
+            }
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb) {
+                sum += c[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int bound = loopBound(from, to) * Integer.BYTES;
+        int tileBytes = tileLength * Integer.BYTES;
+        int i = from * Integer.BYTES;
+        while (i < bound) {
+            int end = Math.min(i + tileBytes, bound);
+            if(tile > 1 && !anyEqual(a, vfa, i, end)) {
+                i = end;
+                continue;
+            }
+            for (; i < end; i += vecBytes) {
+                Mask m = IntVector.fromByteBuffer(sInt, a, i).equal(vfa);
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromByteBuffer(sInt, b, i).equal(vfb));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                vs = IntVector.fromByteBuffer(sInt, c, i, m).add(vs);
+            }
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa && b.getInt(i) == fb) {
+                sum += c.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int bound = loopBound(from, to);
+        int i = from;
+        while (i < bound) {
+            int end = Math.min(i + tileLength, bound);
+            if(tile > 1 && !anyEqual(a, vfa, i, end)) {
+                i = end;
+                continue;
+            }
+            for (; i < end; i += vecLength) {
+                Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromArray(sInt, c, i).equal(vfc));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromArray(sInt, d, i).equal(vfd));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                vs = IntVector.fromArray(sInt, e, i, m).add(vs);
+            }
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb && c[i] == fc && d[i] == fd) {
+                sum += e[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int bound = loopBound(from, to) * Integer.BYTES;
+        int tileBytes = tileLength * Integer.BYTES;
+        int i = from * Integer.BYTES;
+        while (i < bound) {
+            int end = Math.min(i + tileBytes, bound);
+            if(tile > 1 && !anyEqual(a, vfa, i, end)) {
+                i = end;
+                continue;
+            }
+            for (; i < end; i += vecBytes) {
+                Mask m = IntVector.fromByteBuffer(sInt, a, i).equal(vfa);
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromByteBuffer(sInt, b, i).equal(vfb));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromByteBuffer(sInt, c, i).equal(vfc));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                m = m.and(IntVector.fromByteBuffer(sInt, d, i).equal(vfd));
+                if(!m.anyTrue()) {
+                    continue;
+                }
+                vs = IntVector.fromByteBuffer(sInt, e, i, m).add(vs);
+            }
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa && b.getInt(i) == fb && c.getInt(i) == fc && d.getInt(i) == fd) {
+                sum += e.getInt(i);
+            }
+        }
+        return sum;
+    }
+}
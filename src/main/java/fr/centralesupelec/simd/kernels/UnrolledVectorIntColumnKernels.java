@@ -0,0 +1,1185 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reductions of {@link VectorIntColumnKernels} with 2, 4 or 8 independent accumulators, so that consecutive vectors
+ * do not wait on the latency of the previous add. The main loop consumes {@code unroll} vectors per iteration, the
+ * remaining rows go through the single accumulator loop and its scalar epilogue. add and mul are not reductions and
+ * are inherited.
+ */
+@SuppressWarnings("unchecked")
+public class UnrolledVectorIntColumnKernels extends VectorIntColumnKernels {
+
+    private final int unroll;
+
+    public UnrolledVectorIntColumnKernels(int unroll) {
+        this(unroll, PreferredSpecies.sInt);
+    }
+
+    public UnrolledVectorIntColumnKernels(int unroll, IntVector.IntSpecies species) {
+        super(species);
+        if(unroll != 2 && unroll != 4 && unroll != 8) {
+            throw new IllegalArgumentException("unroll must be 2, 4 or 8: " + unroll);
+        }
+        this.unroll = unroll;
+    }
+
+    public int unroll() {
+        return unroll;
+    }
+
+    /** end of the rows of [from, to) covered by whole groups of {@code factor} vectors */
+    private int unrolledBound(int factor, int from, int to) {
+        return from + ((to - from) & ~(factor * vecLength - 1));
+    }
+
+    @Override
+    public int sum(int[] a, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return sumUnroll2(a, from, to);
+            case 4:
+                return sumUnroll4(a, from, to);
+            default:
+                return sumUnroll8(a, from, to);
+        }
+    }
+
+    @Override
+    public int sum(ByteBuffer a, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return sumUnroll2(a, from, to);
+            case 4:
+                return sumUnroll4(a, from, to);
+            default:
+                return sumUnroll8(a, from, to);
+        }
+    }
+
+    private int sumUnroll2(int[] a, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            vs0 = vs0.add(IntVector.fromArray(sInt, a, i));
+            vs1 = vs1.add(IntVector.fromArray(sInt, a, i + vecLength));
+        }
+        return vs0.add(vs1).addAll() + super.sum(a, i, to);
+    }
+
+    private int sumUnroll4(int[] a, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            vs0 = vs0.add(IntVector.fromArray(sInt, a, i));
+            vs1 = vs1.add(IntVector.fromArray(sInt, a, i + vecLength));
+            vs2 = vs2.add(IntVector.fromArray(sInt, a, i + 2 * vecLength));
+            vs3 = vs3.add(IntVector.fromArray(sInt, a, i + 3 * vecLength));
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.sum(a, i, to);
+    }
+
+    private int sumUnroll8(int[] a, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            vs0 = vs0.add(IntVector.fromArray(sInt, a, i));
+            vs1 = vs1.add(IntVector.fromArray(sInt, a, i + vecLength));
+            vs2 = vs2.add(IntVector.fromArray(sInt, a, i + 2 * vecLength));
+            vs3 = vs3.add(IntVector.fromArray(sInt, a, i + 3 * vecLength));
+            vs4 = vs4.add(IntVector.fromArray(sInt, a, i + 4 * vecLength));
+            vs5 = vs5.add(IntVector.fromArray(sInt, a, i + 5 * vecLength));
+            vs6 = vs6.add(IntVector.fromArray(sInt, a, i + 6 * vecLength));
+            vs7 = vs7.add(IntVector.fromArray(sInt, a, i + 7 * vecLength));
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.sum(a, i, to);
+    }
+
+    private int sumUnroll2(ByteBuffer a, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            vs0 = vs0.add(IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES));
+            vs1 = vs1.add(IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES));
+        }
+        return vs0.add(vs1).addAll() + super.sum(a, i, to);
+    }
+
+    private int sumUnroll4(ByteBuffer a, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            vs0 = vs0.add(IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES));
+            vs1 = vs1.add(IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES));
+            vs2 = vs2.add(IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES));
+            vs3 = vs3.add(IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES));
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.sum(a, i, to);
+    }
+
+    private int sumUnroll8(ByteBuffer a, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            vs0 = vs0.add(IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES));
+            vs1 = vs1.add(IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES));
+            vs2 = vs2.add(IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES));
+            vs3 = vs3.add(IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES));
+            vs4 = vs4.add(IntVector.fromByteBuffer(sInt, a, (i + 4 * vecLength) * Integer.BYTES));
+            vs5 = vs5.add(IntVector.fromByteBuffer(sInt, a, (i + 5 * vecLength) * Integer.BYTES));
+            vs6 = vs6.add(IntVector.fromByteBuffer(sInt, a, (i + 6 * vecLength) * Integer.BYTES));
+            vs7 = vs7.add(IntVector.fromByteBuffer(sInt, a, (i + 7 * vecLength) * Integer.BYTES));
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.sum(a, i, to);
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumUnroll2(a, fa, b, from, to);
+            case 4:
+                return filterSumUnroll4(a, fa, b, from, to);
+            default:
+                return filterSumUnroll8(a, fa, b, from, to);
+        }
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumUnroll2(a, fa, b, from, to);
+            case 4:
+                return filterSumUnroll4(a, fa, b, from, to);
+            default:
+                return filterSumUnroll8(a, fa, b, from, to);
+        }
+    }
+
+    private long filterSumUnroll2(int[] a, int fa, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSum(a, fa, b, i, to);
+    }
+
+    private long filterSumUnroll4(int[] a, int fa, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            Mask m2 = IntVector.fromArray(sInt, a, i + 2 * vecLength).equal(vfa);
+            Mask m3 = IntVector.fromArray(sInt, a, i + 3 * vecLength).equal(vfa);
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, b, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, b, i + 3 * vecLength, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSum(a, fa, b, i, to);
+    }
+
+    private long filterSumUnroll8(int[] a, int fa, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            Mask m2 = IntVector.fromArray(sInt, a, i + 2 * vecLength).equal(vfa);
+            Mask m3 = IntVector.fromArray(sInt, a, i + 3 * vecLength).equal(vfa);
+            Mask m4 = IntVector.fromArray(sInt, a, i + 4 * vecLength).equal(vfa);
+            Mask m5 = IntVector.fromArray(sInt, a, i + 5 * vecLength).equal(vfa);
+            Mask m6 = IntVector.fromArray(sInt, a, i + 6 * vecLength).equal(vfa);
+            Mask m7 = IntVector.fromArray(sInt, a, i + 7 * vecLength).equal(vfa);
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, b, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, b, i + 3 * vecLength, m3).add(vs3);
+            vs4 = IntVector.fromArray(sInt, b, i + 4 * vecLength, m4).add(vs4);
+            vs5 = IntVector.fromArray(sInt, b, i + 5 * vecLength, m5).add(vs5);
+            vs6 = IntVector.fromArray(sInt, b, i + 6 * vecLength, m6).add(vs6);
+            vs7 = IntVector.fromArray(sInt, b, i + 7 * vecLength, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSum(a, fa, b, i, to);
+    }
+
+    private long filterSumUnroll2(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSum(a, fa, b, i, to);
+    }
+
+    private long filterSumUnroll4(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            Mask m2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES).equal(vfa);
+            Mask m3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES).equal(vfa);
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSum(a, fa, b, i, to);
+    }
+
+    private long filterSumUnroll8(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            Mask m2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES).equal(vfa);
+            Mask m3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES).equal(vfa);
+            Mask m4 = IntVector.fromByteBuffer(sInt, a, (i + 4 * vecLength) * Integer.BYTES).equal(vfa);
+            Mask m5 = IntVector.fromByteBuffer(sInt, a, (i + 5 * vecLength) * Integer.BYTES).equal(vfa);
+            Mask m6 = IntVector.fromByteBuffer(sInt, a, (i + 6 * vecLength) * Integer.BYTES).equal(vfa);
+            Mask m7 = IntVector.fromByteBuffer(sInt, a, (i + 7 * vecLength) * Integer.BYTES).equal(vfa);
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+            vs4 = IntVector.fromByteBuffer(sInt, b, (i + 4 * vecLength) * Integer.BYTES, m4).add(vs4);
+            vs5 = IntVector.fromByteBuffer(sInt, b, (i + 5 * vecLength) * Integer.BYTES, m5).add(vs5);
+            vs6 = IntVector.fromByteBuffer(sInt, b, (i + 6 * vecLength) * Integer.BYTES, m6).add(vs6);
+            vs7 = IntVector.fromByteBuffer(sInt, b, (i + 7 * vecLength) * Integer.BYTES, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSum(a, fa, b, i, to);
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumOr2Unroll2(a, fa, fb, b, from, to);
+            case 4:
+                return filterSumOr2Unroll4(a, fa, fb, b, from, to);
+            default:
+                return filterSumOr2Unroll8(a, fa, fb, b, from, to);
+        }
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumOr2Unroll2(a, fa, fb, b, from, to);
+            case 4:
+                return filterSumOr2Unroll4(a, fa, fb, b, from, to);
+            default:
+                return filterSumOr2Unroll8(a, fa, fb, b, from, to);
+        }
+    }
+
+    private long filterSumOr2Unroll2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            IntVector va0 = IntVector.fromArray(sInt, a, i);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            IntVector va1 = IntVector.fromArray(sInt, a, i + vecLength);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumOr2(a, fa, fb, b, i, to);
+    }
+
+    private long filterSumOr2Unroll4(int[] a, int fa, int fb, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            IntVector va0 = IntVector.fromArray(sInt, a, i);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            IntVector va1 = IntVector.fromArray(sInt, a, i + vecLength);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            IntVector va2 = IntVector.fromArray(sInt, a, i + 2 * vecLength);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            IntVector va3 = IntVector.fromArray(sInt, a, i + 3 * vecLength);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, b, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, b, i + 3 * vecLength, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumOr2(a, fa, fb, b, i, to);
+    }
+
+    private long filterSumOr2Unroll8(int[] a, int fa, int fb, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            IntVector va0 = IntVector.fromArray(sInt, a, i);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            IntVector va1 = IntVector.fromArray(sInt, a, i + vecLength);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            IntVector va2 = IntVector.fromArray(sInt, a, i + 2 * vecLength);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            IntVector va3 = IntVector.fromArray(sInt, a, i + 3 * vecLength);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            IntVector va4 = IntVector.fromArray(sInt, a, i + 4 * vecLength);
+            Mask m4 = va4.equal(vfa).or(va4.equal(vfb));
+            IntVector va5 = IntVector.fromArray(sInt, a, i + 5 * vecLength);
+            Mask m5 = va5.equal(vfa).or(va5.equal(vfb));
+            IntVector va6 = IntVector.fromArray(sInt, a, i + 6 * vecLength);
+            Mask m6 = va6.equal(vfa).or(va6.equal(vfb));
+            IntVector va7 = IntVector.fromArray(sInt, a, i + 7 * vecLength);
+            Mask m7 = va7.equal(vfa).or(va7.equal(vfb));
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, b, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, b, i + 3 * vecLength, m3).add(vs3);
+            vs4 = IntVector.fromArray(sInt, b, i + 4 * vecLength, m4).add(vs4);
+            vs5 = IntVector.fromArray(sInt, b, i + 5 * vecLength, m5).add(vs5);
+            vs6 = IntVector.fromArray(sInt, b, i + 6 * vecLength, m6).add(vs6);
+            vs7 = IntVector.fromArray(sInt, b, i + 7 * vecLength, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumOr2(a, fa, fb, b, i, to);
+    }
+
+    private long filterSumOr2Unroll2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            IntVector va0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            IntVector va1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumOr2(a, fa, fb, b, i, to);
+    }
+
+    private long filterSumOr2Unroll4(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            IntVector va0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            IntVector va1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            IntVector va2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            IntVector va3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumOr2(a, fa, fb, b, i, to);
+    }
+
+    private long filterSumOr2Unroll8(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            IntVector va0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            IntVector va1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            IntVector va2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            IntVector va3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            IntVector va4 = IntVector.fromByteBuffer(sInt, a, (i + 4 * vecLength) * Integer.BYTES);
+            Mask m4 = va4.equal(vfa).or(va4.equal(vfb));
+            IntVector va5 = IntVector.fromByteBuffer(sInt, a, (i + 5 * vecLength) * Integer.BYTES);
+            Mask m5 = va5.equal(vfa).or(va5.equal(vfb));
+            IntVector va6 = IntVector.fromByteBuffer(sInt, a, (i + 6 * vecLength) * Integer.BYTES);
+            Mask m6 = va6.equal(vfa).or(va6.equal(vfb));
+            IntVector va7 = IntVector.fromByteBuffer(sInt, a, (i + 7 * vecLength) * Integer.BYTES);
+            Mask m7 = va7.equal(vfa).or(va7.equal(vfb));
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+            vs4 = IntVector.fromByteBuffer(sInt, b, (i + 4 * vecLength) * Integer.BYTES, m4).add(vs4);
+            vs5 = IntVector.fromByteBuffer(sInt, b, (i + 5 * vecLength) * Integer.BYTES, m5).add(vs5);
+            vs6 = IntVector.fromByteBuffer(sInt, b, (i + 6 * vecLength) * Integer.BYTES, m6).add(vs6);
+            vs7 = IntVector.fromByteBuffer(sInt, b, (i + 7 * vecLength) * Integer.BYTES, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumOr2(a, fa, fb, b, i, to);
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumOr4Unroll2(a, fa, fb, fc, fd, b, from, to);
+            case 4:
+                return filterSumOr4Unroll4(a, fa, fb, fc, fd, b, from, to);
+            default:
+                return filterSumOr4Unroll8(a, fa, fb, fc, fd, b, from, to);
+        }
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumOr4Unroll2(a, fa, fb, fc, fd, b, from, to);
+            case 4:
+                return filterSumOr4Unroll4(a, fa, fb, fc, fd, b, from, to);
+            default:
+                return filterSumOr4Unroll8(a, fa, fb, fc, fd, b, from, to);
+        }
+    }
+
+    private long filterSumOr4Unroll2(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            IntVector va0 = IntVector.fromArray(sInt, a, i);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            m0 = m0.or(va0.equal(vfc)).or(va0.equal(vfd));
+            IntVector va1 = IntVector.fromArray(sInt, a, i + vecLength);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            m1 = m1.or(va1.equal(vfc)).or(va1.equal(vfd));
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumOr4(a, fa, fb, fc, fd, b, i, to);
+    }
+
+    private long filterSumOr4Unroll4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            IntVector va0 = IntVector.fromArray(sInt, a, i);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            m0 = m0.or(va0.equal(vfc)).or(va0.equal(vfd));
+            IntVector va1 = IntVector.fromArray(sInt, a, i + vecLength);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            m1 = m1.or(va1.equal(vfc)).or(va1.equal(vfd));
+            IntVector va2 = IntVector.fromArray(sInt, a, i + 2 * vecLength);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            m2 = m2.or(va2.equal(vfc)).or(va2.equal(vfd));
+            IntVector va3 = IntVector.fromArray(sInt, a, i + 3 * vecLength);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            m3 = m3.or(va3.equal(vfc)).or(va3.equal(vfd));
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, b, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, b, i + 3 * vecLength, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumOr4(a, fa, fb, fc, fd, b, i, to);
+    }
+
+    private long filterSumOr4Unroll8(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            IntVector va0 = IntVector.fromArray(sInt, a, i);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            m0 = m0.or(va0.equal(vfc)).or(va0.equal(vfd));
+            IntVector va1 = IntVector.fromArray(sInt, a, i + vecLength);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            m1 = m1.or(va1.equal(vfc)).or(va1.equal(vfd));
+            IntVector va2 = IntVector.fromArray(sInt, a, i + 2 * vecLength);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            m2 = m2.or(va2.equal(vfc)).or(va2.equal(vfd));
+            IntVector va3 = IntVector.fromArray(sInt, a, i + 3 * vecLength);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            m3 = m3.or(va3.equal(vfc)).or(va3.equal(vfd));
+            IntVector va4 = IntVector.fromArray(sInt, a, i + 4 * vecLength);
+            Mask m4 = va4.equal(vfa).or(va4.equal(vfb));
+            m4 = m4.or(va4.equal(vfc)).or(va4.equal(vfd));
+            IntVector va5 = IntVector.fromArray(sInt, a, i + 5 * vecLength);
+            Mask m5 = va5.equal(vfa).or(va5.equal(vfb));
+            m5 = m5.or(va5.equal(vfc)).or(va5.equal(vfd));
+            IntVector va6 = IntVector.fromArray(sInt, a, i + 6 * vecLength);
+            Mask m6 = va6.equal(vfa).or(va6.equal(vfb));
+            m6 = m6.or(va6.equal(vfc)).or(va6.equal(vfd));
+            IntVector va7 = IntVector.fromArray(sInt, a, i + 7 * vecLength);
+            Mask m7 = va7.equal(vfa).or(va7.equal(vfb));
+            m7 = m7.or(va7.equal(vfc)).or(va7.equal(vfd));
+            vs0 = IntVector.fromArray(sInt, b, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, b, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, b, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, b, i + 3 * vecLength, m3).add(vs3);
+            vs4 = IntVector.fromArray(sInt, b, i + 4 * vecLength, m4).add(vs4);
+            vs5 = IntVector.fromArray(sInt, b, i + 5 * vecLength, m5).add(vs5);
+            vs6 = IntVector.fromArray(sInt, b, i + 6 * vecLength, m6).add(vs6);
+            vs7 = IntVector.fromArray(sInt, b, i + 7 * vecLength, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumOr4(a, fa, fb, fc, fd, b, i, to);
+    }
+
+    private long filterSumOr4Unroll2(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            IntVector va0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            m0 = m0.or(va0.equal(vfc)).or(va0.equal(vfd));
+            IntVector va1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            m1 = m1.or(va1.equal(vfc)).or(va1.equal(vfd));
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumOr4(a, fa, fb, fc, fd, b, i, to);
+    }
+
+    private long filterSumOr4Unroll4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            IntVector va0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            m0 = m0.or(va0.equal(vfc)).or(va0.equal(vfd));
+            IntVector va1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            m1 = m1.or(va1.equal(vfc)).or(va1.equal(vfd));
+            IntVector va2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            m2 = m2.or(va2.equal(vfc)).or(va2.equal(vfd));
+            IntVector va3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            m3 = m3.or(va3.equal(vfc)).or(va3.equal(vfd));
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumOr4(a, fa, fb, fc, fd, b, i, to);
+    }
+
+    private long filterSumOr4Unroll8(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            IntVector va0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            Mask m0 = va0.equal(vfa).or(va0.equal(vfb));
+            m0 = m0.or(va0.equal(vfc)).or(va0.equal(vfd));
+            IntVector va1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES);
+            Mask m1 = va1.equal(vfa).or(va1.equal(vfb));
+            m1 = m1.or(va1.equal(vfc)).or(va1.equal(vfd));
+            IntVector va2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES);
+            Mask m2 = va2.equal(vfa).or(va2.equal(vfb));
+            m2 = m2.or(va2.equal(vfc)).or(va2.equal(vfd));
+            IntVector va3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES);
+            Mask m3 = va3.equal(vfa).or(va3.equal(vfb));
+            m3 = m3.or(va3.equal(vfc)).or(va3.equal(vfd));
+            IntVector va4 = IntVector.fromByteBuffer(sInt, a, (i + 4 * vecLength) * Integer.BYTES);
+            Mask m4 = va4.equal(vfa).or(va4.equal(vfb));
+            m4 = m4.or(va4.equal(vfc)).or(va4.equal(vfd));
+            IntVector va5 = IntVector.fromByteBuffer(sInt, a, (i + 5 * vecLength) * Integer.BYTES);
+            Mask m5 = va5.equal(vfa).or(va5.equal(vfb));
+            m5 = m5.or(va5.equal(vfc)).or(va5.equal(vfd));
+            IntVector va6 = IntVector.fromByteBuffer(sInt, a, (i + 6 * vecLength) * Integer.BYTES);
+            Mask m6 = va6.equal(vfa).or(va6.equal(vfb));
+            m6 = m6.or(va6.equal(vfc)).or(va6.equal(vfd));
+            IntVector va7 = IntVector.fromByteBuffer(sInt, a, (i + 7 * vecLength) * Integer.BYTES);
+            Mask m7 = va7.equal(vfa).or(va7.equal(vfb));
+            m7 = m7.or(va7.equal(vfc)).or(va7.equal(vfd));
+            vs0 = IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+            vs4 = IntVector.fromByteBuffer(sInt, b, (i + 4 * vecLength) * Integer.BYTES, m4).add(vs4);
+            vs5 = IntVector.fromByteBuffer(sInt, b, (i + 5 * vecLength) * Integer.BYTES, m5).add(vs5);
+            vs6 = IntVector.fromByteBuffer(sInt, b, (i + 6 * vecLength) * Integer.BYTES, m6).add(vs6);
+            vs7 = IntVector.fromByteBuffer(sInt, b, (i + 7 * vecLength) * Integer.BYTES, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumOr4(a, fa, fb, fc, fd, b, i, to);
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumAnd2Unroll2(a, fa, b, fb, c, from, to);
+            case 4:
+                return filterSumAnd2Unroll4(a, fa, b, fb, c, from, to);
+            default:
+                return filterSumAnd2Unroll8(a, fa, b, fb, c, from, to);
+        }
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumAnd2Unroll2(a, fa, b, fb, c, from, to);
+            case 4:
+                return filterSumAnd2Unroll4(a, fa, b, fb, c, from, to);
+            default:
+                return filterSumAnd2Unroll8(a, fa, b, fb, c, from, to);
+        }
+    }
+
+    private long filterSumAnd2Unroll2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            m0 = m0.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            m1 = m1.and(IntVector.fromArray(sInt, b, i + vecLength).equal(vfb));
+            vs0 = IntVector.fromArray(sInt, c, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, c, i + vecLength, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumAnd2(a, fa, b, fb, c, i, to);
+    }
+
+    private long filterSumAnd2Unroll4(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            m0 = m0.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            m1 = m1.and(IntVector.fromArray(sInt, b, i + vecLength).equal(vfb));
+            Mask m2 = IntVector.fromArray(sInt, a, i + 2 * vecLength).equal(vfa);
+            m2 = m2.and(IntVector.fromArray(sInt, b, i + 2 * vecLength).equal(vfb));
+            Mask m3 = IntVector.fromArray(sInt, a, i + 3 * vecLength).equal(vfa);
+            m3 = m3.and(IntVector.fromArray(sInt, b, i + 3 * vecLength).equal(vfb));
+            vs0 = IntVector.fromArray(sInt, c, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, c, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, c, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, c, i + 3 * vecLength, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumAnd2(a, fa, b, fb, c, i, to);
+    }
+
+    private long filterSumAnd2Unroll8(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            m0 = m0.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            m1 = m1.and(IntVector.fromArray(sInt, b, i + vecLength).equal(vfb));
+            Mask m2 = IntVector.fromArray(sInt, a, i + 2 * vecLength).equal(vfa);
+            m2 = m2.and(IntVector.fromArray(sInt, b, i + 2 * vecLength).equal(vfb));
+            Mask m3 = IntVector.fromArray(sInt, a, i + 3 * vecLength).equal(vfa);
+            m3 = m3.and(IntVector.fromArray(sInt, b, i + 3 * vecLength).equal(vfb));
+            Mask m4 = IntVector.fromArray(sInt, a, i + 4 * vecLength).equal(vfa);
+            m4 = m4.and(IntVector.fromArray(sInt, b, i + 4 * vecLength).equal(vfb));
+            Mask m5 = IntVector.fromArray(sInt, a, i + 5 * vecLength).equal(vfa);
+            m5 = m5.and(IntVector.fromArray(sInt, b, i + 5 * vecLength).equal(vfb));
+            Mask m6 = IntVector.fromArray(sInt, a, i + 6 * vecLength).equal(vfa);
+            m6 = m6.and(IntVector.fromArray(sInt, b, i + 6 * vecLength).equal(vfb));
+            Mask m7 = IntVector.fromArray(sInt, a, i + 7 * vecLength).equal(vfa);
+            m7 = m7.and(IntVector.fromArray(sInt, b, i + 7 * vecLength).equal(vfb));
+            vs0 = IntVector.fromArray(sInt, c, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, c, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, c, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, c, i + 3 * vecLength, m3).add(vs3);
+            vs4 = IntVector.fromArray(sInt, c, i + 4 * vecLength, m4).add(vs4);
+            vs5 = IntVector.fromArray(sInt, c, i + 5 * vecLength, m5).add(vs5);
+            vs6 = IntVector.fromArray(sInt, c, i + 6 * vecLength, m6).add(vs6);
+            vs7 = IntVector.fromArray(sInt, c, i + 7 * vecLength, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumAnd2(a, fa, b, fb, c, i, to);
+    }
+
+    private long filterSumAnd2Unroll2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES).equal(vfb));
+            vs0 = IntVector.fromByteBuffer(sInt, c, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, c, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumAnd2(a, fa, b, fb, c, i, to);
+    }
+
+    private long filterSumAnd2Unroll4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES).equal(vfb));
+            Mask m2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES).equal(vfa);
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES).equal(vfb));
+            Mask m3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES).equal(vfa);
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES).equal(vfb));
+            vs0 = IntVector.fromByteBuffer(sInt, c, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, c, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, c, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, c, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumAnd2(a, fa, b, fb, c, i, to);
+    }
+
+    private long filterSumAnd2Unroll8(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES).equal(vfb));
+            Mask m2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES).equal(vfa);
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES).equal(vfb));
+            Mask m3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES).equal(vfa);
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES).equal(vfb));
+            Mask m4 = IntVector.fromByteBuffer(sInt, a, (i + 4 * vecLength) * Integer.BYTES).equal(vfa);
+            m4 = m4.and(IntVector.fromByteBuffer(sInt, b, (i + 4 * vecLength) * Integer.BYTES).equal(vfb));
+            Mask m5 = IntVector.fromByteBuffer(sInt, a, (i + 5 * vecLength) * Integer.BYTES).equal(vfa);
+            m5 = m5.and(IntVector.fromByteBuffer(sInt, b, (i + 5 * vecLength) * Integer.BYTES).equal(vfb));
+            Mask m6 = IntVector.fromByteBuffer(sInt, a, (i + 6 * vecLength) * Integer.BYTES).equal(vfa);
+            m6 = m6.and(IntVector.fromByteBuffer(sInt, b, (i + 6 * vecLength) * Integer.BYTES).equal(vfb));
+            Mask m7 = IntVector.fromByteBuffer(sInt, a, (i + 7 * vecLength) * Integer.BYTES).equal(vfa);
+            m7 = m7.and(IntVector.fromByteBuffer(sInt, b, (i + 7 * vecLength) * Integer.BYTES).equal(vfb));
+            vs0 = IntVector.fromByteBuffer(sInt, c, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, c, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, c, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, c, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+            vs4 = IntVector.fromByteBuffer(sInt, c, (i + 4 * vecLength) * Integer.BYTES, m4).add(vs4);
+            vs5 = IntVector.fromByteBuffer(sInt, c, (i + 5 * vecLength) * Integer.BYTES, m5).add(vs5);
+            vs6 = IntVector.fromByteBuffer(sInt, c, (i + 6 * vecLength) * Integer.BYTES, m6).add(vs6);
+            vs7 = IntVector.fromByteBuffer(sInt, c, (i + 7 * vecLength) * Integer.BYTES, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumAnd2(a, fa, b, fb, c, i, to);
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumAnd4Unroll2(a, fa, b, fb, c, fc, d, fd, e, from, to);
+            case 4:
+                return filterSumAnd4Unroll4(a, fa, b, fb, c, fc, d, fd, e, from, to);
+            default:
+                return filterSumAnd4Unroll8(a, fa, b, fb, c, fc, d, fd, e, from, to);
+        }
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        switch (unroll) {
+            case 2:
+                return filterSumAnd4Unroll2(a, fa, b, fb, c, fc, d, fd, e, from, to);
+            case 4:
+                return filterSumAnd4Unroll4(a, fa, b, fb, c, fc, d, fd, e, from, to);
+            default:
+                return filterSumAnd4Unroll8(a, fa, b, fb, c, fc, d, fd, e, from, to);
+        }
+    }
+
+    private long filterSumAnd4Unroll2(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            m0 = m0.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+            m0 = m0.and(IntVector.fromArray(sInt, c, i).equal(vfc));
+            m0 = m0.and(IntVector.fromArray(sInt, d, i).equal(vfd));
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            m1 = m1.and(IntVector.fromArray(sInt, b, i + vecLength).equal(vfb));
+            m1 = m1.and(IntVector.fromArray(sInt, c, i + vecLength).equal(vfc));
+            m1 = m1.and(IntVector.fromArray(sInt, d, i + vecLength).equal(vfd));
+            vs0 = IntVector.fromArray(sInt, e, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, e, i + vecLength, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i, to);
+    }
+
+    private long filterSumAnd4Unroll4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            m0 = m0.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+            m0 = m0.and(IntVector.fromArray(sInt, c, i).equal(vfc));
+            m0 = m0.and(IntVector.fromArray(sInt, d, i).equal(vfd));
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            m1 = m1.and(IntVector.fromArray(sInt, b, i + vecLength).equal(vfb));
+            m1 = m1.and(IntVector.fromArray(sInt, c, i + vecLength).equal(vfc));
+            m1 = m1.and(IntVector.fromArray(sInt, d, i + vecLength).equal(vfd));
+            Mask m2 = IntVector.fromArray(sInt, a, i + 2 * vecLength).equal(vfa);
+            m2 = m2.and(IntVector.fromArray(sInt, b, i + 2 * vecLength).equal(vfb));
+            m2 = m2.and(IntVector.fromArray(sInt, c, i + 2 * vecLength).equal(vfc));
+            m2 = m2.and(IntVector.fromArray(sInt, d, i + 2 * vecLength).equal(vfd));
+            Mask m3 = IntVector.fromArray(sInt, a, i + 3 * vecLength).equal(vfa);
+            m3 = m3.and(IntVector.fromArray(sInt, b, i + 3 * vecLength).equal(vfb));
+            m3 = m3.and(IntVector.fromArray(sInt, c, i + 3 * vecLength).equal(vfc));
+            m3 = m3.and(IntVector.fromArray(sInt, d, i + 3 * vecLength).equal(vfd));
+            vs0 = IntVector.fromArray(sInt, e, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, e, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, e, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, e, i + 3 * vecLength, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i, to);
+    }
+
+    private long filterSumAnd4Unroll8(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            Mask m0 = IntVector.fromArray(sInt, a, i).equal(vfa);
+            m0 = m0.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+            m0 = m0.and(IntVector.fromArray(sInt, c, i).equal(vfc));
+            m0 = m0.and(IntVector.fromArray(sInt, d, i).equal(vfd));
+            Mask m1 = IntVector.fromArray(sInt, a, i + vecLength).equal(vfa);
+            m1 = m1.and(IntVector.fromArray(sInt, b, i + vecLength).equal(vfb));
+            m1 = m1.and(IntVector.fromArray(sInt, c, i + vecLength).equal(vfc));
+            m1 = m1.and(IntVector.fromArray(sInt, d, i + vecLength).equal(vfd));
+            Mask m2 = IntVector.fromArray(sInt, a, i + 2 * vecLength).equal(vfa);
+            m2 = m2.and(IntVector.fromArray(sInt, b, i + 2 * vecLength).equal(vfb));
+            m2 = m2.and(IntVector.fromArray(sInt, c, i + 2 * vecLength).equal(vfc));
+            m2 = m2.and(IntVector.fromArray(sInt, d, i + 2 * vecLength).equal(vfd));
+            Mask m3 = IntVector.fromArray(sInt, a, i + 3 * vecLength).equal(vfa);
+            m3 = m3.and(IntVector.fromArray(sInt, b, i + 3 * vecLength).equal(vfb));
+            m3 = m3.and(IntVector.fromArray(sInt, c, i + 3 * vecLength).equal(vfc));
+            m3 = m3.and(IntVector.fromArray(sInt, d, i + 3 * vecLength).equal(vfd));
+            Mask m4 = IntVector.fromArray(sInt, a, i + 4 * vecLength).equal(vfa);
+            m4 = m4.and(IntVector.fromArray(sInt, b, i + 4 * vecLength).equal(vfb));
+            m4 = m4.and(IntVector.fromArray(sInt, c, i + 4 * vecLength).equal(vfc));
+            m4 = m4.and(IntVector.fromArray(sInt, d, i + 4 * vecLength).equal(vfd));
+            Mask m5 = IntVector.fromArray(sInt, a, i + 5 * vecLength).equal(vfa);
+            m5 = m5.and(IntVector.fromArray(sInt, b, i + 5 * vecLength).equal(vfb));
+            m5 = m5.and(IntVector.fromArray(sInt, c, i + 5 * vecLength).equal(vfc));
+            m5 = m5.and(IntVector.fromArray(sInt, d, i + 5 * vecLength).equal(vfd));
+            Mask m6 = IntVector.fromArray(sInt, a, i + 6 * vecLength).equal(vfa);
+            m6 = m6.and(IntVector.fromArray(sInt, b, i + 6 * vecLength).equal(vfb));
+            m6 = m6.and(IntVector.fromArray(sInt, c, i + 6 * vecLength).equal(vfc));
+            m6 = m6.and(IntVector.fromArray(sInt, d, i + 6 * vecLength).equal(vfd));
+            Mask m7 = IntVector.fromArray(sInt, a, i + 7 * vecLength).equal(vfa);
+            m7 = m7.and(IntVector.fromArray(sInt, b, i + 7 * vecLength).equal(vfb));
+            m7 = m7.and(IntVector.fromArray(sInt, c, i + 7 * vecLength).equal(vfc));
+            m7 = m7.and(IntVector.fromArray(sInt, d, i + 7 * vecLength).equal(vfd));
+            vs0 = IntVector.fromArray(sInt, e, i, m0).add(vs0);
+            vs1 = IntVector.fromArray(sInt, e, i + vecLength, m1).add(vs1);
+            vs2 = IntVector.fromArray(sInt, e, i + 2 * vecLength, m2).add(vs2);
+            vs3 = IntVector.fromArray(sInt, e, i + 3 * vecLength, m3).add(vs3);
+            vs4 = IntVector.fromArray(sInt, e, i + 4 * vecLength, m4).add(vs4);
+            vs5 = IntVector.fromArray(sInt, e, i + 5 * vecLength, m5).add(vs5);
+            vs6 = IntVector.fromArray(sInt, e, i + 6 * vecLength, m6).add(vs6);
+            vs7 = IntVector.fromArray(sInt, e, i + 7 * vecLength, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i, to);
+    }
+
+    private long filterSumAnd4Unroll2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(2, from, to); i += 2 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, c, i * Integer.BYTES).equal(vfc));
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, d, i * Integer.BYTES).equal(vfd));
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES).equal(vfb));
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, c, (i + vecLength) * Integer.BYTES).equal(vfc));
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, d, (i + vecLength) * Integer.BYTES).equal(vfd));
+            vs0 = IntVector.fromByteBuffer(sInt, e, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, e, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+        }
+        return vs0.add(vs1).addAll() + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i, to);
+    }
+
+    private long filterSumAnd4Unroll4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(4, from, to); i += 4 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, c, i * Integer.BYTES).equal(vfc));
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, d, i * Integer.BYTES).equal(vfd));
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES).equal(vfb));
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, c, (i + vecLength) * Integer.BYTES).equal(vfc));
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, d, (i + vecLength) * Integer.BYTES).equal(vfd));
+            Mask m2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES).equal(vfa);
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES).equal(vfb));
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, c, (i + 2 * vecLength) * Integer.BYTES).equal(vfc));
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, d, (i + 2 * vecLength) * Integer.BYTES).equal(vfd));
+            Mask m3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES).equal(vfa);
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES).equal(vfb));
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, c, (i + 3 * vecLength) * Integer.BYTES).equal(vfc));
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, d, (i + 3 * vecLength) * Integer.BYTES).equal(vfd));
+            vs0 = IntVector.fromByteBuffer(sInt, e, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, e, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, e, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, e, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).addAll() + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i, to);
+    }
+
+    private long filterSumAnd4Unroll8(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        IntVector vs0 = sInt.zero();
+        IntVector vs1 = sInt.zero();
+        IntVector vs2 = sInt.zero();
+        IntVector vs3 = sInt.zero();
+        IntVector vs4 = sInt.zero();
+        IntVector vs5 = sInt.zero();
+        IntVector vs6 = sInt.zero();
+        IntVector vs7 = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < unrolledBound(8, from, to); i += 8 * vecLength) {
+            Mask m0 = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, c, i * Integer.BYTES).equal(vfc));
+            m0 = m0.and(IntVector.fromByteBuffer(sInt, d, i * Integer.BYTES).equal(vfd));
+            Mask m1 = IntVector.fromByteBuffer(sInt, a, (i + vecLength) * Integer.BYTES).equal(vfa);
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, b, (i + vecLength) * Integer.BYTES).equal(vfb));
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, c, (i + vecLength) * Integer.BYTES).equal(vfc));
+            m1 = m1.and(IntVector.fromByteBuffer(sInt, d, (i + vecLength) * Integer.BYTES).equal(vfd));
+            Mask m2 = IntVector.fromByteBuffer(sInt, a, (i + 2 * vecLength) * Integer.BYTES).equal(vfa);
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, b, (i + 2 * vecLength) * Integer.BYTES).equal(vfb));
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, c, (i + 2 * vecLength) * Integer.BYTES).equal(vfc));
+            m2 = m2.and(IntVector.fromByteBuffer(sInt, d, (i + 2 * vecLength) * Integer.BYTES).equal(vfd));
+            Mask m3 = IntVector.fromByteBuffer(sInt, a, (i + 3 * vecLength) * Integer.BYTES).equal(vfa);
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, b, (i + 3 * vecLength) * Integer.BYTES).equal(vfb));
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, c, (i + 3 * vecLength) * Integer.BYTES).equal(vfc));
+            m3 = m3.and(IntVector.fromByteBuffer(sInt, d, (i + 3 * vecLength) * Integer.BYTES).equal(vfd));
+            Mask m4 = IntVector.fromByteBuffer(sInt, a, (i + 4 * vecLength) * Integer.BYTES).equal(vfa);
+            m4 = m4.and(IntVector.fromByteBuffer(sInt, b, (i + 4 * vecLength) * Integer.BYTES).equal(vfb));
+            m4 = m4.and(IntVector.fromByteBuffer(sInt, c, (i + 4 * vecLength) * Integer.BYTES).equal(vfc));
+            m4 = m4.and(IntVector.fromByteBuffer(sInt, d, (i + 4 * vecLength) * Integer.BYTES).equal(vfd));
+            Mask m5 = IntVector.fromByteBuffer(sInt, a, (i + 5 * vecLength) * Integer.BYTES).equal(vfa);
+            m5 = m5.and(IntVector.fromByteBuffer(sInt, b, (i + 5 * vecLength) * Integer.BYTES).equal(vfb));
+            m5 = m5.and(IntVector.fromByteBuffer(sInt, c, (i + 5 * vecLength) * Integer.BYTES).equal(vfc));
+            m5 = m5.and(IntVector.fromByteBuffer(sInt, d, (i + 5 * vecLength) * Integer.BYTES).equal(vfd));
+            Mask m6 = IntVector.fromByteBuffer(sInt, a, (i + 6 * vecLength) * Integer.BYTES).equal(vfa);
+            m6 = m6.and(IntVector.fromByteBuffer(sInt, b, (i + 6 * vecLength) * Integer.BYTES).equal(vfb));
+            m6 = m6.and(IntVector.fromByteBuffer(sInt, c, (i + 6 * vecLength) * Integer.BYTES).equal(vfc));
+            m6 = m6.and(IntVector.fromByteBuffer(sInt, d, (i + 6 * vecLength) * Integer.BYTES).equal(vfd));
+            Mask m7 = IntVector.fromByteBuffer(sInt, a, (i + 7 * vecLength) * Integer.BYTES).equal(vfa);
+            m7 = m7.and(IntVector.fromByteBuffer(sInt, b, (i + 7 * vecLength) * Integer.BYTES).equal(vfb));
+            m7 = m7.and(IntVector.fromByteBuffer(sInt, c, (i + 7 * vecLength) * Integer.BYTES).equal(vfc));
+            m7 = m7.and(IntVector.fromByteBuffer(sInt, d, (i + 7 * vecLength) * Integer.BYTES).equal(vfd));
+            vs0 = IntVector.fromByteBuffer(sInt, e, i * Integer.BYTES, m0).add(vs0);
+            vs1 = IntVector.fromByteBuffer(sInt, e, (i + vecLength) * Integer.BYTES, m1).add(vs1);
+            vs2 = IntVector.fromByteBuffer(sInt, e, (i + 2 * vecLength) * Integer.BYTES, m2).add(vs2);
+            vs3 = IntVector.fromByteBuffer(sInt, e, (i + 3 * vecLength) * Integer.BYTES, m3).add(vs3);
+            vs4 = IntVector.fromByteBuffer(sInt, e, (i + 4 * vecLength) * Integer.BYTES, m4).add(vs4);
+            vs5 = IntVector.fromByteBuffer(sInt, e, (i + 5 * vecLength) * Integer.BYTES, m5).add(vs5);
+            vs6 = IntVector.fromByteBuffer(sInt, e, (i + 6 * vecLength) * Integer.BYTES, m6).add(vs6);
+            vs7 = IntVector.fromByteBuffer(sInt, e, (i + 7 * vecLength) * Integer.BYTES, m7).add(vs7);
+        }
+        return vs0.add(vs1).add(vs2.add(vs3)).add(vs4.add(vs5).add(vs6.add(vs7))).addAll() + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i, to);
+    }
+}
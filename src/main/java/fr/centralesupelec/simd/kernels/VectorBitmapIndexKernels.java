@@ -0,0 +1,136 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.sInt;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecLength;
+
+/**
+ * Bitmaps are combined with {@link LongVector} AND/OR. Sums expand every non-empty bitmap word into int lane masks
+ * and add the whole measure vectors under them; the last word, which may not cover whole vectors, goes through the
+ * scalar loop. The API has no lane-wise popcount, so counts are left to {@link Long#bitCount}.
+ */
+@SuppressWarnings("unchecked")
+public class VectorBitmapIndexKernels extends ScalarBitmapIndexKernels {
+
+    static final LongVector.LongSpecies sLong = LongVector.preferredSpecies();
+    static final int longLength = sLong.length();
+
+    /** 1 << lane in each lane, to test the bits of a word against the lanes */
+    private static final IntVector LANE_BITS;
+    static {
+        int[] bits = new int[vecLength];
+        for (int j = 0; j < bits.length; j++) {
+            bits[j] = 1 << j;
+        }
+        LANE_BITS = IntVector.fromArray(sInt, bits, 0);
+    }
+
+    private static int loopBound(int length) {
+        return length & ~(longLength - 1);
+    }
+
+    @Override
+    public void and2(long[] x, long[] y, long[] r) {
+        int i = 0;
+        for (; i < loopBound(r.length); i += longLength) {
+            LongVector vx = LongVector.fromArray(sLong, x, i);
+            LongVector vy = LongVector.fromArray(sLong, y, i);
+            vx.and(vy).intoArray(r, i);
+        }
+        for (; i < r.length; ++i) {
+            r[i] = x[i] & y[i];
+        }
+    }
+
+    @Override
+    public void and4(long[] x, long[] y, long[] z, long[] t, long[] r) {
+        int i = 0;
+        for (; i < loopBound(r.length); i += longLength) {
+            LongVector vx = LongVector.fromArray(sLong, x, i);
+            LongVector vy = LongVector.fromArray(sLong, y, i);
+            LongVector vz = LongVector.fromArray(sLong, z, i);
+            LongVector vt = LongVector.fromArray(sLong, t, i);
+            vx.and(vy).and(vz).and(vt).intoArray(r, i);
+        }
+        for (; i < r.length; ++i) {
+            r[i] = x[i] & y[i] & z[i] & t[i];
+        }
+    }
+
+    @Override
+    public void or2(long[] x, long[] y, long[] r) {
+        int i = 0;
+        for (; i < loopBound(r.length); i += longLength) {
+            LongVector vx = LongVector.fromArray(sLong, x, i);
+            LongVector vy = LongVector.fromArray(sLong, y, i);
+            vx.or(vy).intoArray(r, i);
+        }
+        for (; i < r.length; ++i) {
+            r[i] = x[i] | y[i];
+        }
+    }
+
+    @Override
+    public void or4(long[] x, long[] y, long[] z, long[] t, long[] r) {
+        int i = 0;
+        for (; i < loopBound(r.length); i += longLength) {
+            LongVector vx = LongVector.fromArray(sLong, x, i);
+            LongVector vy = LongVector.fromArray(sLong, y, i);
+            LongVector vz = LongVector.fromArray(sLong, z, i);
+            LongVector vt = LongVector.fromArray(sLong, t, i);
+            vx.or(vy).or(vz).or(vt).intoArray(r, i);
+        }
+        for (; i < r.length; ++i) {
+            r[i] = x[i] | y[i] | z[i] | t[i];
+        }
+    }
+
+    @Override
+    public long sum(long[] bitmap, int[] c) {
+        IntVector vs = sInt.zero();
+        int words = c.length / Long.SIZE;
+        for (int w = 0; w < words; ++w) {
+            long word = bitmap[w];
+            if(word == 0) {
+                continue;
+            }
+            int row = w * Long.SIZE;
+            for (int j = 0; j < Long.SIZE; j += vecLength) {
+                Mask m = sInt.broadcast((int) (word >>> j)).and(LANE_BITS).equal(LANE_BITS);
+                vs = vs.add(IntVector.fromArray(sInt, c, row + j), m);
+            }
+        }
+        long sum = vs.addAll();
+        for (int w = words; w < bitmap.length; ++w) {
+            sum += sum(bitmap[w], c, w * Long.SIZE);
+        }
+        return sum;
+    }
+
+    @Override
+    public long sum(long[] bitmap, ByteBuffer c) {
+        IntVector vs = sInt.zero();
+        int words = c.limit() / Integer.BYTES / Long.SIZE;
+        for (int w = 0; w < words; ++w) {
+            long word = bitmap[w];
+            if(word == 0) {
+                continue;
+            }
+            int row = w * Long.SIZE;
+            for (int j = 0; j < Long.SIZE; j += vecLength) {
+                Mask m = sInt.broadcast((int) (word >>> j)).and(LANE_BITS).equal(LANE_BITS);
+                vs = vs.add(IntVector.fromByteBuffer(sInt, c, (row + j) * Integer.BYTES), m);
+            }
+        }
+        long sum = vs.addAll();
+        for (int w = words; w < bitmap.length; ++w) {
+            sum += sum(bitmap[w], c, w * Long.SIZE);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,354 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Explicit SIMD kernels on an int species, the preferred one by default.
+ * The main loop stops at the last multiple of the species length, the remaining rows go through a scalar epilogue.
+ * <p>
+ * The species is an instance field, so the vector operations are only intrinsified once profiling has seen a single
+ * species: use one species per JVM.
+ */
+@SuppressWarnings("unchecked")
+public class VectorIntColumnKernels implements IntColumnKernels {
+
+    final IntVector.IntSpecies sInt;
+    final int vecLength;
+    final int vecBytes;
+
+    public VectorIntColumnKernels() {
+        this(PreferredSpecies.sInt);
+    }
+
+    public VectorIntColumnKernels(IntVector.IntSpecies species) {
+        this.sInt = species;
+        this.vecLength = species.length();
+        this.vecBytes = species.bitSize() / Byte.SIZE;
+    }
+
+    public IntVector.IntSpecies species() {
+        return sInt;
+    }
+
+    /** end of the rows of [from, to) covered by whole vectors */
+    int loopBound(int from, int to) {
+        return from + ((to - from) & ~(vecLength - 1));
+    }
+
+    @Override
+    public int sum(int[] a, int from, int to) {
+        IntVector vs = sInt.zero();
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            vs = vs.add(va);
+        }
+        int sum = vs.addAll();
+        for (; i < to; ++i) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int sum(ByteBuffer a, int from, int to) {
+        IntVector vs = sInt.zero();
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            vs = vs.add(va);
+        }
+        int sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            sum += a.getInt(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] c, int from, int to) {
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            IntVector vb = IntVector.fromArray(sInt, b, i);
+            va.add(vb).intoArray(c, i);
+        }
+        for (; i < to; ++i) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, i);
+            va.add(vb).intoByteBuffer(c, i);
+        }
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            c.putInt(i, a.getInt(i) + b.getInt(i));
+        }
+    }
+
+    @Override
+    public void mul(int[] a, int[] b, int[] c, int from, int to) {
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            IntVector vb = IntVector.fromArray(sInt, b, i);
+            va.mul(vb).intoArray(c, i);
+        }
+        for (; i < to; ++i) {
+            c[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    public void mul(ByteBuffer a, ByteBuffer b, ByteBuffer c, int from, int to) {
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, i);
+            va.mul(vb).intoByteBuffer(c, i);
+        }
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            c.putInt(i, a.getInt(i) * b.getInt(i));
+        }
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(a[i] == fa) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            Mask m = IntVector.fromByteBuffer(sInt, a, i).equal(vfa);
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            int v = a[i];
+            if(v == fa || v == fb) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            if(v == fa || v == fb) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.or(va.equal(vfc));
+            m = m.or(va.equal(vfd));
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            int v = a[i];
+            if(v == fa || v == fb || v == fc || v == fd) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = va.equal(vfa);
+            m = m.or(va.equal(vfb));
+            m = m.or(va.equal(vfc));
+            m = m.or(va.equal(vfd));
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            if(v == fa || v == fb || v == fc || v == fd) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector v = IntVector.fromArray(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromArray(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            vs = IntVector.fromArray(sInt, c, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb) {
+                sum += c[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector v = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromByteBuffer(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            vs = IntVector.fromByteBuffer(sInt, c, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa && b.getInt(i) == fb) {
+                sum += c.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector v = IntVector.fromArray(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromArray(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            v = IntVector.fromArray(sInt, c, i);
+            m = m.and(v.equal(vfc));
+            v = IntVector.fromArray(sInt, d, i);
+            m = m.and(v.equal(vfd));
+            vs = IntVector.fromArray(sInt, e, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb && c[i] == fc && d[i] == fd) {
+                sum += e[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector v = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = v.equal(vfa);
+            v = IntVector.fromByteBuffer(sInt, b, i);
+            m = m.and(v.equal(vfb));
+            v = IntVector.fromByteBuffer(sInt, c, i);
+            m = m.and(v.equal(vfc));
+            v = IntVector.fromByteBuffer(sInt, d, i);
+            m = m.and(v.equal(vfd));
+            vs = IntVector.fromByteBuffer(sInt, e, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) == fa && b.getInt(i) == fb && c.getInt(i) == fc && d.getInt(i) == fd) {
+                sum += e.getInt(i);
+            }
+        }
+        return sum;
+    }
+}
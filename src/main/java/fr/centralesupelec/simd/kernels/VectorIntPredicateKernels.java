@@ -0,0 +1,303 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.loopBound;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.sInt;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecBytes;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecLength;
+
+/**
+ * Range predicates as lessThan / greaterThan masks. IN-lists are tested according to their {@link IntInList.Kind}:
+ * <ul>
+ * <li>CHAINED: one equal mask per value, or-ed, the list padded with its first value to 1, 2, 4 or 8 compares so
+ * that the loop is unswitched on a small number of cases.</li>
+ * <li>TABLE: the values minus the list minimum index the lookup table, through a gather, and the all-ones /
+ * all-zeros ints gathered mask the summed column; values out of the list range index the last, zero, int.</li>
+ * <li>SEARCH: no SIMD, as {@link ScalarIntPredicateKernels}.</li>
+ * </ul>
+ */
+@SuppressWarnings("unchecked")
+public class VectorIntPredicateKernels implements IntPredicateKernels {
+
+    @Override
+    public long filterSumLessThan(int[] a, int fa, int[] b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromArray(sInt, a, i).lessThan(vfa);
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(a[i] < fa) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumLessThan(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            Mask m = IntVector.fromByteBuffer(sInt, a, i).lessThan(vfa);
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) < fa) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumGreaterThan(int[] a, int fa, int[] b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromArray(sInt, a, i).greaterThan(vfa);
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(a[i] > fa) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumGreaterThan(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            Mask m = IntVector.fromByteBuffer(sInt, a, i).greaterThan(vfa);
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(a.getInt(i) > fa) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumBetween(int[] a, int lo, int hi, int[] b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vlo = sInt.broadcast(lo);
+        IntVector vhi = sInt.broadcast(hi);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask m = va.lessThan(vlo).or(va.greaterThan(vhi)).not();
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            int v = a[i];
+            if(v >= lo && v <= hi) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public long filterSumBetween(ByteBuffer a, int lo, int hi, ByteBuffer b, int from, int to) {
+        IntVector vs = sInt.zero();
+        IntVector vlo = sInt.broadcast(lo);
+        IntVector vhi = sInt.broadcast(hi);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = va.lessThan(vlo).or(va.greaterThan(vhi)).not();
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            int v = a.getInt(i);
+            if(v >= lo && v <= hi) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    /** the values of a chained list, padded with the first one to 1, 2, 4 or 8 values */
+    private static int[] padded(IntInList list) {
+        int[] values = list.values();
+        int n = 1;
+        while (n < values.length) {
+            n *= 2;
+        }
+        int[] r = new int[n];
+        for (int j = 0; j < n; j++) {
+            r[j] = values[j < values.length ? j : 0];
+        }
+        return r;
+    }
+
+    @Override
+    public long filterSumIn(int[] a, IntInList list, int[] b, int from, int to) {
+        if(list.size() == 0) {
+            return 0;
+        }
+        switch (list.kind()) {
+            case CHAINED:
+                return filterSumInChained(a, list, b, from, to);
+            case TABLE:
+                return filterSumInTable(a, list, b, from, to);
+            default:
+                return SCALAR.filterSumIn(a, list, b, from, to);
+        }
+    }
+
+    @Override
+    public long filterSumIn(ByteBuffer a, IntInList list, ByteBuffer b, int from, int to) {
+        if(list.size() == 0) {
+            return 0;
+        }
+        switch (list.kind()) {
+            case CHAINED:
+                return filterSumInChained(a, list, b, from, to);
+            case TABLE:
+                return filterSumInTable(a, list, b, from, to);
+            default:
+                return SCALAR.filterSumIn(a, list, b, from, to);
+        }
+    }
+
+    private static long filterSumInChained(int[] a, IntInList list, int[] b, int from, int to) {
+        int[] f = padded(list);
+        int n = f.length;
+        IntVector vs = sInt.zero();
+        IntVector v0 = sInt.broadcast(f[0]);
+        IntVector v1 = sInt.broadcast(f[n > 1 ? 1 : 0]);
+        IntVector v2 = sInt.broadcast(f[n > 2 ? 2 : 0]);
+        IntVector v3 = sInt.broadcast(f[n > 2 ? 3 : 0]);
+        IntVector v4 = sInt.broadcast(f[n > 4 ? 4 : 0]);
+        IntVector v5 = sInt.broadcast(f[n > 4 ? 5 : 0]);
+        IntVector v6 = sInt.broadcast(f[n > 4 ? 6 : 0]);
+        IntVector v7 = sInt.broadcast(f[n > 4 ? 7 : 0]);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask m = va.equal(v0);
+            if(n > 1) {
+                m = m.or(va.equal(v1));
+            }
+            if(n > 2) {
+                m = m.or(va.equal(v2)).or(va.equal(v3));
+            }
+            if(n > 4) {
+                m = m.or(va.equal(v4)).or(va.equal(v5)).or(va.equal(v6)).or(va.equal(v7));
+            }
+            vs = IntVector.fromArray(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(list.contains(a[i])) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    private static long filterSumInChained(ByteBuffer a, IntInList list, ByteBuffer b, int from, int to) {
+        int[] f = padded(list);
+        int n = f.length;
+        IntVector vs = sInt.zero();
+        IntVector v0 = sInt.broadcast(f[0]);
+        IntVector v1 = sInt.broadcast(f[n > 1 ? 1 : 0]);
+        IntVector v2 = sInt.broadcast(f[n > 2 ? 2 : 0]);
+        IntVector v3 = sInt.broadcast(f[n > 2 ? 3 : 0]);
+        IntVector v4 = sInt.broadcast(f[n > 4 ? 4 : 0]);
+        IntVector v5 = sInt.broadcast(f[n > 4 ? 5 : 0]);
+        IntVector v6 = sInt.broadcast(f[n > 4 ? 6 : 0]);
+        IntVector v7 = sInt.broadcast(f[n > 4 ? 7 : 0]);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            Mask m = va.equal(v0);
+            if(n > 1) {
+                m = m.or(va.equal(v1));
+            }
+            if(n > 2) {
+                m = m.or(va.equal(v2)).or(va.equal(v3));
+            }
+            if(n > 4) {
+                m = m.or(va.equal(v4)).or(va.equal(v5)).or(va.equal(v6)).or(va.equal(v7));
+            }
+            vs = IntVector.fromByteBuffer(sInt, b, i, m).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(list.contains(a.getInt(i))) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+
+    private static long filterSumInTable(int[] a, IntInList list, int[] b, int from, int to) {
+        int[] table = list.table();
+        int[] indexes = new int[vecLength];
+        IntVector vs = sInt.zero();
+        IntVector vmin = sInt.broadcast(list.min());
+        IntVector vmax = sInt.broadcast(list.max());
+        IntVector vout = sInt.broadcast(table.length - 1);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask out = va.lessThan(vmin).or(va.greaterThan(vmax));
+            va.sub(vmin).blend(vout, out).intoArray(indexes, 0);
+            IntVector vt = IntVector.fromArray(sInt, table, 0, indexes, 0);
+            vs = IntVector.fromArray(sInt, b, i).and(vt).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to; ++i) {
+            if(list.contains(a[i])) {
+                sum += b[i];
+            }
+        }
+        return sum;
+    }
+
+    private static long filterSumInTable(ByteBuffer a, IntInList list, ByteBuffer b, int from, int to) {
+        int[] table = list.table();
+        int[] indexes = new int[vecLength];
+        IntVector vs = sInt.zero();
+        IntVector vmin = sInt.broadcast(list.min());
+        IntVector vmax = sInt.broadcast(list.max());
+        IntVector vout = sInt.broadcast(table.length - 1);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            Mask out = va.lessThan(vmin).or(va.greaterThan(vmax));
+            va.sub(vmin).blend(vout, out).intoArray(indexes, 0);
+            IntVector vt = IntVector.fromArray(sInt, table, 0, indexes, 0);
+            vs = IntVector.fromByteBuffer(sInt, b, i).and(vt).add(vs);
+        }
+        long sum = vs.addAll();
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            if(list.contains(a.getInt(i))) {
+                sum += b.getInt(i);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,269 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.loopBound;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.sInt;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecLength;
+
+/**
+ * Predicates are evaluated on whole vectors, the resulting mask is packed in a long:
+ * bitmaps shift it into place, selection vectors enumerate its set bits.
+ */
+@SuppressWarnings("unchecked")
+public class VectorIntSelectionKernels implements IntSelectionKernels {
+
+    /** appends row + the index of every bit set in bits to sel[n..], returns the new length */
+    private static int positions(long bits, int row, int[] sel, int n) {
+        while (bits != 0) {
+            sel[n++] = row + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+        }
+        return n;
+    }
+
+    @Override
+    public int select(int[] a, int fa, int[] sel, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        int n = 0;
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+            n = positions(m.toLong(), i, sel, n);
+        }
+        for (; i < to; ++i) {
+            if(a[i] == fa) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int select(ByteBuffer a, int fa, int[] sel, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        int n = 0;
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            n = positions(m.toLong(), i, sel, n);
+        }
+        for (; i < to; ++i) {
+            if(a.getInt(i * Integer.BYTES) == fa) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectOr2(int[] a, int fa, int fb, int[] sel, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int n = 0;
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            Mask m = va.equal(vfa).or(va.equal(vfb));
+            n = positions(m.toLong(), i, sel, n);
+        }
+        for (; i < to; ++i) {
+            int v = a[i];
+            if(v == fa || v == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectOr2(ByteBuffer a, int fa, int fb, int[] sel, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int n = 0;
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+            Mask m = va.equal(vfa).or(va.equal(vfb));
+            n = positions(m.toLong(), i, sel, n);
+        }
+        for (; i < to; ++i) {
+            int v = a.getInt(i * Integer.BYTES);
+            if(v == fa || v == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectAnd2(int[] a, int fa, int[] b, int fb, int[] sel, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int n = 0;
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+            m = m.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+            n = positions(m.toLong(), i, sel, n);
+        }
+        for (; i < to; ++i) {
+            if(a[i] == fa && b[i] == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int selectAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, int[] sel, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        int n = 0;
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            Mask m = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+            m = m.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+            n = positions(m.toLong(), i, sel, n);
+        }
+        for (; i < to; ++i) {
+            if(a.getInt(i * Integer.BYTES) == fa && b.getInt(i * Integer.BYTES) == fb) {
+                sel[n++] = i;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void bitmap(int[] a, int fa, long[] bitmap, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            int i = w;
+            for (; i < loopBound(w, end); i += vecLength) {
+                Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+                word |= m.toLong() << (i - w);
+            }
+            for (; i < end; ++i) {
+                if(a[i] == fa) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmap(ByteBuffer a, int fa, long[] bitmap, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            int i = w;
+            for (; i < loopBound(w, end); i += vecLength) {
+                Mask m = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+                word |= m.toLong() << (i - w);
+            }
+            for (; i < end; ++i) {
+                if(a.getInt(i * Integer.BYTES) == fa) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapOr2(int[] a, int fa, int fb, long[] bitmap, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            int i = w;
+            for (; i < loopBound(w, end); i += vecLength) {
+                IntVector va = IntVector.fromArray(sInt, a, i);
+                Mask m = va.equal(vfa).or(va.equal(vfb));
+                word |= m.toLong() << (i - w);
+            }
+            for (; i < end; ++i) {
+                int v = a[i];
+                if(v == fa || v == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapOr2(ByteBuffer a, int fa, int fb, long[] bitmap, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            int i = w;
+            for (; i < loopBound(w, end); i += vecLength) {
+                IntVector va = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES);
+                Mask m = va.equal(vfa).or(va.equal(vfb));
+                word |= m.toLong() << (i - w);
+            }
+            for (; i < end; ++i) {
+                int v = a.getInt(i * Integer.BYTES);
+                if(v == fa || v == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapAnd2(int[] a, int fa, int[] b, int fb, long[] bitmap, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            int i = w;
+            for (; i < loopBound(w, end); i += vecLength) {
+                Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+                m = m.and(IntVector.fromArray(sInt, b, i).equal(vfb));
+                word |= m.toLong() << (i - w);
+            }
+            for (; i < end; ++i) {
+                if(a[i] == fa && b[i] == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+
+    @Override
+    public void bitmapAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, long[] bitmap, int from, int to) {
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        for (int w = from; w < to; w += Long.SIZE) {
+            int end = Math.min(to, w + Long.SIZE);
+            long word = 0;
+            int i = w;
+            for (; i < loopBound(w, end); i += vecLength) {
+                Mask m = IntVector.fromByteBuffer(sInt, a, i * Integer.BYTES).equal(vfa);
+                m = m.and(IntVector.fromByteBuffer(sInt, b, i * Integer.BYTES).equal(vfb));
+                word |= m.toLong() << (i - w);
+            }
+            for (; i < end; ++i) {
+                if(a.getInt(i * Integer.BYTES) == fa && b.getInt(i * Integer.BYTES) == fb) {
+                    word |= 1L << (i - w);
+                }
+            }
+            bitmap[w / Long.SIZE] = word;
+        }
+    }
+}
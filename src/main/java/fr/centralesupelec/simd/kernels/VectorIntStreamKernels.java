@@ -0,0 +1,116 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+
+import java.nio.ByteBuffer;
+
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.loopBound;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.sInt;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecBytes;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecLength;
+
+/**
+ * Explicit SIMD kernels on the preferred int species, with a scalar epilogue.
+ */
+public class VectorIntStreamKernels implements IntStreamKernels {
+
+    @Override
+    public void copy(int[] a, int[] r, int from, int to) {
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector.fromArray(sInt, a, i).intoArray(r, i);
+        }
+        for (; i < to; ++i) {
+            r[i] = a[i];
+        }
+    }
+
+    @Override
+    public void copy(ByteBuffer a, ByteBuffer r, int from, int to) {
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector.fromByteBuffer(sInt, a, i).intoByteBuffer(r, i);
+        }
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, a.getInt(i));
+        }
+    }
+
+    @Override
+    public void scale(int[] a, int s, int[] r, int from, int to) {
+        IntVector vs = sInt.broadcast(s);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector.fromArray(sInt, a, i).mul(vs).intoArray(r, i);
+        }
+        for (; i < to; ++i) {
+            r[i] = s * a[i];
+        }
+    }
+
+    @Override
+    public void scale(ByteBuffer a, int s, ByteBuffer r, int from, int to) {
+        IntVector vs = sInt.broadcast(s);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector.fromByteBuffer(sInt, a, i).mul(vs).intoByteBuffer(r, i);
+        }
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, s * a.getInt(i));
+        }
+    }
+
+    @Override
+    public void add(int[] a, int[] b, int[] r, int from, int to) {
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            IntVector vb = IntVector.fromArray(sInt, b, i);
+            va.add(vb).intoArray(r, i);
+        }
+        for (; i < to; ++i) {
+            r[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void add(ByteBuffer a, ByteBuffer b, ByteBuffer r, int from, int to) {
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, i);
+            va.add(vb).intoByteBuffer(r, i);
+        }
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, a.getInt(i) + b.getInt(i));
+        }
+    }
+
+    @Override
+    public void triad(int[] a, int s, int[] b, int[] r, int from, int to) {
+        IntVector vs = sInt.broadcast(s);
+        int i = from;
+        for (; i < loopBound(from, to); i += vecLength) {
+            IntVector va = IntVector.fromArray(sInt, a, i);
+            IntVector vb = IntVector.fromArray(sInt, b, i);
+            va.add(vb.mul(vs)).intoArray(r, i);
+        }
+        for (; i < to; ++i) {
+            r[i] = a[i] + s * b[i];
+        }
+    }
+
+    @Override
+    public void triad(ByteBuffer a, int s, ByteBuffer b, ByteBuffer r, int from, int to) {
+        IntVector vs = sInt.broadcast(s);
+        int i = from * Integer.BYTES;
+        for (; i < loopBound(from, to) * Integer.BYTES; i += vecBytes) {
+            IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+            IntVector vb = IntVector.fromByteBuffer(sInt, b, i);
+            va.add(vb.mul(vs)).intoByteBuffer(r, i);
+        }
+        for (; i < to * Integer.BYTES; i += Integer.BYTES) {
+            r.putInt(i, a.getInt(i) + s * b.getInt(i));
+        }
+    }
+}
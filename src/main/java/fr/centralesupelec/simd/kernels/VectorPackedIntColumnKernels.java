@@ -0,0 +1,108 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import static fr.centralesupelec.simd.kernels.PackedIntColumn.BLOCK;
+import static fr.centralesupelec.simd.kernels.PackedIntColumn.LANES;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.sInt;
+import static fr.centralesupelec.simd.kernels.PreferredSpecies.vecLength;
+
+/**
+ * Unpacks vecLength consecutive codes with one or two word loads, uniform shifts and a mask, then compares and sums
+ * them as int lanes. Whole blocks go through the vector loop, the rows of the last partial block are decoded one by one.
+ */
+@SuppressWarnings("unchecked")
+public class VectorPackedIntColumnKernels implements PackedIntColumnKernels {
+
+    /** codes k of the streams starting at word offset {@code base} (block base + first stream) */
+    private static IntVector unpack(int[] words, int bits, IntVector mask, int base, int k) {
+        int bit = k * bits;
+        int shift = bit & (Integer.SIZE - 1);
+        int word = base + (bit >>> 5) * LANES;
+        IntVector v = IntVector.fromArray(sInt, words, word).shiftR(shift);
+        if(shift + bits > Integer.SIZE) {
+            v = v.or(IntVector.fromArray(sInt, words, word + LANES).shiftL(Integer.SIZE - shift));
+        }
+        return v.and(mask);
+    }
+
+    @Override
+    public int filter(PackedIntColumn a, int fa) {
+        int ca = a.codeOf(fa);
+        IntVector vca = sInt.broadcast(ca);
+        IntVector ma = sInt.broadcast(a.mask());
+        int[] wa = a.words();
+        int blocks = a.rows() / BLOCK;
+        int count = 0;
+        for (int block = 0; block < blocks; ++block) {
+            for (int l = 0; l < LANES; l += vecLength) {
+                int ba = block * a.bits() * LANES + l;
+                for (int k = 0; k < Integer.SIZE; ++k) {
+                    Mask m = unpack(wa, a.bits(), ma, ba, k).equal(vca);
+                    count += m.trueCount();
+                }
+            }
+        }
+        return count + ScalarPackedIntColumnKernels.filter(a, ca, blocks * BLOCK, a.rows());
+    }
+
+    @Override
+    public long filterSum(PackedIntColumn a, int fa, PackedIntColumn b) {
+        ScalarPackedIntColumnKernels.checkMeasure(b);
+        int ca = a.codeOf(fa);
+        IntVector vca = sInt.broadcast(ca);
+        IntVector ma = sInt.broadcast(a.mask());
+        IntVector mb = sInt.broadcast(b.mask());
+        int[] wa = a.words();
+        int[] wb = b.words();
+        int blocks = a.rows() / BLOCK;
+        IntVector vs = sInt.zero();
+        for (int block = 0; block < blocks; ++block) {
+            for (int l = 0; l < LANES; l += vecLength) {
+                int ba = block * a.bits() * LANES + l;
+                int bb = block * b.bits() * LANES + l;
+                for (int k = 0; k < Integer.SIZE; ++k) {
+                    Mask m = unpack(wa, a.bits(), ma, ba, k).equal(vca);
+                    vs = vs.add(unpack(wb, b.bits(), mb, bb, k), m);
+                }
+            }
+        }
+        return vs.addAll() + ScalarPackedIntColumnKernels.filterSum(a, ca, b, blocks * BLOCK, a.rows());
+    }
+
+    @Override
+    public long filterSumAnd4(PackedIntColumn a, int fa, PackedIntColumn b, int fb, PackedIntColumn c, int fc, PackedIntColumn d, int fd, PackedIntColumn e) {
+        ScalarPackedIntColumnKernels.checkMeasure(e);
+        int ca = a.codeOf(fa), cb = b.codeOf(fb), cc = c.codeOf(fc), cd = d.codeOf(fd);
+        IntVector vca = sInt.broadcast(ca);
+        IntVector vcb = sInt.broadcast(cb);
+        IntVector vcc = sInt.broadcast(cc);
+        IntVector vcd = sInt.broadcast(cd);
+        IntVector ma = sInt.broadcast(a.mask());
+        IntVector mb = sInt.broadcast(b.mask());
+        IntVector mc = sInt.broadcast(c.mask());
+        IntVector md = sInt.broadcast(d.mask());
+        IntVector me = sInt.broadcast(e.mask());
+        int[] wa = a.words(), wb = b.words(), wc = c.words(), wd = d.words(), we = e.words();
+        int blocks = a.rows() / BLOCK;
+        IntVector vs = sInt.zero();
+        for (int block = 0; block < blocks; ++block) {
+            for (int l = 0; l < LANES; l += vecLength) {
+                int ba = block * a.bits() * LANES + l;
+                int bb = block * b.bits() * LANES + l;
+                int bc = block * c.bits() * LANES + l;
+                int bd = block * d.bits() * LANES + l;
+                int be = block * e.bits() * LANES + l;
+                for (int k = 0; k < Integer.SIZE; ++k) {
+                    Mask m = unpack(wa, a.bits(), ma, ba, k).equal(vca);
+                    m = m.and(unpack(wb, b.bits(), mb, bb, k).equal(vcb));
+                    m = m.and(unpack(wc, c.bits(), mc, bc, k).equal(vcc));
+                    m = m.and(unpack(wd, d.bits(), md, bd, k).equal(vcd));
+                    vs = vs.add(unpack(we, e.bits(), me, be, k), m);
+                }
+            }
+        }
+        return vs.addAll() + ScalarPackedIntColumnKernels.filterSumAnd4(a, ca, b, cb, c, cc, d, cd, e, blocks * BLOCK, a.rows());
+    }
+}
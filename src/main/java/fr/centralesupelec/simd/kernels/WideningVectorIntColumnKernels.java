@@ -0,0 +1,310 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector.Mask;
+
+import java.nio.ByteBuffer;
+
+/**
+ * filterSum kernels that do not overflow, unlike the int lanes of {@link VectorIntColumnKernels}.
+ * Each selected value is split into its unsigned low 16 bits and its signed high 16 bits, accumulated in two
+ * separate int vectors. These cannot overflow for {@link #SPILL_ROWS} rows, after which they are spilled into a long.
+ */
+@SuppressWarnings("unchecked")
+public class WideningVectorIntColumnKernels extends VectorIntColumnKernels {
+
+    // every lane of lo stays below 2^15 * (2^16 - 1), and so does the sum of all lanes
+    static final int SPILL_ROWS = 1 << 15;
+    private final IntVector low;
+
+    public WideningVectorIntColumnKernels() {
+        low = sInt.broadcast(0xFFFF);
+    }
+
+    public WideningVectorIntColumnKernels(IntVector.IntSpecies species) {
+        super(species);
+        low = sInt.broadcast(0xFFFF);
+    }
+
+    private static long spill(IntVector lo, IntVector hi) {
+        return lo.addAll() + ((long) hi.addAll() << Short.SIZE);
+    }
+
+    @Override
+    public long filterSum(int[] a, int fa, int[] b, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        long sum = 0;
+        int i = from;
+        int bound = loopBound(from, to);
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS ? i + SPILL_ROWS : bound;
+            for (; i < blockEnd; i += vecLength) {
+                Mask m = IntVector.fromArray(sInt, a, i).equal(vfa);
+                IntVector vm = IntVector.fromArray(sInt, b, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSum(a, fa, b, i, to);
+    }
+
+    @Override
+    public long filterSum(ByteBuffer a, int fa, ByteBuffer b, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        long sum = 0;
+        int i = from * Integer.BYTES;
+        int bound = loopBound(from, to) * Integer.BYTES;
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS * Integer.BYTES ? i + SPILL_ROWS * Integer.BYTES : bound;
+            for (; i < blockEnd; i += vecBytes) {
+                Mask m = IntVector.fromByteBuffer(sInt, a, i).equal(vfa);
+                IntVector vm = IntVector.fromByteBuffer(sInt, b, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSum(a, fa, b, i / Integer.BYTES, to);
+    }
+
+    @Override
+    public long filterSumOr2(int[] a, int fa, int fb, int[] b, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        long sum = 0;
+        int i = from;
+        int bound = loopBound(from, to);
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS ? i + SPILL_ROWS : bound;
+            for (; i < blockEnd; i += vecLength) {
+                IntVector va = IntVector.fromArray(sInt, a, i);
+                Mask m = va.equal(vfa);
+                m = m.or(va.equal(vfb));
+                IntVector vm = IntVector.fromArray(sInt, b, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumOr2(a, fa, fb, b, i, to);
+    }
+
+    @Override
+    public long filterSumOr2(ByteBuffer a, int fa, int fb, ByteBuffer b, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        long sum = 0;
+        int i = from * Integer.BYTES;
+        int bound = loopBound(from, to) * Integer.BYTES;
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS * Integer.BYTES ? i + SPILL_ROWS * Integer.BYTES : bound;
+            for (; i < blockEnd; i += vecBytes) {
+                IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+                Mask m = va.equal(vfa);
+                m = m.or(va.equal(vfb));
+                IntVector vm = IntVector.fromByteBuffer(sInt, b, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumOr2(a, fa, fb, b, i / Integer.BYTES, to);
+    }
+
+    @Override
+    public long filterSumOr4(int[] a, int fa, int fb, int fc, int fd, int[] b, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        long sum = 0;
+        int i = from;
+        int bound = loopBound(from, to);
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS ? i + SPILL_ROWS : bound;
+            for (; i < blockEnd; i += vecLength) {
+                IntVector va = IntVector.fromArray(sInt, a, i);
+                Mask m = va.equal(vfa);
+                m = m.or(va.equal(vfb));
+                m = m.or(va.equal(vfc));
+                m = m.or(va.equal(vfd));
+                IntVector vm = IntVector.fromArray(sInt, b, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumOr4(a, fa, fb, fc, fd, b, i, to);
+    }
+
+    @Override
+    public long filterSumOr4(ByteBuffer a, int fa, int fb, int fc, int fd, ByteBuffer b, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        long sum = 0;
+        int i = from * Integer.BYTES;
+        int bound = loopBound(from, to) * Integer.BYTES;
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS * Integer.BYTES ? i + SPILL_ROWS * Integer.BYTES : bound;
+            for (; i < blockEnd; i += vecBytes) {
+                IntVector va = IntVector.fromByteBuffer(sInt, a, i);
+                Mask m = va.equal(vfa);
+                m = m.or(va.equal(vfb));
+                m = m.or(va.equal(vfc));
+                m = m.or(va.equal(vfd));
+                IntVector vm = IntVector.fromByteBuffer(sInt, b, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumOr4(a, fa, fb, fc, fd, b, i / Integer.BYTES, to);
+    }
+
+    @Override
+    public long filterSumAnd2(int[] a, int fa, int[] b, int fb, int[] c, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        long sum = 0;
+        int i = from;
+        int bound = loopBound(from, to);
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS ? i + SPILL_ROWS : bound;
+            for (; i < blockEnd; i += vecLength) {
+                IntVector v = IntVector.fromArray(sInt, a, i);
+                Mask m = v.equal(vfa);
+                v = IntVector.fromArray(sInt, b, i);
+                m = m.and(v.equal(vfb));
+                IntVector vm = IntVector.fromArray(sInt, c, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumAnd2(a, fa, b, fb, c, i, to);
+    }
+
+    @Override
+    public long filterSumAnd2(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        long sum = 0;
+        int i = from * Integer.BYTES;
+        int bound = loopBound(from, to) * Integer.BYTES;
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS * Integer.BYTES ? i + SPILL_ROWS * Integer.BYTES : bound;
+            for (; i < blockEnd; i += vecBytes) {
+                IntVector v = IntVector.fromByteBuffer(sInt, a, i);
+                Mask m = v.equal(vfa);
+                v = IntVector.fromByteBuffer(sInt, b, i);
+                m = m.and(v.equal(vfb));
+                IntVector vm = IntVector.fromByteBuffer(sInt, c, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumAnd2(a, fa, b, fb, c, i / Integer.BYTES, to);
+    }
+
+    @Override
+    public long filterSumAnd4(int[] a, int fa, int[] b, int fb, int[] c, int fc, int[] d, int fd, int[] e, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        long sum = 0;
+        int i = from;
+        int bound = loopBound(from, to);
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS ? i + SPILL_ROWS : bound;
+            for (; i < blockEnd; i += vecLength) {
+                IntVector v = IntVector.fromArray(sInt, a, i);
+                Mask m = v.equal(vfa);
+                v = IntVector.fromArray(sInt, b, i);
+                m = m.and(v.equal(vfb));
+                v = IntVector.fromArray(sInt, c, i);
+                m = m.and(v.equal(vfc));
+                v = IntVector.fromArray(sInt, d, i);
+                m = m.and(v.equal(vfd));
+                IntVector vm = IntVector.fromArray(sInt, e, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i, to);
+    }
+
+    @Override
+    public long filterSumAnd4(ByteBuffer a, int fa, ByteBuffer b, int fb, ByteBuffer c, int fc, ByteBuffer d, int fd, ByteBuffer e, int from, int to) {
+        IntVector lo = sInt.zero();
+        IntVector hi = sInt.zero();
+        IntVector vfa = sInt.broadcast(fa);
+        IntVector vfb = sInt.broadcast(fb);
+        IntVector vfc = sInt.broadcast(fc);
+        IntVector vfd = sInt.broadcast(fd);
+        long sum = 0;
+        int i = from * Integer.BYTES;
+        int bound = loopBound(from, to) * Integer.BYTES;
+        while (i < bound) {
+            int blockEnd = bound - i > SPILL_ROWS * Integer.BYTES ? i + SPILL_ROWS * Integer.BYTES : bound;
+            for (; i < blockEnd; i += vecBytes) {
+                IntVector v = IntVector.fromByteBuffer(sInt, a, i);
+                Mask m = v.equal(vfa);
+                v = IntVector.fromByteBuffer(sInt, b, i);
+                m = m.and(v.equal(vfb));
+                v = IntVector.fromByteBuffer(sInt, c, i);
+                m = m.and(v.equal(vfc));
+                v = IntVector.fromByteBuffer(sInt, d, i);
+                m = m.and(v.equal(vfd));
+                IntVector vm = IntVector.fromByteBuffer(sInt, e, i, m);
+                lo = lo.add(vm.and(low));
+                hi = hi.add(vm.aShiftR(Short.SIZE));
+            }
+            sum += spill(lo, hi);
+            lo = sInt.zero();
+            hi = sInt.zero();
+        }
+        return sum + super.filterSumAnd4(a, fa, b, fb, c, fc, d, fd, e, i / Integer.BYTES, to);
+    }
+}
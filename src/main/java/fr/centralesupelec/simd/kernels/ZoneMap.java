@@ -0,0 +1,93 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Zone map of an int column: the minimum and maximum of every block of {@code blockRows} consecutive rows, the last
+ * block holding the remaining rows. A block whose range excludes a value has no row equal to it, so filters can skip
+ * it without reading the column. Block sizes are multiples of 64 so that blocks cover whole bitmap words.
+ */
+public final class ZoneMap {
+
+    private final int rows;
+    private final int blockRows;
+    private final int[] min;
+    private final int[] max;
+
+    private ZoneMap(int rows, int blockRows) {
+        if(blockRows <= 0 || blockRows % Long.SIZE != 0) {
+            throw new IllegalArgumentException("blockRows must be a positive multiple of 64: " + blockRows);
+        }
+        this.rows = rows;
+        this.blockRows = blockRows;
+        int blocks = (int) (((long) rows + blockRows - 1) / blockRows);
+        this.min = new int[blocks];
+        this.max = new int[blocks];
+    }
+
+    public static ZoneMap build(int[] a, int blockRows) {
+        ZoneMap r = new ZoneMap(a.length, blockRows);
+        for (int block = 0; block < r.min.length; block++) {
+            int lo = Integer.MAX_VALUE;
+            int hi = Integer.MIN_VALUE;
+            for (int i = r.from(block); i < r.to(block); i++) {
+                lo = Math.min(lo, a[i]);
+                hi = Math.max(hi, a[i]);
+            }
+            r.min[block] = lo;
+            r.max[block] = hi;
+        }
+        return r;
+    }
+
+    public static ZoneMap build(ByteBuffer a, int blockRows) {
+        ZoneMap r = new ZoneMap(a.limit() / Integer.BYTES, blockRows);
+        for (int block = 0; block < r.min.length; block++) {
+            int lo = Integer.MAX_VALUE;
+            int hi = Integer.MIN_VALUE;
+            for (int i = r.from(block) * Integer.BYTES; i < r.to(block) * Integer.BYTES; i += Integer.BYTES) {
+                int v = a.getInt(i);
+                lo = Math.min(lo, v);
+                hi = Math.max(hi, v);
+            }
+            r.min[block] = lo;
+            r.max[block] = hi;
+        }
+        return r;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int blockRows() {
+        return blockRows;
+    }
+
+    public int blocks() {
+        return min.length;
+    }
+
+    /** first row of the block */
+    public int from(int block) {
+        return block * blockRows;
+    }
+
+    /** end of the rows of the block, exclusive */
+    public int to(int block) {
+        return (int) Math.min((long) (block + 1) * blockRows, rows);
+    }
+
+    public int min(int block) {
+        return min[block];
+    }
+
+    public int max(int block) {
+        return max[block];
+    }
+
+    /** false if no row of the block can be equal to value */
+    public boolean mayContain(int block, int value) {
+        return min[block] <= value && value <= max[block];
+    }
+}
@@ -0,0 +1,101 @@
+package fr.centralesupelec.simd.kernels;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Filters that consult the {@link ZoneMap} of the filtered column first, and run the wrapped kernels only on the runs
+ * of consecutive blocks that may hold matching rows. Scans of uniformly distributed columns prune nothing and pay one
+ * check per block, sorted or clustered columns skip most blocks without reading them.
+ */
+public final class ZoneMapKernels {
+
+    public static final ZoneMapKernels SCALAR = new ZoneMapKernels(IntColumnKernels.SCALAR, IntSelectionKernels.SCALAR);
+    public static final ZoneMapKernels VECTOR = new ZoneMapKernels(IntColumnKernels.VECTOR, IntSelectionKernels.VECTOR);
+
+    private final IntColumnKernels kernels;
+    private final IntSelectionKernels selection;
+
+    public ZoneMapKernels(IntColumnKernels kernels, IntSelectionKernels selection) {
+        this.kernels = kernels;
+        this.selection = selection;
+    }
+
+    private static void checkRows(ZoneMap zones, int rows) {
+        if(zones.rows() != rows) {
+            throw new IllegalArgumentException("zone map of " + zones.rows() + " rows for a column of " + rows);
+        }
+    }
+
+    /** end of the run of blocks starting at block that may contain value */
+    private static int runEnd(ZoneMap zones, int block, int value) {
+        while (block < zones.blocks() && zones.mayContain(block, value)) {
+            block++;
+        }
+        return block;
+    }
+
+    /** SUM(b) WHERE a = fa, zones being the zone map of a */
+    public long filterSum(ZoneMap zones, int[] a, int fa, int[] b) {
+        checkRows(zones, a.length);
+        long sum = 0;
+        int block = 0;
+        while (block < zones.blocks()) {
+            if(!zones.mayContain(block, fa)) {
+                block++;
+                continue;
+            }
+            int end = runEnd(zones, block, fa);
+            sum += kernels.filterSum(a, fa, b, zones.from(block), zones.to(end - 1));
+            block = end;
+        }
+        return sum;
+    }
+
+    public long filterSum(ZoneMap zones, ByteBuffer a, int fa, ByteBuffer b) {
+        checkRows(zones, a.limit() / Integer.BYTES);
+        long sum = 0;
+        int block = 0;
+        while (block < zones.blocks()) {
+            if(!zones.mayContain(block, fa)) {
+                block++;
+                continue;
+            }
+            int end = runEnd(zones, block, fa);
+            sum += kernels.filterSum(a, fa, b, zones.from(block), zones.to(end - 1));
+            block = end;
+        }
+        return sum;
+    }
+
+    /** rows WHERE a = fa, in the layout of {@link IntSelectionKernels}; the words of pruned blocks are cleared */
+    public void bitmap(ZoneMap zones, int[] a, int fa, long[] bitmap) {
+        checkRows(zones, a.length);
+        int block = 0;
+        while (block < zones.blocks()) {
+            if(!zones.mayContain(block, fa)) {
+                Arrays.fill(bitmap, zones.from(block) / Long.SIZE, IntSelectionKernels.bitmapLength(zones.to(block)), 0L);
+                block++;
+                continue;
+            }
+            int end = runEnd(zones, block, fa);
+            selection.bitmap(a, fa, bitmap, zones.from(block), zones.to(end - 1));
+            block = end;
+        }
+    }
+
+    public void bitmap(ZoneMap zones, ByteBuffer a, int fa, long[] bitmap) {
+        checkRows(zones, a.limit() / Integer.BYTES);
+        int block = 0;
+        while (block < zones.blocks()) {
+            if(!zones.mayContain(block, fa)) {
+                Arrays.fill(bitmap, zones.from(block) / Long.SIZE, IntSelectionKernels.bitmapLength(zones.to(block)), 0L);
+                block++;
+                continue;
+            }
+            int end = runEnd(zones, block, fa);
+            selection.bitmap(a, fa, bitmap, zones.from(block), zones.to(end - 1));
+            block = end;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package fr.centralesupelec.simd.results;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * One metric of one benchmark of a JMH JSON run, for one set of parameters, with the confidence interval JMH computed
+ * at 99.9%. Without error, as after a single iteration, the interval is the score itself.
+ */
+final class BenchmarkResult {
+
+    /** fully qualified benchmark method */
+    final String benchmark;
+    final String mode;
+    final Map<String, String> params;
+    final String unit;
+    final double score;
+    final double low;
+    final double high;
+
+    BenchmarkResult(String benchmark, String mode, Map<String, String> params, String unit, double score, double low, double high) {
+        this.benchmark = benchmark;
+        this.mode = mode;
+        this.params = Collections.unmodifiableMap(new TreeMap<>(params));
+        this.unit = unit;
+        this.score = score;
+        this.low = low;
+        this.high = high;
+    }
+
+    String className() {
+        String type = benchmark.substring(0, Math.max(benchmark.lastIndexOf('.'), 0));
+        return type.substring(type.lastIndexOf('.') + 1);
+    }
+
+    String method() {
+        return benchmark.substring(benchmark.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Times are better when lower, throughputs, rows/ns or GB/s when higher.
+     */
+    boolean lowerIsBetter() {
+        return unit.endsWith("/op");
+    }
+
+    double error() {
+        return (high - low) / 2;
+    }
+
+    /**
+     * "NAME=VALUE" pairs separated by spaces, in name order.
+     */
+    String paramsString() {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            joiner.add(param.getKey() + "=" + param.getValue());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Identifies the same measurement across runs.
+     */
+    String key() {
+        return benchmark + " " + mode + " " + paramsString();
+    }
+
+    /**
+     * Reads the primary metric of every benchmark of a run, or the secondary metric of the given name, skipping the
+     * benchmarks that do not have it.
+     */
+    static List<BenchmarkResult> read(Path json, String metric) throws IOException {
+        Object root;
+        try {
+            root = Json.parse(new String(Files.readAllBytes(json), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(json + ": " + e.getMessage(), e);
+        }
+        if(!(root instanceof List)) {
+            throw new IllegalArgumentException(json + ": not a JMH JSON run");
+        }
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Object item : (List<?>) root) {
+            if(!(item instanceof Map)) {
+                throw new IllegalArgumentException(json + ": not a JMH JSON run");
+            }
+            Map<?, ?> entry = (Map<?, ?>) item;
+            Object benchmark = entry.get("benchmark");
+            if(!(benchmark instanceof String)) {
+                throw new IllegalArgumentException(json + ": benchmark without name");
+            }
+            Object scores = metric == null ? entry.get("primaryMetric") : map(entry.get("secondaryMetrics")).get(metric);
+            if(!(scores instanceof Map)) {
+                continue;
+            }
+            Map<?, ?> primary = (Map<?, ?>) scores;
+            Map<String, String> params = new TreeMap<>();
+            for (Map.Entry<?, ?> param : map(entry.get("params")).entrySet()) {
+                params.put(String.valueOf(param.getKey()), String.valueOf(param.getValue()));
+            }
+            double score = Json.number(primary.get("score"));
+            double low = score;
+            double high = score;
+            Object confidence = primary.get("scoreConfidence");
+            if(confidence instanceof List && ((List<?>) confidence).size() == 2) {
+                double l = Json.number(((List<?>) confidence).get(0));
+                double h = Json.number(((List<?>) confidence).get(1));
+                if(!Double.isNaN(l) && !Double.isNaN(h)) {
+                    low = l;
+                    high = h;
+                }
+            }
+            Object mode = entry.get("mode");
+            Object unit = primary.get("scoreUnit");
+            results.add(new BenchmarkResult((String) benchmark, mode == null ? "" : String.valueOf(mode), params,
+                    unit == null ? "" : String.valueOf(unit), score, low, high));
+        }
+        return results;
+    }
+
+    private static Map<?, ?> map(Object value) {
+        return value instanceof Map ? (Map<?, ?>) value : Collections.emptyMap();
+    }
+}
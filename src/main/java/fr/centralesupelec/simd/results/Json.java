@@ -0,0 +1,214 @@
+package fr.centralesupelec.simd.results;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the JSON written by JMH into maps, lists, strings, doubles, booleans and nulls.
+ * <p>
+ * JMH writes {@code NaN} for the error of a single measurement, either quoted or not depending on the version, so
+ * {@link #number(Object)} takes both and the parser takes the bare {@code NaN}, {@code Infinity} and
+ * {@code -Infinity} tokens.
+ */
+final class Json {
+
+    private final String text;
+    private int position;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.value();
+        json.skipWhitespace();
+        if(json.position != text.length()) {
+            throw json.error("Unexpected trailing characters");
+        }
+        return value;
+    }
+
+    static double number(Object value) {
+        if(value instanceof Double) {
+            return (Double) value;
+        }
+        if(value instanceof String) {
+            try {
+                return Double.parseDouble((String) value);
+            } catch (NumberFormatException e) {
+                // not a number
+            }
+        }
+        return Double.NaN;
+    }
+
+    private Object value() {
+        skipWhitespace();
+        if(position == text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(position);
+        switch (c) {
+            case '{':
+                return object();
+            case '[':
+                return array();
+            case '"':
+                return string();
+            case 't':
+                return literal("true", Boolean.TRUE);
+            case 'f':
+                return literal("false", Boolean.FALSE);
+            case 'n':
+                return literal("null", null);
+            case 'N':
+                return literal("NaN", Double.NaN);
+            case 'I':
+                return literal("Infinity", Double.POSITIVE_INFINITY);
+            default:
+                if(text.startsWith("-Infinity", position)) {
+                    return literal("-Infinity", Double.NEGATIVE_INFINITY);
+                }
+                return number();
+        }
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++;
+        skipWhitespace();
+        if(peek('}')) {
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if(position == text.length() || text.charAt(position) != '"') {
+                throw error("Expected a key");
+            }
+            String key = string();
+            skipWhitespace();
+            expect(':');
+            object.put(key, value());
+            skipWhitespace();
+            if(peek('}')) {
+                return object;
+            }
+            expect(',');
+        }
+    }
+
+    private List<Object> array() {
+        List<Object> array = new ArrayList<>();
+        position++;
+        skipWhitespace();
+        if(peek(']')) {
+            return array;
+        }
+        while (true) {
+            array.add(value());
+            skipWhitespace();
+            if(peek(']')) {
+                return array;
+            }
+            expect(',');
+        }
+    }
+
+    private String string() {
+        StringBuilder sb = new StringBuilder();
+        position++;
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if(c == '"') {
+                return sb.toString();
+            }
+            if(c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if(position == text.length()) {
+                break;
+            }
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if(position + 4 > text.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    sb.append(escaped);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Double number() {
+        int start = position;
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) != -1) {
+            position++;
+        }
+        try {
+            return Double.valueOf(text.substring(start, position));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid value");
+        }
+    }
+
+    private Object literal(String literal, Object value) {
+        if(!text.startsWith(literal, position)) {
+            throw error("Invalid value");
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private boolean peek(char c) {
+        if(position < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if(!peek(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + position);
+    }
+}
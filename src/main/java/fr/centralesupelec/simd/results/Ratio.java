@@ -0,0 +1,31 @@
+package fr.centralesupelec.simd.results;
+
+/**
+ * Ratio of two scores, with the interval that the bounds of their confidence intervals allow: it is conservative, the
+ * ratio is surely above 1 only if the confidence intervals do not overlap.
+ */
+final class Ratio {
+
+    final double value;
+    final double low;
+    final double high;
+
+    private Ratio(double value, double low, double high) {
+        this.value = value;
+        this.low = low;
+        this.high = high;
+    }
+
+    static Ratio of(BenchmarkResult numerator, BenchmarkResult denominator) {
+        return new Ratio(numerator.score / denominator.score,
+                numerator.low / denominator.high,
+                denominator.low > 0 ? numerator.high / denominator.low : Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * How many times a is faster than b, whether their metric is a time or a throughput.
+     */
+    static Ratio speedup(BenchmarkResult a, BenchmarkResult b) {
+        return a.lowerIsBetter() ? of(b, a) : of(a, b);
+    }
+}
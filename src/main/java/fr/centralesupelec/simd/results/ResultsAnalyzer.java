@@ -0,0 +1,803 @@
+package fr.centralesupelec.simd.results;
+
+import fr.centralesupelec.simd.kernels.Calibration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Analyzes the JSON output of JMH ({@code -rf json}): the speedup of the {@code SIMD} variant of every kernel over its
+ * {@code Regular} and {@code RegularNoSuperWord} variants, the speedup of its other variants, such as
+ * {@code sumSIMDSpecies} or {@code filterSumAnd2ShortCircuitSIMD}, over its {@code Regular} variant, and, given a
+ * baseline run, the benchmarks that got slower or faster beyond noise. Writes Markdown, and CSV for plotting, and exits with 1 if any benchmark regressed.
+ * <p>
+ * It also writes the {@link Calibration} of the adaptive kernels from a run sweeping {@code ARRAY_LENGTH} and
+ * {@code SELECTIVITY}, and reports how far every {@code Adaptive} variant is from the fastest variant it can choose,
+ * exiting with 1 if any is slower beyond the threshold. The adaptive benchmarks of a run use the calibration given to
+ * that run, so a calibration is checked on another run than the one it is written from: the check is skipped, with a
+ * warning, when writing a calibration.
+ * <p>
+ * Intervals come from the 99.9% confidence intervals of JMH, see {@link Ratio}. A benchmark regresses when its
+ * slowdown is above 1 over its whole interval and above {@code 1 + threshold}. Benchmarks missing from either run
+ * are reported, they neither fail the comparison nor stop the analysis.
+ */
+public final class ResultsAnalyzer {
+
+    static final String SIMD = "SIMD";
+    static final String REGULAR = "Regular";
+    static final String NO_SUPER_WORD = "RegularNoSuperWord";
+    // longest suffixes first
+    private static final String[] FLAVOURS = { NO_SUPER_WORD, REGULAR, SIMD };
+    static final String ADAPTIVE = "Adaptive";
+
+    static final String SPEEDUPS_CSV = "speedups.csv";
+    static final String VARIANTS_CSV = "variants.csv";
+    static final String COMPARISON_CSV = "comparison.csv";
+
+    private static final String USAGE = String.join("\n",
+            "Usage: ResultsAnalyzer [options] run.json",
+            "  -b, --baseline FILE    compares the run with the JMH JSON run FILE, and exits with 1 on regressions",
+            "  -t, --threshold X      relative slowdown a regression, or an Adaptive benchmark, must also exceed (default: 0.05)",
+            "  -s, --metric NAME      analyzes the secondary metric NAME, such as rows or bandwidth, instead of the score",
+            "  -o, --markdown FILE    writes the Markdown report to FILE (default: standard output)",
+            "  -c, --csv DIR          writes " + SPEEDUPS_CSV + ", " + VARIANTS_CSV + " and, with a baseline, " + COMPARISON_CSV + " to DIR",
+            "  -k, --calibration FILE writes the fastest variant of the filterSum* kernels with an Adaptive benchmark per",
+            "                         ARRAY_LENGTH and SELECTIVITY to FILE, for AdaptiveIntColumnKernels",
+            "                         and only warns about slow Adaptive benchmarks, which ran with another calibration",
+            "  -h, --help             prints this message");
+
+    enum Status {
+        REGRESSION, IMPROVEMENT, UNCHANGED, MISSING, NEW
+    }
+
+    /**
+     * The variants of one kernel for one set of parameters, any of them may be missing.
+     */
+    static final class Speedup {
+        final String className;
+        final String kernel;
+        final BenchmarkResult simd;
+        final BenchmarkResult regular;
+        final BenchmarkResult noSuperWord;
+
+        Speedup(String className, String kernel, Map<String, BenchmarkResult> flavours) {
+            this.className = className;
+            this.kernel = kernel;
+            this.simd = flavours.get(SIMD);
+            this.regular = flavours.get(REGULAR);
+            this.noSuperWord = flavours.get(NO_SUPER_WORD);
+        }
+
+        BenchmarkResult any() {
+            return simd != null ? simd : regular != null ? regular : noSuperWord;
+        }
+
+        /** SIMD over Regular, or null if either is missing */
+        Ratio overRegular() {
+            return simd == null || regular == null ? null : Ratio.speedup(simd, regular);
+        }
+
+        /** SIMD over RegularNoSuperWord, or null if either is missing */
+        Ratio overNoSuperWord() {
+            return simd == null || noSuperWord == null ? null : Ratio.speedup(simd, noSuperWord);
+        }
+    }
+
+    /**
+     * Another variant of a kernel, such as {@code SIMDSpecies}, and the {@code Regular} variant whose parameters are
+     * all among its own, which may be missing.
+     */
+    static final class Variant {
+        final String className;
+        final String kernel;
+        final String variant;
+        final BenchmarkResult result;
+        final BenchmarkResult regular;
+
+        Variant(String className, String kernel, String variant, BenchmarkResult result, BenchmarkResult regular) {
+            this.className = className;
+            this.kernel = kernel;
+            this.variant = variant;
+            this.result = result;
+            this.regular = regular;
+        }
+
+        /** the variant over Regular, or null if Regular is missing */
+        Ratio overRegular() {
+            return regular == null ? null : Ratio.speedup(result, regular);
+        }
+    }
+
+    static final class Comparison {
+        final BenchmarkResult baseline;
+        final BenchmarkResult candidate;
+        /** how many times slower the candidate is, null if either is missing */
+        final Ratio slowdown;
+        final Status status;
+
+        Comparison(BenchmarkResult baseline, BenchmarkResult candidate, double threshold) {
+            this.baseline = baseline;
+            this.candidate = candidate;
+            if(candidate == null) {
+                slowdown = null;
+                status = Status.MISSING;
+            } else if(baseline == null) {
+                slowdown = null;
+                status = Status.NEW;
+            } else {
+                slowdown = Ratio.speedup(baseline, candidate);
+                if(slowdown.low > 1 && slowdown.value > 1 + threshold) {
+                    status = Status.REGRESSION;
+                } else if(slowdown.high < 1 && slowdown.value < 1 / (1 + threshold)) {
+                    status = Status.IMPROVEMENT;
+                } else {
+                    status = Status.UNCHANGED;
+                }
+            }
+        }
+
+        BenchmarkResult any() {
+            return candidate != null ? candidate : baseline;
+        }
+    }
+
+    /**
+     * An {@code Adaptive} benchmark and the fastest of the variants it chooses from, with the same parameters.
+     */
+    static final class Tracking {
+        final String className;
+        final String kernel;
+        final BenchmarkResult adaptive;
+        final String fastestVariant;
+        final BenchmarkResult fastest;
+        /** how many times slower the adaptive variant is */
+        final Ratio slowdown;
+        /** whether the slowdown is within the confidence intervals or the threshold */
+        final boolean tracks;
+
+        Tracking(String className, String kernel, BenchmarkResult adaptive, String fastestVariant, BenchmarkResult fastest, double threshold) {
+            this.className = className;
+            this.kernel = kernel;
+            this.adaptive = adaptive;
+            this.fastestVariant = fastestVariant;
+            this.fastest = fastest;
+            this.slowdown = Ratio.speedup(fastest, adaptive);
+            this.tracks = slowdown.low <= 1 || slowdown.value <= 1 + threshold;
+        }
+    }
+
+    private static class Options {
+        Path run;
+        Path baseline;
+        double threshold = 0.05;
+        String metric;
+        Path markdown;
+        Path csv;
+        Path calibration;
+    }
+
+    private ResultsAnalyzer() {
+    }
+
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        if(options == null) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        List<Comparison> comparisons = null;
+        List<Tracking> tracking;
+        try {
+            List<BenchmarkResult> run = BenchmarkResult.read(options.run, options.metric);
+            List<Speedup> speedups = speedups(run);
+            List<Variant> variants = variants(run);
+            StringBuilder markdown = new StringBuilder(markdown(speedups));
+            if(!variants.isEmpty()) {
+                markdown.append('\n').append(variantsMarkdown(variants));
+            }
+            tracking = tracking(run, options.threshold);
+            if(!tracking.isEmpty()) {
+                markdown.append('\n').append(trackingMarkdown(tracking, options.threshold));
+            }
+            if(options.baseline != null) {
+                comparisons = compare(BenchmarkResult.read(options.baseline, options.metric), run, options.threshold);
+                markdown.append('\n').append(markdown(comparisons, options.baseline.toString(), options.threshold));
+            }
+            if(options.markdown == null) {
+                System.out.print(markdown);
+            } else {
+                Files.write(options.markdown, markdown.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            if(options.csv != null) {
+                Files.createDirectories(options.csv);
+                Files.write(options.csv.resolve(SPEEDUPS_CSV), speedupsCsv(speedups).getBytes(StandardCharsets.UTF_8));
+                Files.write(options.csv.resolve(VARIANTS_CSV), variantsCsv(variants).getBytes(StandardCharsets.UTF_8));
+                if(comparisons != null) {
+                    Files.write(options.csv.resolve(COMPARISON_CSV), comparisonCsv(comparisons).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            if(options.calibration != null) {
+                Files.write(options.calibration, calibration(run).toCsv().getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e);
+            System.exit(1);
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        boolean failed = false;
+        int astray = 0;
+        for (Tracking t : tracking) {
+            astray += t.tracks ? 0 : 1;
+        }
+        if(astray > 0 && options.calibration != null) {
+            // in-sample: the adaptive benchmarks of this run did not use the calibration it writes
+            System.err.println("Warning: " + astray + " adaptive benchmarks are slower than the fastest variant beyond the threshold,"
+                    + " check " + options.calibration + " on another run");
+        } else if(astray > 0) {
+            System.err.println("Error: " + astray + " adaptive benchmarks are slower than the fastest variant beyond the threshold");
+            failed = true;
+        }
+        if(comparisons != null) {
+            int regressions = count(comparisons, Status.REGRESSION);
+            int missing = count(comparisons, Status.MISSING);
+            if(missing > 0) {
+                System.err.println("Warning: " + missing + " benchmarks of " + options.baseline + " are missing from " + options.run);
+            }
+            if(regressions > 0) {
+                System.err.println("Error: " + regressions + " benchmarks regressed from " + options.baseline + " to " + options.run);
+                failed = true;
+            }
+        }
+        if(failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the parsed options, or null if help was requested.
+     */
+    private static Options parse(String[] args) {
+        Options options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if(arg.equals("-h") || arg.equals("--help")) {
+                return null;
+            }
+            if(!arg.startsWith("-")) {
+                if(options.run != null) {
+                    throw new IllegalArgumentException("Only one run can be analyzed: " + arg);
+                }
+                options.run = Paths.get(arg);
+                continue;
+            }
+            if(i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "-b":
+                case "--baseline":
+                    options.baseline = Paths.get(value);
+                    break;
+                case "-t":
+                case "--threshold":
+                    try {
+                        options.threshold = Double.parseDouble(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid threshold: " + value);
+                    }
+                    if(!(options.threshold >= 0)) {
+                        throw new IllegalArgumentException("Invalid threshold: " + value);
+                    }
+                    break;
+                case "-s":
+                case "--metric":
+                    options.metric = value;
+                    break;
+                case "-o":
+                case "--markdown":
+                    options.markdown = Paths.get(value);
+                    break;
+                case "-c":
+                case "--csv":
+                    options.csv = Paths.get(value);
+                    break;
+                case "-k":
+                case "--calibration":
+                    options.calibration = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if(options.run == null) {
+            throw new IllegalArgumentException("Missing run");
+        }
+        return options;
+    }
+
+    /**
+     * Groups the results by kernel, the benchmark method without its flavour suffix, and parameters. Other variants,
+     * see {@link #variants(List)}, and methods of other flavours, such as {@code sumSIMDMasked}, are left out.
+     */
+    static List<Speedup> speedups(List<BenchmarkResult> results) {
+        Map<String, String> kernels = regularKernels(results);
+        // class, kernel, mode and params -> flavour -> result
+        Map<String, Map<String, BenchmarkResult>> groups = new LinkedHashMap<>();
+        Map<String, String[]> names = new LinkedHashMap<>();
+        for (BenchmarkResult result : results) {
+            String method = result.method();
+            if(variantKernel(kernels, result) != null) {
+                continue;
+            }
+            for (String flavour : FLAVOURS) {
+                if(method.endsWith(flavour) && method.length() > flavour.length()) {
+                    String kernel = method.substring(0, method.length() - flavour.length());
+                    String key = result.className() + "." + kernel + " " + result.mode + " " + result.paramsString();
+                    groups.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(flavour, result);
+                    names.put(key, new String[] { result.className(), kernel });
+                    break;
+                }
+            }
+        }
+        List<Speedup> speedups = new ArrayList<>();
+        for (Map.Entry<String, Map<String, BenchmarkResult>> group : groups.entrySet()) {
+            String[] name = names.get(group.getKey());
+            speedups.add(new Speedup(name[0], name[1], group.getValue()));
+        }
+        speedups.sort(Comparator.<Speedup, String>comparing(s -> s.className)
+                .thenComparing(s -> s.kernel)
+                .thenComparing((a, b) -> compareParams(a.any().params, b.any().params)));
+        return speedups;
+    }
+
+    /** class and kernel of every Regular benchmark -> kernel */
+    private static Map<String, String> regularKernels(List<BenchmarkResult> results) {
+        Map<String, String> kernels = new TreeMap<>();
+        for (BenchmarkResult result : results) {
+            String method = result.method();
+            if(method.endsWith(REGULAR) && method.length() > REGULAR.length()) {
+                String kernel = method.substring(0, method.length() - REGULAR.length());
+                kernels.put(result.className() + "." + kernel, kernel);
+            }
+        }
+        return kernels;
+    }
+
+    /**
+     * The kernel a result is another variant of: the longest kernel with a Regular benchmark in the same class that
+     * starts its method, unless the method is a flavour of that kernel. Null for the flavours and the other methods.
+     */
+    private static String variantKernel(Map<String, String> kernels, BenchmarkResult result) {
+        String method = result.method();
+        String kernel = null;
+        for (int end = method.length() - 1; end > 0 && kernel == null; end--) {
+            kernel = kernels.get(result.className() + "." + method.substring(0, end));
+        }
+        if(kernel == null) {
+            return null;
+        }
+        for (String flavour : FLAVOURS) {
+            if(method.equals(kernel + flavour)) {
+                return null;
+            }
+        }
+        return kernel;
+    }
+
+    /**
+     * Every other variant of a kernel, the method suffix after the kernel, paired with the Regular benchmark of the
+     * kernel with the most parameters, all of them equal to those of the variant: {@code sumSIMDSpecies} with
+     * {@code ARRAY_LENGTH=1024 SPECIES=S128} is compared with {@code sumRegular} with {@code ARRAY_LENGTH=1024}.
+     */
+    static List<Variant> variants(List<BenchmarkResult> results) {
+        Map<String, String> kernels = regularKernels(results);
+        List<Variant> variants = new ArrayList<>();
+        for (BenchmarkResult result : results) {
+            String kernel = variantKernel(kernels, result);
+            if(kernel == null) {
+                continue;
+            }
+            BenchmarkResult regular = null;
+            for (BenchmarkResult other : results) {
+                if(other.className().equals(result.className()) && other.method().equals(kernel + REGULAR)
+                        && other.mode.equals(result.mode)
+                        && result.params.entrySet().containsAll(other.params.entrySet())
+                        && (regular == null || other.params.size() > regular.params.size())) {
+                    regular = other;
+                }
+            }
+            variants.add(new Variant(result.className(), kernel, result.method().substring(kernel.length()), result, regular));
+        }
+        variants.sort(Comparator.<Variant, String>comparing(v -> v.className)
+                .thenComparing(v -> v.kernel)
+                .thenComparing(v -> v.variant)
+                .thenComparing((a, b) -> compareParams(a.result.params, b.result.params)));
+        return variants;
+    }
+
+    /**
+     * The variant of a benchmark method that adaptive kernels can choose, {@link #ADAPTIVE}, or null for the others,
+     * such as {@code RegularNoSuperWord} variants that cannot be chosen at run time.
+     */
+    private static String variant(String method) {
+        if(method.endsWith(NO_SUPER_WORD)) {
+            return null;
+        }
+        for (String variant : new String[] { Calibration.BRANCHLESS_REGULAR, Calibration.REGULAR, Calibration.SIMD, ADAPTIVE }) {
+            if(method.endsWith(variant) && method.length() > variant.length()) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    private static String kernel(String method, String variant) {
+        return method.substring(0, method.length() - variant.length());
+    }
+
+    /**
+     * The fastest variant of every filterSum* kernel for each {@code ARRAY_LENGTH} and {@code SELECTIVITY}, from the
+     * classes that also measure its {@code Adaptive} variant, such as {@code VectorAdaptiveProfiling}, whose variants
+     * run the int kernels the adaptive kernels route to. Results that only differ by other parameters are added up over
+     * those measured for every variant, so the variant is the fastest over the same points. A point measured by several
+     * classes or modes is an error, since their scores cannot be compared.
+     */
+    static Calibration calibration(List<BenchmarkResult> results) {
+        // class and kernel of every Adaptive benchmark
+        Set<String> routed = new HashSet<>();
+        for (BenchmarkResult result : results) {
+            if(ADAPTIVE.equals(variant(result.method()))) {
+                routed.add(result.className() + "." + kernel(result.method(), ADAPTIVE));
+            }
+        }
+        // class, kernel, mode, rows and selectivity -> variant -> other params -> score, lower is better
+        Map<String, Map<String, Map<String, Double>>> groups = new LinkedHashMap<>();
+        Map<String, String[]> points = new LinkedHashMap<>();
+        for (BenchmarkResult result : results) {
+            String variant = variant(result.method());
+            String rows = result.params.get("ARRAY_LENGTH");
+            String selectivity = result.params.get("SELECTIVITY");
+            if(variant == null || variant.equals(ADAPTIVE) || rows == null || selectivity == null
+                    || !result.method().startsWith("filterSum")) {
+                continue;
+            }
+            String kernel = kernel(result.method(), variant);
+            if(!routed.contains(result.className() + "." + kernel)) {
+                continue;
+            }
+            Map<String, String> others = new TreeMap<>(result.params);
+            others.remove("ARRAY_LENGTH");
+            others.remove("SELECTIVITY");
+            String key = result.className() + "." + kernel + " " + result.mode + " " + rows + " " + selectivity;
+            groups.computeIfAbsent(key, k -> new LinkedHashMap<>()).computeIfAbsent(variant, k -> new TreeMap<>())
+                    .put(others.toString(), result.lowerIsBetter() ? result.score : -result.score);
+            points.put(key, new String[] { kernel, rows, selectivity, result.className() + " " + result.mode });
+        }
+        Calibration calibration = new Calibration();
+        // kernel, rows and selectivity -> class and mode
+        Map<String, String> sources = new HashMap<>();
+        for (Map.Entry<String, Map<String, Map<String, Double>>> group : groups.entrySet()) {
+            // the other parameters measured for every variant
+            Set<String> common = null;
+            for (Map<String, Double> scores : group.getValue().values()) {
+                if(common == null) {
+                    common = new HashSet<>(scores.keySet());
+                } else {
+                    common.retainAll(scores.keySet());
+                }
+            }
+            if(common.isEmpty()) {
+                continue;
+            }
+            String fastest = null;
+            double best = 0;
+            for (Map.Entry<String, Map<String, Double>> variant : group.getValue().entrySet()) {
+                double total = 0;
+                for (String others : common) {
+                    total += variant.getValue().get(others);
+                }
+                if(fastest == null || total < best) {
+                    fastest = variant.getKey();
+                    best = total;
+                }
+            }
+            String[] point = points.get(group.getKey());
+            String source = sources.put(point[0] + " " + point[1] + " " + point[2], point[3]);
+            if(source != null) {
+                throw new IllegalArgumentException("Calibration point " + point[0] + " ARRAY_LENGTH=" + point[1] + " SELECTIVITY="
+                        + point[2] + " measured by both " + source + " and " + point[3]);
+            }
+            try {
+                calibration.add(point[0], Integer.parseInt(point[1]), Double.parseDouble(point[2]), fastest);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid ARRAY_LENGTH or SELECTIVITY of " + point[0] + ": " + point[1] + ", " + point[2]);
+            }
+        }
+        return calibration;
+    }
+
+    /**
+     * Pairs every {@code Adaptive} benchmark with the fastest variant of the same kernel and parameters, most astray
+     * first.
+     */
+    static List<Tracking> tracking(List<BenchmarkResult> results, double threshold) {
+        // class, kernel, mode and params -> variant -> result
+        Map<String, Map<String, BenchmarkResult>> groups = new LinkedHashMap<>();
+        for (BenchmarkResult result : results) {
+            String variant = variant(result.method());
+            if(variant != null) {
+                String key = result.className() + "." + kernel(result.method(), variant) + " " + result.mode + " " + result.paramsString();
+                groups.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(variant, result);
+            }
+        }
+        List<Tracking> tracking = new ArrayList<>();
+        for (Map<String, BenchmarkResult> group : groups.values()) {
+            BenchmarkResult adaptive = group.get(ADAPTIVE);
+            String fastest = null;
+            for (Map.Entry<String, BenchmarkResult> variant : group.entrySet()) {
+                if(!variant.getKey().equals(ADAPTIVE)
+                        && (fastest == null || Ratio.speedup(variant.getValue(), group.get(fastest)).value > 1)) {
+                    fastest = variant.getKey();
+                }
+            }
+            if(adaptive != null && fastest != null) {
+                tracking.add(new Tracking(adaptive.className(), kernel(adaptive.method(), ADAPTIVE), adaptive,
+                        fastest, group.get(fastest), threshold));
+            }
+        }
+        tracking.sort(Comparator.<Tracking, Boolean>comparing(t -> t.tracks)
+                .thenComparing(t -> t.className)
+                .thenComparing(t -> t.kernel)
+                .thenComparing((a, b) -> compareParams(a.adaptive.params, b.adaptive.params)));
+        return tracking;
+    }
+
+    /**
+     * Pairs the results of both runs by benchmark, mode and parameters, regressions first.
+     */
+    static List<Comparison> compare(List<BenchmarkResult> baseline, List<BenchmarkResult> candidate, double threshold) {
+        Map<String, BenchmarkResult> before = new TreeMap<>();
+        for (BenchmarkResult result : baseline) {
+            before.put(result.key(), result);
+        }
+        Map<String, BenchmarkResult> after = new TreeMap<>();
+        for (BenchmarkResult result : candidate) {
+            after.put(result.key(), result);
+        }
+        TreeSet<String> keys = new TreeSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        List<Comparison> comparisons = new ArrayList<>();
+        for (String key : keys) {
+            comparisons.add(new Comparison(before.get(key), after.get(key), threshold));
+        }
+        comparisons.sort(Comparator.<Comparison, Status>comparing(c -> c.status)
+                .thenComparing(c -> c.any().benchmark)
+                .thenComparing((a, b) -> compareParams(a.any().params, b.any().params)));
+        return comparisons;
+    }
+
+    // numeric values in numeric order, so that ARRAY_LENGTH=1024 comes before ARRAY_LENGTH=256000
+    private static int compareParams(Map<String, String> a, Map<String, String> b) {
+        Iterator<Map.Entry<String, String>> i = a.entrySet().iterator();
+        Iterator<Map.Entry<String, String>> j = b.entrySet().iterator();
+        while (i.hasNext() && j.hasNext()) {
+            Map.Entry<String, String> x = i.next();
+            Map.Entry<String, String> y = j.next();
+            int c = x.getKey().compareTo(y.getKey());
+            if(c != 0) {
+                return c;
+            }
+            try {
+                c = Double.compare(Double.parseDouble(x.getValue()), Double.parseDouble(y.getValue()));
+            } catch (NumberFormatException e) {
+                c = x.getValue().compareTo(y.getValue());
+            }
+            if(c != 0) {
+                return c;
+            }
+        }
+        return Boolean.compare(i.hasNext(), j.hasNext());
+    }
+
+    static int count(List<Comparison> comparisons, Status status) {
+        int n = 0;
+        for (Comparison comparison : comparisons) {
+            n += comparison.status == status ? 1 : 0;
+        }
+        return n;
+    }
+
+    static String markdown(List<Speedup> speedups) {
+        StringBuilder sb = new StringBuilder();
+        String className = null;
+        for (Speedup speedup : speedups) {
+            if(!speedup.className.equals(className)) {
+                className = speedup.className;
+                sb.append(sb.length() == 0 ? "" : "\n").append("## ").append(className).append("\n\n");
+                sb.append("| Kernel | Params | Unit | SIMD | Regular | RegularNoSuperWord | SIMD vs Regular | SIMD vs RegularNoSuperWord |\n");
+                sb.append("| -------- | -------- | -------- | --------: | --------: | --------: | --------: | --------: |\n");
+            }
+            BenchmarkResult any = speedup.any();
+            sb.append("| ").append(speedup.kernel)
+                    .append(" | ").append(any.paramsString())
+                    .append(" | ").append(any.unit)
+                    .append(" | ").append(score(speedup.simd))
+                    .append(" | ").append(score(speedup.regular))
+                    .append(" | ").append(score(speedup.noSuperWord))
+                    .append(" | ").append(ratio(speedup.overRegular()))
+                    .append(" | ").append(ratio(speedup.overNoSuperWord()))
+                    .append(" |\n");
+        }
+        return sb.toString();
+    }
+
+    static String markdown(List<Comparison> comparisons, String baseline, double threshold) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("## Comparison with ").append(baseline).append("\n\n");
+        sb.append(count(comparisons, Status.REGRESSION)).append(" regressions, ")
+                .append(count(comparisons, Status.IMPROVEMENT)).append(" improvements, ")
+                .append(count(comparisons, Status.MISSING)).append(" missing, ")
+                .append(count(comparisons, Status.NEW)).append(" new, beyond the confidence intervals and a ")
+                .append(format(threshold * 100)).append("% threshold\n\n");
+        sb.append("| Benchmark | Params | Unit | Baseline | Candidate | Slowdown | Status |\n");
+        sb.append("| -------- | -------- | -------- | --------: | --------: | --------: | -------- |\n");
+        for (Comparison comparison : comparisons) {
+            BenchmarkResult any = comparison.any();
+            String status = comparison.status.name().toLowerCase(Locale.ROOT);
+            sb.append("| ").append(any.className()).append('.').append(any.method())
+                    .append(" | ").append(any.paramsString())
+                    .append(" | ").append(any.unit)
+                    .append(" | ").append(score(comparison.baseline))
+                    .append(" | ").append(score(comparison.candidate))
+                    .append(" | ").append(ratio(comparison.slowdown))
+                    .append(" | ").append(comparison.status == Status.REGRESSION ? "**" + status + "**" : status)
+                    .append(" |\n");
+        }
+        return sb.toString();
+    }
+
+    static String variantsMarkdown(List<Variant> variants) {
+        StringBuilder sb = new StringBuilder();
+        String className = null;
+        for (Variant variant : variants) {
+            if(!variant.className.equals(className)) {
+                className = variant.className;
+                sb.append(sb.length() == 0 ? "" : "\n").append("## ").append(className).append(" variants\n\n");
+                sb.append("| Kernel | Variant | Params | Unit | Score | Regular | Variant vs Regular |\n");
+                sb.append("| -------- | -------- | -------- | -------- | --------: | --------: | --------: |\n");
+            }
+            sb.append("| ").append(variant.kernel)
+                    .append(" | ").append(variant.variant)
+                    .append(" | ").append(variant.result.paramsString())
+                    .append(" | ").append(variant.result.unit)
+                    .append(" | ").append(score(variant.result))
+                    .append(" | ").append(score(variant.regular))
+                    .append(" | ").append(ratio(variant.overRegular()))
+                    .append(" |\n");
+        }
+        return sb.toString();
+    }
+
+    static String trackingMarkdown(List<Tracking> tracking, double threshold) {
+        int tracks = 0;
+        for (Tracking t : tracking) {
+            tracks += t.tracks ? 1 : 0;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("## Adaptive kernels\n\n");
+        sb.append(tracks).append(" of ").append(tracking.size())
+                .append(" adaptive benchmarks within the confidence intervals or a ").append(format(threshold * 100))
+                .append("% threshold of the fastest variant\n\n");
+        sb.append("| Benchmark | Params | Unit | Adaptive | Fastest | Fastest variant | Slowdown |\n");
+        sb.append("| -------- | -------- | -------- | --------: | --------: | -------- | --------: |\n");
+        for (Tracking t : tracking) {
+            sb.append("| ").append(t.className).append('.').append(t.kernel)
+                    .append(" | ").append(t.adaptive.paramsString())
+                    .append(" | ").append(t.adaptive.unit)
+                    .append(" | ").append(score(t.adaptive))
+                    .append(" | ").append(score(t.fastest))
+                    .append(" | ").append(t.fastestVariant)
+                    .append(" | ").append(t.tracks ? ratio(t.slowdown) : "**" + ratio(t.slowdown) + "**")
+                    .append(" |\n");
+        }
+        return sb.toString();
+    }
+
+    static String speedupsCsv(List<Speedup> speedups) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class,kernel,mode,params,unit,simd,simd_error,regular,regular_error,nosuperword,nosuperword_error,"
+                + "speedup_regular,speedup_regular_low,speedup_regular_high,"
+                + "speedup_nosuperword,speedup_nosuperword_low,speedup_nosuperword_high\n");
+        for (Speedup speedup : speedups) {
+            BenchmarkResult any = speedup.any();
+            sb.append(speedup.className).append(',').append(speedup.kernel).append(',').append(any.mode)
+                    .append(',').append(any.paramsString()).append(',').append(any.unit)
+                    .append(csv(speedup.simd)).append(csv(speedup.regular)).append(csv(speedup.noSuperWord))
+                    .append(csv(speedup.overRegular())).append(csv(speedup.overNoSuperWord())).append('\n');
+        }
+        return sb.toString();
+    }
+
+    static String variantsCsv(List<Variant> variants) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class,kernel,variant,mode,params,unit,score,score_error,regular,regular_error,"
+                + "speedup_regular,speedup_regular_low,speedup_regular_high\n");
+        for (Variant variant : variants) {
+            BenchmarkResult result = variant.result;
+            sb.append(variant.className).append(',').append(variant.kernel).append(',').append(variant.variant)
+                    .append(',').append(result.mode).append(',').append(result.paramsString()).append(',').append(result.unit)
+                    .append(csv(result)).append(csv(variant.regular)).append(csv(variant.overRegular())).append('\n');
+        }
+        return sb.toString();
+    }
+
+    static String comparisonCsv(List<Comparison> comparisons) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("benchmark,mode,params,unit,baseline,baseline_error,candidate,candidate_error,"
+                + "slowdown,slowdown_low,slowdown_high,status\n");
+        for (Comparison comparison : comparisons) {
+            BenchmarkResult any = comparison.any();
+            sb.append(any.benchmark).append(',').append(any.mode).append(',').append(any.paramsString())
+                    .append(',').append(any.unit)
+                    .append(csv(comparison.baseline)).append(csv(comparison.candidate)).append(csv(comparison.slowdown))
+                    .append(',').append(comparison.status.name().toLowerCase(Locale.ROOT)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String csv(BenchmarkResult result) {
+        return result == null ? ",," : "," + result.score + "," + result.error();
+    }
+
+    private static String csv(Ratio ratio) {
+        return ratio == null ? ",,," : "," + ratio.value + "," + ratio.low + "," + ratio.high;
+    }
+
+    private static String score(BenchmarkResult result) {
+        if(result == null) {
+            return "";
+        }
+        return result.error() > 0 ? format(result.score) + " +/- " + format(result.error()) : format(result.score);
+    }
+
+    private static String ratio(Ratio ratio) {
+        if(ratio == null) {
+            return "";
+        }
+        return format(ratio.value) + " [" + format(ratio.low) + ", " + format(ratio.high) + "]";
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, Math.abs(value) >= 1 || value == 0 ? "%.2f" : "%.3g", value);
+    }
+}
@@ -0,0 +1,91 @@
+package fr.centralesupelec.simd.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File holding one int column, laid out to be scanned in place by the ByteBuffer kernels once mapped.
+ * <p>
+ * The header is {@link #HEADER_BYTES} long, in native byte order: the magic number, the format version, a byte order
+ * mark, the number of rows as a long, and the offset of the data. The data starts and ends on {@link #ALIGNMENT}
+ * bytes, the size of the widest species, and is zero-padded. Since mappings start on a page boundary, a mapped column
+ * is aligned in memory like {@code VectorOffHeapProfiling.allocate} aligns direct buffers.
+ */
+public final class IntColumnFile {
+
+    public static final int ALIGNMENT = 64;
+    static final int HEADER_BYTES = ALIGNMENT;
+
+    private static final int MAGIC = 0x53494D44; // "SIMD"
+    private static final int VERSION = 1;
+    private static final int BYTE_ORDER_MARK = 0x01020304;
+
+    private IntColumnFile() {
+    }
+
+    private static long padded(long bytes) {
+        return (bytes + ALIGNMENT - 1) & ~(long) (ALIGNMENT - 1);
+    }
+
+    /** writes the native-order column a, from 0 to its limit */
+    public static void write(Path path, ByteBuffer a) throws IOException {
+        if(a.order() != ByteOrder.nativeOrder()) {
+            throw new IllegalArgumentException("column must be in native byte order");
+        }
+        long rows = a.limit() / Integer.BYTES;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+        header.putInt(MAGIC).putInt(VERSION).putInt(BYTE_ORDER_MARK).putLong(rows).putInt(HEADER_BYTES);
+        header.clear();
+        ByteBuffer data = a.duplicate();
+        data.clear().limit(a.limit());
+        ByteBuffer padding = ByteBuffer.allocate((int) (padded(a.limit()) - a.limit()));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining() || data.hasRemaining() || padding.hasRemaining()) {
+                channel.write(new ByteBuffer[]{ header, data, padding });
+            }
+        }
+    }
+
+    public static void write(Path path, int[] a) throws IOException {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        write(path, r);
+    }
+
+    /** maps the data of a column file, read-only and in native order, with its limit at the last row */
+    public static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+            while (header.hasRemaining()) {
+                if(channel.read(header, header.position()) < 0) {
+                    throw new IOException(path + ": truncated header");
+                }
+            }
+            header.flip();
+            if(header.getInt() != MAGIC) {
+                throw new IOException(path + ": not a column file");
+            }
+            int version = header.getInt();
+            if(version != VERSION) {
+                throw new IOException(path + ": unsupported version " + version);
+            }
+            if(header.getInt() != BYTE_ORDER_MARK) {
+                throw new IOException(path + ": written with a different byte order");
+            }
+            long rows = header.getLong();
+            int offset = header.getInt();
+            long bytes = rows * Integer.BYTES;
+            if(offset % ALIGNMENT != 0 || bytes > Integer.MAX_VALUE || offset + padded(bytes) > channel.size()) {
+                throw new IOException(path + ": corrupted header");
+            }
+            MappedByteBuffer r = channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes);
+            r.order(ByteOrder.nativeOrder());
+            return r;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package fr.centralesupelec.simd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsmDiffTest {
+
+    private static final List<String> AVX2 = Arrays.asList(
+            "  0x00007f0000001000: vpxor  ymm0,ymm0,ymm0",
+            "  0x00007f0000001004: vpaddd ymm0,ymm0,YMMWORD PTR [rdx+rcx*4+0x10]",
+            "  0x00007f000000100a: vpmulld ymm1,ymm2,YMMWORD PTR [rdx+rcx*4+0x30]",
+            "  0x00007f0000001010: add    ecx,0x8",
+            "  0x00007f0000001013: cmp    ecx,r8d",
+            "  0x00007f0000001016: jl     0x00007f0000001004  ;*goto");
+
+    // same loop at other addresses with other registers
+    private static final List<String> AVX2_MOVED = Arrays.asList(
+            "  0x00007f1000002000: vpxor  ymm3,ymm3,ymm3",
+            "  0x00007f1000002004: vpaddd ymm3,ymm3,YMMWORD PTR [rsi+rbx*4+0x10]",
+            "  0x00007f100000200a: vpmulld ymm4,ymm5,YMMWORD PTR [rsi+rbx*4+0x30]",
+            "  0x00007f1000002010: add    ebx,0x8",
+            "  0x00007f1000002013: cmp    ebx,r9d",
+            "  0x00007f1000002016: jl     0x00007f1000002004  ;*goto");
+
+    private static final List<String> SSE = Arrays.asList(
+            "  0x00007f0000001000: pxor   xmm0,xmm0",
+            "  0x00007f0000001004: paddd  xmm0,XMMWORD PTR [rdx+rcx*4+0x10]",
+            "  0x00007f000000100a: add    ecx,0x4",
+            "  0x00007f000000100d: cmp    ecx,r8d",
+            "  0x00007f0000001010: jl     0x00007f0000001004  ;*goto");
+
+    private static final List<String> BOXED = Arrays.asList(
+            "  0x00007f0000001000: mov    ecx,0x0",
+            "  0x00007f0000001004: call   0x00007f0000008000  ;   {optimized virtual_call}",
+            "  0x00007f0000001009: call   0x00007f0000007000  ;   {runtime_call _new_instance_Java}",
+            "  0x00007f000000100e: inc    ecx",
+            "  0x00007f0000001010: jmp    0x00007f0000001004");
+
+    private static AsmDiff.MethodDiff diff(List<String> base, List<String> candidate) {
+        return AsmDiff.diff(InstructionMix.parse("VectorProfiling.mulSIMD", base), InstructionMix.parse("VectorProfiling.mulSIMD", candidate));
+    }
+
+    @Test
+    void normalized() {
+        AsmDiff.MethodDiff diff = diff(AVX2, AVX2_MOVED);
+        assertFalse(diff.regressed());
+        assertTrue(diff.changes.isEmpty(), "changes " + diff.changes);
+        assertTrue(diff.lines.isEmpty(), "lines " + diff.lines);
+        assertEquals("jl <addr>", AsmDiff.normalize(InstructionMix.parse("", AVX2).instructions.get(5)));
+        assertEquals("vpaddd ymm,ymm,YMMWORD PTR [r+r*4+0x10]", AsmDiff.normalize(InstructionMix.parse("", AVX2_MOVED).instructions.get(1)));
+    }
+
+    @Test
+    void narrower() {
+        AsmDiff.MethodDiff diff = diff(AVX2, SSE);
+        assertTrue(diff.regressed());
+        assertEquals(Arrays.asList("narrower vectors in the hot loop: ymm -> xmm"), diff.regressions);
+        assertTrue(diff.changes.contains("lost vector ops: vpaddd, vpmulld"), "changes " + diff.changes);
+        assertTrue(diff.lines.contains("+ paddd xmm,XMMWORD PTR [r+r*4+0x10]"), "lines " + diff.lines);
+        // the other way round is an improvement
+        assertFalse(diff(SSE, AVX2).regressed());
+    }
+
+    @Test
+    void boxed() {
+        AsmDiff.MethodDiff diff = diff(AVX2, BOXED);
+        assertTrue(diff.regressions.contains("verdict vectorized -> boxed"), "regressions " + diff.regressions);
+        assertTrue(diff.regressions.contains("new Java calls in the hot loop: 0 -> 1"), "regressions " + diff.regressions);
+        assertTrue(diff.regressions.contains("new allocations in the hot loop: 0 -> 1"), "regressions " + diff.regressions);
+        assertTrue(diff.lines.contains("+ call <addr> ; java"), "lines " + diff.lines);
+        assertTrue(AsmDiff.toMarkdown(Arrays.asList(diff)).startsWith("1 of 1 methods regressed"));
+    }
+
+    @Test
+    void missing() {
+        AsmDiff.MethodDiff diff = AsmDiff.diff(InstructionMix.parse("VectorProfiling.mulSIMD", AVX2), null);
+        assertFalse(diff.regressed());
+        assertEquals(Arrays.asList("only in the base"), diff.changes);
+    }
+}
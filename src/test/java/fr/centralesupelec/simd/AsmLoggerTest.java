@@ -0,0 +1,61 @@
+package fr.centralesupelec.simd;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Fork;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AsmLoggerTest {
+
+    private static final List<String> INHERITED = Arrays.asList("-Xmx1g");
+
+    @Fork(jvmArgsPrepend = {"-Dprepend=class"}, jvmArgs = {"-Dargs=class"}, jvmArgsAppend = {"-Dappend=class"})
+    public static class Forked {
+
+        public void classFork() {
+        }
+
+        @Fork(jvmArgsAppend = {"-Dappend=method"})
+        public void append() {
+        }
+
+        @Fork(jvmArgsPrepend = {"-Dprepend=method"}, jvmArgs = {})
+        public void prependNoArgs() {
+        }
+    }
+
+    @Fork(jvmArgsPrepend = {"-Dprepend=class"})
+    public static class PrependOnly {
+
+        public void classFork() {
+        }
+
+        @Fork(jvmArgs = {"-Dargs=method"})
+        public void args() {
+        }
+    }
+
+    public static class NotForked {
+
+        public void none() {
+        }
+    }
+
+    private static List<String> forkJvmArgs(Class<?> type, String method) throws NoSuchMethodException {
+        return AsmLogger.forkJvmArgs(type, type.getMethod(method), INHERITED);
+    }
+
+    // a method-level attribute replaces the class-level one, the others are kept
+    @Test
+    void forkJvmArgs() throws NoSuchMethodException {
+        assertEquals(Arrays.asList("-Dprepend=class", "-Dargs=class", "-Dappend=class"), forkJvmArgs(Forked.class, "classFork"));
+        assertEquals(Arrays.asList("-Dprepend=class", "-Dargs=class", "-Dappend=method"), forkJvmArgs(Forked.class, "append"));
+        assertEquals(Arrays.asList("-Dprepend=method", "-Dappend=class"), forkJvmArgs(Forked.class, "prependNoArgs"));
+        assertEquals(Arrays.asList("-Dprepend=class", "-Xmx1g"), forkJvmArgs(PrependOnly.class, "classFork"));
+        assertEquals(Arrays.asList("-Dprepend=class", "-Dargs=method"), forkJvmArgs(PrependOnly.class, "args"));
+        assertEquals(INHERITED, forkJvmArgs(NotForked.class, "none"));
+    }
+}
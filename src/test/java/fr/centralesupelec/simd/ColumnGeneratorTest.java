@@ -0,0 +1,140 @@
+package fr.centralesupelec.simd;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnGeneratorTest {
+
+    // several chunks, the last one partial
+    private static final int LENGTH = 3 * ColumnGenerator.CHUNK_ROWS + 1000;
+
+    private static double selectivity(int[] a, int f) {
+        int n = 0;
+        for (int v : a) {
+            n += v == f ? 1 : 0;
+        }
+        return (double) n / a.length;
+    }
+
+    private static ByteBuffer buffer(int length) {
+        return ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    private static int[] toArray(ByteBuffer a) {
+        int[] r = new int[a.limit() / Integer.BYTES];
+        a.asIntBuffer().get(r);
+        return r;
+    }
+
+    @Test
+    void reproducible() {
+        for (String distribution : ColumnGenerator.DISTRIBUTIONS) {
+            ColumnGenerator g1 = new ColumnGenerator(7, distribution, 12, 0.3, null);
+            ColumnGenerator g2 = new ColumnGenerator(7, distribution, 12, 0.3, null);
+            int f = g1.constant();
+            assertEquals(f, g2.constant(), distribution + " constant mismatch");
+
+            // columns do not depend on the columns generated before them
+            int[] a = g1.column("a", LENGTH, f);
+            int[] b = g1.column("b", LENGTH, f);
+            assertArrayEquals(b, g2.column("b", LENGTH, f), distribution + " column mismatch");
+            assertArrayEquals(a, g2.column("a", LENGTH, f), distribution + " column mismatch");
+            assertTrue(!Arrays.equals(a, b), distribution + " columns a and b are equal");
+            assertArrayEquals(g1.fullRange("c", LENGTH), g2.fullRange("c", LENGTH), distribution + " fullRange mismatch");
+
+            // buffers get the same rows as arrays
+            ByteBuffer buffer = buffer(LENGTH);
+            g1.fill("a", buffer, f);
+            assertArrayEquals(a, toArray(buffer), distribution + " fill mismatch");
+            g1.fillFullRange("c", buffer);
+            assertArrayEquals(g1.fullRange("c", LENGTH), toArray(buffer), distribution + " fillFullRange mismatch");
+        }
+    }
+
+    @Test
+    void cache() throws IOException {
+        Path dir = Files.createTempDirectory("simd");
+        try {
+            ColumnGenerator generated = new ColumnGenerator(7, "clustered", 12, 0.3, null);
+            ColumnGenerator cached = new ColumnGenerator(7, "clustered", 12, 0.3, dir);
+            int[] a = generated.column("a", LENGTH, 5);
+            int[] b = generated.fullRange("b", LENGTH);
+            // the first calls write the files, the next ones read them
+            for (int i = 0; i < 2; i++) {
+                assertArrayEquals(a, cached.column("a", LENGTH, 5), "cached column mismatch " + i);
+                assertArrayEquals(b, cached.fullRange("b", LENGTH), "cached fullRange mismatch " + i);
+                ByteBuffer buffer = buffer(LENGTH);
+                cached.fill("a", buffer, 5);
+                assertArrayEquals(a, toArray(buffer), "cached fill mismatch " + i);
+                cached.fillFullRange("b", buffer);
+                assertArrayEquals(b, toArray(buffer), "cached fillFullRange mismatch " + i);
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(2, files.count(), "cached files");
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    void selectivity() {
+        for (String distribution : ColumnGenerator.DISTRIBUTIONS) {
+            for (double selectivity : new double[]{ 0, 0.001, 0.5, 0.99, 1 }) {
+                ColumnGenerator g = new ColumnGenerator(42, distribution, 1000, selectivity, null);
+                int f = g.constant();
+                int[] a = g.column("a", LENGTH, f);
+                // runs of clustered columns make its selectivity much noisier
+                double delta = distribution.equals("clustered") ? 0.1 : 0.01;
+                assertEquals(selectivity, selectivity(a, f), delta, distribution + " selectivity " + selectivity);
+                for (int v : a) {
+                    assertTrue(v >= 0 && v < 1000, distribution + " value out of range: " + v);
+                }
+            }
+        }
+    }
+
+    @Test
+    void distributions() {
+        int[] sorted = new ColumnGenerator(42, "sorted", 12, 0.1, null).column("a", LENGTH, 3);
+        for (int i = 1; i < sorted.length; i++) {
+            assertTrue(sorted[i - 1] <= sorted[i], "sorted column not sorted at " + i);
+        }
+
+        int[] clustered = new ColumnGenerator(42, "clustered", 12, 0.1, null).column("a", LENGTH, 3);
+        int runs = 1;
+        for (int i = 1; i < clustered.length; i++) {
+            runs += clustered[i - 1] != clustered[i] ? 1 : 0;
+        }
+        assertTrue(runs < 2 * LENGTH / ColumnGenerator.RUN_ROWS, "too many runs in the clustered column: " + runs);
+
+        // the first other value after the constant is the most frequent
+        int[] zipf = new ColumnGenerator(42, "zipf", 1000, 0, null).column("a", LENGTH, 3);
+        assertTrue(selectivity(zipf, 4) > 10 * selectivity(zipf, 500), "zipf column not skewed");
+        assertEquals(0, selectivity(zipf, 3), "zipf column has the constant");
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnGenerator(42, "normal", 12, 0.1, null));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnGenerator(42, "uniform", 1, 0.1, null));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnGenerator(42, "uniform", 12, 1.5, null));
+    }
+}
@@ -0,0 +1,106 @@
+package fr.centralesupelec.simd;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the benchmarks generated from X-Profiling.java.template: every variant of a kernel, SIMD, RegularNoSuperWord
+ * or SIMDSpecies, must return what its Regular variant returns.
+ */
+class GeneratedProfilingTest {
+
+    private static final String[] TYPES = { "Int", "Long", "Float", "Double" };
+    private static final String[] STORAGES = { "Heap", "Direct", "Mapped" };
+
+    private static Map<String, String> params() {
+        Map<String, String> params = new HashMap<>();
+        // not a multiple of any species length, so that the scalar epilogues run too
+        params.put("ARRAY_LENGTH", "4099");
+        params.put("SPECIES", "S128");
+        params.put("SELECTIVITY", "0.1");
+        return params;
+    }
+
+    // arrays and buffers as text, since add and mul return the same column every time
+    private static Object value(Object r) {
+        if(r instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) r;
+            byte[] bytes = new byte[buffer.limit()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(i);
+            }
+            return Arrays.toString(bytes);
+        }
+        return r.getClass().isArray() ? Arrays.deepToString(new Object[] { r }) : r;
+    }
+
+    private static void assertSame(Object expected, Object actual, String message) {
+        if(expected instanceof Float || expected instanceof Double) {
+            // the SIMD sums add the rows in another order
+            double e = ((Number) expected).doubleValue();
+            assertEquals(e, ((Number) actual).doubleValue(), Math.abs(e) * 1e-4, message);
+        } else {
+            assertEquals(expected, actual, message);
+        }
+    }
+
+    private static void check(Class<?> type) throws ReflectiveOperationException {
+        // kernel -> benchmark methods, the Regular one first
+        Map<String, Method> regular = new TreeMap<>();
+        for (Method method : type.getMethods()) {
+            if(method.getAnnotation(Benchmark.class) != null && method.getName().endsWith("Regular")) {
+                regular.put(method.getName().substring(0, method.getName().length() - "Regular".length()), method);
+            }
+        }
+        assertTrue(regular.containsKey("sum") && regular.containsKey("filterSumAnd4"), type.getSimpleName() + " kernels missing");
+
+        StateFactory states = new StateFactory(params());
+        try {
+            Object benchmark = states.benchmark(type);
+            Map<String, Object> expected = new HashMap<>();
+            for (Map.Entry<String, Method> e : regular.entrySet()) {
+                expected.put(e.getKey(), value(e.getValue().invoke(benchmark, states.arguments(e.getValue()))));
+            }
+            int checked = 0;
+            for (Method method : type.getMethods()) {
+                String name = method.getName();
+                if(method.getAnnotation(Benchmark.class) == null || regular.containsValue(method)) {
+                    continue;
+                }
+                // the longest kernel, so that filterSumOr4SIMD is no variant of filterSum
+                String kernel = null;
+                for (String k : regular.keySet()) {
+                    if(name.startsWith(k) && (kernel == null || k.length() > kernel.length())) {
+                        kernel = k;
+                    }
+                }
+                assertTrue(kernel != null, type.getSimpleName() + "." + name + " has no Regular variant");
+                Object actual = value(method.invoke(benchmark, states.arguments(method)));
+                assertSame(expected.get(kernel), actual, type.getSimpleName() + "." + kernel + "Regular/" + name + " mismatch");
+                checked++;
+            }
+            assertTrue(checked >= 2 * regular.size(), type.getSimpleName() + ": SIMD or RegularNoSuperWord variants missing");
+        } finally {
+            states.tearDown();
+        }
+    }
+
+    @Test
+    void kernels() throws ReflectiveOperationException {
+        for (String type : TYPES) {
+            for (String storage : STORAGES) {
+                check(Class.forName("fr.centralesupelec.simd.generated." + type + storage + "Profiling"));
+            }
+        }
+    }
+}
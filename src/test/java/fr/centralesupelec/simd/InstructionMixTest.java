@@ -0,0 +1,104 @@
+package fr.centralesupelec.simd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstructionMixTest {
+
+    // pre-loop, unrolled vector main loop, reduction and an uncommon trap
+    private static final List<String> VECTORIZED = Arrays.asList(
+            "Running benchmark VectorProfiling.sumSIMD:",
+            "-----",
+            "[Entry Point]",
+            "  0x0000000000001000: mov    r10d,DWORD PTR [rsi+0x8]",
+            "  0x0000000000001004: vpxor  ymm0,ymm0,ymm0",
+            "  0x0000000000001008: add    r11d,DWORD PTR [rdx+rcx*4+0x10]",
+            "  0x000000000000100c: inc    ecx",
+            "  0x000000000000100e: cmp    ecx,r9d",
+            "  0x0000000000001010: jl     0x0000000000001008",
+            "  0x0000000000001012: vpaddd ymm0,ymm0,YMMWORD PTR [rdx+rcx*4+0x10]",
+            "  0x0000000000001018: vpaddd ymm0,ymm0,YMMWORD PTR [rdx+rcx*4+0x30]",
+            "  0x000000000000101e: add    ecx,0x10",
+            "  0x0000000000001021: cmp    ecx,r8d",
+            "  0x0000000000001024: jl     0x0000000000001012  ;*goto",
+            "  0x0000000000001026: vextracti128 xmm1,ymm0,0x1",
+            "  0x000000000000102c: vpaddd xmm0,xmm0,xmm1",
+            "  0x0000000000001030: vmovd  eax,xmm0",
+            "  0x0000000000001034: ret",
+            "  0x0000000000001035: ;   {runtime_call UncommonTrapBlob}",
+            "  0x0000000000001035: call   0x0000000000009000",
+            "ImmutableOopMap{}");
+
+    // the vector loop calls into the Java implementation and allocates boxed vectors
+    private static final List<String> BOXED = Arrays.asList(
+            "  0x0000000000002000: mov    ecx,0x0",
+            "  0x0000000000002004: call   0x0000000000008000  ; ImmutableOopMap{}",
+            "                                                ;*invokevirtual add {reexecute=0}",
+            "                                                ;   {optimized virtual_call}",
+            "  0x0000000000002009: call   0x0000000000007000  ;   {runtime_call _new_instance_Java}",
+            "  0x000000000000200e: lock add DWORD PTR [rsp-0x40],0x0",
+            "  0x0000000000002013: jmp    0x0000000000002004");
+
+    private static final List<String> RAW = Arrays.asList(
+            "[Entry Point]",
+            "  0x00007f4090ed39a0: 448b 5608 | 49bb 0000 | 0048 407f | 0000 4d03 | d349 3bc2 ",
+            "  0x00007f4090ed39b4: ;   {runtime_call ic_miss_stub}",
+            "  0x00007f4090ed39b4: 0f85 c657 | abff 6690 | 0f1f 4000 ");
+
+    @Test
+    void vectorized() {
+        InstructionMix mix = InstructionMix.parse("VectorProfiling.sumSIMD", VECTORIZED);
+        assertTrue(mix.disassembled);
+        assertEquals(16, mix.total.instructions, "instructions");
+        assertEquals(2, mix.total.xmm, "xmm");
+        assertEquals(4, mix.total.ymm, "ymm");
+        assertEquals(0, mix.total.zmm, "zmm");
+        assertEquals(5, mix.total.packed, "packed");
+        // add, inc, add, vmovd
+        assertEquals(4, mix.total.scalar, "scalar");
+        assertEquals(1, mix.total.deoptCalls, "deopt calls");
+        assertEquals(2, mix.loops, "loops");
+        assertNotNull(mix.hotLoop);
+        assertEquals(0x1012, mix.hotLoopStart, "hot loop start");
+        assertEquals(5, mix.hotLoop.instructions, "hot loop instructions");
+        assertEquals(2, mix.hotLoop.packed, "hot loop packed");
+        assertEquals(InstructionMix.Verdict.VECTORIZED, mix.verdict());
+        assertFalse(mix.flagged());
+    }
+
+    @Test
+    void boxed() {
+        InstructionMix mix = InstructionMix.parse("VectorProfiling.addSIMD", BOXED);
+        assertEquals("add", mix.instructions.get(3).mnemonic, "lock prefix");
+        assertEquals(1, mix.total.javaCalls, "java calls");
+        assertEquals(1, mix.total.allocationCalls, "allocation calls");
+        assertEquals(InstructionMix.Verdict.BOXED, mix.verdict());
+        assertTrue(mix.flagged());
+    }
+
+    @Test
+    void scalar() {
+        InstructionMix mix = InstructionMix.parse("VectorProfiling.sumRegularNoSuperWord", VECTORIZED.subList(0, 9));
+        assertEquals(InstructionMix.Verdict.SCALAR, mix.verdict());
+        // only SIMD variants are flagged
+        assertFalse(mix.flagged());
+        assertTrue(InstructionMix.parse("VectorProfiling.sumSIMD", VECTORIZED.subList(0, 9)).flagged());
+    }
+
+    @Test
+    void raw() {
+        InstructionMix mix = InstructionMix.parse("VectorProfiling.sumSIMD", RAW);
+        assertFalse(mix.disassembled);
+        assertNull(mix.hotLoop);
+        assertEquals(InstructionMix.Verdict.UNKNOWN, mix.verdict());
+        assertFalse(mix.flagged());
+    }
+}
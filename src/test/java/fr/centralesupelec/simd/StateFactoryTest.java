@@ -0,0 +1,84 @@
+package fr.centralesupelec.simd;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StateFactoryTest {
+
+    @State(Scope.Thread)
+    public static class Column {
+
+        @Param({"4"})
+        public int ARRAY_LENGTH;
+
+        final List<String> calls = new ArrayList<>();
+        int[] a;
+
+        // named to run last if setups were ordered by name only
+        @Setup(Level.Trial)
+        public void zAllocate() {
+            calls.add("allocate");
+            a = new int[ARRAY_LENGTH];
+        }
+
+        @TearDown(Level.Trial)
+        public void zFree() {
+            calls.add("free");
+            a = null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Filled extends Column {
+
+        int first;
+
+        // needs the column of the superclass trial setup
+        @Setup(Level.Trial)
+        public void aFill() {
+            calls.add("fill");
+            Arrays.fill(a, 7);
+        }
+
+        // needs the rows of the trial setups
+        @Setup(Level.Invocation)
+        public void aFirst() {
+            calls.add("first");
+            first = a[0]++;
+        }
+
+        @TearDown(Level.Trial)
+        public void aCheck() {
+            calls.add("check");
+            first = a.length;
+        }
+    }
+
+    @Test
+    void setupOrder() throws ReflectiveOperationException {
+        StateFactory states = new StateFactory(new HashMap<>());
+        Filled filled = (Filled) states.state(Filled.class);
+        assertEquals(Arrays.asList("allocate", "fill", "first"), filled.calls);
+        assertEquals(7, filled.first);
+        states.beforeInvocation();
+        assertEquals(8, filled.first);
+        assertArrayEquals(new int[] { 9, 7, 7, 7 }, filled.a);
+
+        states.tearDown();
+        assertEquals(Arrays.asList("allocate", "fill", "first", "first", "check", "free"), filled.calls);
+        assertEquals(4, filled.first);
+    }
+}
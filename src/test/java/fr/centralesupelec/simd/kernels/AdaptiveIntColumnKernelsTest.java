@@ -0,0 +1,142 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveIntColumnKernelsTest {
+
+    private static final int[] LENGTHS = { 0, 1, 7, 1000, 4099 };
+    private static final int BOUND = 8;
+
+    // Regular when rare on long columns, else SIMD; BranchlessRegular for And2 below 1000 rows
+    private static final Calibration CALIBRATION = new Calibration()
+            .add("filterSum", 100000, 0.9, Calibration.SIMD)
+            .add("filterSum", 100000, 0.01, Calibration.REGULAR)
+            .add("filterSum", 1000, 0.01, Calibration.SIMD)
+            .add("filterSum", 1000, 0.9, Calibration.SIMD)
+            .add("filterSumAnd2", 100, 0.5, Calibration.BRANCHLESS_REGULAR)
+            .add("filterSumAnd2", 10000, 0.5, Calibration.SIMD);
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    private static int[] column(Random rnd, int length, int f, double selectivity) {
+        int[] r = new int[length];
+        for (int i = 0; i < length; i++) {
+            r[i] = rnd.nextDouble() < selectivity ? f : (f + 1 + rnd.nextInt(BOUND - 1)) % BOUND;
+        }
+        return r;
+    }
+
+    @Test
+    void sameResults() {
+        Random rnd = new Random(42);
+        for (Calibration calibration : new Calibration[] { new Calibration(), CALIBRATION }) {
+            IntColumnKernels adaptive = new AdaptiveIntColumnKernels(calibration);
+            for (int length : LENGTHS) {
+                for (double selectivity : new double[] { 0.001, 0.5, 0.99 }) {
+                    int[] a = column(rnd, length, 3, selectivity);
+                    int[] b = column(rnd, length, 5, selectivity);
+                    int[] c = column(rnd, length, 1, 0.5);
+                    ByteBuffer ia = toBuffer(a);
+                    ByteBuffer ib = toBuffer(b);
+                    ByteBuffer ic = toBuffer(c);
+                    String name = length + " rows, selectivity " + selectivity;
+                    assertEquals(IntColumnKernels.SCALAR.filterSum(a, 3, b), adaptive.filterSum(a, 3, b), name + ".filterSum(int[]) mismatch");
+                    assertEquals(IntColumnKernels.SCALAR.filterSum(a, 3, b), adaptive.filterSum(ia, 3, ib), name + ".filterSum(ByteBuffer) mismatch");
+                    assertEquals(IntColumnKernels.SCALAR.filterSumOr2(a, 3, 4, b), adaptive.filterSumOr2(a, 3, 4, b), name + ".filterSumOr2(int[]) mismatch");
+                    assertEquals(IntColumnKernels.SCALAR.filterSumOr4(a, 3, 4, 5, 6, b), adaptive.filterSumOr4(ia, 3, 4, 5, 6, ib), name + ".filterSumOr4(ByteBuffer) mismatch");
+                    assertEquals(IntColumnKernels.SCALAR.filterSumAnd2(a, 3, b, 5, c), adaptive.filterSumAnd2(a, 3, b, 5, c), name + ".filterSumAnd2(int[]) mismatch");
+                    assertEquals(IntColumnKernels.SCALAR.filterSumAnd2(a, 3, b, 5, c), adaptive.filterSumAnd2(ia, 3, ib, 5, ic), name + ".filterSumAnd2(ByteBuffer) mismatch");
+                    assertEquals(IntColumnKernels.SCALAR.filterSumAnd4(a, 3, b, 5, a, 3, b, 5, c), adaptive.filterSumAnd4(a, 3, b, 5, a, 3, b, 5, c), name + ".filterSumAnd4(int[]) mismatch");
+                    assertEquals(IntColumnKernels.SCALAR.sum(c), adaptive.sum(ic), name + ".sum(ByteBuffer) mismatch");
+                }
+            }
+        }
+    }
+
+    // overflows the int lanes of VECTOR, and spans several spills of VECTOR_WIDENING
+    @Test
+    void fullRangeMeasures() {
+        Random rnd = new Random(42);
+        int length = 3 * WideningVectorIntColumnKernels.SPILL_ROWS + 7;
+        int[] a = column(rnd, length, 3, 0.5);
+        int[] b = column(rnd, length, 5, 0.5);
+        int[] c = new int[length];
+        for (int i = 0; i < length; i++) {
+            c[i] = rnd.nextInt();
+        }
+        ByteBuffer ia = toBuffer(a);
+        ByteBuffer ib = toBuffer(b);
+        ByteBuffer ic = toBuffer(c);
+        for (String variant : Calibration.VARIANTS) {
+            Calibration calibration = new Calibration();
+            for (String kernel : new String[] { "filterSum", "filterSumOr2", "filterSumOr4", "filterSumAnd2", "filterSumAnd4" }) {
+                calibration.add(kernel, length, 0.5, variant);
+            }
+            IntColumnKernels adaptive = new AdaptiveIntColumnKernels(calibration);
+            String name = variant;
+            assertEquals(IntColumnKernels.SCALAR.filterSum(a, 3, c), adaptive.filterSum(a, 3, c), name + ".filterSum(int[]) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSum(a, 3, c), adaptive.filterSum(ia, 3, ic), name + ".filterSum(ByteBuffer) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumOr2(a, 3, 4, c), adaptive.filterSumOr2(a, 3, 4, c), name + ".filterSumOr2(int[]) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumOr2(a, 3, 4, c), adaptive.filterSumOr2(ia, 3, 4, ic), name + ".filterSumOr2(ByteBuffer) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumOr4(a, 3, 4, 5, 6, c), adaptive.filterSumOr4(a, 3, 4, 5, 6, c), name + ".filterSumOr4(int[]) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumOr4(a, 3, 4, 5, 6, c), adaptive.filterSumOr4(ia, 3, 4, 5, 6, ic), name + ".filterSumOr4(ByteBuffer) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumAnd2(a, 3, b, 5, c), adaptive.filterSumAnd2(a, 3, b, 5, c), name + ".filterSumAnd2(int[]) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumAnd2(a, 3, b, 5, c), adaptive.filterSumAnd2(ia, 3, ib, 5, ic), name + ".filterSumAnd2(ByteBuffer) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumAnd4(a, 3, b, 5, a, 3, b, 5, c), adaptive.filterSumAnd4(a, 3, b, 5, a, 3, b, 5, c), name + ".filterSumAnd4(int[]) mismatch");
+            assertEquals(IntColumnKernels.SCALAR.filterSumAnd4(a, 3, b, 5, a, 3, b, 5, c), adaptive.filterSumAnd4(ia, 3, ib, 5, ia, 3, ib, 5, ic), name + ".filterSumAnd4(ByteBuffer) mismatch");
+        }
+    }
+
+    @Test
+    void route() {
+        Random rnd = new Random(42);
+        AdaptiveIntColumnKernels adaptive = new AdaptiveIntColumnKernels(CALIBRATION);
+        int[] rare = column(rnd, 200000, 3, 0.01);
+        int[] frequent = column(rnd, 200000, 3, 0.9);
+        assertSame(IntColumnKernels.SCALAR, adaptive.route("filterSum", rare, 3, 0, rare.length));
+        assertSame(IntColumnKernels.SCALAR, adaptive.route("filterSum", toBuffer(rare), 3, 0, rare.length));
+        assertSame(IntColumnKernels.VECTOR_WIDENING, adaptive.route("filterSum", frequent, 3, 0, frequent.length));
+        // 5000 rows are nearer to 1000 than to 100000 on a log scale, where SIMD always wins
+        assertSame(IntColumnKernels.VECTOR_WIDENING, adaptive.route("filterSum", rare, 3, 0, 5000));
+        assertSame(IntColumnKernels.SCALAR, adaptive.route("filterSum", rare, 3, 0, 50000));
+        assertSame(IntColumnKernels.BRANCHLESS, adaptive.route("filterSumAnd2", rare, 3, 0, 10));
+        assertSame(IntColumnKernels.VECTOR_WIDENING, adaptive.route("filterSumAnd2", rare, 3, 0, 1000000));
+        // no points
+        assertSame(IntColumnKernels.VECTOR_WIDENING, adaptive.route("filterSumOr2", rare, 3, 0, rare.length));
+        // only the first SAMPLE_ROWS rows are sampled
+        int[] skewed = column(rnd, 200000, 3, 0.01);
+        for (int i = AdaptiveIntColumnKernels.SAMPLE_ROWS; i < skewed.length; i++) {
+            skewed[i] = 3;
+        }
+        assertSame(IntColumnKernels.SCALAR, adaptive.route("filterSum", skewed, 3, 0, skewed.length));
+        assertSame(IntColumnKernels.VECTOR_WIDENING, adaptive.route("filterSum", skewed, 3, AdaptiveIntColumnKernels.SAMPLE_ROWS, skewed.length));
+    }
+
+    @Test
+    void calibration() {
+        Calibration parsed = Calibration.parse(CALIBRATION.toCsv());
+        assertEquals(CALIBRATION.toCsv(), parsed.toCsv());
+        assertEquals(4, parsed.points("filterSum").size());
+        assertEquals(1000, parsed.points("filterSum").get(0).rows);
+        assertEquals(0.01, parsed.points("filterSum").get(0).selectivity, 0);
+        assertEquals(0, parsed.points("filterSumOr2").size());
+        assertThrows(IllegalArgumentException.class, () -> Calibration.parse("rows,variant\n"));
+        assertThrows(IllegalArgumentException.class, () -> Calibration.parse(Calibration.HEADER + "\nfilterSum,1000,0.5\n"));
+        assertThrows(IllegalArgumentException.class, () -> Calibration.parse(Calibration.HEADER + "\nfilterSum,1000,0.5,RegularNoSuperWord\n"));
+        assertThrows(IllegalArgumentException.class, () -> Calibration.parse(Calibration.HEADER + "\nfilterSum,many,0.5,SIMD\n"));
+        assertThrows(IllegalArgumentException.class, () -> new Calibration().add("filterSum", 1000, 1.5, Calibration.SIMD));
+    }
+}
@@ -0,0 +1,97 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BitmapIndexKernelsTest {
+
+    private static final int[] LENGTHS = { 16384, 1, 7, 13, 64, 1000, 4099 };
+    private static final int BOUND = 4;
+
+    private static final BitmapIndexKernels[] kernels = { BitmapIndexKernels.SCALAR, BitmapIndexKernels.VECTOR };
+
+    private static int[][][] columns = new int[LENGTHS.length][5][];
+    private static ByteBuffer[][] buffers = new ByteBuffer[LENGTHS.length][5];
+    private static BitmapIndex[][] indexes = new BitmapIndex[LENGTHS.length][4];
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    private static String name(BitmapIndexKernels k, int length) {
+        return k.getClass().getSimpleName() + "[" + length + "]";
+    }
+
+    @BeforeAll
+    static void setupColumns() {
+        Random rnd = new Random(42);
+        for (int l = 0; l < LENGTHS.length; l++) {
+            for (int c = 0; c < columns[l].length; c++) {
+                columns[l][c] = new int[LENGTHS[l]];
+                for (int i = 0; i < LENGTHS[l]; i++) {
+                    columns[l][c][i] = rnd.nextInt(BOUND);
+                }
+                buffers[l][c] = toBuffer(columns[l][c]);
+            }
+            for (int c = 0; c < indexes[l].length; c++) {
+                indexes[l][c] = BitmapIndex.build(columns[l][c], BOUND);
+            }
+        }
+    }
+
+    @Test
+    void build() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            BitmapIndex fromBuffer = BitmapIndex.build(buffers[l][0], BOUND);
+            for (int v = 0; v < BOUND; v++) {
+                long[] r = new long[IntSelectionKernels.bitmapLength(LENGTHS[l])];
+                IntSelectionKernels.SCALAR.bitmap(columns[l][0], v, r);
+                assertArrayEquals(r, indexes[l][0].bitmap(v), "BitmapIndex.build(int[])[" + LENGTHS[l] + "] mismatch");
+                assertArrayEquals(r, fromBuffer.bitmap(v), "BitmapIndex.build(ByteBuffer)[" + LENGTHS[l] + "] mismatch");
+            }
+            assertEquals(0, BitmapIndexKernels.SCALAR.count(indexes[l][0].bitmap(BOUND)), "out of range value should match nothing");
+        }
+    }
+
+    @Test
+    void filterSum() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            int length = LENGTHS[l];
+            int[][] c = columns[l];
+            BitmapIndex[] idx = indexes[l];
+            int[] ones = new int[length];
+            Arrays.fill(ones, 1);
+            for (BitmapIndexKernels k : kernels) {
+                long[] bitmap = new long[IntSelectionKernels.bitmapLength(length)];
+
+                k.or2(idx[0].bitmap(1), idx[0].bitmap(3), bitmap);
+                assertEquals(IntColumnKernels.SCALAR.filterSumOr2(c[0], 1, 3, ones), k.count(bitmap), name(k, length) + ".or2 count mismatch");
+                assertEquals(IntColumnKernels.SCALAR.filterSumOr2(c[0], 1, 3, c[1]), k.sum(bitmap, c[1]), name(k, length) + ".or2 sum(int[]) mismatch");
+                assertEquals(IntColumnKernels.SCALAR.filterSumOr2(c[0], 1, 3, c[1]), k.sum(bitmap, buffers[l][1]), name(k, length) + ".or2 sum(ByteBuffer) mismatch");
+
+                k.or4(idx[0].bitmap(0), idx[0].bitmap(1), idx[0].bitmap(2), idx[0].bitmap(BOUND), bitmap);
+                assertEquals(IntColumnKernels.SCALAR.filterSumOr4(c[0], 0, 1, 2, BOUND, c[1]), k.sum(bitmap, c[1]), name(k, length) + ".or4 sum(int[]) mismatch");
+
+                k.and2(idx[0].bitmap(1), idx[1].bitmap(2), bitmap);
+                assertEquals(IntColumnKernels.SCALAR.filterSumAnd2(c[0], 1, c[1], 2, ones), k.count(bitmap), name(k, length) + ".and2 count mismatch");
+                assertEquals(IntColumnKernels.SCALAR.filterSumAnd2(c[0], 1, c[1], 2, c[2]), k.sum(bitmap, c[2]), name(k, length) + ".and2 sum(int[]) mismatch");
+
+                k.and4(idx[0].bitmap(1), idx[1].bitmap(2), idx[2].bitmap(3), idx[3].bitmap(0), bitmap);
+                long r = IntColumnKernels.SCALAR.filterSumAnd4(c[0], 1, c[1], 2, c[2], 3, c[3], 0, c[4]);
+                assertEquals(r, k.sum(bitmap, c[4]), name(k, length) + ".and4 sum(int[]) mismatch");
+                assertEquals(r, k.sum(bitmap, buffers[l][4]), name(k, length) + ".and4 sum(ByteBuffer) mismatch");
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package fr.centralesupelec.simd.kernels;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.Vector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntColumnKernelsTest {
+
+    // multiples of every species length, and odd lengths that exercise the tails
+    private static final int[] LENGTHS = { 16384, 1, 7, 13, 1000, 4099 };
+    private static final int BOUND = 12;
+
+    // small grains so that columns are split, 100 rows leave a tail in every range
+    private static final IntColumnKernels[] kernels = {
+            IntColumnKernels.SCALAR, IntColumnKernels.BRANCHLESS, IntColumnKernels.VECTOR, IntColumnKernels.VECTOR_MASKED, IntColumnKernels.VECTOR_WIDENING,
+            new ParallelIntColumnKernels(IntColumnKernels.VECTOR, ForkJoinPool.commonPool(), 64),
+            new ParallelIntColumnKernels(IntColumnKernels.VECTOR_MASKED, ForkJoinPool.commonPool(), 100),
+            new VectorIntColumnKernels(IntVector.species(Vector.Shape.S_64_BIT)),
+            new MaskedVectorIntColumnKernels(IntVector.species(Vector.Shape.S_128_BIT)),
+            new WideningVectorIntColumnKernels(IntVector.species(Vector.Shape.S_512_BIT)),
+            new UnrolledVectorIntColumnKernels(2), new UnrolledVectorIntColumnKernels(4),
+            new UnrolledVectorIntColumnKernels(8, IntVector.species(Vector.Shape.S_128_BIT)),
+            IntColumnKernels.VECTOR_SHORT_CIRCUIT, new ShortCircuitVectorIntColumnKernels(4),
+            new ShortCircuitVectorIntColumnKernels(8, IntVector.species(Vector.Shape.S_128_BIT))
+    };
+
+    private static int[][][] columns = new int[LENGTHS.length][5][];
+    private static ByteBuffer[][] buffers = new ByteBuffer[LENGTHS.length][5];
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    private static int[] toArray(ByteBuffer b) {
+        int[] r = new int[b.limit() / Integer.BYTES];
+        b.asIntBuffer().get(r);
+        return r;
+    }
+
+    private static String name(IntColumnKernels k, int length) {
+        String species = k instanceof VectorIntColumnKernels ? "(" + ((VectorIntColumnKernels) k).species().bitSize() + " bits)" : "";
+        if(k instanceof UnrolledVectorIntColumnKernels) {
+            species += "(x" + ((UnrolledVectorIntColumnKernels) k).unroll() + ")";
+        }
+        if(k instanceof ShortCircuitVectorIntColumnKernels) {
+            species += "(tile " + ((ShortCircuitVectorIntColumnKernels) k).tile() + ")";
+        }
+        return k.getClass().getSimpleName() + species + "[" + length + "]";
+    }
+
+    @BeforeAll
+    static void setupColumns() {
+        Random rnd = new Random(42);
+        for (int l = 0; l < LENGTHS.length; l++) {
+            for (int c = 0; c < columns[l].length; c++) {
+                columns[l][c] = new int[LENGTHS[l]];
+                for (int i = 0; i < LENGTHS[l]; i++) {
+                    columns[l][c][i] = rnd.nextInt(BOUND);
+                }
+                buffers[l][c] = toBuffer(columns[l][c]);
+            }
+        }
+    }
+
+    @Test
+    void sum() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            int r = Arrays.stream(columns[l][0]).sum();
+            for (IntColumnKernels k : kernels) {
+                assertEquals(r, k.sum(columns[l][0]), name(k, LENGTHS[l]) + ".sum(int[]) mismatch");
+                assertEquals(r, k.sum(buffers[l][0]), name(k, LENGTHS[l]) + ".sum(ByteBuffer) mismatch");
+            }
+        }
+    }
+
+    @Test
+    void addMul() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            int length = LENGTHS[l];
+            int[] a = columns[l][0], b = columns[l][1];
+            int[] add = new int[length];
+            int[] mul = new int[length];
+            for (int i = 0; i < length; i++) {
+                add[i] = a[i] + b[i];
+                mul[i] = a[i] * b[i];
+            }
+            for (IntColumnKernels k : kernels) {
+                int[] c = new int[length];
+                k.add(a, b, c);
+                assertArrayEquals(add, c, name(k, length) + ".add(int[]) mismatch");
+                k.mul(a, b, c);
+                assertArrayEquals(mul, c, name(k, length) + ".mul(int[]) mismatch");
+
+                ByteBuffer bc = toBuffer(new int[length]);
+                k.add(buffers[l][0], buffers[l][1], bc);
+                assertArrayEquals(add, toArray(bc), name(k, length) + ".add(ByteBuffer) mismatch");
+                k.mul(buffers[l][0], buffers[l][1], bc);
+                assertArrayEquals(mul, toArray(bc), name(k, length) + ".mul(ByteBuffer) mismatch");
+            }
+        }
+    }
+
+    @Test
+    void filterSum() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            int length = LENGTHS[l];
+            int[] a = columns[l][0], b = columns[l][1], c = columns[l][2], d = columns[l][3], e = columns[l][4];
+            long sum = 0, or2 = 0, or4 = 0, and2 = 0, and4 = 0;
+            for (int i = 0; i < length; i++) {
+                if(a[i] == 1) {
+                    sum += b[i];
+                }
+                if(a[i] == 1 || a[i] == 2) {
+                    or2 += b[i];
+                }
+                if(a[i] == 1 || a[i] == 2 || a[i] == 3 || a[i] == 4) {
+                    or4 += b[i];
+                }
+                if(a[i] == 1 && b[i] == 2) {
+                    and2 += c[i];
+                }
+                if(a[i] == 1 && b[i] == 2 && c[i] == 3 && d[i] == 4) {
+                    and4 += e[i];
+                }
+            }
+            ByteBuffer ba = buffers[l][0], bb = buffers[l][1], bc = buffers[l][2], bd = buffers[l][3], be = buffers[l][4];
+            for (IntColumnKernels k : kernels) {
+                String name = name(k, length);
+                assertEquals(sum, k.filterSum(a, 1, b), name + ".filterSum(int[]) mismatch");
+                assertEquals(sum, k.filterSum(ba, 1, bb), name + ".filterSum(ByteBuffer) mismatch");
+                assertEquals(or2, k.filterSumOr2(a, 1, 2, b), name + ".filterSumOr2(int[]) mismatch");
+                assertEquals(or2, k.filterSumOr2(ba, 1, 2, bb), name + ".filterSumOr2(ByteBuffer) mismatch");
+                assertEquals(or4, k.filterSumOr4(a, 1, 2, 3, 4, b), name + ".filterSumOr4(int[]) mismatch");
+                assertEquals(or4, k.filterSumOr4(ba, 1, 2, 3, 4, bb), name + ".filterSumOr4(ByteBuffer) mismatch");
+                assertEquals(and2, k.filterSumAnd2(a, 1, b, 2, c), name + ".filterSumAnd2(int[]) mismatch");
+                assertEquals(and2, k.filterSumAnd2(ba, 1, bb, 2, bc), name + ".filterSumAnd2(ByteBuffer) mismatch");
+                assertEquals(and4, k.filterSumAnd4(a, 1, b, 2, c, 3, d, 4, e), name + ".filterSumAnd4(int[]) mismatch");
+                assertEquals(and4, k.filterSumAnd4(ba, 1, bb, 2, bc, 3, bd, 4, be), name + ".filterSumAnd4(ByteBuffer) mismatch");
+            }
+        }
+    }
+
+    @Test
+    void filterSumFullRange() {
+        // more rows than WideningVectorIntColumnKernels.SPILL_ROWS, with sums overflowing int
+        int length = 100003;
+        Random rnd = new Random(42);
+        int[] a = new int[length], b = new int[length], c = new int[length], d = new int[length], e = new int[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = rnd.nextInt(2);
+            b[i] = rnd.nextInt(2);
+            c[i] = rnd.nextInt(2);
+            d[i] = rnd.nextInt(2);
+            e[i] = rnd.nextInt();
+        }
+        IntColumnKernels[] exact = {
+                IntColumnKernels.SCALAR, IntColumnKernels.BRANCHLESS, IntColumnKernels.VECTOR_WIDENING,
+                new ParallelIntColumnKernels(IntColumnKernels.VECTOR_WIDENING, ForkJoinPool.commonPool(), 1000)
+        };
+        long sum = 0, and4 = 0;
+        for (int i = 0; i < length; i++) {
+            if(a[i] == 1) {
+                sum += e[i];
+            }
+            if(a[i] == 1 && b[i] == 1 && c[i] == 1 && d[i] == 1) {
+                and4 += e[i];
+            }
+        }
+        ByteBuffer ba = toBuffer(a), bb = toBuffer(b), bc = toBuffer(c), bd = toBuffer(d), be = toBuffer(e);
+        for (IntColumnKernels k : exact) {
+            String name = name(k, length);
+            assertEquals(sum, k.filterSum(a, 1, e), name + ".filterSum(int[]) mismatch");
+            assertEquals(sum, k.filterSum(ba, 1, be), name + ".filterSum(ByteBuffer) mismatch");
+            assertEquals(sum, k.filterSumOr2(a, 1, 1, e), name + ".filterSumOr2(int[]) mismatch");
+            assertEquals(sum, k.filterSumOr4(ba, 1, 1, 1, 1, be), name + ".filterSumOr4(ByteBuffer) mismatch");
+            assertEquals(sum, k.filterSumAnd2(a, 1, a, 1, e), name + ".filterSumAnd2(int[]) mismatch");
+            assertEquals(and4, k.filterSumAnd4(a, 1, b, 1, c, 1, d, 1, e), name + ".filterSumAnd4(int[]) mismatch");
+            assertEquals(and4, k.filterSumAnd4(ba, 1, bb, 1, bc, 1, bd, 1, be), name + ".filterSumAnd4(ByteBuffer) mismatch");
+        }
+    }
+}
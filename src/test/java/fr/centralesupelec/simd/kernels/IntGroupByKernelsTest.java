@@ -0,0 +1,59 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class IntGroupByKernelsTest {
+
+    private static final int[] LENGTHS = { 16384, 1, 7, 13, 1000, 4099 };
+    private static final int[] KEYS = { 1, 4, 13, 4096 };
+
+    private static final IntGroupByKernels[] kernels = {
+            IntGroupByKernels.SCALAR, IntGroupByKernels.VECTOR_HISTOGRAM, IntGroupByKernels.VECTOR_MASKED
+    };
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    private static String name(IntGroupByKernels k, int length, int keys) {
+        return k.getClass().getSimpleName() + "[" + length + ", " + keys + " keys]";
+    }
+
+    @Test
+    void groupSum() {
+        Random rnd = new Random(42);
+        for (int length : LENGTHS) {
+            for (int keys : KEYS) {
+                int[] a = new int[length];
+                int[] b = new int[length];
+                long[] r = new long[keys];
+                for (int i = 0; i < length; i++) {
+                    a[i] = rnd.nextInt(keys);
+                    b[i] = rnd.nextInt(1 << 16) - (1 << 15);
+                    r[a[i]] += b[i];
+                }
+                ByteBuffer ba = toBuffer(a), bb = toBuffer(b);
+                for (IntGroupByKernels k : kernels) {
+                    // garbage in the sums must be overwritten
+                    long[] sums = new long[keys];
+                    Arrays.fill(sums, 42);
+                    k.groupSum(a, b, sums);
+                    assertArrayEquals(r, sums, name(k, length, keys) + ".groupSum(int[]) mismatch");
+                    Arrays.fill(sums, 42);
+                    k.groupSum(ba, bb, sums);
+                    assertArrayEquals(r, sums, name(k, length, keys) + ".groupSum(ByteBuffer) mismatch");
+                }
+            }
+        }
+    }
+}
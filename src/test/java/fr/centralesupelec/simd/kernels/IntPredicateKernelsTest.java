@@ -0,0 +1,151 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntPredicateKernelsTest {
+
+    private static final int[] LENGTHS = { 0, 1, 7, 64, 1000, 4099 };
+    private static final int BOUND = 1000;
+
+    private static final IntPredicateKernels[] kernels = {
+            IntPredicateKernels.SCALAR, IntPredicateKernels.VECTOR
+    };
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    // values around 0 and a few at the ends of the int range
+    private static int[] column(Random rnd, int length) {
+        int[] r = new int[length];
+        for (int i = 0; i < length; i++) {
+            int x = rnd.nextInt(100);
+            r[i] = x == 0 ? Integer.MIN_VALUE : x == 1 ? Integer.MAX_VALUE : rnd.nextInt(BOUND) - BOUND / 2;
+        }
+        return r;
+    }
+
+    // small, so that the int lanes of the SIMD sums do not overflow
+    private static int[] summed(Random rnd, int length) {
+        int[] r = new int[length];
+        for (int i = 0; i < length; i++) {
+            r[i] = rnd.nextInt(BOUND);
+        }
+        return r;
+    }
+
+    private static long expected(int[] a, int[] b, IntPredicate p) {
+        long sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += p.test(a[i]) ? b[i] : 0;
+        }
+        return sum;
+    }
+
+    private static int[] list(Random rnd, int size, int span) {
+        int[] r = new int[size];
+        for (int i = 0; i < size; i++) {
+            r[i] = rnd.nextInt(span) - BOUND / 2;
+        }
+        return r;
+    }
+
+    @Test
+    void ranges() {
+        Random rnd = new Random(42);
+        for (int length : LENGTHS) {
+            int[] a = column(rnd, length);
+            int[] b = summed(rnd, length);
+            ByteBuffer ia = toBuffer(a);
+            ByteBuffer ib = toBuffer(b);
+            for (int f : new int[] { Integer.MIN_VALUE, -100, 0, 250, Integer.MAX_VALUE }) {
+                int hi = (int) Math.min((long) f + 300, Integer.MAX_VALUE);
+                long lessThan = expected(a, b, v -> v < f);
+                long greaterThan = expected(a, b, v -> v > f);
+                long between = expected(a, b, v -> v >= f && v <= hi);
+                for (IntPredicateKernels k : kernels) {
+                    String name = k.getClass().getSimpleName() + " " + length + " rows, " + f;
+                    assertEquals(lessThan, k.filterSumLessThan(a, f, b), name + ".filterSumLessThan(int[]) mismatch");
+                    assertEquals(lessThan, k.filterSumLessThan(ia, f, ib), name + ".filterSumLessThan(ByteBuffer) mismatch");
+                    assertEquals(greaterThan, k.filterSumGreaterThan(a, f, b), name + ".filterSumGreaterThan(int[]) mismatch");
+                    assertEquals(greaterThan, k.filterSumGreaterThan(ia, f, ib), name + ".filterSumGreaterThan(ByteBuffer) mismatch");
+                    assertEquals(between, k.filterSumBetween(a, f, hi, b), name + ".filterSumBetween(int[]) mismatch");
+                    assertEquals(between, k.filterSumBetween(ia, f, hi, ib), name + ".filterSumBetween(ByteBuffer) mismatch");
+                    // empty range
+                    assertEquals(0, k.filterSumBetween(a, 1, 0, b), name + ".filterSumBetween(int[]) of an empty range");
+                }
+            }
+            // sub-ranges
+            if(length > 10) {
+                for (IntPredicateKernels k : kernels) {
+                    String name = k.getClass().getSimpleName() + " " + length + " rows";
+                    assertEquals(IntPredicateKernels.SCALAR.filterSumBetween(a, -10, 10, b, 3, length - 5),
+                            k.filterSumBetween(ia, -10, 10, ib, 3, length - 5), name + ".filterSumBetween(ByteBuffer, from, to) mismatch");
+                }
+            }
+        }
+    }
+
+    @Test
+    void inLists() {
+        Random rnd = new Random(42);
+        for (int size : new int[] { 0, 1, 2, 3, 5, 8, 9, 100, 2000 }) {
+            int[] values = list(rnd, size, BOUND);
+            int[] sparse = list(rnd, size, BOUND);
+            if(size > 0) {
+                sparse[0] = Integer.MAX_VALUE;
+            }
+            // the automatic kind, a table, a search, then a list too wide for a table
+            IntInList[] lists = {
+                    IntInList.of(values),
+                    IntInList.of(IntInList.Kind.TABLE, values),
+                    IntInList.of(IntInList.Kind.SEARCH, values),
+                    IntInList.of(sparse)
+            };
+            int[][] members = { values, values, values, sparse };
+            for (int length : LENGTHS) {
+                int[] a = column(rnd, length);
+                int[] b = summed(rnd, length);
+                ByteBuffer ia = toBuffer(a);
+                ByteBuffer ib = toBuffer(b);
+                for (int l = 0; l < lists.length; l++) {
+                    int[] m = members[l];
+                    long expected = expected(a, b, v -> Arrays.stream(m).anyMatch(x -> x == v));
+                    for (IntPredicateKernels k : kernels) {
+                        String name = k.getClass().getSimpleName() + " " + length + " rows, " + lists[l].kind() + " list of " + size;
+                        assertEquals(expected, k.filterSumIn(a, lists[l], b), name + ".filterSumIn(int[]) mismatch");
+                        assertEquals(expected, k.filterSumIn(ia, lists[l], ib), name + ".filterSumIn(ByteBuffer) mismatch");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void kinds() {
+        assertEquals(IntInList.Kind.CHAINED, IntInList.of(3, 1, 3, 2).kind());
+        assertEquals(3, IntInList.of(3, 1, 3, 2).size());
+        assertEquals(IntInList.Kind.TABLE, IntInList.of(0, 1, 2, 3, 4, 5, 6, 7, IntInList.TABLE_SPAN - 1).kind());
+        assertEquals(IntInList.Kind.SEARCH, IntInList.of(0, 1, 2, 3, 4, 5, 6, 7, IntInList.TABLE_SPAN).kind());
+        IntInList table = IntInList.of(IntInList.Kind.TABLE, -5, 64, 63, 200);
+        for (int v = -100; v < 300; v++) {
+            assertEquals(v == -5 || v == 63 || v == 64 || v == 200, table.contains(v), "contains " + v);
+        }
+        assertTrue(!table.contains(Integer.MIN_VALUE) && !table.contains(Integer.MAX_VALUE), "contains the int range ends");
+        assertThrows(IllegalArgumentException.class, () -> IntInList.of(IntInList.Kind.TABLE, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> IntInList.of(IntInList.Kind.CHAINED, 0, 1, 2, 3, 4, 5, 6, 7, 8));
+    }
+}
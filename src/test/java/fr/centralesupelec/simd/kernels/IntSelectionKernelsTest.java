@@ -0,0 +1,163 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntSelectionKernelsTest {
+
+    private static final int[] LENGTHS = { 16384, 1, 7, 13, 64, 1000, 4099 };
+    private static final int BOUND = 4;
+
+    private static final IntSelectionKernels[] kernels = {
+            IntSelectionKernels.SCALAR, IntSelectionKernels.BRANCHLESS, IntSelectionKernels.VECTOR
+    };
+
+    private static int[][][] columns = new int[LENGTHS.length][2][];
+    private static ByteBuffer[][] buffers = new ByteBuffer[LENGTHS.length][2];
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    private static String name(IntSelectionKernels k, int length) {
+        return k.getClass().getSimpleName() + "[" + length + "]";
+    }
+
+    @BeforeAll
+    static void setupColumns() {
+        Random rnd = new Random(42);
+        for (int l = 0; l < LENGTHS.length; l++) {
+            for (int c = 0; c < columns[l].length; c++) {
+                columns[l][c] = new int[LENGTHS[l]];
+                for (int i = 0; i < LENGTHS[l]; i++) {
+                    columns[l][c][i] = rnd.nextInt(BOUND);
+                }
+                buffers[l][c] = toBuffer(columns[l][c]);
+            }
+        }
+    }
+
+    private static int[] expectedSel(boolean[] match) {
+        return IntStream.range(0, match.length).filter(i -> match[i]).toArray();
+    }
+
+    private static long[] expectedBitmap(boolean[] match) {
+        long[] r = new long[IntSelectionKernels.bitmapLength(match.length)];
+        for (int i = 0; i < match.length; i++) {
+            if(match[i]) {
+                r[i / Long.SIZE] |= 1L << i;
+            }
+        }
+        return r;
+    }
+
+    private static void check(String name, boolean[] match, int count, int[] sel, long[] bitmap) {
+        int[] r = expectedSel(match);
+        assertEquals(r.length, count, name + " count mismatch");
+        assertArrayEquals(r, Arrays.copyOf(sel, count), name + " selection mismatch");
+        assertArrayEquals(expectedBitmap(match), bitmap, name + " bitmap mismatch");
+    }
+
+    @Test
+    void select() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            int length = LENGTHS[l];
+            int[] a = columns[l][0];
+            boolean[] match = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                match[i] = a[i] == 1;
+            }
+            for (IntSelectionKernels k : kernels) {
+                int[] sel = new int[length];
+                // garbage in the bitmap must be overwritten
+                long[] bitmap = new long[IntSelectionKernels.bitmapLength(length)];
+                Arrays.fill(bitmap, -1L);
+                int n = k.select(a, 1, sel);
+                k.bitmap(a, 1, bitmap);
+                check(name(k, length) + ".select(int[])", match, n, sel, bitmap);
+
+                Arrays.fill(bitmap, -1L);
+                n = k.select(buffers[l][0], 1, sel);
+                k.bitmap(buffers[l][0], 1, bitmap);
+                check(name(k, length) + ".select(ByteBuffer)", match, n, sel, bitmap);
+            }
+        }
+    }
+
+    @Test
+    void selectOr2() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            int length = LENGTHS[l];
+            int[] a = columns[l][0];
+            boolean[] match = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                match[i] = a[i] == 1 || a[i] == 3;
+            }
+            for (IntSelectionKernels k : kernels) {
+                int[] sel = new int[length];
+                long[] bitmap = new long[IntSelectionKernels.bitmapLength(length)];
+                int n = k.selectOr2(a, 1, 3, sel);
+                k.bitmapOr2(a, 1, 3, bitmap);
+                check(name(k, length) + ".selectOr2(int[])", match, n, sel, bitmap);
+
+                n = k.selectOr2(buffers[l][0], 1, 3, sel);
+                k.bitmapOr2(buffers[l][0], 1, 3, bitmap);
+                check(name(k, length) + ".selectOr2(ByteBuffer)", match, n, sel, bitmap);
+            }
+        }
+    }
+
+    @Test
+    void selectAnd2() {
+        for (int l = 0; l < LENGTHS.length; l++) {
+            int length = LENGTHS[l];
+            int[] a = columns[l][0], b = columns[l][1];
+            boolean[] match = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                match[i] = a[i] == 1 && b[i] == 2;
+            }
+            for (IntSelectionKernels k : kernels) {
+                int[] sel = new int[length];
+                long[] bitmap = new long[IntSelectionKernels.bitmapLength(length)];
+                int n = k.selectAnd2(a, 1, b, 2, sel);
+                k.bitmapAnd2(a, 1, b, 2, bitmap);
+                check(name(k, length) + ".selectAnd2(int[])", match, n, sel, bitmap);
+
+                n = k.selectAnd2(buffers[l][0], 1, buffers[l][1], 2, sel);
+                k.bitmapAnd2(buffers[l][0], 1, buffers[l][1], 2, bitmap);
+                check(name(k, length) + ".selectAnd2(ByteBuffer)", match, n, sel, bitmap);
+            }
+        }
+    }
+
+    @Test
+    void range() {
+        // ranges starting on a word boundary, ending anywhere
+        int l = 0;
+        int[] a = columns[l][0];
+        for (int from : new int[]{ 0, 64, 128 }) {
+            for (int to : new int[]{ from, from + 1, from + 67, from + 1000 }) {
+                int[] r = IntStream.range(from, to).filter(i -> a[i] == 1).toArray();
+                for (IntSelectionKernels k : kernels) {
+                    int[] sel = new int[to - from];
+                    int n = k.select(a, 1, sel, from, to);
+                    assertArrayEquals(r, Arrays.copyOf(sel, n), name(k, to - from) + ".select(int[], " + from + ", " + to + ") mismatch");
+                    n = k.select(buffers[l][0], 1, sel, from, to);
+                    assertArrayEquals(r, Arrays.copyOf(sel, n), name(k, to - from) + ".select(ByteBuffer, " + from + ", " + to + ") mismatch");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class IntStreamKernelsTest {
+
+    private static final int[] LENGTHS = { 16384, 1, 7, 13, 1000, 4099 };
+    private static final int S = 3;
+
+    // small grain so that columns are split, 100 rows leave a tail in every range
+    private static final IntStreamKernels[] kernels = {
+            IntStreamKernels.SCALAR, IntStreamKernels.VECTOR,
+            new ParallelIntStreamKernels(IntStreamKernels.VECTOR, ForkJoinPool.commonPool(), 100)
+    };
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    private static int[] toArray(ByteBuffer b) {
+        int[] r = new int[b.limit() / Integer.BYTES];
+        b.asIntBuffer().get(r);
+        return r;
+    }
+
+    private static String name(IntStreamKernels k, int length) {
+        return k.getClass().getSimpleName() + "[" + length + "]";
+    }
+
+    @Test
+    void stream() {
+        Random rnd = new Random(42);
+        for (int length : LENGTHS) {
+            int[] a = new int[length];
+            int[] b = new int[length];
+            int[] copy = new int[length];
+            int[] scale = new int[length];
+            int[] add = new int[length];
+            int[] triad = new int[length];
+            for (int i = 0; i < length; i++) {
+                a[i] = rnd.nextInt();
+                b[i] = rnd.nextInt();
+                copy[i] = a[i];
+                scale[i] = S * a[i];
+                add[i] = a[i] + b[i];
+                triad[i] = a[i] + S * b[i];
+            }
+            ByteBuffer ba = toBuffer(a), bb = toBuffer(b);
+            for (IntStreamKernels k : kernels) {
+                int[] r = new int[length];
+                ByteBuffer br = toBuffer(r);
+
+                k.copy(a, r);
+                assertArrayEquals(copy, r, name(k, length) + ".copy(int[]) mismatch");
+                k.copy(ba, br);
+                assertArrayEquals(copy, toArray(br), name(k, length) + ".copy(ByteBuffer) mismatch");
+
+                k.scale(a, S, r);
+                assertArrayEquals(scale, r, name(k, length) + ".scale(int[]) mismatch");
+                k.scale(ba, S, br);
+                assertArrayEquals(scale, toArray(br), name(k, length) + ".scale(ByteBuffer) mismatch");
+
+                k.add(a, b, r);
+                assertArrayEquals(add, r, name(k, length) + ".add(int[]) mismatch");
+                k.add(ba, bb, br);
+                assertArrayEquals(add, toArray(br), name(k, length) + ".add(ByteBuffer) mismatch");
+
+                k.triad(a, S, b, r);
+                assertArrayEquals(triad, r, name(k, length) + ".triad(int[]) mismatch");
+                k.triad(ba, S, bb, br);
+                assertArrayEquals(triad, toArray(br), name(k, length) + ".triad(ByteBuffer) mismatch");
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedIntColumnKernelsTest {
+
+    // whole blocks, and lengths that leave a partial block
+    private static final int[] LENGTHS = { 16384, 1, 13, 512, 1000, 4099 };
+    private static final int[] BITS = { 1, 3, 4, 7, 12, 16 };
+
+    private static final PackedIntColumnKernels[] kernels = { PackedIntColumnKernels.SCALAR, PackedIntColumnKernels.VECTOR };
+
+    private static int[] column(Random rnd, int length, int bound) {
+        int[] r = new int[length];
+        for (int i = 0; i < length; i++) {
+            r[i] = rnd.nextInt(bound);
+        }
+        return r;
+    }
+
+    private static String name(PackedIntColumnKernels k, int length, int bits) {
+        return k.getClass().getSimpleName() + "[" + length + ", " + bits + " bits]";
+    }
+
+    @Test
+    void pack() {
+        Random rnd = new Random(42);
+        for (int length : LENGTHS) {
+            for (int bits : BITS) {
+                int[] a = column(rnd, length, 1 << bits);
+                ByteBuffer buffer = ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.nativeOrder());
+                buffer.asIntBuffer().put(a);
+                PackedIntColumn p = PackedIntColumn.pack(a, bits);
+                PackedIntColumn q = PackedIntColumn.pack(buffer, bits);
+                for (int i = 0; i < length; i++) {
+                    assertEquals(a[i], p.get(i), "pack(int[])[" + length + ", " + bits + " bits] mismatch at " + i);
+                    assertEquals(a[i], q.get(i), "pack(ByteBuffer)[" + length + ", " + bits + " bits] mismatch at " + i);
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> PackedIntColumn.pack(new int[]{ 16 }, 4));
+        assertThrows(IllegalArgumentException.class, () -> PackedIntColumn.pack(new int[]{ 0 }, 17));
+    }
+
+    @Test
+    void encode() {
+        int[] a = { 1000003, -7, 42, 1000003, 42, 42, Integer.MIN_VALUE };
+        PackedIntColumn p = PackedIntColumn.encode(a);
+        assertEquals(2, p.bits());
+        for (int i = 0; i < a.length; i++) {
+            assertEquals(a[i], p.get(i), "encode mismatch at " + i);
+        }
+        assertEquals(-1, p.codeOf(0));
+    }
+
+    @Test
+    void filterSum() {
+        Random rnd = new Random(42);
+        for (int length : LENGTHS) {
+            for (int bits : BITS) {
+                int bound = Math.min(1 << bits, 12);
+                int[][] c = new int[5][];
+                PackedIntColumn[] p = new PackedIntColumn[5];
+                for (int j = 0; j < c.length; j++) {
+                    c[j] = column(rnd, length, j == 0 ? bound : 2);
+                    p[j] = PackedIntColumn.pack(c[j], j == 0 ? bits : BITS[j]);
+                }
+                int fa = bound - 1;
+                // the measure spans 16 bits
+                int[] m = column(rnd, length, 1 << 16);
+                PackedIntColumn pm = PackedIntColumn.pack(m, 16);
+                int count = (int) Arrays.stream(c[0]).filter(v -> v == fa).count();
+                long sum = IntColumnKernels.SCALAR.filterSum(c[0], fa, m);
+                long sumAnd4 = IntColumnKernels.SCALAR.filterSumAnd4(c[0], fa, c[1], 1, c[2], 0, c[3], 1, m);
+                for (PackedIntColumnKernels k : kernels) {
+                    assertEquals(count, k.filter(p[0], fa), name(k, length, bits) + ".filter mismatch");
+                    assertEquals(0, k.filter(p[0], 1 << bits), name(k, length, bits) + ".filter on a value too wide should match nothing");
+                    assertEquals(sum, k.filterSum(p[0], fa, pm), name(k, length, bits) + ".filterSum mismatch");
+                    assertEquals(sumAnd4, k.filterSumAnd4(p[0], fa, p[1], 1, p[2], 0, p[3], 1, pm), name(k, length, bits) + ".filterSumAnd4 mismatch");
+                }
+            }
+        }
+    }
+
+    @Test
+    void dictionaryFilter() {
+        Random rnd = new Random(42);
+        int[] a = column(rnd, 4099, 12);
+        for (int i = 0; i < a.length; i++) {
+            a[i] = a[i] * 1000003 - 5;
+        }
+        int[] b = column(rnd, 4099, 12);
+        PackedIntColumn pa = PackedIntColumn.encode(a);
+        PackedIntColumn pb = PackedIntColumn.pack(b, 4);
+        for (PackedIntColumnKernels k : kernels) {
+            assertEquals(IntColumnKernels.SCALAR.filterSum(a, a[0], b), k.filterSum(pa, a[0], pb), k.getClass().getSimpleName() + ".filterSum(dictionary) mismatch");
+            assertThrows(IllegalArgumentException.class, () -> k.filterSum(pb, 0, pa));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package fr.centralesupelec.simd.kernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZoneMapKernelsTest {
+
+    private static final int[] LENGTHS = { 1, 7, 64, 1000, 4099, 16384 };
+    private static final int[] BLOCK_ROWS = { 64, 256, 1024 };
+    private static final int BOUND = 8;
+
+    private static final ZoneMapKernels[] kernels = {
+            ZoneMapKernels.SCALAR, ZoneMapKernels.VECTOR
+    };
+
+    private static ByteBuffer toBuffer(int[] a) {
+        ByteBuffer r = ByteBuffer.allocateDirect(a.length * Integer.BYTES);
+        r.order(ByteOrder.nativeOrder());
+        r.asIntBuffer().put(a);
+        return r;
+    }
+
+    private static int[] uniform(Random rnd, int length) {
+        int[] r = new int[length];
+        for (int i = 0; i < length; i++) {
+            r[i] = rnd.nextInt(BOUND);
+        }
+        return r;
+    }
+
+    private static int[] sorted(Random rnd, int length) {
+        int[] r = uniform(rnd, length);
+        Arrays.sort(r);
+        return r;
+    }
+
+    private static int[] clustered(Random rnd, int length) {
+        int[] r = new int[length];
+        for (int i = 0; i < length; ) {
+            int end = Math.min(i + 1 + rnd.nextInt(200), length);
+            Arrays.fill(r, i, end, rnd.nextInt(BOUND));
+            i = end;
+        }
+        return r;
+    }
+
+    @Test
+    void build() {
+        int[] a = { 5, 3, 9, 1 };
+        ZoneMap zones = ZoneMap.build(a, 64);
+        assertEquals(1, zones.blocks());
+        assertEquals(1, zones.min(0));
+        assertEquals(9, zones.max(0));
+
+        int[] b = new int[130];
+        Arrays.fill(b, 64, 128, 7);
+        b[129] = -2;
+        for (ZoneMap z : new ZoneMap[] { ZoneMap.build(b, 64), ZoneMap.build(toBuffer(b), 64) }) {
+            assertEquals(3, z.blocks());
+            assertEquals(128, z.from(2));
+            assertEquals(130, z.to(2));
+            assertEquals(7, z.min(1));
+            assertEquals(7, z.max(1));
+            assertEquals(-2, z.min(2));
+            assertEquals(0, z.max(2));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ZoneMap.build(a, 100));
+        assertThrows(IllegalArgumentException.class, () -> ZoneMap.build(a, 0));
+    }
+
+    @Test
+    void filter() {
+        Random rnd = new Random(42);
+        for (int length : LENGTHS) {
+            int[][] columns = { uniform(rnd, length), sorted(rnd, length), clustered(rnd, length) };
+            int[] b = uniform(rnd, length);
+            ByteBuffer bb = toBuffer(b);
+            for (int[] a : columns) {
+                ByteBuffer ab = toBuffer(a);
+                for (int blockRows : BLOCK_ROWS) {
+                    ZoneMap zones = ZoneMap.build(a, blockRows);
+                    // BOUND never appears, every block is pruned
+                    for (int fa = 0; fa <= BOUND; fa++) {
+                        long sum = IntColumnKernels.SCALAR.filterSum(a, fa, b);
+                        long[] expected = new long[IntSelectionKernels.bitmapLength(length)];
+                        IntSelectionKernels.SCALAR.bitmap(a, fa, expected);
+                        for (ZoneMapKernels k : kernels) {
+                            String name = "ZoneMapKernels[" + length + ", " + blockRows + ", " + fa + "]";
+                            assertEquals(sum, k.filterSum(zones, a, fa, b), name + ".filterSum(int[]) mismatch");
+                            assertEquals(sum, k.filterSum(zones, ab, fa, bb), name + ".filterSum(ByteBuffer) mismatch");
+
+                            // garbage in the bitmap must be overwritten, pruned blocks included
+                            long[] bitmap = new long[expected.length];
+                            Arrays.fill(bitmap, -1L);
+                            k.bitmap(zones, a, fa, bitmap);
+                            assertArrayEquals(expected, bitmap, name + ".bitmap(int[]) mismatch");
+                            Arrays.fill(bitmap, -1L);
+                            k.bitmap(zones, ab, fa, bitmap);
+                            assertArrayEquals(expected, bitmap, name + ".bitmap(ByteBuffer) mismatch");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rows() {
+        int[] a = new int[100];
+        ZoneMap zones = ZoneMap.build(new int[10], 64);
+        assertThrows(IllegalArgumentException.class, () -> ZoneMapKernels.VECTOR.filterSum(zones, a, 0, a));
+    }
+}
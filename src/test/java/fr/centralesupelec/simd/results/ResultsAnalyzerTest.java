@@ -0,0 +1,261 @@
+package fr.centralesupelec.simd.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultsAnalyzerTest {
+
+    private static String result(String method, int length, double score, Object error) {
+        String confidence = error instanceof Double
+                ? "[" + (score - (Double) error) + ", " + (score + (Double) error) + "]"
+                : "[\"NaN\", \"NaN\"]";
+        return "{\"jmhVersion\": \"1.21\", \"benchmark\": \"fr.centralesupelec.simd.VectorProfiling." + method + "\","
+                + " \"mode\": \"avgt\", \"threads\": 1, \"forks\": 2,"
+                + " \"params\": {\"ARRAY_LENGTH\": \"" + length + "\"},"
+                + " \"primaryMetric\": {\"score\": " + score + ", \"scoreError\": " + (error instanceof Double ? error : "\"NaN\"") + ","
+                + " \"scoreConfidence\": " + confidence + ", \"scoreUnit\": \"ns/op\", \"rawData\": [[" + score + "]]},"
+                + " \"secondaryMetrics\": {\"rows\": {\"score\": " + length / score + ", \"scoreError\": NaN,"
+                + " \"scoreConfidence\": [NaN, NaN], \"scoreUnit\": \"rows/ns\"}}}";
+    }
+
+    private static Path run(String... results) throws IOException {
+        Path file = Files.createTempFile("jmh", ".json");
+        file.toFile().deleteOnExit();
+        Files.write(file, ("[\n" + String.join(",\n", results) + "\n]\n").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    void speedups() throws IOException {
+        // no RegularNoSuperWord at 4096, and sumSIMDMasked is no flavour of sum
+        List<BenchmarkResult> results = BenchmarkResult.read(run(
+                result("sumSIMD", 4096, 100.0, 10.0),
+                result("sumRegular", 4096, 400.0, 20.0),
+                result("sumSIMD", 1024, 25.0, null),
+                result("sumRegularNoSuperWord", 1024, 200.0, null),
+                result("sumSIMDMasked", 1024, 30.0, 1.0)), null);
+        assertEquals(5, results.size());
+        assertEquals("VectorProfiling", results.get(0).className());
+
+        List<ResultsAnalyzer.Speedup> speedups = ResultsAnalyzer.speedups(results);
+        assertEquals(2, speedups.size());
+        // 1024 before 4096
+        ResultsAnalyzer.Speedup small = speedups.get(0);
+        assertEquals("sum", small.kernel);
+        assertNull(small.overRegular());
+        assertEquals(8.0, small.overNoSuperWord().value, 1e-9);
+        assertEquals(8.0, small.overNoSuperWord().low, 1e-9, "no error, no interval");
+
+        Ratio ratio = speedups.get(1).overRegular();
+        assertEquals(4.0, ratio.value, 1e-9);
+        assertEquals(380.0 / 110.0, ratio.low, 1e-9);
+        assertEquals(420.0 / 90.0, ratio.high, 1e-9);
+        assertNull(speedups.get(1).overNoSuperWord());
+
+        String markdown = ResultsAnalyzer.markdown(speedups);
+        assertTrue(markdown.startsWith("## VectorProfiling\n"), markdown);
+        assertTrue(markdown.contains("| sum | ARRAY_LENGTH=4096 | ns/op | 100.00 +/- 10.00 | 400.00 +/- 20.00 |  | 4.00 [3.45, 4.67] |  |"), markdown);
+        String csv = ResultsAnalyzer.speedupsCsv(speedups);
+        assertEquals(3, csv.split("\n").length);
+        assertTrue(csv.contains("VectorProfiling,sum,avgt,ARRAY_LENGTH=1024,ns/op,25.0,0.0,,,200.0,0.0,,,,8.0,8.0,8.0\n"), csv);
+    }
+
+    @Test
+    void secondaryMetric() throws IOException {
+        List<BenchmarkResult> results = BenchmarkResult.read(run(
+                result("sumSIMD", 1024, 25.0, null),
+                result("sumRegular", 1024, 100.0, null)), "rows");
+        assertEquals("rows/ns", results.get(0).unit);
+        // more rows per ns is faster
+        assertEquals(4.0, ResultsAnalyzer.speedups(results).get(0).overRegular().value, 1e-9);
+        assertTrue(BenchmarkResult.read(run(result("sumSIMD", 1024, 25.0, null)), "bandwidth").isEmpty());
+    }
+
+    @Test
+    void compare() throws IOException {
+        List<BenchmarkResult> baseline = BenchmarkResult.read(run(
+                result("sumSIMD", 1024, 100.0, 5.0),
+                result("addSIMD", 1024, 100.0, 5.0),
+                result("mulSIMD", 1024, 100.0, 5.0),
+                result("filterSIMD", 1024, 100.0, 5.0),
+                result("filterSumSIMD", 1024, 100.0, 5.0)), null);
+        List<BenchmarkResult> candidate = BenchmarkResult.read(run(
+                // slower beyond noise, slower within noise, faster, missing filterSIMD
+                result("sumSIMD", 1024, 150.0, 5.0),
+                result("addSIMD", 1024, 104.0, 5.0),
+                result("mulSIMD", 1024, 50.0, 5.0),
+                result("filterSumSIMD", 1024, 112.0, 1.0),
+                result("selectSIMD", 1024, 100.0, 5.0)), null);
+
+        List<ResultsAnalyzer.Comparison> comparisons = ResultsAnalyzer.compare(baseline, candidate, 0.05);
+        assertEquals(6, comparisons.size());
+        assertEquals(ResultsAnalyzer.Status.REGRESSION, comparisons.get(0).status);
+        assertEquals(ResultsAnalyzer.Status.REGRESSION, comparisons.get(1).status);
+        assertEquals("fr.centralesupelec.simd.VectorProfiling.filterSumSIMD", comparisons.get(0).candidate.benchmark);
+        assertEquals(1.5, comparisons.get(1).slowdown.value, 1e-9);
+        assertEquals(1, ResultsAnalyzer.count(comparisons, ResultsAnalyzer.Status.IMPROVEMENT));
+        assertEquals(1, ResultsAnalyzer.count(comparisons, ResultsAnalyzer.Status.UNCHANGED));
+        assertEquals(1, ResultsAnalyzer.count(comparisons, ResultsAnalyzer.Status.MISSING));
+        assertEquals(1, ResultsAnalyzer.count(comparisons, ResultsAnalyzer.Status.NEW));
+
+        // 12% slower beyond noise, but under a 20% threshold
+        assertEquals(1, ResultsAnalyzer.count(ResultsAnalyzer.compare(baseline, candidate, 0.2), ResultsAnalyzer.Status.REGRESSION));
+
+        String markdown = ResultsAnalyzer.markdown(comparisons, "baseline.json", 0.05);
+        assertTrue(markdown.contains("2 regressions, 1 improvements, 1 missing, 1 new"), markdown);
+        assertTrue(markdown.contains("| VectorProfiling.filterSIMD | ARRAY_LENGTH=1024 | ns/op | 100.00 +/- 5.00 |  |  | missing |"), markdown);
+        assertTrue(ResultsAnalyzer.comparisonCsv(comparisons).contains(",,,,,missing\n"));
+    }
+
+    private static BenchmarkResult adaptive(String method, int length, double selectivity, double score) {
+        return adaptive("VectorAdaptiveProfiling", method, length, selectivity, null, score);
+    }
+
+    private static BenchmarkResult adaptive(String className, String method, int length, double selectivity, String seed, double score) {
+        Map<String, String> params = new TreeMap<>();
+        params.put("ARRAY_LENGTH", String.valueOf(length));
+        params.put("SELECTIVITY", String.valueOf(selectivity));
+        if(seed != null) {
+            params.put("SEED", seed);
+        }
+        return new BenchmarkResult("fr.centralesupelec.simd." + className + "." + method, "avgt", params, "ns/op",
+                score, score - 1, score + 1);
+    }
+
+    private static BenchmarkResult species(String className, String method, String species, double score) {
+        Map<String, String> params = new TreeMap<>();
+        params.put("ARRAY_LENGTH", "1024");
+        if(species != null) {
+            params.put("SPECIES", species);
+        }
+        return new BenchmarkResult("fr.centralesupelec.simd." + className + "." + method, "avgt", params, "ns/op",
+                score, score - 1, score + 1);
+    }
+
+    @Test
+    void variants() {
+        List<BenchmarkResult> results = Arrays.asList(
+                species("VectorProfiling", "filterSumSIMDSpecies", "S256", 50.0),
+                species("VectorProfiling", "filterSumSIMDSpecies", "S128", 100.0),
+                species("VectorProfiling", "filterSumSIMD", null, 40.0),
+                species("VectorProfiling", "filterSumRegular", null, 200.0),
+                species("VectorProfiling", "filterSumOr4SIMDSpecies", "S128", 100.0),
+                species("VectorProfiling", "filterSumOr4Regular", null, 300.0),
+                species("VectorShortCircuitProfiling", "filterSumAnd2ShortCircuitSIMD", null, 20.0),
+                species("VectorShortCircuitProfiling", "filterSumAnd2SIMD", null, 30.0),
+                species("VectorShortCircuitProfiling", "filterSumAnd2Regular", null, 60.0));
+
+        // the variants are not kernels of their own
+        List<ResultsAnalyzer.Speedup> speedups = ResultsAnalyzer.speedups(results);
+        assertEquals(3, speedups.size());
+        assertEquals("filterSum", speedups.get(0).kernel);
+        assertEquals("filterSumOr4", speedups.get(1).kernel);
+        assertEquals("filterSumAnd2", speedups.get(2).kernel);
+
+        List<ResultsAnalyzer.Variant> variants = ResultsAnalyzer.variants(results);
+        assertEquals(4, variants.size());
+        // one row per species, S128 first
+        assertEquals("filterSum", variants.get(0).kernel);
+        assertEquals("SIMDSpecies", variants.get(0).variant);
+        assertEquals("S128", variants.get(0).result.params.get("SPECIES"));
+        assertEquals(2.0, variants.get(0).overRegular().value, 1e-9);
+        assertEquals(4.0, variants.get(1).overRegular().value, 1e-9);
+        // the longest kernel with a Regular benchmark
+        assertEquals("filterSumOr4", variants.get(2).kernel);
+        assertEquals(3.0, variants.get(2).overRegular().value, 1e-9);
+        assertEquals("filterSumAnd2", variants.get(3).kernel);
+        assertEquals("ShortCircuitSIMD", variants.get(3).variant);
+        assertEquals(3.0, variants.get(3).overRegular().value, 1e-9);
+
+        String markdown = ResultsAnalyzer.variantsMarkdown(variants);
+        assertTrue(markdown.startsWith("## VectorProfiling variants\n"), markdown);
+        assertTrue(markdown.contains("\n## VectorShortCircuitProfiling variants\n"), markdown);
+        assertTrue(markdown.contains("| filterSum | SIMDSpecies | ARRAY_LENGTH=1024 SPECIES=S256 | ns/op | 50.00 +/- 1.00 | 200.00 +/- 1.00 | 4.00 [3.90, 4.10] |"), markdown);
+        String csv = ResultsAnalyzer.variantsCsv(variants);
+        assertEquals(5, csv.split("\n").length);
+        assertTrue(csv.contains("VectorShortCircuitProfiling,filterSumAnd2,ShortCircuitSIMD,avgt,ARRAY_LENGTH=1024,ns/op,20.0,1.0,60.0,1.0,3.0,"), csv);
+    }
+
+    @Test
+    void calibration() {
+        List<BenchmarkResult> results = Arrays.asList(
+                adaptive("filterSumSIMD", 1024, 0.01, 100),
+                adaptive("filterSumRegular", 1024, 0.01, 50),
+                adaptive("filterSumBranchlessRegular", 1024, 0.01, 80),
+                adaptive("filterSumRegularNoSuperWord", 1024, 0.01, 10),
+                adaptive("filterSumAdaptive", 1024, 0.01, 52),
+                adaptive("filterSumSIMD", 1024, 0.5, 100),
+                adaptive("filterSumRegular", 1024, 0.5, 300),
+                adaptive("filterSumAdaptive", 1024, 0.5, 150),
+                adaptive("filterSumAnd2BranchlessRegular", 65536, 0.5, 10),
+                adaptive("filterSumAnd2SIMD", 65536, 0.5, 20),
+                adaptive("filterSumAnd2Adaptive", 65536, 0.5, 10),
+                adaptive("sumSIMD", 1024, 0.5, 1),
+                // no Adaptive variant in the class, not calibrated
+                adaptive("IntHeapProfiling", "filterSumBranchlessRegular", 1024, 0.5, null, 1),
+                adaptive("IntHeapProfiling", "filterSumSIMD", 1024, 0.5, null, 2));
+
+        // RegularNoSuperWord cannot be chosen, Adaptive is no variant
+        assertEquals("kernel,rows,selectivity,variant\n"
+                + "filterSum,1024,0.01,Regular\n"
+                + "filterSum,1024,0.5,SIMD\n"
+                + "filterSumAnd2,65536,0.5,BranchlessRegular\n", ResultsAnalyzer.calibration(results).toCsv());
+
+        List<ResultsAnalyzer.Tracking> tracking = ResultsAnalyzer.tracking(results, 0.05);
+        assertEquals(3, tracking.size());
+        // astray first
+        assertEquals(1.5, tracking.get(0).slowdown.value, 1e-9);
+        assertTrue(!tracking.get(0).tracks);
+        assertEquals("SIMD", tracking.get(0).fastestVariant);
+        assertEquals("Regular", tracking.get(1).fastestVariant);
+        assertTrue(tracking.get(1).tracks, "4% slower, within the threshold");
+        String markdown = ResultsAnalyzer.trackingMarkdown(tracking, 0.05);
+        assertTrue(markdown.contains("2 of 3 adaptive benchmarks"), markdown);
+        assertTrue(markdown.contains("| VectorAdaptiveProfiling.filterSum | ARRAY_LENGTH=1024 SELECTIVITY=0.5 | ns/op | 150.00 +/- 1.00 | 100.00 +/- 1.00 | SIMD | **1.50 [1.48, 1.53]** |"), markdown);
+    }
+
+    @Test
+    void calibrationPoints() {
+        List<BenchmarkResult> results = Arrays.asList(
+                adaptive("VectorAdaptiveProfiling", "filterSumSIMD", 1024, 0.5, "1", 100),
+                adaptive("VectorAdaptiveProfiling", "filterSumSIMD", 1024, 0.5, "2", 100),
+                adaptive("VectorAdaptiveProfiling", "filterSumRegular", 1024, 0.5, "1", 120),
+                adaptive("VectorAdaptiveProfiling", "filterSumRegular", 1024, 0.5, "2", 120),
+                // only measured with SEED=2, so the others are compared on SEED=2 only
+                adaptive("VectorAdaptiveProfiling", "filterSumBranchlessRegular", 1024, 0.5, "2", 110),
+                adaptive("VectorAdaptiveProfiling", "filterSumAdaptive", 1024, 0.5, "2", 100));
+        assertEquals("kernel,rows,selectivity,variant\n"
+                + "filterSum,1024,0.5,SIMD\n", ResultsAnalyzer.calibration(results).toCsv());
+
+        List<BenchmarkResult> twice = new ArrayList<>(results);
+        twice.add(adaptive("VectorOtherAdaptiveProfiling", "filterSumSIMD", 1024, 0.5, "2", 100));
+        twice.add(adaptive("VectorOtherAdaptiveProfiling", "filterSumAdaptive", 1024, 0.5, "2", 100));
+        assertThrows(IllegalArgumentException.class, () -> ResultsAnalyzer.calibration(twice));
+    }
+
+    @Test
+    void json() {
+        Object value = Json.parse(" {\"a\": [1, -2.5e3, true, null, NaN, -Infinity], \"b\\\"\": \"\\u0041\\n\"} ");
+        assertEquals("{a=[1.0, -2500.0, true, null, NaN, -Infinity], b\"=A\n}", value.toString());
+        assertTrue(Double.isNaN(Json.number("NaN")));
+        assertEquals(2.0, Json.number("2"), 0);
+        for (String invalid : new String[] { "[1,", "{\"a\" 1}", "[1] 2", "\"abc", "[tru]" }) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Json.parse(invalid), invalid);
+            assertTrue(e.getMessage().contains("at offset"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package fr.centralesupelec.simd.storage;
+
+import fr.centralesupelec.simd.kernels.IntColumnKernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntColumnFileTest {
+
+    private static final int[] LENGTHS = { 0, 1, 13, 4099, 16384 };
+
+    @Test
+    void writeMap() throws IOException {
+        Random rnd = new Random(42);
+        for (int length : LENGTHS) {
+            int[] a = rnd.ints(length, 0, 12).toArray();
+            Path path = Files.createTempFile("simd", ".col");
+            try {
+                IntColumnFile.write(path, a);
+                assertEquals(0, Files.size(path) % IntColumnFile.ALIGNMENT, "file not padded");
+                ByteBuffer mapped = IntColumnFile.map(path);
+                assertEquals(ByteOrder.nativeOrder(), mapped.order());
+                assertEquals(length * Integer.BYTES, mapped.limit());
+                int[] r = new int[length];
+                mapped.asIntBuffer().get(r);
+                assertArrayEquals(a, r, "IntColumnFile[" + length + "] mismatch");
+                assertEquals(Arrays.stream(a).sum(), IntColumnKernels.VECTOR.sum(mapped), "IntColumnFile[" + length + "] sum mismatch");
+            } finally {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void notAColumnFile() throws IOException {
+        Path path = Files.createTempFile("simd", ".col");
+        try {
+            Files.write(path, new byte[IntColumnFile.HEADER_BYTES]);
+            assertThrows(IOException.class, () -> IntColumnFile.map(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}